@@ -27,6 +27,7 @@ import com.fasterxml.jackson.core.JsonParseException;
 import ezvcard.io.StreamReader;
 import ezvcard.io.html.HCardPage;
 import ezvcard.io.html.HCardParser;
+import ezvcard.io.html.HCardWriter;
 import ezvcard.io.json.JCardParseException;
 import ezvcard.io.json.JCardReader;
 import ezvcard.io.json.JCardWriter;
@@ -40,6 +41,7 @@ import ezvcard.io.xml.XCardReader;
 import ezvcard.io.xml.XCardWriter;
 import ezvcard.property.VCardProperty;
 import ezvcard.util.IOUtils;
+import ezvcard.util.StringUtils;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -96,7 +98,7 @@ import ezvcard.util.IOUtils;
  * <tr>
  * <th>HTML</th>
  * <td>{@link HCardParser}</td>
- * <td>{@link HCardPage}</td>
+ * <td>{@link HCardWriter}, {@link HCardPage}</td>
  * </tr>
  * <tr>
  * <th>JSON</th>
@@ -531,10 +533,12 @@ public class Ezvcard {
 	 * </p>
 	 * 
 	 * <p>
-	 * Use {@link HCardPage} for more control over how the vCards are written.
+	 * Use {@link HCardWriter} for more control over how the vCards are
+	 * written, or {@link HCardPage} to render them with a custom template.
 	 * </p>
 	 * @param vcards the vCard(s) to marshal
 	 * @return chainer object for completing the write operation
+	 * @see HCardWriter
 	 * @see HCardPage
 	 * @see <a href="http://microformats.org/wiki/hcard">hCard 1.0</a>
 	 */
@@ -548,10 +552,12 @@ public class Ezvcard {
 	 * </p>
 	 * 
 	 * <p>
-	 * Use {@link HCardPage} for more control over how the vCards are written.
+	 * Use {@link HCardWriter} for more control over how the vCards are
+	 * written, or {@link HCardPage} to render them with a custom template.
 	 * </p>
 	 * @param vcards the vCard(s) to marshal
 	 * @return chainer object for completing the write operation
+	 * @see HCardWriter
 	 * @see HCardPage
 	 * @see <a href="http://microformats.org/wiki/hcard">hCard 1.0</a>
 	 */
@@ -1570,36 +1576,61 @@ public class Ezvcard {
 		}
 
 		/**
-		 * Writes the xCards to an output stream.
+		 * Writes the xCards to an output stream. Each xCard is written to the
+		 * stream as soon as it is generated.
 		 * @param out the output stream to write to
 		 * @throws TransformerException if there's a problem writing to the
 		 * output stream
 		 */
 		public void go(OutputStream out) throws TransformerException {
-			XCardDocument doc = createXCardDocument();
-			doc.write(out, indent);
+			go(new XCardWriter(out, indentString()));
 		}
 
 		/**
-		 * Writes the xCards to a file.
+		 * Writes the xCards to a file. Each xCard is written to the file as
+		 * soon as it is generated.
 		 * @param file the file to write to
 		 * @throws IOException if the file can't be opened
 		 * @throws TransformerException if there's a problem writing to the file
 		 */
 		public void go(File file) throws IOException, TransformerException {
-			XCardDocument doc = createXCardDocument();
-			doc.write(file, indent);
+			XCardWriter writer = new XCardWriter(file, indentString());
+			try {
+				go(writer);
+			} finally {
+				IOUtils.closeQuietly(writer);
+			}
 		}
 
 		/**
-		 * Writes the xCards to a writer.
+		 * Writes the xCards to a writer. Each xCard is written to the writer as
+		 * soon as it is generated.
 		 * @param writer the writer to write to
 		 * @throws TransformerException if there's a problem writing to the
 		 * writer
 		 */
 		public void go(Writer writer) throws TransformerException {
-			XCardDocument doc = createXCardDocument();
-			doc.write(writer, indent);
+			go(new XCardWriter(writer, indentString()));
+		}
+
+		private void go(XCardWriter writer) throws TransformerException {
+			writer.setAddProdId(prodId);
+			writer.setVersionStrict(versionStrict);
+			writer.setScribeIndex(index);
+			try {
+				for (VCard vcard : vcards) {
+					writer.write(vcard);
+					writer.flush();
+				}
+				writer.closeXmlStream();
+				writer.flush();
+			} catch (IOException e) {
+				throw new TransformerException(e);
+			}
+		}
+
+		private String indentString() {
+			return (indent < 0) ? null : StringUtils.repeat(' ', indent);
 		}
 
 		/**
@@ -1680,11 +1711,13 @@ public class Ezvcard {
 		 * @throws IOException if there's a problem writing to the writer
 		 */
 		public void go(Writer writer) throws IOException {
-			HCardPage page = new HCardPage();
+			HCardWriter hcardWriter = new HCardWriter(writer);
 			for (VCard vcard : vcards) {
-				page.add(vcard);
+				hcardWriter.write(vcard);
+				hcardWriter.flush();
 			}
-			page.write(writer);
+			hcardWriter.closeHtmlStream();
+			hcardWriter.flush();
 		}
 	}
 
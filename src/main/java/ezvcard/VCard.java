@@ -4,18 +4,24 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import java.util.Set;
 
 import javax.xml.transform.TransformerException;
 
+import ezvcard.io.scribe.ScribeIndex;
 import ezvcard.io.text.VCardWriter;
 import ezvcard.parameter.EmailType;
 import ezvcard.parameter.TelephoneType;
@@ -110,7 +116,64 @@ import ezvcard.util.ListMultimap;
 public class VCard implements Iterable<VCardProperty> {
 	private VCardVersion version = VCardVersion.V3_0;
 
-	private final ListMultimap<Class<? extends VCardProperty>, VCardProperty> properties = new ListMultimap<Class<? extends VCardProperty>, VCardProperty>();
+	private static final VCardProperty[] NO_PROPERTIES = new VCardProperty[0];
+	private static final int[] NO_IDS = new int[0];
+	private static final PropertySlot[] NO_SLOTS = new PropertySlot[0];
+
+	/*
+	 * The properties are stored in insertion order in a single array. The class
+	 * ID of each property (see ScribeIndex#getPropertyClassId) is stored in a
+	 * parallel array. The properties are also grouped by class into an array of
+	 * slots, indexed by class ID.
+	 */
+	private VCardProperty[] properties = NO_PROPERTIES;
+	private int[] propertyClassIds = NO_IDS;
+	private int size = 0;
+	private PropertySlot[] slots = NO_SLOTS;
+	private int modCount = 0;
+
+	/*
+	 * A vCard created by toBuilder() shares its arrays with the frozen vCard it
+	 * was created from until it is first modified.
+	 */
+	private boolean frozen = false;
+	private boolean shared = false;
+
+	/**
+	 * Creates an empty vCard.
+	 */
+	public VCard() {
+		//empty
+	}
+
+	/**
+	 * Creates a deep copy of a vCard. Each property is copied with
+	 * {@link VCardProperty#copy}, so binary data is shared with the original
+	 * instead of being copied. The copy is not frozen, even if the original
+	 * is.
+	 * @param original the vCard to copy
+	 * @throws UnsupportedOperationException if the vCard contains an instance
+	 * of a custom property class that does not have a copy constructor
+	 */
+	public VCard(VCard original) {
+		version = original.version;
+		size = original.size;
+		properties = new VCardProperty[size];
+		propertyClassIds = new int[size];
+		slots = new PropertySlot[original.slots.length];
+		for (int i = 0; i < size; i++) {
+			VCardProperty copy = original.properties[i].copy();
+			int classId = original.propertyClassIds[i];
+			properties[i] = copy;
+			propertyClassIds[i] = classId;
+
+			PropertySlot slot = slots[classId];
+			if (slot == null) {
+				slot = slots[classId] = new PropertySlot();
+			}
+			slot.add(copy);
+		}
+	}
 
 	/**
 	 * <p>
@@ -427,6 +490,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @param version the vCard version
 	 */
 	public void setVersion(VCardVersion version) {
+		checkFrozen();
 		this.version = version;
 	}
 
@@ -510,7 +574,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the members
+	 * @return the members (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Member> getMembers() {
 		return getProperties(Member.class);
@@ -672,7 +736,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 3.0, 4.0}
 	 * </p>
-	 * @return the sources
+	 * @return the sources (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Source> getSources() {
 		return getProperties(Source.class);
@@ -816,7 +880,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <b>Supported versions:</b> {@code 4.0*}<br>
 	 * <i>* Only 4.0 supports multiple instances</i>
 	 * </p>
-	 * @return the formatted name properties
+	 * @return the formatted name properties (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<FormattedName> getFormattedNames() {
 		return getProperties(FormattedName.class);
@@ -997,7 +1062,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <b>Supported versions:</b> {@code 4.0*}
 	 * </p>
 	 * <i>* Only 4.0 supports alternative representations</i>
-	 * @return the structured name property objects
+	 * @return the structured name property objects (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<StructuredName> getStructuredNames() {
 		return getProperties(StructuredName.class);
@@ -1087,7 +1153,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 3.0, 4.0}
 	 * </p>
-	 * @return the nickname properties
+	 * @return the nickname properties (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<Nickname> getNicknames() {
 		return getProperties(Nickname.class);
@@ -1327,7 +1394,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 2.1, 3.0, 4.0}
 	 * </p>
-	 * @return the titles
+	 * @return the titles (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Title> getTitles() {
 		return getProperties(Title.class);
@@ -1413,7 +1480,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 2.1, 3.0, 4.0}
 	 * </p>
-	 * @return the roles
+	 * @return the roles (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Role> getRoles() {
 		return getProperties(Role.class);
@@ -1500,7 +1567,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 2.1, 3.0, 4.0}
 	 * </p>
-	 * @return the photos
+	 * @return the photos (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Photo> getPhotos() {
 		return getProperties(Photo.class);
@@ -1568,7 +1635,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 2.1, 3.0, 4.0}
 	 * </p>
-	 * @return the logos
+	 * @return the logos (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Logo> getLogos() {
 		return getProperties(Logo.class);
@@ -1637,7 +1704,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 2.1, 3.0, 4.0}
 	 * </p>
-	 * @return the sounds
+	 * @return the sounds (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Sound> getSounds() {
 		return getProperties(Sound.class);
@@ -1709,7 +1776,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the birthplace properties
+	 * @return the birthplace properties (read-only view, see
+	 * {@link #getProperties(Class)})
 	 * @see <a href="http://tools.ietf.org/html/rfc6474">RFC 6474</a>
 	 */
 	public List<Birthplace> getBirthplaces() {
@@ -1802,7 +1870,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the deathplace properties
+	 * @return the deathplace properties (read-only view, see
+	 * {@link #getProperties(Class)})
 	 * @see <a href="http://tools.ietf.org/html/rfc6474">RFC 6474</a>
 	 */
 	public List<Deathplace> getDeathplaces() {
@@ -1895,7 +1964,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the death date properties
+	 * @return the death date properties (read-only view, see
+	 * {@link #getProperties(Class)})
 	 * @see <a href="http://tools.ietf.org/html/rfc6474">RFC 6474</a>
 	 */
 	public List<Deathdate> getDeathdates() {
@@ -1987,7 +2057,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <b>Supported versions:</b> {@code 4.0*}<br>
 	 * <i>* Only 4.0 supports alternative representations</i>
 	 * </p>
-	 * @return the birthday properties
+	 * @return the birthday properties (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<Birthday> getBirthdays() {
 		return getProperties(Birthday.class);
@@ -2077,7 +2148,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the anniversary properties
+	 * @return the anniversary properties (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<Anniversary> getAnniversaries() {
 		return getProperties(Anniversary.class);
@@ -2261,7 +2333,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 2.1, 3.0, 4.0}
 	 * </p>
-	 * @return the mailing addresses
+	 * @return the mailing addresses (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<Address> getAddresses() {
 		return getProperties(Address.class);
@@ -2331,7 +2404,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 2.1, 3.0}
 	 * </p>
-	 * @return the orphaned labels
+	 * @return the orphaned labels (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<Label> getOrphanedLabels() {
 		return getProperties(Label.class);
@@ -2361,7 +2435,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 2.1, 3.0, 4.0}
 	 * </p>
-	 * @return the email addresses
+	 * @return the email addresses (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<Email> getEmails() {
 		return getProperties(Email.class);
@@ -2451,7 +2526,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 2.1, 3.0, 4.0}
 	 * </p>
-	 * @return the telephone numbers
+	 * @return the telephone numbers (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<Telephone> getTelephoneNumbers() {
 		return getProperties(Telephone.class);
@@ -2593,7 +2669,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 2.1, 3.0, 4.0}
 	 * </p>
-	 * @return the URLs
+	 * @return the URLs (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Url> getUrls() {
 		return getProperties(Url.class);
@@ -2686,7 +2762,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <b>Supported versions:</b> {@code 4.0*}<br>
 	 * <i>* Only 4.0 supports multiple instances</i>
 	 * </p>
-	 * @return the timezones
+	 * @return the timezones (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Timezone> getTimezones() {
 		return getProperties(Timezone.class);
@@ -2835,7 +2911,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <b>Supported versions:</b> {@code 4.0*}<br>
 	 * <i>* Only 4.0 supports multiple instances</i>
 	 * </p>
-	 * @return the geo properties
+	 * @return the geo properties (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<Geo> getGeos() {
 		return getProperties(Geo.class);
@@ -2986,7 +3063,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <b>Supported versions:</b> {@code 4.0*}<br>
 	 * <i>* Only 4.0 supports multiple instances</i>
 	 * </p>
-	 * @return the organization properties
+	 * @return the organization properties (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<Organization> getOrganizations() {
 		return getProperties(Organization.class);
@@ -3164,7 +3242,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <b>Supported versions:</b> {@code 4.0*}<br>
 	 * <i>* Only 4.0 supports multiple instances</i>
 	 * </p>
-	 * @return the categories properties
+	 * @return the categories properties (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<Categories> getCategoriesList() {
 		return getProperties(Categories.class);
@@ -3369,7 +3448,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 2.1, 3.0, 4.0}
 	 * </p>
-	 * @return the notes
+	 * @return the notes (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Note> getNotes() {
 		return getProperties(Note.class);
@@ -3483,7 +3562,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 2.1, 3.0, 4.0}
 	 * </p>
-	 * @return the keys
+	 * @return the keys (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Key> getKeys() {
 		return getProperties(Key.class);
@@ -3551,7 +3630,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 3.0, 4.0}
 	 * </p>
-	 * @return the instant messaging handles
+	 * @return the instant messaging handles (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<Impp> getImpps() {
 		return getProperties(Impp.class);
@@ -3619,7 +3699,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the person's relations
+	 * @return the person's relations (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<Related> getRelations() {
 		return getProperties(Related.class);
@@ -3685,7 +3766,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the languages
+	 * @return the languages (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Language> getLanguages() {
 		return getProperties(Language.class);
@@ -3768,7 +3849,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the calendar request URIs
+	 * @return the calendar request URIs (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<CalendarRequestUri> getCalendarRequestUris() {
 		return getProperties(CalendarRequestUri.class);
@@ -3835,7 +3917,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the calendar URIs
+	 * @return the calendar URIs (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<CalendarUri> getCalendarUris() {
 		return getProperties(CalendarUri.class);
@@ -3902,7 +3985,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the free-busy URLs
+	 * @return the free-busy URLs (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<FreeBusyUrl> getFbUrls() {
 		return getProperties(FreeBusyUrl.class);
@@ -3969,7 +4053,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the client PID maps
+	 * @return the client PID maps (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<ClientPidMap> getClientPidMaps() {
 		return getProperties(ClientPidMap.class);
@@ -4002,7 +4087,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the XML data
+	 * @return the XML data (read-only view, see {@link #getProperties(Class)})
 	 */
 	public List<Xml> getXmls() {
 		return getProperties(Xml.class);
@@ -4072,7 +4157,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the professional skills
+	 * @return the professional skills (read-only view, see
+	 * {@link #getProperties(Class)})
 	 * @see <a href="http://tools.ietf.org/html/rfc6715">RFC 6715</a>
 	 */
 	public List<Expertise> getExpertise() {
@@ -4163,7 +4249,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the hobbies
+	 * @return the hobbies (read-only view, see {@link #getProperties(Class)})
 	 * @see <a href="http://tools.ietf.org/html/rfc6715">RFC 6715</a>
 	 */
 	public List<Hobby> getHobbies() {
@@ -4250,7 +4336,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the interests
+	 * @return the interests (read-only view, see {@link #getProperties(Class)})
 	 * @see <a href="http://tools.ietf.org/html/rfc6715">RFC 6715</a>
 	 */
 	public List<Interest> getInterests() {
@@ -4337,7 +4423,8 @@ public class VCard implements Iterable<VCardProperty> {
 	 * <p>
 	 * <b>Supported versions:</b> {@code 4.0}
 	 * </p>
-	 * @return the organization directories
+	 * @return the organization directories (read-only view, see
+	 * {@link #getProperties(Class)})
 	 * @see <a href="http://tools.ietf.org/html/rfc6715">RFC 6715</a>
 	 */
 	public List<OrgDirectory> getOrgDirectories() {
@@ -4418,12 +4505,94 @@ public class VCard implements Iterable<VCardProperty> {
 	}
 
 	/**
-	 * Iterates through each of the vCard's properties in no particular order.
-	 * Does not include the "BEGIN", "END", or "VERSION" properties.
+	 * <p>
+	 * Makes this vCard and all of its properties immutable (see
+	 * {@link VCardProperty#freeze}). Once frozen, any attempt to modify the
+	 * vCard will throw an {@link UnsupportedOperationException}.
+	 * </p>
+	 * <p>
+	 * A frozen vCard can be safely shared between threads without locking, as
+	 * long as it is published safely (for example, through a {@code final} or
+	 * {@code volatile} field, or a concurrent collection).
+	 * </p>
+	 * @return this
+	 */
+	public VCard freeze() {
+		if (frozen) {
+			return this;
+		}
+
+		for (int i = 0; i < size; i++) {
+			properties[i].freeze();
+		}
+		frozen = true;
+		return this;
+	}
+
+	/**
+	 * Determines if this vCard has been frozen.
+	 * @return true if it's frozen, false if not
+	 * @see #freeze
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * <p>
+	 * Creates a mutable vCard that contains the same properties as this vCard.
+	 * Properties can be added to and removed from the returned vCard without
+	 * affecting this one.
+	 * </p>
+	 * <p>
+	 * If this vCard is frozen, this method does not copy anything. The
+	 * returned vCard shares this vCard's internal storage until it is first
+	 * modified. The properties themselves are shared and remain frozen, so to
+	 * change a property's value, replace the property with a new instance.
+	 * </p>
+	 * <p>
+	 * If this vCard is not frozen, this method returns a deep copy (see
+	 * {@link #VCard(VCard)}), since the properties could otherwise be modified
+	 * through either vCard.
+	 * </p>
+	 * @return the mutable vCard
+	 */
+	public VCard toBuilder() {
+		if (!frozen) {
+			return new VCard(this);
+		}
+
+		VCard builder = new VCard();
+		builder.version = version;
+		builder.properties = properties;
+		builder.propertyClassIds = propertyClassIds;
+		builder.size = size;
+		builder.slots = slots;
+		builder.shared = true;
+		return builder;
+	}
+
+	/**
+	 * <p>
+	 * Iterates through each of the vCard's properties in the order they were
+	 * added. Does not include the "BEGIN", "END", or "VERSION" properties.
+	 * </p>
+	 * <p>
+	 * The properties are not copied, so the vCard must not be modified during
+	 * iteration, except through the iterator's {@code remove} method. Otherwise,
+	 * a {@link ConcurrentModificationException} is thrown. To modify the vCard
+	 * while looping over its properties, loop over a copy instead:
+	 * </p>
+	 * 
+	 * <pre class="brush:java">
+	 * for (VCardProperty property : new ArrayList&lt;VCardProperty&gt;(vcard.getProperties())) {
+	 *   vcard.removeProperty(property);
+	 * }
+	 * </pre>
 	 * @return the iterator
 	 */
 	public Iterator<VCardProperty> iterator() {
-		return properties.values().iterator();
+		return new PropertyIterator();
 	}
 
 	/**
@@ -4432,23 +4601,32 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @return the property or null if not found
 	 */
 	public <T extends VCardProperty> T getProperty(Class<T> clazz) {
-		return clazz.cast(properties.first(clazz));
+		PropertySlot slot = slot(clazz);
+		return (slot == null || slot.size == 0) ? null : clazz.cast(slot.properties[0]);
 	}
 
 	/**
+	 * <p>
 	 * Gets all properties of a given class.
+	 * </p>
+	 * <p>
+	 * The returned list is a read-only view, not a copy. Changes made to the
+	 * vCard are reflected in the view, and iterating over the view while the
+	 * vCard is being modified throws a {@link ConcurrentModificationException}.
+	 * To modify the vCard while looping over the properties, loop over a copy
+	 * instead:
+	 * </p>
+	 * 
+	 * <pre class="brush:java">
+	 * for (Email email : new ArrayList&lt;Email&gt;(vcard.getEmails())) {
+	 *   vcard.removeProperty(email);
+	 * }
+	 * </pre>
 	 * @param clazz the property class
-	 * @return the properties
+	 * @return a read-only view of the properties
 	 */
 	public <T extends VCardProperty> List<T> getProperties(Class<T> clazz) {
-		List<VCardProperty> props = properties.get(clazz);
-
-		//cast to the requested class
-		List<T> ret = new ArrayList<T>(props.size());
-		for (VCardProperty property : props) {
-			ret.add(clazz.cast(property));
-		}
-		return ret;
+		return new ClassView<T>(clazz, ScribeIndex.getPropertyClassId(clazz));
 	}
 
 	/**
@@ -4486,11 +4664,13 @@ public class VCard implements Iterable<VCardProperty> {
 	}
 
 	/**
-	 * Gets all the properties in this vCard.
-	 * @return the properties
+	 * Gets all the properties in this vCard. The returned collection is a
+	 * read-only view, not a copy (see {@link #getProperties(Class)}).
+	 * @return a read-only view of the properties, in the order they were
+	 * added
 	 */
 	public Collection<VCardProperty> getProperties() {
-		return properties.values();
+		return new AllView();
 	}
 
 	/**
@@ -4498,7 +4678,7 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @param property the property to add
 	 */
 	public void addProperty(VCardProperty property) {
-		properties.put(property.getClass(), property);
+		add(ScribeIndex.getPropertyClassId(property.getClass()), property);
 	}
 
 	/**
@@ -4509,7 +4689,11 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @param property the property or null to remove
 	 */
 	public <T extends VCardProperty> void setProperty(Class<T> clazz, T property) {
-		properties.replace(clazz, property);
+		int classId = ScribeIndex.getPropertyClassId(clazz);
+		removeAll(classId);
+		if (property != null) {
+			add(classId, property);
+		}
 	}
 
 	/**
@@ -4517,7 +4701,22 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @param property the property to remove
 	 */
 	public void removeProperty(VCardProperty property) {
-		properties.remove(property.getClass(), property);
+		checkFrozen();
+		int classId = ScribeIndex.getPropertyClassId(property.getClass());
+		PropertySlot slot = (classId < slots.length) ? slots[classId] : null;
+		if (slot == null || slot.indexOf(property) < 0) {
+			return;
+		}
+
+		unshare();
+		slots[classId].remove(property);
+
+		for (int i = 0; i < size; i++) {
+			if (properties[i] == property) {
+				removeAt(i);
+				break;
+			}
+		}
 	}
 
 	/**
@@ -4525,7 +4724,112 @@ public class VCard implements Iterable<VCardProperty> {
 	 * @param clazz the class of the properties to remove (e.g. "Note.class")
 	 */
 	public void removeProperties(Class<? extends VCardProperty> clazz) {
-		properties.removeAll(clazz);
+		removeAll(ScribeIndex.getPropertyClassId(clazz));
+	}
+
+	private void add(int classId, VCardProperty property) {
+		checkFrozen();
+		unshare();
+
+		if (size == properties.length) {
+			int capacity = Math.max(8, size * 2);
+			VCardProperty[] newProperties = new VCardProperty[capacity];
+			System.arraycopy(properties, 0, newProperties, 0, size);
+			properties = newProperties;
+
+			int[] newIds = new int[capacity];
+			System.arraycopy(propertyClassIds, 0, newIds, 0, size);
+			propertyClassIds = newIds;
+		}
+		properties[size] = property;
+		propertyClassIds[size] = classId;
+		size++;
+
+		if (classId >= slots.length) {
+			PropertySlot[] newSlots = new PropertySlot[classId + 1];
+			System.arraycopy(slots, 0, newSlots, 0, slots.length);
+			slots = newSlots;
+		}
+		PropertySlot slot = slots[classId];
+		if (slot == null) {
+			slot = slots[classId] = new PropertySlot();
+		}
+		slot.add(property);
+
+		modCount++;
+	}
+
+	private void removeAt(int index) {
+		size--;
+		System.arraycopy(properties, index + 1, properties, index, size - index);
+		System.arraycopy(propertyClassIds, index + 1, propertyClassIds, index, size - index);
+		properties[size] = null;
+		modCount++;
+	}
+
+	private void removeAll(int classId) {
+		checkFrozen();
+		PropertySlot slot = (classId < slots.length) ? slots[classId] : null;
+		if (slot == null || slot.size == 0) {
+			return;
+		}
+
+		unshare();
+		slots[classId] = null;
+
+		int j = 0;
+		for (int i = 0; i < size; i++) {
+			if (propertyClassIds[i] != classId) {
+				properties[j] = properties[i];
+				propertyClassIds[j] = propertyClassIds[i];
+				j++;
+			}
+		}
+		for (int i = j; i < size; i++) {
+			properties[i] = null;
+		}
+		size = j;
+		modCount++;
+	}
+
+	/**
+	 * Gives this vCard its own copy of the internal arrays if they are shared
+	 * with a frozen vCard (see {@link #toBuilder}).
+	 */
+	private void unshare() {
+		if (!shared) {
+			return;
+		}
+
+		VCardProperty[] newProperties = new VCardProperty[properties.length];
+		System.arraycopy(properties, 0, newProperties, 0, size);
+		properties = newProperties;
+
+		int[] newIds = new int[propertyClassIds.length];
+		System.arraycopy(propertyClassIds, 0, newIds, 0, size);
+		propertyClassIds = newIds;
+
+		PropertySlot[] newSlots = new PropertySlot[slots.length];
+		for (int i = 0; i < slots.length; i++) {
+			PropertySlot slot = slots[i];
+			if (slot != null) {
+				newSlots[i] = new PropertySlot(slot);
+			}
+		}
+		slots = newSlots;
+
+		shared = false;
+	}
+
+	private void checkFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException("This vCard is frozen and cannot be modified.");
+		}
+	}
+
+	private PropertySlot slot(Class<? extends VCardProperty> clazz) {
+		int classId = ScribeIndex.getPropertyClassId(clazz);
+		return (classId < slots.length) ? slots[classId] : null;
 	}
 
 	/**
@@ -4561,7 +4865,8 @@ public class VCard implements Iterable<VCardProperty> {
 
 	/**
 	 * Gets all extended properties.
-	 * @return the properties
+	 * @return the properties (read-only view, see
+	 * {@link #getProperties(Class)})
 	 */
 	public List<RawProperty> getExtendedProperties() {
 		return getProperties(RawProperty.class);
@@ -4600,7 +4905,7 @@ public class VCard implements Iterable<VCardProperty> {
 	public void removeExtendedProperty(String name) {
 		List<RawProperty> xproperties = getExtendedProperties(name);
 		for (RawProperty xproperty : xproperties) {
-			properties.remove(xproperty.getClass(), xproperty);
+			removeProperty(xproperty);
 		}
 	}
 
@@ -4715,4 +5020,243 @@ public class VCard implements Iterable<VCardProperty> {
 		}
 		return altId + "";
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Holds the properties of a single class, in insertion order.
+	 */
+	private static class PropertySlot {
+		private VCardProperty[] properties;
+		private int size;
+
+		public PropertySlot() {
+			properties = new VCardProperty[2];
+			size = 0;
+		}
+
+		public PropertySlot(PropertySlot orig) {
+			properties = orig.properties.clone();
+			size = orig.size;
+		}
+
+		public void add(VCardProperty property) {
+			if (size == properties.length) {
+				VCardProperty[] newProperties = new VCardProperty[size * 2];
+				System.arraycopy(properties, 0, newProperties, 0, size);
+				properties = newProperties;
+			}
+			properties[size++] = property;
+		}
+
+		public boolean remove(VCardProperty property) {
+			int i = indexOf(property);
+			if (i < 0) {
+				return false;
+			}
+
+			size--;
+			System.arraycopy(properties, i + 1, properties, i, size - i);
+			properties[size] = null;
+			return true;
+		}
+
+		public int indexOf(VCardProperty property) {
+			for (int i = 0; i < size; i++) {
+				if (properties[i] == property) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+	/**
+	 * Read-only view of the properties of a single class.
+	 */
+	private class ClassView<T extends VCardProperty> extends AbstractList<T> implements RandomAccess {
+		private final Class<T> clazz;
+		private final int classId;
+
+		public ClassView(Class<T> clazz, int classId) {
+			this.clazz = clazz;
+			this.classId = classId;
+		}
+
+		@Override
+		public T get(int index) {
+			PropertySlot slot = slot();
+			if (slot == null || index < 0 || index >= slot.size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+			}
+			return clazz.cast(slot.properties[index]);
+		}
+
+		@Override
+		public int size() {
+			PropertySlot slot = slot();
+			return (slot == null) ? 0 : slot.size;
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return new ViewIterator<T>(this, 0);
+		}
+
+		@Override
+		public ListIterator<T> listIterator(int index) {
+			checkIndex(index, size());
+			return new ViewIterator<T>(this, index);
+		}
+
+		private PropertySlot slot() {
+			return (classId < slots.length) ? slots[classId] : null;
+		}
+	}
+
+	/**
+	 * Read-only view of all the properties, in insertion order.
+	 */
+	private class AllView extends AbstractList<VCardProperty> implements RandomAccess {
+		@Override
+		public VCardProperty get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+			}
+			return properties[index];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public Iterator<VCardProperty> iterator() {
+			return new ViewIterator<VCardProperty>(this, 0);
+		}
+
+		@Override
+		public ListIterator<VCardProperty> listIterator(int index) {
+			checkIndex(index, size);
+			return new ViewIterator<VCardProperty>(this, index);
+		}
+	}
+
+	private static void checkIndex(int index, int size) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * Iterates over a read-only view. Throws a
+	 * {@link ConcurrentModificationException} if the vCard is modified during
+	 * iteration.
+	 */
+	private class ViewIterator<T> implements ListIterator<T> {
+		private final List<T> view;
+		private int cursor;
+		private final int expectedModCount = modCount;
+
+		public ViewIterator(List<T> view, int cursor) {
+			this.view = view;
+			this.cursor = cursor;
+		}
+
+		public boolean hasNext() {
+			checkForComodification();
+			return cursor < view.size();
+		}
+
+		public T next() {
+			checkForComodification();
+			if (cursor >= view.size()) {
+				throw new NoSuchElementException();
+			}
+			return view.get(cursor++);
+		}
+
+		public boolean hasPrevious() {
+			checkForComodification();
+			return cursor > 0;
+		}
+
+		public T previous() {
+			checkForComodification();
+			if (cursor <= 0) {
+				throw new NoSuchElementException();
+			}
+			return view.get(--cursor);
+		}
+
+		public int nextIndex() {
+			return cursor;
+		}
+
+		public int previousIndex() {
+			return cursor - 1;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		public void set(T e) {
+			throw new UnsupportedOperationException();
+		}
+
+		public void add(T e) {
+			throw new UnsupportedOperationException();
+		}
+
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	/**
+	 * Iterates over the properties in insertion order, without copying them.
+	 */
+	private class PropertyIterator implements Iterator<VCardProperty> {
+		private int next = 0;
+		private int last = -1;
+		private int expectedModCount = modCount;
+
+		public boolean hasNext() {
+			checkForComodification();
+			return next < size;
+		}
+
+		public VCardProperty next() {
+			checkForComodification();
+			if (next >= size) {
+				throw new NoSuchElementException();
+			}
+			last = next++;
+			return properties[last];
+		}
+
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			checkForComodification();
+			checkFrozen();
+			unshare();
+
+			VCardProperty property = properties[last];
+			slots[propertyClassIds[last]].remove(property);
+			removeAt(last);
+			next = last;
+			last = -1;
+			expectedModCount = modCount;
+		}
+
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+}
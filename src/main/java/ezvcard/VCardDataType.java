@@ -52,6 +52,16 @@ public class VCardDataType {
 		protected boolean matches(VCardDataType dataType, String value) {
 			return dataType.name.equalsIgnoreCase(value);
 		}
+
+		@Override
+		protected String[] indexKeys(VCardDataType dataType) {
+			return (dataType.name == null) ? null : new String[] { caseInsensitiveKey(dataType.name) };
+		}
+
+		@Override
+		protected String indexKey(String value) {
+			return (value == null) ? null : caseInsensitiveKey(value);
+		}
 	};
 
 	/**
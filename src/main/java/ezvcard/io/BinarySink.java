@@ -0,0 +1,101 @@
+package ezvcard.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import ezvcard.property.BinaryProperty;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Receives the data of binary properties (such as {@link ezvcard.property.Photo
+ * PHOTO} and {@link ezvcard.property.Key KEY}) as they are parsed, so that the
+ * data can be stored somewhere other than the heap. The data is decoded a chunk
+ * at a time and written to the stream that the sink provides. Once the data
+ * has been written, the property is given the URL that the sink returns in
+ * place of the data.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * 
+ * <pre class="brush:java">
+ * VCardReader reader = new VCardReader(file);
+ * reader.setBinarySink(new BinarySink() {
+ *   public OutputStream open(BinaryProperty&lt;?&gt; property) throws IOException {
+ *     return store.create();
+ *   }
+ *   public String close(BinaryProperty&lt;?&gt; property, OutputStream out) throws IOException {
+ *     out.close();
+ *     return store.getUrl(out);
+ *   }
+ *   public void abort(BinaryProperty&lt;?&gt; property, OutputStream out, IOException cause) {
+ *     store.delete(out);
+ *   }
+ * });
+ * </pre>
+ * 
+ * </p>
+ * @author Michael Angstadt
+ * @see StreamReader#setBinarySink
+ */
+public interface BinarySink {
+	/**
+	 * Opens a stream to write a property's data to.
+	 * @param property the property (its data has not been decoded yet, and its
+	 * content type is available from {@link BinaryProperty#getContentType})
+	 * @return the stream or null to leave the data in the property
+	 * @throws IOException if the stream could not be opened
+	 */
+	OutputStream open(BinaryProperty<?> property) throws IOException;
+
+	/**
+	 * Called once all of the property's data has been written to the stream.
+	 * This method is responsible for closing the stream.
+	 * @param property the property
+	 * @param out the stream returned by {@link #open}
+	 * @return the URL that refers to the stored data (this is assigned to the
+	 * property in place of the data)
+	 * @throws IOException if there was a problem closing the stream
+	 */
+	String close(BinaryProperty<?> property, OutputStream out) throws IOException;
+
+	/**
+	 * Called if the property's data could not be written to the stream, or
+	 * if {@link #close} throws an exception. The stream may contain only part
+	 * of the data. This method is responsible for closing the stream and
+	 * discarding whatever was written to it. The data is left in the
+	 * property.
+	 * @param property the property
+	 * @param out the stream returned by {@link #open}
+	 * @param cause the exception that was thrown
+	 */
+	void abort(BinaryProperty<?> property, OutputStream out, IOException cause);
+}
@@ -2,6 +2,7 @@ package ezvcard.io;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -10,9 +11,12 @@ import ezvcard.VCard;
 import ezvcard.io.scribe.ScribeIndex;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.AddressType;
+import ezvcard.parameter.MediaTypeParameter;
 import ezvcard.property.Address;
+import ezvcard.property.BinaryProperty;
 import ezvcard.property.Label;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.BinaryData;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -50,6 +54,7 @@ import ezvcard.property.VCardProperty;
 public abstract class StreamReader implements Closeable {
 	protected final ParseWarnings warnings = new ParseWarnings();
 	protected ScribeIndex index = new ScribeIndex();
+	protected BinarySink binarySink;
 
 	/**
 	 * Reads all vCards from the data stream.
@@ -112,6 +117,53 @@ public abstract class StreamReader implements Closeable {
 		}
 	}
 
+	/**
+	 * Sends a binary property's data to the binary sink, if one is set. If
+	 * the data was written successfully, the property's data is replaced with
+	 * the URL returned by the sink. Otherwise, the sink is told to abort and a
+	 * warning is added.
+	 * @param property the parsed property
+	 * @param line the line number or null if unknown
+	 * @param propertyName the property name
+	 */
+	protected void sinkBinaryData(VCardProperty property, Integer line, String propertyName) {
+		if (binarySink == null || !(property instanceof BinaryProperty)) {
+			return;
+		}
+
+		BinaryProperty<?> binaryProperty = (BinaryProperty<?>) property;
+		BinaryData data = binaryProperty.getBinaryData();
+		if (data == null) {
+			return;
+		}
+
+		OutputStream out;
+		try {
+			out = binarySink.open(binaryProperty);
+		} catch (IOException e) {
+			warnings.add(line, propertyName, 39, e.getMessage());
+			return;
+		}
+		if (out == null) {
+			return;
+		}
+
+		String url;
+		try {
+			data.writeTo(out);
+			url = binarySink.close(binaryProperty, out);
+		} catch (IOException e) {
+			binarySink.abort(binaryProperty, out, e);
+			warnings.add(line, propertyName, 39, e.getMessage());
+			return;
+		}
+		setUrl(binaryProperty, url);
+	}
+
+	private static <T extends MediaTypeParameter> void setUrl(BinaryProperty<T> property, String url) {
+		property.setUrl(url, property.getContentType());
+	}
+
 	/**
 	 * <p>
 	 * Registers a property scribe. This is the same as calling:
@@ -141,6 +193,25 @@ public abstract class StreamReader implements Closeable {
 		this.index = index;
 	}
 
+	/**
+	 * Gets the sink that binary property data is written to.
+	 * @return the binary sink or null if not set
+	 */
+	public BinarySink getBinarySink() {
+		return binarySink;
+	}
+
+	/**
+	 * Sets a sink that the data of binary properties (such as PHOTO and
+	 * LOGO) is written to as the properties are parsed. The parsed properties
+	 * will contain the URLs returned by the sink instead of the data itself.
+	 * @param binarySink the binary sink or null to keep the data in the
+	 * properties (default)
+	 */
+	public void setBinarySink(BinarySink binarySink) {
+		this.binarySink = binarySink;
+	}
+
 	/**
 	 * Gets the warnings from the last vCard that was unmarshalled. This list is
 	 * reset every time a new vCard is read.
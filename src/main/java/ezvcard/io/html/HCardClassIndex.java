@@ -0,0 +1,171 @@
+package ezvcard.io.html;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jsoup.nodes.Element;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Indexes the elements of an hCard by CSS class name in a single pass over the
+ * DOM. When parsing, one index is built per "vcard" root element and is shared
+ * by all of the {@link HCardElement} objects that are created for that hCard.
+ * An {@link HCardElement} that is created on its own indexes its own subtree.
+ * </p>
+ * <p>
+ * The subtrees of nested "vcard" elements are not indexed, since they belong
+ * to embedded vCards. The nested "vcard" elements themselves are indexed, but
+ * lookups under them are not served by this index (see {@link #get}).
+ * </p>
+ * @author Michael Angstadt
+ */
+class HCardClassIndex {
+	/**
+	 * Holds the document position range of each element whose subtree was
+	 * indexed. Values are {start, end (exclusive)}.
+	 */
+	private final Map<Element, int[]> ranges = new IdentityHashMap<Element, int[]>();
+	private final Map<String, Postings> byClass = new HashMap<String, Postings>();
+	private int position = 0;
+
+	/**
+	 * Indexes the given hCard.
+	 * @param root the "vcard" element (or any other element to index its
+	 * subtree)
+	 */
+	public HCardClassIndex(Element root) {
+		index(root, true);
+	}
+
+	/**
+	 * Gets the elements in the given element's subtree (including the element
+	 * itself) that have the given CSS class, in document order.
+	 * @param element the element
+	 * @param cssClass the CSS class name (case-insensitive)
+	 * @return the elements (excluding the contents of nested "vcard"
+	 * elements) or null if the element's subtree is not covered by this index
+	 * (because it is, or is inside of, a nested "vcard" element)
+	 */
+	public List<Element> get(Element element, String cssClass) {
+		int[] range = ranges.get(element);
+		if (range == null) {
+			return null;
+		}
+
+		Postings postings = byClass.get(cssClass.toLowerCase());
+		if (postings == null) {
+			return Collections.emptyList();
+		}
+
+		int from = postings.lowerBound(range[0]);
+		int to = postings.lowerBound(range[1]);
+		return Collections.unmodifiableList(postings.elements.subList(from, to));
+	}
+
+	/**
+	 * Adds an element and its descendants to the index (depth-first, so that
+	 * elements are added in document order).
+	 * @param element the element
+	 * @param root true if the element is the root element
+	 */
+	private void index(Element element, boolean root) {
+		int start = position++;
+		for (String className : element.classNames()) {
+			String key = className.toLowerCase();
+			Postings postings = byClass.get(key);
+			if (postings == null) {
+				postings = new Postings();
+				byClass.put(key, postings);
+			}
+			postings.add(element, start);
+		}
+
+		if (!root && element.hasClass("vcard")) {
+			//the subtree belongs to an embedded vCard
+			return;
+		}
+
+		for (Element child : element.children()) {
+			index(child, false);
+		}
+		ranges.put(element, new int[] { start, position });
+	}
+
+	/**
+	 * The elements that have a particular class name, along with their
+	 * document positions.
+	 */
+	private static class Postings {
+		private final List<Element> elements = new ArrayList<Element>(2);
+		private int[] positions = new int[2];
+
+		public void add(Element element, int position) {
+			int size = elements.size();
+
+			//an element should only be added once per class name, even if the class name appears more than once with different case
+			if (size > 0 && elements.get(size - 1) == element) {
+				return;
+			}
+
+			if (size == positions.length) {
+				int[] grown = new int[size * 2];
+				System.arraycopy(positions, 0, grown, 0, size);
+				positions = grown;
+			}
+			positions[size] = position;
+			elements.add(element);
+		}
+
+		/**
+		 * Finds the index of the first element whose position is greater than
+		 * or equal to the given position.
+		 * @param position the document position
+		 * @return the index
+		 */
+		public int lowerBound(int position) {
+			int low = 0, high = elements.size();
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (positions[mid] < position) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+	}
+}
@@ -43,18 +43,40 @@ import ezvcard.util.HtmlUtils;
  */
 
 /**
+ * <p>
  * Wraps hCard functionality around an HTML {@link Element} object.
+ * </p>
+ * <p>
+ * Descendant elements are looked up by CSS class name using an
+ * {@link HCardClassIndex}. When the element is parsed as part of an hCard, the
+ * index that was built for the entire hCard is used. Otherwise, the element's
+ * subtree is indexed the first time a lookup is made. Either way, changes made
+ * to the subtree after the index is built will not be seen by lookups, and the
+ * contents of nested "vcard" elements are not searched.
+ * </p>
  * @author Michael Angstadt
  */
 public class HCardElement {
 	private final Element element;
+	private HCardClassIndex classIndex;
 
 	/**
 	 * Creates an hCard element.
 	 * @param element the HTML element to wrap
 	 */
 	public HCardElement(Element element) {
+		this(element, null);
+	}
+
+	/**
+	 * Creates an hCard element.
+	 * @param element the HTML element to wrap
+	 * @param classIndex the class name index of the hCard that the element
+	 * belongs to or null to index the element's subtree on demand
+	 */
+	HCardElement(Element element, HCardClassIndex classIndex) {
 		this.element = element;
+		this.classIndex = classIndex;
 	}
 
 	/**
@@ -121,8 +143,8 @@ public class HCardElement {
 	 * @return the hCard value or null if not found
 	 */
 	public String firstValue(String cssClass) {
-		Elements elements = element.getElementsByClass(cssClass);
-		return elements.isEmpty() ? null : value(elements.first());
+		List<Element> elements = getElementsByClass(element, cssClass);
+		return elements.isEmpty() ? null : value(elements.get(0));
 	}
 
 	/**
@@ -132,7 +154,7 @@ public class HCardElement {
 	 * @return the hCard values
 	 */
 	public List<String> allValues(String cssClass) {
-		Elements elements = element.getElementsByClass(cssClass);
+		List<Element> elements = getElementsByClass(element, cssClass);
 		List<String> values = new ArrayList<String>(elements.size());
 		for (Element element : elements) {
 			values.add(value(element));
@@ -182,6 +204,30 @@ public class HCardElement {
 		return element;
 	}
 
+	/**
+	 * Gets the elements in an element's subtree (including the element itself)
+	 * that have the given CSS class, in document order. The contents of nested
+	 * "vcard" elements are not searched.
+	 * @param element this element or one of its descendants
+	 * @param cssClass the CSS class name (case-insensitive)
+	 * @return the elements
+	 */
+	private List<Element> getElementsByClass(Element element, String cssClass) {
+		List<Element> elements = (classIndex == null) ? null : classIndex.get(element, cssClass);
+		if (elements != null) {
+			return elements;
+		}
+
+		if (element == this.element) {
+			//this element is not covered by the hCard's index (for example, it is inside of an embedded vCard), so index it on its own
+			classIndex = new HCardClassIndex(element);
+			return classIndex.get(element, cssClass);
+		}
+
+		//a descendant inside of a nested "vcard" element
+		return new HCardClassIndex(element).get(element, cssClass);
+	}
+
 	private String value(Element element) {
 		//value of "title" attribute should be returned if it's a "<abbr>" tag
 		//example: <abbr class="latitude" title="48.816667">N 48� 81.6667</abbr>
@@ -193,7 +239,7 @@ public class HCardElement {
 		}
 
 		StringBuilder value = new StringBuilder();
-		Elements valueElements = element.getElementsByClass("value");
+		List<Element> valueElements = getElementsByClass(element, "value");
 		if (valueElements.isEmpty()) {
 			//get the text content of all child nodes except "type" elements
 			visitForValue(element, value);
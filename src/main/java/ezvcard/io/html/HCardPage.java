@@ -79,22 +79,44 @@ import freemarker.template.TemplateException;
  * href="http://microformats.org/wiki/hcard">http://microformats.org/wiki/hcard</a>
  */
 public class HCardPage {
-	private static final Template template;
+	private static final Template defaultTemplate;
 	static {
 		Configuration cfg = new Configuration();
 		cfg.setClassForTemplateLoading(HCardPage.class, "");
 		cfg.setObjectWrapper(new DefaultObjectWrapper());
 		cfg.setWhitespaceStripping(true);
 		try {
-			template = cfg.getTemplate("hcard-template.html");
+			defaultTemplate = cfg.getTemplate("hcard-template.html");
 		} catch (IOException e) {
 			//should never be thrown because it's always on the classpath
 			throw new RuntimeException(e);
 		}
 	}
 
+	private final Template template;
 	private final List<VCard> vcards = new ArrayList<VCard>();
 
+	/**
+	 * Creates a new hCard page that uses the default template.
+	 */
+	public HCardPage() {
+		this(defaultTemplate);
+	}
+
+	/**
+	 * <p>
+	 * Creates a new hCard page that uses a custom freemarker template.
+	 * </p>
+	 * <p>
+	 * To generate the default markup, use {@link HCardWriter}, which streams
+	 * each vCard to the output stream without a template.
+	 * </p>
+	 * @param template the template
+	 */
+	public HCardPage(Template template) {
+		this.template = template;
+	}
+
 	/**
 	 * Adds a vCard to the HTML page.
 	 * @param vcard the vCard to add
@@ -144,7 +166,8 @@ public class HCardPage {
 	/**
 	 * Writes the HTML document to a writer.
 	 * @param writer the writer
-	 * @throws IOException if there's a problem writing to the writer
+	 * @throws IOException if there's a problem writing to the writer or
+	 * processing the template
 	 */
 	public void write(Writer writer) throws IOException {
 		Map<String, Object> map = new HashMap<String, Object>();
@@ -158,8 +181,7 @@ public class HCardPage {
 		try {
 			template.process(map, writer);
 		} catch (TemplateException e) {
-			//this should never be thrown because we're always using the same template (it is hard-coded and cannot be changed by the user)
-			throw new RuntimeException(e);
+			throw new IOException(e);
 		}
 		writer.flush();
 	}
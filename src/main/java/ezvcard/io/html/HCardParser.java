@@ -24,7 +24,7 @@ import ezvcard.io.CannotParseException;
 import ezvcard.io.EmbeddedVCardException;
 import ezvcard.io.SkipMeException;
 import ezvcard.io.StreamReader;
-import ezvcard.io.scribe.RawPropertyScribe;
+import ezvcard.io.scribe.ScribeIndex;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.io.scribe.VCardPropertyScribe.Result;
 import ezvcard.property.Categories;
@@ -92,6 +92,7 @@ public class HCardParser extends StreamReader {
 	private final List<Label> labels = new ArrayList<Label>();
 
 	private VCard vcard;
+	private HCardClassIndex classIndex;
 	private Elements embeddedVCards = new Elements();
 	private Nickname nickname;
 	private Categories categories;
@@ -223,16 +224,9 @@ public class HCardParser extends StreamReader {
 			searchUnder = document;
 		}
 
-		vcardElements = searchUnder.getElementsByClass("vcard");
-
-		//remove nested vcard elements
-		Iterator<Element> it = vcardElements.iterator();
-		while (it.hasNext()) {
-			Element element = it.next();
-			if (isChildOf(element, vcardElements)) {
-				it.remove();
-			}
-		}
+		//find the top-level vcard elements (nested vcard elements are ignored)
+		vcardElements = new Elements();
+		findVCardElements(searchUnder, vcardElements);
 
 		vcardElementsIt = vcardElements.iterator();
 	}
@@ -248,6 +242,24 @@ public class HCardParser extends StreamReader {
 		vcardElementsIt = vcardElements.iterator();
 	}
 
+	/**
+	 * Finds all of the top-level "vcard" elements under a given element in a
+	 * single pass over the DOM. The subtree of each "vcard" element is not
+	 * searched, since any "vcard" elements found there are embedded vCards.
+	 * @param element the element to search under
+	 * @param found the list to add the "vcard" elements to
+	 */
+	private static void findVCardElements(Element element, Elements found) {
+		if (element.hasClass("vcard")) {
+			found.add(element);
+			return;
+		}
+
+		for (Element child : element.children()) {
+			findVCardElements(child, found);
+		}
+	}
+
 	@Override
 	public VCard readNext() {
 		try {
@@ -273,6 +285,8 @@ public class HCardParser extends StreamReader {
 		nickname = null;
 		categories = null;
 
+		classIndex = new HCardClassIndex(vcardElement);
+
 		vcard = new VCard();
 		vcard.setVersion(VCardVersion.V3_0);
 		if (pageUrl != null) {
@@ -290,6 +304,7 @@ public class HCardParser extends StreamReader {
 
 	private void visit(Element element) {
 		boolean visitChildren = true;
+		HCardElement hcardElement = null;
 		Set<String> classNames = element.classNames();
 		for (String className : classNames) {
 			className = className.toLowerCase();
@@ -298,15 +313,18 @@ public class HCardParser extends StreamReader {
 			if (urlPropertyName.equals(className)) {
 				String href = element.attr("href");
 				if (href.length() > 0) {
-					if (!classNames.contains(emailName) && href.matches("(?i)mailto:.*")) {
+					if (!classNames.contains(emailName) && href.regionMatches(true, 0, "mailto:", 0, 7)) {
 						className = emailName;
-					} else if (!classNames.contains(telName) && href.matches("(?i)tel:.*")) {
+					} else if (!classNames.contains(telName) && href.regionMatches(true, 0, "tel:", 0, 4)) {
 						className = telName;
 					} else {
 						//try parsing as IMPP
 						VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(Impp.class);
+						if (hcardElement == null) {
+							hcardElement = new HCardElement(element, classIndex);
+						}
 						try {
-							Result<? extends VCardProperty> result = scribe.parseHtml(new HCardElement(element));
+							Result<? extends VCardProperty> result = scribe.parseHtml(hcardElement);
 							vcard.addProperty(result.getProperty());
 							for (String warning : result.getWarnings()) {
 								warnings.add(null, scribe.getPropertyName(), warning);
@@ -332,18 +350,24 @@ public class HCardParser extends StreamReader {
 				if (!className.startsWith("x-")) {
 					continue;
 				}
-				scribe = new RawPropertyScribe(className);
+				scribe = ScribeIndex.getRawPropertyScribe(className);
+			}
+
+			//class name lookups made by the scribe are served from the index of the entire hCard
+			if (hcardElement == null) {
+				hcardElement = new HCardElement(element, classIndex);
 			}
 
 			VCardProperty property;
 			try {
-				Result<? extends VCardProperty> result = scribe.parseHtml(new HCardElement(element));
+				Result<? extends VCardProperty> result = scribe.parseHtml(hcardElement);
 
 				for (String warning : result.getWarnings()) {
 					warnings.add(null, className, warning);
 				}
 
 				property = result.getProperty();
+				sinkBinaryData(property, null, className);
 
 				//LABELs must be treated specially so they can be matched up with their ADRs
 				if (property instanceof Label) {
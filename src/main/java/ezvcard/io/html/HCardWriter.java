@@ -0,0 +1,1035 @@
+package ezvcard.io.html;
+
+import static ezvcard.util.IOUtils.utf8Writer;
+
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import ezvcard.Ezvcard;
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import ezvcard.io.StreamWriter;
+import ezvcard.io.scribe.ImppScribe;
+import ezvcard.io.scribe.VCardPropertyScribe;
+import ezvcard.parameter.AddressType;
+import ezvcard.parameter.EmailType;
+import ezvcard.parameter.MediaTypeParameter;
+import ezvcard.parameter.TelephoneType;
+import ezvcard.parameter.VCardParameter;
+import ezvcard.property.Address;
+import ezvcard.property.BinaryProperty;
+import ezvcard.property.Birthday;
+import ezvcard.property.Categories;
+import ezvcard.property.Classification;
+import ezvcard.property.Email;
+import ezvcard.property.FormattedName;
+import ezvcard.property.Geo;
+import ezvcard.property.Impp;
+import ezvcard.property.Mailer;
+import ezvcard.property.Nickname;
+import ezvcard.property.Note;
+import ezvcard.property.Organization;
+import ezvcard.property.ProductId;
+import ezvcard.property.Revision;
+import ezvcard.property.Role;
+import ezvcard.property.SortString;
+import ezvcard.property.Sound;
+import ezvcard.property.StructuredName;
+import ezvcard.property.Telephone;
+import ezvcard.property.Timezone;
+import ezvcard.property.Title;
+import ezvcard.property.Uid;
+import ezvcard.property.Url;
+import ezvcard.property.VCardProperty;
+import ezvcard.util.BinaryData;
+import ezvcard.util.IOUtils;
+import ezvcard.util.TelUri;
+import ezvcard.util.VCardDateFormat;
+import ezvcard.util.org.apache.commons.codec.binary.Base64;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer.
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies,
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Writes {@link VCard} objects to an HTML page (hCard format). The page is
+ * written directly to the output stream, one vCard at a time, and embedded
+ * binary data (such as photos) is base64-encoded in chunks, so the entire page
+ * never has to be held in memory. The markup is the same as what
+ * {@link HCardPage} generates with its default template, except that all
+ * property values are HTML-escaped (the template only escapes the note,
+ * address, and label values).
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ *
+ * <pre class="brush:java">
+ * VCard vcard1 = ...
+ * VCard vcard2 = ...
+ *
+ * File file = new File("hcard.html");
+ * HCardWriter writer = new HCardWriter(file);
+ * writer.write(vcard1);
+ * writer.write(vcard2);
+ * writer.close();
+ * </pre>
+ *
+ * </p>
+ * @author Michael Angstadt
+ * @see <a
+ * href="http://microformats.org/wiki/hcard">http://microformats.org/wiki/hcard</a>
+ */
+public class HCardWriter extends StreamWriter implements Flushable {
+	private static final String TRANSLUCENT_BG = "translucent-bg.png";
+	private static final String NO_PROFILE = "no-profile.png";
+	private static String translucentBgUri, noProfileUri;
+
+	private final Writer writer;
+	private final VCardVersion targetVersion = VCardVersion.V3_0;
+	private boolean started = false, ended = false;
+	private int count = 0;
+
+	/**
+	 * Creates an hCard writer.
+	 * @param out the output stream to write the HTML page to
+	 */
+	public HCardWriter(OutputStream out) {
+		this(utf8Writer(out));
+	}
+
+	/**
+	 * Creates an hCard writer.
+	 * @param file the file to write the HTML page to
+	 * @throws IOException if there's a problem opening the file
+	 */
+	public HCardWriter(File file) throws IOException {
+		this(utf8Writer(file));
+	}
+
+	/**
+	 * Creates an hCard writer.
+	 * @param writer the writer to write the HTML page to
+	 */
+	public HCardWriter(Writer writer) {
+		this.writer = writer;
+	}
+
+	/**
+	 * Writes a vCard to the stream.
+	 * @param vcard the vCard that is being written
+	 * @param properties the properties to write
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	@Override
+	protected void _write(VCard vcard, List<VCardProperty> properties) throws IOException {
+		if (!started) {
+			writeHeader();
+		}
+
+		/*
+		 * Only the properties that passed the version and scribe checks are
+		 * rendered.
+		 */
+		VCard filtered = new VCard();
+		for (VCardProperty property : properties) {
+			filtered.addProperty(property);
+		}
+		count++;
+
+		writer.write("<div class=\"vcard\">\n");
+		writeSortString(filtered);
+
+		writer.write("<table>\n<tr>\n<td valign=\"top\">\n");
+		writeImage(filtered);
+		writer.write("</td>\n<td valign=\"top\">\n");
+		writeHeading(filtered);
+		writeNicknames(filtered.getNickname());
+		writeBirthday(filtered.getBirthday());
+		writeCategories(filtered.getCategories());
+		writer.write("</td>\n</tr>\n</table>\n");
+
+		writeSound(filtered.getSounds());
+		writer.write("<br />\n");
+
+		Classification classification = filtered.getClassification();
+		if (classification != null && classification.getValue() != null) {
+			writeLabeledSpan("Data classification: ", "class", classification.getValue());
+		}
+
+		Uid uid = filtered.getUid();
+		if (uid != null && uid.getValue() != null) {
+			writeLabeledSpan("Unique identifier: ", "uid", uid.getValue());
+		}
+
+		writeRevision(filtered.getRevision());
+
+		writer.write("<table>\n<tr>\n<td valign=\"top\">\n");
+		writeAddresses(filtered.getAddresses());
+		writer.write("</td>\n<td valign=\"top\" style=\"padding-left:20px\">\n");
+		writeTelephoneNumbers(filtered.getTelephoneNumbers());
+		writeEmails(filtered.getEmails());
+		writeImpps(filtered.getImpps());
+		writeUrls(filtered.getUrls());
+		writer.write("</td>\n<td valign=\"top\" style=\"padding-left:20px\">\n");
+		writeStructuredName(filtered.getStructuredName());
+		writeGeo(filtered.getGeo());
+
+		Mailer mailer = filtered.getMailer();
+		if (mailer != null && mailer.getValue() != null) {
+			writeLabeledSpan("Mailer: ", "mailer", mailer.getValue());
+		}
+
+		Timezone timezone = filtered.getTimezone();
+		if (timezone != null && timezone.getOffset() != null) {
+			writeLabeledSpan("Timezone: ", "tz", timezone.getOffset().toString(false));
+		}
+
+		writeOrganization(filtered.getOrganization());
+		writeTitles(filtered.getTitles());
+		writeRoles(filtered.getRoles());
+		writer.write("</td>\n</tr>\n</table>\n");
+
+		writeNotes(filtered.getNotes());
+		writeProdId(vcard);
+		writer.write("</div>\n");
+	}
+
+	@Override
+	protected VCardVersion getTargetVersion() {
+		return targetVersion;
+	}
+
+	private void writeSortString(VCard vcard) throws IOException {
+		String sortString = null;
+		SortString sortStringProperty = vcard.getSortString();
+		StructuredName n = vcard.getStructuredName();
+		Organization org = vcard.getOrganization();
+		if (sortStringProperty != null && sortStringProperty.getValue() != null) {
+			sortString = sortStringProperty.getValue();
+		} else if (n != null && !n.getSortAs().isEmpty()) {
+			sortString = join(n.getSortAs(), ",");
+		} else if (org != null && !org.getSortAs().isEmpty()) {
+			sortString = join(org.getSortAs(), ",");
+		}
+
+		if (sortString != null) {
+			writer.write("<abbr class=\"sort-string\" title=\"");
+			text(sortString);
+			writer.write("\"></abbr>\n");
+		}
+	}
+
+	private void writeImage(VCard vcard) throws IOException {
+		BinaryProperty<?> image = null;
+		String imgClass = null;
+		if (!vcard.getPhotos().isEmpty()) {
+			image = vcard.getPhotos().get(0);
+			imgClass = "photo";
+		} else if (!vcard.getLogos().isEmpty()) {
+			image = vcard.getLogos().get(0);
+			imgClass = "logo";
+		}
+
+		if (image == null || (image.getUrl() == null && image.getBinaryData() == null)) {
+			writer.write("<img onload=\"resizeRelative(this, 100, 100)\" src=\"");
+			writer.write(noProfileUri());
+			writer.write("\" />\n");
+			return;
+		}
+
+		writer.write("<a href=\"#\" onclick=\"showImage(this); return false;\">\n");
+		writer.write("<img class=\"" + imgClass + "\" onload=\"resizeRelative(this, 100, 100)\" src=\"");
+		source(image);
+		writer.write("\" />\n");
+		writer.write("</a>\n");
+	}
+
+	private void writeHeading(VCard vcard) throws IOException {
+		FormattedName fn = vcard.getFormattedName();
+		StructuredName n = vcard.getStructuredName();
+		if (fn != null && fn.getValue() != null) {
+			writer.write("<h1 class=\"fn\">");
+			text(fn.getValue());
+			writer.write("</h1>\n");
+		} else if (n != null && n.getFamily() != null && n.getGiven() != null) {
+			writer.write("<h1>");
+			text(n.getGiven() + " " + n.getFamily());
+			writer.write("</h1>\n");
+		} else {
+			writer.write("<h1>VCard #" + count + "</h1>\n");
+		}
+	}
+
+	private void writeNicknames(Nickname nickname) throws IOException {
+		if (nickname == null || nickname.getValues().isEmpty()) {
+			return;
+		}
+
+		writer.write("<span class=\"l\">Nicknames: </span>\n");
+		writeSpans("nickname", nickname.getValues());
+		writer.write("<br />\n");
+	}
+
+	private void writeBirthday(Birthday birthday) throws IOException {
+		if (birthday == null || birthday.getDate() == null) {
+			return;
+		}
+
+		Date date = birthday.getDate();
+		writer.write("<span class=\"l\">Birthday: </span>\n");
+		writer.write("<time class=\"bday\" datetime=\"");
+		text(VCardDateFormat.DATE_EXTENDED.format(date));
+		writer.write("\">");
+		text(new SimpleDateFormat("MMMM d, yyyy").format(date));
+		writer.write("</time>\n<br />\n");
+	}
+
+	private void writeCategories(Categories categories) throws IOException {
+		if (categories == null || categories.getValues().isEmpty()) {
+			return;
+		}
+
+		writer.write("<span class=\"l\">Tags: </span>\n");
+		writeSpans("category", categories.getValues());
+		writer.write("<br />\n");
+	}
+
+	private void writeSound(List<Sound> sounds) throws IOException {
+		if (sounds.isEmpty()) {
+			return;
+		}
+
+		Sound sound = sounds.get(0);
+		if (sound.getUrl() == null && sound.getBinaryData() == null) {
+			return;
+		}
+
+		writer.write("<audio controls=\"controls\">\n");
+		writer.write("<source id=\"audioClip\" class=\"sound\" src=\"");
+		source(sound);
+		writer.write("\"");
+		MediaTypeParameter contentType = sound.getContentType();
+		if (contentType != null && contentType.getMediaType() != null) {
+			writer.write(" type=\"");
+			text(contentType.getMediaType());
+			writer.write("\"");
+		}
+		writer.write(" />\n");
+		writer.write("<span class=\"l\">Audio clip: </span><a href=\"#\" onclick=\"window.location=document.getElementById('audioClip').src\">[download]</a>\n");
+		writer.write("</audio>\n<br />\n");
+	}
+
+	private void writeRevision(Revision revision) throws IOException {
+		if (revision == null || revision.getValue() == null) {
+			return;
+		}
+
+		Date date = revision.getValue();
+		writer.write("<span class=\"l\">vCard last updated: </span>\n");
+		writer.write("<time class=\"rev\" datetime=\"");
+		text(VCardDateFormat.HCARD_DATE_TIME.format(date));
+		writer.write("\">");
+		text(new SimpleDateFormat("MMMM d, yyyy h:mm aa z").format(date));
+		writer.write("</time>\n<br />\n");
+	}
+
+	private void writeAddresses(List<Address> addresses) throws IOException {
+		if (addresses.isEmpty()) {
+			return;
+		}
+
+		writer.write("<span class=\"l\">Addresses:</span>\n<div class=\"indent\">\n");
+		for (Address adr : addresses) {
+			writer.write("<div class=\"adr\">\n");
+
+			String label = adr.getLabel();
+			if (label != null) {
+				writer.write("<span class=\"label\"><span class=\"value\" style=\"display:none\">");
+				textWithBreaks(label);
+				writer.write("</span>\n");
+			}
+
+			Set<AddressType> types = adr.getTypes();
+			if (!types.isEmpty()) {
+				writer.write("<i>\n");
+				writeTypes(types);
+				writer.write("</i><br />\n");
+			}
+
+			if (label != null) {
+				writer.write("</span>\n");
+			}
+
+			if (adr.getPoBox() != null) {
+				writer.write("P.O. Box <span class=\"post-office-box\">");
+				text(adr.getPoBox());
+				writer.write("</span><br />\n");
+			}
+			if (adr.getStreetAddress() != null) {
+				writer.write("<span class=\"street-address\">");
+				textWithBreaks(adr.getStreetAddress());
+				writer.write("</span><br />\n");
+			}
+			if (adr.getExtendedAddress() != null) {
+				writer.write("<span class=\"extended-address\">");
+				textWithBreaks(adr.getExtendedAddress());
+				writer.write("</span><br />\n");
+			}
+			if (adr.getLocality() != null) {
+				writeSpan("locality", adr.getLocality());
+				if (adr.getRegion() != null) {
+					writer.write(", ");
+				}
+				writer.write("\n");
+			}
+			if (adr.getRegion() != null) {
+				writeSpan("region", adr.getRegion());
+				writer.write(" \n");
+			}
+			if (adr.getPostalCode() != null) {
+				writeSpan("postal-code", adr.getPostalCode());
+				writer.write("\n");
+			}
+			if (adr.getCountry() != null) {
+				writer.write("<br />");
+				writeSpan("country-name", adr.getCountry());
+				writer.write("\n");
+			}
+
+			writer.write("</div>\n<br />\n");
+		}
+		writer.write("</div>\n");
+	}
+
+	private void writeTelephoneNumbers(List<Telephone> telephoneNumbers) throws IOException {
+		if (telephoneNumbers.isEmpty()) {
+			return;
+		}
+
+		writer.write("<span class=\"l\">Phone numbers:</span>\n<div class=\"indent\">\n");
+		for (Telephone tel : telephoneNumbers) {
+			writer.write("<div class=\"tel\">\n");
+
+			Set<TelephoneType> types = tel.getTypes();
+			if (!types.isEmpty()) {
+				writer.write("<i>\n");
+				writeTypes(types);
+				writer.write("</i>: \n");
+			}
+
+			writer.write("<span class=\"value\">");
+			TelUri uri = tel.getUri();
+			if (uri != null) {
+				text(uri.getNumber());
+				if (uri.getExtension() != null) {
+					text(" x" + uri.getExtension());
+				}
+			} else if (tel.getText() != null) {
+				text(tel.getText());
+			}
+			writer.write("</span>\n");
+
+			writer.write("</div>\n");
+		}
+		writer.write("</div>\n<br />\n");
+	}
+
+	private void writeEmails(List<Email> emails) throws IOException {
+		if (emails.isEmpty()) {
+			return;
+		}
+
+		writer.write("<span class=\"l\">Emails:</span>\n<div class=\"indent\">\n");
+		for (Email email : emails) {
+			writer.write("<div class=\"email\">\n");
+
+			Set<EmailType> types = email.getTypes();
+			if (!types.isEmpty()) {
+				writer.write("<i>\n");
+				writeTypes(types);
+				writer.write("</i>: \n");
+			}
+
+			String value = (email.getValue() == null) ? "" : email.getValue();
+			writer.write("<a class=\"value\" href=\"mailto:");
+			text(value);
+			writer.write("\">");
+			text(value);
+			writer.write("</a>\n");
+
+			writer.write("</div>\n");
+		}
+		writer.write("</div>\n<br />\n");
+	}
+
+	private void writeImpps(List<Impp> impps) throws IOException {
+		if (impps.isEmpty()) {
+			return;
+		}
+
+		writer.write("<span class=\"l\">Instant messenger handles:</span>\n<div class=\"indent\">\n");
+		for (Impp impp : impps) {
+			if (impp.getUri() == null) {
+				continue;
+			}
+
+			VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(impp);
+			String href = (scribe instanceof ImppScribe) ? ((ImppScribe) scribe).writeHtmlLink(impp) : impp.getUri().toString();
+
+			writer.write("<i>");
+			text(protocolName(impp.getProtocol()));
+			writer.write("</i>: <a class=\"url\" href=\"");
+			text(href);
+			writer.write("\">");
+			text(impp.getHandle());
+			writer.write("</a><br />\n");
+		}
+		writer.write("</div>\n<br />\n");
+	}
+
+	private void writeUrls(List<Url> urls) throws IOException {
+		if (urls.isEmpty()) {
+			return;
+		}
+
+		writer.write("<span class=\"l\">URLs:</span>\n<div class=\"indent\">\n");
+		for (Url url : urls) {
+			String value = (url.getValue() == null) ? "" : url.getValue();
+			writer.write("<a class=\"url\" href=\"");
+			text(value);
+			writer.write("\">");
+			text(value);
+			writer.write("</a><br />\n");
+		}
+		writer.write("</div>\n");
+	}
+
+	private void writeStructuredName(StructuredName n) throws IOException {
+		if (n == null) {
+			return;
+		}
+
+		writer.write("<span class=\"l\">Name: </span>\n<div class=\"n indent\">\n");
+		if (n.getFamily() != null) {
+			writer.write("<i>Family</i>: ");
+			writeSpan("family-name", n.getFamily());
+			writer.write("\n<br />\n");
+		}
+		if (n.getGiven() != null) {
+			writer.write("<i>Given</i>: ");
+			writeSpan("given-name", n.getGiven());
+			writer.write("\n<br />\n");
+		}
+		if (!n.getAdditional().isEmpty()) {
+			writer.write("<i>Additional</i>:\n");
+			writeSpans("additional-name", n.getAdditional());
+			writer.write("<br />\n");
+		}
+		if (!n.getPrefixes().isEmpty()) {
+			writer.write("<i>Honorific prefixes</i>:\n");
+			writeSpans("honorific-prefix", n.getPrefixes());
+			writer.write("<br />\n");
+		}
+		if (!n.getSuffixes().isEmpty()) {
+			writer.write("<i>Honorific suffixes</i>:\n");
+			writeSpans("honorific-suffix", n.getSuffixes());
+			writer.write("<br />\n");
+		}
+		writer.write("</div>\n<br />\n");
+	}
+
+	private void writeGeo(Geo geo) throws IOException {
+		if (geo == null || geo.getLatitude() == null || geo.getLongitude() == null) {
+			return;
+		}
+
+		NumberFormat nf = new DecimalFormat("0.######", new DecimalFormatSymbols(Locale.US));
+		writer.write("<span class=\"l\">Geo: </span>\n<span class=\"geo\">\n");
+		writeSpan("latitude", nf.format(geo.getLatitude()));
+		writer.write(",\n");
+		writeSpan("longitude", nf.format(geo.getLongitude()));
+		writer.write("\n</span>\n<br />\n");
+	}
+
+	private void writeOrganization(Organization org) throws IOException {
+		if (org == null || org.getValues().isEmpty()) {
+			return;
+		}
+
+		writer.write("<span class=\"l\">Organization: </span>\n<span class=\"org\">\n");
+		List<String> values = org.getValues();
+		for (int i = 0; i < values.size(); i++) {
+			String value = values.get(i);
+			switch (i) {
+			case 0:
+				writeSpan("organization-name", value);
+				break;
+			case 1:
+				writeSpan("organization-unit", value);
+				break;
+			default:
+				text(value);
+				break;
+			}
+
+			if (i < values.size() - 1) {
+				writer.write(", ");
+			}
+			writer.write("\n");
+		}
+		writer.write("</span>\n<br />\n");
+	}
+
+	private void writeTitles(List<Title> titles) throws IOException {
+		if (titles.isEmpty()) {
+			return;
+		}
+
+		writer.write("<span class=\"l\">Titles: </span>\n");
+		for (int i = 0; i < titles.size(); i++) {
+			writeSpan("title", titles.get(i).getValue());
+			if (i < titles.size() - 1) {
+				writer.write(", ");
+			}
+			writer.write("\n");
+		}
+		writer.write("<br />\n");
+	}
+
+	private void writeRoles(List<Role> roles) throws IOException {
+		if (roles.isEmpty()) {
+			return;
+		}
+
+		writer.write("<span class=\"l\">Roles: </span>\n");
+		for (int i = 0; i < roles.size(); i++) {
+			writeSpan("role", roles.get(i).getValue());
+			if (i < roles.size() - 1) {
+				writer.write(", ");
+			}
+			writer.write("\n");
+		}
+		writer.write("<br />\n");
+	}
+
+	private void writeNotes(List<Note> notes) throws IOException {
+		if (notes.isEmpty()) {
+			return;
+		}
+
+		writer.write("<span class=\"l\">Notes:</span>\n");
+		for (Note note : notes) {
+			writer.write("<div class=\"note\" style=\"font-family:monospace\">\n");
+			if (note.getValue() != null) {
+				textWithBreaks(note.getValue());
+			}
+			writer.write("\n</div>\n<br />\n");
+		}
+	}
+
+	private void writeProdId(VCard vcard) throws IOException {
+		String value;
+		if (isAddProdId()) {
+			value = "ez-vcard " + Ezvcard.VERSION;
+		} else {
+			ProductId prodId = vcard.getProductId();
+			if (prodId == null || prodId.getValue() == null) {
+				return;
+			}
+			value = prodId.getValue();
+		}
+
+		writer.write("<abbr class=\"prodid\" title=\"");
+		text(value);
+		writer.write("\"></abbr>\n");
+	}
+
+	private void writeLabeledSpan(String label, String cssClass, String value) throws IOException {
+		writer.write("<span class=\"l\">" + label + "</span>\n");
+		writeSpan(cssClass, value);
+		writer.write("\n<br />\n");
+	}
+
+	private void writeSpans(String cssClass, List<String> values) throws IOException {
+		for (int i = 0; i < values.size(); i++) {
+			writeSpan(cssClass, values.get(i));
+			if (i < values.size() - 1) {
+				writer.write(", ");
+			}
+			writer.write("\n");
+		}
+	}
+
+	private void writeSpan(String cssClass, String value) throws IOException {
+		writer.write("<span class=\"" + cssClass + "\">");
+		if (value != null) {
+			text(value);
+		}
+		writer.write("</span>");
+	}
+
+	private void writeTypes(Collection<? extends VCardParameter> types) throws IOException {
+		Iterator<? extends VCardParameter> it = types.iterator();
+		while (it.hasNext()) {
+			String value = it.next().getValue();
+			writer.write("<span class=\"type\">");
+			text(capitalize(value));
+			writer.write("</span>");
+			if (it.hasNext()) {
+				writer.write(", ");
+			}
+			writer.write("\n");
+		}
+	}
+
+	/**
+	 * Writes the "src" or "href" value of a binary property. If the property
+	 * contains binary data, it is streamed out as a base64-encoded data URI.
+	 * @param property the property
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	private void source(BinaryProperty<?> property) throws IOException {
+		String url = property.getUrl();
+		if (url != null) {
+			text(url);
+			return;
+		}
+
+		MediaTypeParameter contentType = property.getContentType();
+		String mediaType = (contentType == null || contentType.getMediaType() == null) ? "" : contentType.getMediaType();
+		writeDataUri(mediaType, property.getBinaryData());
+	}
+
+	private void writeDataUri(String mediaType, BinaryData data) throws IOException {
+		writer.write("data:");
+		text(mediaType);
+		writer.write(";base64,");
+		data.writeBase64(writer);
+	}
+
+	/**
+	 * Writes the beginning of the HTML page.
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	private void writeHeader() throws IOException {
+		started = true;
+
+		writer.write("<html>\n");
+		writer.write("<head>\n");
+		writer.write("<link rel=\"profile\" href=\"http://microformats.org/profile/hcard\" />\n");
+		writer.write("<style>\n");
+		writer.write("body, table {\n");
+		writer.write("font-family:arial;\n");
+		writer.write("font-size: 10pt;\n");
+		writer.write("line-height: 1.5em;\n");
+		writer.write("}\n");
+		writer.write("img {\n");
+		writer.write("border: 0;\n");
+		writer.write("}\n");
+		writer.write(".l {\n");
+		writer.write("font-variant: small-caps;\n");
+		writer.write("}\n");
+		writer.write(".indent {\n");
+		writer.write("margin-left: 5px;\n");
+		writer.write("padding-left: 5px;\n");
+		writer.write("border-left: 1px solid #000;\n");
+		writer.write("}\n");
+		writer.write("#imagePopup {\n");
+		writer.write("position: fixed;\n");
+		writer.write("z-index: 999; /* prevent audio control from appearing over the div */\n");
+		writer.write("left: 0px;\n");
+		writer.write("top: 0px;\n");
+		writer.write("height: 100%;\n");
+		writer.write("width: 100%;\n");
+		writer.write("cursor: pointer;\n");
+		writer.write("background-image: url('" + translucentBgUri() + "');\n");
+		writer.write("}\n");
+		writer.write("</style>\n");
+		writer.write("<script>\n");
+		writer.write("function showImage(a){\n");
+		writer.write("var imgs = a.getElementsByTagName('img');\n");
+		writer.write("if (imgs.length == 0){\n");
+		writer.write("return;\n");
+		writer.write("}\n");
+		writer.write("var img = imgs[0];\n");
+		writer.write("var imagePopup_img = document.getElementById(\"imagePopup_img\");\n");
+		writer.write("imagePopup_img.src = img.src;\n");
+		writer.write("var imagePopup = document.getElementById('imagePopup');\n");
+		writer.write("imagePopup.style.display = 'block';\n");
+		writer.write("}\n");
+		writer.write("function resizeRelative(img, maxHeight, maxWidth) {\n");
+		writer.write("var ratio = 0;\n");
+		writer.write("var width = img.width;\n");
+		writer.write("var height = img.height;\n");
+		writer.write("if (width > maxWidth) {\n");
+		writer.write("ratio = maxWidth / width;\n");
+		writer.write("img.width = maxWidth;\n");
+		writer.write("img.height = height * ratio;\n");
+		writer.write("height = height * ratio;\n");
+		writer.write("width = width * ratio;\n");
+		writer.write("}\n");
+		writer.write("if (height > maxHeight) {\n");
+		writer.write("ratio = maxHeight / height;\n");
+		writer.write("img.height = maxHeight;\n");
+		writer.write("img.width = width * ratio;\n");
+		writer.write("}\n");
+		writer.write("}\n");
+		writer.write("</script>\n");
+		writer.write("</head>\n");
+		writer.write("<body>\n");
+		writer.write("<div id=\"imagePopup\" onclick=\"this.style.display='none'\" style=\"display:none\">\n");
+		writer.write("<table style=\"width:100%; height:100%\">\n");
+		writer.write("<tr>\n");
+		writer.write("<td valign=\"middle\" align=\"center\">\n");
+		writer.write("<img id=\"imagePopup_img\" src=\"\" />\n");
+		writer.write("</td>\n");
+		writer.write("</tr>\n");
+		writer.write("</table>\n");
+		writer.write("</div>\n");
+	}
+
+	/**
+	 * Writes the end of the HTML page.
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	private void writeFooter() throws IOException {
+		writer.write("<i>hCard specs: <a href=\"http://microformats.org/wiki/hcard\">http://microformats.org/wiki/hcard</a></i><br />\n");
+		writer.write("<i>Generated by <a href=\"");
+		text(Ezvcard.URL);
+		writer.write("\">ez-vcard</a> ");
+		text(Ezvcard.VERSION);
+		writer.write("</i>\n");
+		writer.write("</body>\n");
+		writer.write("</html>");
+	}
+
+	/**
+	 * Writes a string, escaping HTML special characters.
+	 * @param value the string
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	private void text(String value) throws IOException {
+		int start = 0;
+		for (int i = 0; i < value.length(); i++) {
+			String replacement;
+			switch (value.charAt(i)) {
+			case '&':
+				replacement = "&amp;";
+				break;
+			case '<':
+				replacement = "&lt;";
+				break;
+			case '>':
+				replacement = "&gt;";
+				break;
+			case '"':
+				replacement = "&quot;";
+				break;
+			default:
+				continue;
+			}
+
+			writer.write(value, start, i - start);
+			writer.write(replacement);
+			start = i + 1;
+		}
+		writer.write(value, start, value.length() - start);
+	}
+
+	/**
+	 * Writes a string, escaping HTML special characters and converting
+	 * newlines to {@code <br />} tags.
+	 * @param value the string
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	private void textWithBreaks(String value) throws IOException {
+		int start = 0;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c != '\r' && c != '\n') {
+				continue;
+			}
+
+			text(value.substring(start, i));
+			writer.write("<br />");
+			if (c == '\r' && i + 1 < value.length() && value.charAt(i + 1) == '\n') {
+				i++;
+			}
+			start = i + 1;
+		}
+		text(value.substring(start));
+	}
+
+	/**
+	 * Capitalizes each word in a string the same way the template's
+	 * "?capitalize" built-in does (the first letter of each whitespace-separated
+	 * word is upper-cased and the rest of the word is lower-cased).
+	 * @param value the string
+	 * @return the capitalized string
+	 */
+	private static String capitalize(String value) {
+		if (value == null) {
+			return "";
+		}
+
+		StringBuilder sb = new StringBuilder(value.length());
+		int start = 0;
+		for (int i = 0; i <= value.length(); i++) {
+			if (i < value.length()) {
+				char c = value.charAt(i);
+				if (c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+					continue;
+				}
+			}
+
+			if (i > start) {
+				sb.append(value.substring(start, start + 1).toUpperCase());
+				sb.append(value.substring(start + 1, i).toLowerCase());
+			}
+			if (i < value.length()) {
+				sb.append(value.charAt(i));
+			}
+			start = i + 1;
+		}
+		return sb.toString();
+	}
+
+	private static String join(List<String> values, String delimiter) {
+		StringBuilder sb = new StringBuilder();
+		for (String value : values) {
+			if (sb.length() > 0) {
+				sb.append(delimiter);
+			}
+			sb.append(value);
+		}
+		return sb.toString();
+	}
+
+	private static String protocolName(String protocol) {
+		if (ImppScribe.AIM.equals(protocol)) {
+			return "AOL";
+		}
+		if (ImppScribe.ICQ.equals(protocol)) {
+			return "ICQ";
+		}
+		if (ImppScribe.IRC.equals(protocol)) {
+			return "IRC";
+		}
+		if (ImppScribe.MSN.equals(protocol)) {
+			return "MSN";
+		}
+		if (ImppScribe.SIP.equals(protocol)) {
+			return "SIP";
+		}
+		if (ImppScribe.SKYPE.equals(protocol)) {
+			return "Skype";
+		}
+		if (ImppScribe.XMPP.equals(protocol)) {
+			return "XMPP";
+		}
+		if (ImppScribe.YAHOO.equals(protocol)) {
+			return "Yahoo!";
+		}
+		return (protocol == null) ? "" : protocol;
+	}
+
+	private static synchronized String translucentBgUri() throws IOException {
+		if (translucentBgUri == null) {
+			translucentBgUri = readImageUri(TRANSLUCENT_BG);
+		}
+		return translucentBgUri;
+	}
+
+	private static synchronized String noProfileUri() throws IOException {
+		if (noProfileUri == null) {
+			noProfileUri = readImageUri(NO_PROFILE);
+		}
+		return noProfileUri;
+	}
+
+	/**
+	 * Reads a PNG image from the classpath and converts it to a data URI.
+	 * @param name the file name, relative to this class
+	 * @return the data URI
+	 * @throws IOException if there's a problem reading the image
+	 */
+	private static String readImageUri(String name) throws IOException {
+		InputStream in = HCardWriter.class.getResourceAsStream(name);
+		byte[] data = IOUtils.toByteArray(in, true);
+		return "data:image/png;base64," + Base64.encodeBase64String(data);
+	}
+
+	/**
+	 * Flushes the output stream.
+	 * @throws IOException if there's a problem flushing the output stream
+	 */
+	public void flush() throws IOException {
+		writer.flush();
+	}
+
+	/**
+	 * Writes the end of the HTML page, but does not close the underlying
+	 * writer.
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	public void closeHtmlStream() throws IOException {
+		if (ended) {
+			return;
+		}
+
+		if (!started) {
+			writeHeader();
+		}
+		writeFooter();
+		ended = true;
+	}
+
+	/**
+	 * Writes the end of the HTML page and closes the underlying writer.
+	 * @throws IOException if there's a problem closing the output stream
+	 */
+	public void close() throws IOException {
+		closeHtmlStream();
+		writer.close();
+	}
+}
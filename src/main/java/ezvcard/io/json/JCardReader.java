@@ -17,7 +17,7 @@ import ezvcard.io.EmbeddedVCardException;
 import ezvcard.io.SkipMeException;
 import ezvcard.io.StreamReader;
 import ezvcard.io.json.JCardRawReader.JCardDataStreamListener;
-import ezvcard.io.scribe.RawPropertyScribe;
+import ezvcard.io.scribe.ScribeIndex;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.io.scribe.VCardPropertyScribe.Result;
 import ezvcard.parameter.VCardParameters;
@@ -154,7 +154,7 @@ public class JCardReader extends StreamReader {
 
 			VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(propertyName);
 			if (scribe == null) {
-				scribe = new RawPropertyScribe(propertyName);
+				scribe = ScribeIndex.getRawPropertyScribe(propertyName);
 			}
 
 			Result<? extends VCardProperty> result;
@@ -167,7 +167,7 @@ public class JCardReader extends StreamReader {
 				warnings.add(reader.getLineNum(), propertyName, 22, e.getMessage());
 				return;
 			} catch (CannotParseException e) {
-				scribe = new RawPropertyScribe(propertyName);
+				scribe = ScribeIndex.getRawPropertyScribe(propertyName);
 				result = scribe.parseJson(value, dataType, parameters);
 
 				VCardProperty property = result.getProperty();
@@ -180,6 +180,7 @@ public class JCardReader extends StreamReader {
 
 			VCardProperty property = result.getProperty();
 			property.setGroup(group);
+			sinkBinaryData(property, reader.getLineNum(), propertyName);
 			vcard.addProperty(property);
 		}
 	}
@@ -1,5 +1,7 @@
 package ezvcard.io.scribe;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.List;
 
 import ezvcard.VCard;
@@ -13,8 +15,8 @@ import ezvcard.parameter.Encoding;
 import ezvcard.parameter.MediaTypeParameter;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.BinaryProperty;
+import ezvcard.util.BinaryData;
 import ezvcard.util.DataUri;
-import ezvcard.util.org.apache.commons.codec.binary.Base64;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -76,7 +78,7 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 			}
 		}
 
-		if (property.getData() != null) {
+		if (property.getBinaryData() != null) {
 			switch (version) {
 			case V2_1:
 			case V3_0:
@@ -116,7 +118,7 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 			return;
 		}
 
-		if (property.getData() != null) {
+		if (property.getBinaryData() != null) {
 			copy.setMediaType(null);
 
 			switch (version) {
@@ -222,7 +224,7 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 			if (value.startsWith("http")) {
 				return _newInstance(value, contentType);
 			}
-			return _newInstance(Base64.decodeBase64(value), contentType);
+			return _newInstance(BinaryData.base64(value), contentType);
 		case V4_0:
 			return _newInstance(value, contentType);
 		}
@@ -256,6 +258,23 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 
 	protected abstract T _newInstance(byte data[], U contentType);
 
+	/**
+	 * Creates a property instance from binary data. Sub-classes should
+	 * override this method so the binary data is not read into memory while
+	 * the vCard is being parsed (for example, base64-encoded data is not
+	 * decoded until the application asks for it). The default implementation
+	 * calls {@link #_newInstance(byte[], MediaTypeParameter)} and then assigns
+	 * the data to the property.
+	 * @param data the binary data
+	 * @param contentType the content type
+	 * @return the property
+	 */
+	protected T _newInstance(BinaryData data, U contentType) {
+		T property = _newInstance((byte[]) null, contentType);
+		property.setData(data, contentType);
+		return property;
+	}
+
 	private U parseContentType(String value, VCardParameters parameters, VCardVersion version) {
 		switch (version) {
 		case V2_1:
@@ -294,18 +313,16 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 			//parse as binary
 			Encoding encodingSubType = parameters.getEncoding();
 			if (encodingSubType == Encoding.BASE64 || encodingSubType == Encoding.B) {
-				return _newInstance(Base64.decodeBase64(value), contentType);
+				return _newInstance(BinaryData.base64(value), contentType);
 			}
 
 			break;
 		case V4_0:
-			try {
-				//parse as data URI
-				DataUri uri = new DataUri(value);
-				contentType = _mediaTypeFromMediaTypeParameter(uri.getContentType());
-				return _newInstance(uri.getData(), contentType);
-			} catch (IllegalArgumentException e) {
-				//not a data URI
+			//parse as data URI
+			int dataStart = dataUriDataStart(value);
+			if (dataStart >= 0) {
+				contentType = _mediaTypeFromMediaTypeParameter(value.substring(5, dataStart - 8));
+				return _newInstance(BinaryData.base64(value.substring(dataStart)), contentType);
 			}
 			break;
 		}
@@ -313,28 +330,83 @@ public abstract class BinaryPropertyScribe<T extends BinaryProperty<U>, U extend
 		return cannotUnmarshalValue(value, version, warnings, contentType);
 	}
 
+	/**
+	 * <p>
+	 * Gets the text that comes before the base64-encoded binary data in the
+	 * property's value. This allows writers to stream the binary data (see
+	 * {@link BinaryProperty#getBinaryData}) instead of calling
+	 * {@link #writeText}, which builds the entire value in memory.
+	 * </p>
+	 * <p>
+	 * The property's value consists of this prefix, followed by the binary
+	 * data in base64 encoding (with no line breaks).
+	 * </p>
+	 * @param property the property
+	 * @param version the version of the vCard that is being generated
+	 * @return the prefix (e.g. "data:image/jpeg;base64," for 4.0 vCards and
+	 * the empty string for 2.1/3.0 vCards) or null if the property does not
+	 * contain binary data
+	 */
+	public String writeBinaryPrefix(T property, VCardVersion version) {
+		if (property.getUrl() != null || property.getBinaryData() == null) {
+			return null;
+		}
+
+		switch (version) {
+		case V2_1:
+		case V3_0:
+			return "";
+		case V4_0:
+			U contentType = property.getContentType();
+			String mediaType = (contentType == null || contentType.getMediaType() == null) ? "application/octet-stream" : contentType.getMediaType();
+			return "data:" + mediaType + ";base64,";
+		}
+		return null;
+	}
+
 	private String write(T property, VCardVersion version) {
 		String url = property.getUrl();
 		if (url != null) {
 			return url;
 		}
 
-		byte data[] = property.getData();
-		if (data != null) {
-			switch (version) {
-			case V2_1:
-			case V3_0:
-				return new String(Base64.encodeBase64(data));
-			case V4_0:
-				U contentType = property.getContentType();
-				String mediaType = (contentType == null || contentType.getMediaType() == null) ? "application/octet-stream" : contentType.getMediaType();
-				return new DataUri(mediaType, data).toString();
+		String prefix = writeBinaryPrefix(property, version);
+		if (prefix != null) {
+			StringWriter sw = new StringWriter();
+			sw.write(prefix);
+			try {
+				property.getBinaryData().writeBase64(sw);
+			} catch (IOException e) {
+				throw new IllegalStateException("Could not read binary data.", e);
 			}
+			return sw.toString();
 		}
 
 		return "";
 	}
 
+	/**
+	 * Finds where the base64-encoded data begins in a data URI, without
+	 * decoding the data.
+	 * @param value the property value
+	 * @return the index of the first base64 character or -1 if the value is
+	 * not a data URI (e.g. "data:image/jpeg;base64,...")
+	 * @see DataUri
+	 */
+	private static int dataUriDataStart(String value) {
+		if (!value.regionMatches(true, 0, "data:", 0, 5)) {
+			return -1;
+		}
+
+		String marker = ";base64,";
+		for (int i = value.indexOf(';', 5); i >= 0; i = value.indexOf(';', i + 1)) {
+			if (value.regionMatches(true, i, marker, 0, marker.length())) {
+				return i + marker.length();
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * Gets the file extension from a URL.
 	 * @param url the URL
@@ -13,6 +13,7 @@ import ezvcard.io.xml.XCardElement;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.DateOrTimeProperty;
 import ezvcard.util.PartialDate;
+import ezvcard.util.VCardDateFormat;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -215,21 +216,26 @@ public abstract class DateOrTimePropertyScribe<T extends DateOrTimeProperty> ext
 	}
 
 	private T parse(String value, VCardVersion version, List<String> warnings) {
-		try {
-			boolean hasTime = value.contains("T");
-			return newInstance(date(value), hasTime);
-		} catch (IllegalArgumentException e) {
-			if (version == VCardVersion.V2_1 || version == VCardVersion.V3_0) {
-				throw new CannotParseException(5);
-			}
-
+		//check the format first so that an exception isn't thrown for every partial date
+		if (VCardDateFormat.find(value) != null) {
 			try {
-				return newInstance(PartialDate.parse(value));
-			} catch (IllegalArgumentException e2) {
-				warnings.add(Messages.INSTANCE.getParseMessage(6));
-				return newInstance(value);
+				boolean hasTime = value.contains("T");
+				return newInstance(date(value), hasTime);
+			} catch (IllegalArgumentException e) {
+				//UTC offset is out of range
 			}
 		}
+
+		if (version == VCardVersion.V2_1 || version == VCardVersion.V3_0) {
+			throw new CannotParseException(5);
+		}
+
+		try {
+			return newInstance(PartialDate.parse(value));
+		} catch (IllegalArgumentException e) {
+			warnings.add(Messages.INSTANCE.getParseMessage(6));
+			return newInstance(value);
+		}
 	}
 
 	protected abstract T newInstance(String text);
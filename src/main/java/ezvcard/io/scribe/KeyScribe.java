@@ -2,6 +2,7 @@ package ezvcard.io.scribe;
 
 import ezvcard.parameter.KeyType;
 import ezvcard.property.Key;
+import ezvcard.util.BinaryData;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -61,4 +62,9 @@ public class KeyScribe extends BinaryPropertyScribe<Key, KeyType> {
 	protected Key _newInstance(byte[] data, KeyType contentType) {
 		return new Key(data, contentType);
 	}
+
+	@Override
+	protected Key _newInstance(BinaryData data, KeyType contentType) {
+		return new Key(data, contentType);
+	}
 }
@@ -56,8 +56,9 @@ public abstract class ListPropertyScribe<T extends TextListProperty> extends VCa
 
 	@Override
 	protected T _parseText(String value, VCardDataType dataType, VCardVersion version, VCardParameters parameters, List<String> warnings) {
-		List<String> values = list(value);
-		return parse(values);
+		T property = _newInstance();
+		list(value, property.getValues());
+		return property;
 	}
 
 	@Override
@@ -2,6 +2,7 @@ package ezvcard.io.scribe;
 
 import ezvcard.parameter.ImageType;
 import ezvcard.property.Logo;
+import ezvcard.util.BinaryData;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -46,4 +47,9 @@ public class LogoScribe extends ImagePropertyScribe<Logo> {
 	protected Logo _newInstance(byte[] data, ImageType contentType) {
 		return new Logo(data, contentType);
 	}
+
+	@Override
+	protected Logo _newInstance(BinaryData data, ImageType contentType) {
+		return new Logo(data, contentType);
+	}
 }
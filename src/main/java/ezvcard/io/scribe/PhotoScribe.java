@@ -2,6 +2,7 @@ package ezvcard.io.scribe;
 
 import ezvcard.parameter.ImageType;
 import ezvcard.property.Photo;
+import ezvcard.util.BinaryData;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -46,4 +47,9 @@ public class PhotoScribe extends ImagePropertyScribe<Photo> {
 	protected Photo _newInstance(byte[] data, ImageType contentType) {
 		return new Photo(data, contentType);
 	}
+
+	@Override
+	protected Photo _newInstance(BinaryData data, ImageType contentType) {
+		return new Photo(data, contentType);
+	}
 }
@@ -2,6 +2,7 @@ package ezvcard.io.scribe;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.namespace.QName;
 
@@ -9,6 +10,7 @@ import ezvcard.VCardVersion;
 import ezvcard.property.RawProperty;
 import ezvcard.property.VCardProperty;
 import ezvcard.property.Xml;
+import ezvcard.util.BoundedCache;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -72,9 +74,17 @@ import ezvcard.property.Xml;
  * </pre>
  * 
  * </p>
+ * <p>
+ * Once all of the custom scribes have been registered, the index can be
+ * frozen (see {@link #freeze}). A frozen index can be shared by any number of
+ * readers and writers on different threads.
+ * </p>
  * @author Michael Angstadt
  */
 public class ScribeIndex {
+	//integer IDs of the property classes, used by VCard to index its properties
+	private static final Map<Class<? extends VCardProperty>, Integer> classIds = new ConcurrentHashMap<Class<? extends VCardProperty>, Integer>();
+
 	//define standard property marshallers
 	private static final Map<String, VCardPropertyScribe<? extends VCardProperty>> standardByName = new HashMap<String, VCardPropertyScribe<? extends VCardProperty>>();
 	private static final Map<Class<? extends VCardProperty>, VCardPropertyScribe<? extends VCardProperty>> standardByClass = new HashMap<Class<? extends VCardProperty>, VCardPropertyScribe<? extends VCardProperty>>();
@@ -142,14 +152,28 @@ public class ScribeIndex {
 	private final Map<Class<? extends VCardProperty>, VCardPropertyScribe<? extends VCardProperty>> extendedByClass = new HashMap<Class<? extends VCardProperty>, VCardPropertyScribe<? extends VCardProperty>>(0);
 	private final Map<QName, VCardPropertyScribe<? extends VCardProperty>> extendedByQName = new HashMap<QName, VCardPropertyScribe<? extends VCardProperty>>(0);
 
+	//scribes for extended properties that do not have a registered scribe (bounded so that arbitrary property names do not fill up memory)
+	private static final BoundedCache<String, RawPropertyScribe> rawScribes = new BoundedCache<String, RawPropertyScribe>(1000);
+
+	private volatile boolean frozen = false;
+
 	/**
 	 * Gets a property scribe by name.
 	 * @param propertyName the property name (case-insensitive, e.g. "FN")
 	 * @return the property scribe or null if not found
 	 */
 	public VCardPropertyScribe<? extends VCardProperty> getPropertyScribe(String propertyName) {
-		propertyName = propertyName.toUpperCase();
+		//property names are almost always upper-case already, so try the name as-is first
+		VCardPropertyScribe<? extends VCardProperty> marshaller = getPropertyScribeByUpperCaseName(propertyName);
+		if (marshaller != null) {
+			return marshaller;
+		}
 
+		String upperCase = propertyName.toUpperCase();
+		return upperCase.equals(propertyName) ? null : getPropertyScribeByUpperCaseName(upperCase);
+	}
+
+	private VCardPropertyScribe<? extends VCardProperty> getPropertyScribeByUpperCaseName(String propertyName) {
 		VCardPropertyScribe<? extends VCardProperty> marshaller = extendedByName.get(propertyName);
 		if (marshaller != null) {
 			return marshaller;
@@ -193,7 +217,7 @@ public class ScribeIndex {
 	public VCardPropertyScribe<? extends VCardProperty> getPropertyScribe(VCardProperty property) {
 		if (property instanceof RawProperty) {
 			RawProperty raw = (RawProperty) property;
-			return new RawPropertyScribe(raw.getPropertyName());
+			return getRawPropertyScribe(raw.getPropertyName());
 		}
 
 		return getPropertyScribe(property.getClass());
@@ -216,17 +240,33 @@ public class ScribeIndex {
 		}
 
 		if (VCardVersion.V4_0.getXmlNamespace().equals(qname.getNamespaceURI())) {
-			return new RawPropertyScribe(qname.getLocalPart().toUpperCase());
+			return getRawPropertyScribe(qname.getLocalPart().toUpperCase());
 		}
 
 		return getPropertyScribe(Xml.class);
 	}
 
+	/**
+	 * Gets a scribe for an extended property that does not have a registered
+	 * scribe. Scribes are cached by property name, since they are stateless.
+	 * @param propertyName the property name (e.g. "X-GENERATOR")
+	 * @return the scribe
+	 */
+	public static RawPropertyScribe getRawPropertyScribe(String propertyName) {
+		RawPropertyScribe scribe = rawScribes.get(propertyName);
+		if (scribe == null) {
+			scribe = new RawPropertyScribe(propertyName);
+			rawScribes.put(propertyName, scribe);
+		}
+		return scribe;
+	}
+
 	/**
 	 * Registers a property scribe.
 	 * @param scribe the scribe to register
 	 */
 	public void register(VCardPropertyScribe<? extends VCardProperty> scribe) {
+		checkFrozen();
 		extendedByName.put(scribe.getPropertyName().toUpperCase(), scribe);
 		extendedByClass.put(scribe.getPropertyClass(), scribe);
 		extendedByQName.put(scribe.getQName(), scribe);
@@ -237,12 +277,70 @@ public class ScribeIndex {
 	 * @param scribe the scribe to unregister
 	 */
 	public void unregister(VCardPropertyScribe<? extends VCardProperty> scribe) {
+		checkFrozen();
 		extendedByName.remove(scribe.getPropertyName().toUpperCase());
 		extendedByClass.remove(scribe.getPropertyClass());
 		extendedByQName.remove(scribe.getQName());
 	}
 
+	/**
+	 * Makes this index immutable. Once frozen, calling {@link #register} or
+	 * {@link #unregister} will throw an {@link UnsupportedOperationException},
+	 * and the index can be safely shared between threads.
+	 * @return this
+	 */
+	public ScribeIndex freeze() {
+		frozen = true;
+		return this;
+	}
+
+	/**
+	 * Determines if this index has been frozen.
+	 * @return true if it's frozen, false if not
+	 * @see #freeze
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	private void checkFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException("This scribe index is frozen and cannot be modified.");
+		}
+	}
+
+	/**
+	 * <p>
+	 * Gets the integer ID of a property class. IDs are assigned the first time
+	 * a class is seen and never change. They start at zero and are dense, so
+	 * they can be used as array indexes. The standard property classes are
+	 * assigned the lowest IDs.
+	 * </p>
+	 * <p>
+	 * The IDs are shared by all {@link ScribeIndex} instances, and do not
+	 * depend on whether a scribe is registered for the class.
+	 * </p>
+	 * @param clazz the property class
+	 * @return the ID
+	 */
+	public static int getPropertyClassId(Class<? extends VCardProperty> clazz) {
+		Integer id = classIds.get(clazz);
+		if (id != null) {
+			return id;
+		}
+
+		synchronized (classIds) {
+			id = classIds.get(clazz);
+			if (id == null) {
+				id = classIds.size();
+				classIds.put(clazz, id);
+			}
+			return id;
+		}
+	}
+
 	private static void registerStandard(VCardPropertyScribe<? extends VCardProperty> scribe) {
+		getPropertyClassId(scribe.getPropertyClass());
 		standardByName.put(scribe.getPropertyName().toUpperCase(), scribe);
 		standardByClass.put(scribe.getPropertyClass(), scribe);
 		standardByQName.put(scribe.getQName(), scribe);
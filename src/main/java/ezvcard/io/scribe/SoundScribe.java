@@ -6,6 +6,7 @@ import ezvcard.io.CannotParseException;
 import ezvcard.io.html.HCardElement;
 import ezvcard.parameter.SoundType;
 import ezvcard.property.Sound;
+import ezvcard.util.BinaryData;
 import ezvcard.util.DataUri;
 
 /*
@@ -67,6 +68,11 @@ public class SoundScribe extends BinaryPropertyScribe<Sound, SoundType> {
 		return new Sound(data, contentType);
 	}
 
+	@Override
+	protected Sound _newInstance(BinaryData data, SoundType contentType) {
+		return new Sound(data, contentType);
+	}
+
 	@Override
 	protected Sound _parseHtml(HCardElement element, List<String> warnings) {
 		String elementName = element.tagName();
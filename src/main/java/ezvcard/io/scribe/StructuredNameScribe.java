@@ -61,9 +61,9 @@ public class StructuredNameScribe extends VCardPropertyScribe<StructuredName> {
 
 		property.setFamily(it.nextString());
 		property.setGiven(it.nextString());
-		property.getAdditional().addAll(it.nextComponent());
-		property.getPrefixes().addAll(it.nextComponent());
-		property.getSuffixes().addAll(it.nextComponent());
+		it.nextComponent(property.getAdditional());
+		it.nextComponent(property.getPrefixes());
+		it.nextComponent(property.getSuffixes());
 
 		return property;
 	}
@@ -119,9 +119,9 @@ public class StructuredNameScribe extends VCardPropertyScribe<StructuredName> {
 
 		property.setFamily(it.nextString());
 		property.setGiven(it.nextString());
-		property.getAdditional().addAll(it.nextComponent());
-		property.getPrefixes().addAll(it.nextComponent());
-		property.getSuffixes().addAll(it.nextComponent());
+		it.nextComponent(property.getAdditional());
+		it.nextComponent(property.getPrefixes());
+		it.nextComponent(property.getSuffixes());
 
 		return property;
 	}
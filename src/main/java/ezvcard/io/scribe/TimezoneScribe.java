@@ -13,6 +13,7 @@ import ezvcard.io.xml.XCardElement;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.Timezone;
 import ezvcard.util.UtcOffset;
+import ezvcard.util.VCardDateFormat;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -152,7 +153,7 @@ public class TimezoneScribe extends VCardPropertyScribe<Timezone> {
 
 			if (text != null) {
 				//attempt to find the offset by treating the text as a timezone ID, like "America/New_York"
-				TimeZone timezone = timezoneFromId(text);
+				TimeZone timezone = VCardDateFormat.parseTimeZoneId(text);
 				if (timezone != null) {
 					UtcOffset tzOffset = offsetFromTimezone(timezone);
 					return tzOffset.toString(false);
@@ -265,14 +266,15 @@ public class TimezoneScribe extends VCardPropertyScribe<Timezone> {
 			}
 		case V3_0:
 		case V4_0:
-			try {
-				return new Timezone(UtcOffset.parse(value));
-			} catch (IllegalArgumentException e) {
-				if (dataType == VCardDataType.UTC_OFFSET) {
-					warnings.add(Messages.INSTANCE.getParseMessage(20));
-				}
-				return new Timezone(value);
+			UtcOffset offset = UtcOffset.tryParse(value);
+			if (offset != null) {
+				return new Timezone(offset);
 			}
+
+			if (dataType == VCardDataType.UTC_OFFSET) {
+				warnings.add(Messages.INSTANCE.getParseMessage(20));
+			}
+			return new Timezone(value);
 		}
 
 		return new Timezone((String) null);
@@ -282,9 +284,4 @@ public class TimezoneScribe extends VCardPropertyScribe<Timezone> {
 		long offsetMs = timezone.getOffset(System.currentTimeMillis());
 		return new UtcOffset(offsetMs);
 	}
-
-	private TimeZone timezoneFromId(String id) {
-		TimeZone timezone = TimeZone.getTimeZone(id);
-		return "GMT".equals(timezone.getID()) ? null : timezone;
-	}
 }
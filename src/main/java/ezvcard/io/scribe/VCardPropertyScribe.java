@@ -29,6 +29,7 @@ import ezvcard.property.Categories;
 import ezvcard.property.Organization;
 import ezvcard.property.StructuredName;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.StringUtils;
 import ezvcard.util.StringUtils.JoinCallback;
 import ezvcard.util.VCardDateFormat;
 import ezvcard.util.XmlUtils;
@@ -64,6 +65,9 @@ import ezvcard.util.XmlUtils;
  * @author Michael Angstadt
  */
 public abstract class VCardPropertyScribe<T extends VCardProperty> {
+	private static final String ESCAPE_CHARS = "\\,;";
+	private static final String[] ESCAPE_REPLACEMENTS = { "\\\\", "\\,", "\\;" };
+
 	protected final Class<T> clazz;
 	protected final String propertyName;
 	protected final QName qname;
@@ -591,39 +595,45 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 			return null;
 		}
 
-		StringBuilder sb = null; //only instantiate the StringBuilder if the string needs to be modified
-		boolean escaped = false;
-		for (int i = 0; i < text.length(); i++) {
-			char ch = text.charAt(i);
-
-			if (escaped) {
-				if (sb == null) {
-					sb = new StringBuilder(text.length());
-					sb.append(text.substring(0, i - 1));
-				}
-
-				escaped = false;
-
-				if (ch == 'n' || ch == 'N') {
-					//newlines appear as "\n" or "\N" (see RFC 5545 p.46)
-					sb.append(NEWLINE);
-					continue;
-				}
-
-				sb.append(ch);
-				continue;
-			}
+		int backslash = text.indexOf('\\');
+		return (backslash < 0) ? text : unescape(text, 0, text.length(), backslash);
+	}
 
-			if (ch == '\\') {
-				escaped = true;
-				continue;
+	/**
+	 * Unescapes part of a string. Runs of characters between escape sequences
+	 * are copied in bulk.
+	 * @param text the text
+	 * @param start the index of the first character to unescape
+	 * @param end the index after the last character to unescape
+	 * @param backslash the index of the first backslash in the range
+	 * @return the unescaped text
+	 */
+	private static String unescape(String text, int start, int end, int backslash) {
+		StringBuilder sb = new StringBuilder(end - start);
+		int pos = start;
+		while (backslash >= 0 && backslash < end) {
+			sb.append(text, pos, backslash);
+
+			if (backslash + 1 == end) {
+				//keep trailing backslashes that don't escape anything
+				sb.append('\\');
+				return sb.toString();
 			}
 
-			if (sb != null) {
+			char ch = text.charAt(backslash + 1);
+			if (ch == 'n' || ch == 'N') {
+				//newlines appear as "\n" or "\N" (see RFC 5545 p.46)
+				sb.append(NEWLINE);
+			} else {
 				sb.append(ch);
 			}
+
+			pos = backslash + 2;
+			backslash = (pos < end) ? text.indexOf('\\', pos) : -1;
 		}
-		return (sb == null) ? text : sb.toString();
+
+		sb.append(text, pos, end);
+		return sb.toString();
 	}
 
 	/**
@@ -648,23 +658,17 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 			return null;
 		}
 
-		String chars = "\\,;";
-		StringBuilder sb = null; //only instantiate the StringBuilder if the string needs to be modified
-		for (int i = 0; i < text.length(); i++) {
-			char ch = text.charAt(i);
-			if (chars.indexOf(ch) >= 0) {
-				if (sb == null) {
-					sb = new StringBuilder(text.length());
-					sb.append(text.substring(0, i));
-				}
-				sb.append('\\');
-			}
+		return StringUtils.replace(text, ESCAPE_CHARS, ESCAPE_REPLACEMENTS, null);
+	}
 
-			if (sb != null) {
-				sb.append(ch);
-			}
-		}
-		return (sb == null) ? text : sb.toString();
+	/**
+	 * Escapes all special characters within a vCard value (see
+	 * {@link #escape(String)}), appending the result to a buffer.
+	 * @param text the text to escape
+	 * @param sb the buffer to append to
+	 */
+	public static void escape(String text, StringBuilder sb) {
+		StringUtils.appendReplaced(text, ESCAPE_CHARS, ESCAPE_REPLACEMENTS, null, sb);
 	}
 
 	/**
@@ -777,6 +781,186 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Walks over a plain-text property value one item at a time, splitting on
+	 * a delimiter character and unescaping each item as it goes (escaped
+	 * characters are taken into account). Whitespace surrounding each item is
+	 * trimmed.
+	 * </p>
+	 * <p>
+	 * Unlike {@link Splitter}, this class does not build any intermediate lists
+	 * or substrings. The only objects it creates are the final item strings.
+	 * </p>
+	 */
+	protected static class ValueCursor {
+		private final String value;
+		private final char delimiter;
+		private int pos = 0;
+		private int backslash = -1; //index of the first backslash found by the last search
+
+		/**
+		 * Creates a new cursor.
+		 * @param value the value to walk over (e.g. "one;two,three;four\;five")
+		 * @param delimiter the delimiter character (e.g. ';')
+		 */
+		public ValueCursor(String value, char delimiter) {
+			this.value = value;
+			this.delimiter = delimiter;
+		}
+
+		/**
+		 * Determines if there are any more items. Note that an empty string
+		 * contains a single, empty item.
+		 * @return true if there are more items, false if not
+		 */
+		public boolean hasNext() {
+			return pos <= value.length();
+		}
+
+		/**
+		 * Gets the next item.
+		 * @return the next item (unescaped) or null if there are no more items
+		 */
+		public String next() {
+			if (!hasNext()) {
+				return null;
+			}
+
+			int start = pos;
+			int end = indexOf(delimiter, start, value.length());
+			pos = end + 1;
+			return item(start, end);
+		}
+
+		/**
+		 * Gets everything that hasn't been read yet as a single item. Any
+		 * delimiters it contains are treated as part of the item.
+		 * @return the rest of the value (unescaped) or null if there are no
+		 * more items
+		 */
+		public String rest() {
+			if (!hasNext()) {
+				return null;
+			}
+
+			int start = pos;
+			int end = value.length();
+			pos = end + 1;
+			backslash = value.indexOf('\\', start);
+			return item(start, end);
+		}
+
+		/**
+		 * Gets the first comma-delimited value of the next item.
+		 * @return the first value (unescaped), null if it is empty, or null if
+		 * there are no more items
+		 */
+		public String nextFirstValue() {
+			if (!hasNext()) {
+				return null;
+			}
+
+			int start = pos;
+			int end = indexOf(delimiter, start, value.length());
+			pos = end + 1;
+
+			int valueEnd = indexOf(',', start, end);
+			String first = item(start, valueEnd);
+			return (first.length() == 0) ? null : first;
+		}
+
+		/**
+		 * Splits the next item into comma-delimited values and adds them to the
+		 * given collection. Nothing is added if the item is empty.
+		 * @param values the collection to add the values to
+		 * @return the number of values that were added
+		 */
+		public int nextValues(Collection<String> values) {
+			if (!hasNext()) {
+				return 0;
+			}
+
+			int start = pos;
+			int end = indexOf(delimiter, start, value.length());
+			pos = end + 1;
+
+			start = trimStart(start, end);
+			end = trimEnd(start, end);
+			if (start == end) {
+				return 0;
+			}
+
+			int count = 0;
+			while (true) {
+				int valueEnd = indexOf(',', start, end);
+				values.add(item(start, valueEnd));
+				count++;
+				if (valueEnd == end) {
+					break;
+				}
+				start = valueEnd + 1;
+			}
+			return count;
+		}
+
+		private int indexOf(char ch, int start, int end) {
+			backslash = -1;
+			boolean escaped = false;
+			for (int i = start; i < end; i++) {
+				char c = value.charAt(i);
+
+				if (escaped) {
+					escaped = false;
+					continue;
+				}
+
+				if (c == ch) {
+					return i;
+				}
+
+				if (c == '\\') {
+					escaped = true;
+					if (backslash < 0) {
+						backslash = i;
+					}
+				}
+			}
+			return end;
+		}
+
+		private int trimStart(int start, int end) {
+			while (start < end && value.charAt(start) <= ' ') {
+				start++;
+			}
+			return start;
+		}
+
+		private int trimEnd(int start, int end) {
+			while (end > start && value.charAt(end - 1) <= ' ') {
+				end--;
+			}
+			return end;
+		}
+
+		/**
+		 * Trims and unescapes an item. The item must have just been searched
+		 * for, so that the position of its first backslash is known.
+		 * @param start the index of the item's first character
+		 * @param end the index after the item's last character
+		 * @return the item
+		 */
+		private String item(int start, int end) {
+			start = trimStart(start, end);
+			end = trimEnd(start, end);
+
+			if (backslash < 0 || backslash >= end) {
+				return value.substring(start, end);
+			}
+			return unescape(value, start, end, backslash);
+		}
+	}
+
 	/**
 	 * Parses a "list" property value. This is used in plain-text vCards to
 	 * parse properties such as {@link Categories}.
@@ -784,10 +968,28 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 	 * @return the parsed list (e.g. ["one", "two", "three,four"])
 	 */
 	protected static List<String> list(String value) {
+		List<String> values = new ArrayList<String>();
+		list(value, values);
+		return values;
+	}
+
+	/**
+	 * Parses a "list" property value, adding each item directly to the given
+	 * collection. This is used in plain-text vCards to parse properties such
+	 * as {@link Categories}.
+	 * @param value the string to parse (e.g. "one,two,three\,four")
+	 * @param values the collection to add the parsed items to (e.g. ["one",
+	 * "two", "three,four"])
+	 */
+	protected static void list(String value, Collection<String> values) {
 		if (value.length() == 0) {
-			return new ArrayList<String>(0);
+			return;
+		}
+
+		ValueCursor cursor = new ValueCursor(value, ',');
+		while (cursor.hasNext()) {
+			values.add(cursor.next());
 		}
-		return splitter(',').unescape(true).split(value);
 	}
 
 	/**
@@ -811,12 +1013,18 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 	 * @return the property value (e.g. "one,two,three\,four")
 	 */
 	protected static <T> String list(Collection<T> values) {
-		return join(values, ",", new JoinCallback<T>() {
+		StringBuilder sb = new StringBuilder();
+		list(values, sb);
+		return sb.toString();
+	}
+
+	private static <T> void list(Collection<T> values, StringBuilder sb) {
+		join(values, ",", sb, new JoinCallback<T>() {
 			public void handle(StringBuilder sb, T value) {
 				if (value == null) {
 					return;
 				}
-				sb.append(escape(value.toString()));
+				escape(value.toString(), sb);
 			}
 		});
 	}
@@ -842,8 +1050,7 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 	 * @return the parsed values (e.g. ["one", "two", "three;four,five"]
 	 */
 	protected static SemiStructuredIterator semistructured(String value, int limit) {
-		List<String> split = splitter(';').unescape(true).limit(limit).split(value);
-		return new SemiStructuredIterator(split.iterator());
+		return new SemiStructuredIterator(new ValueCursor(value, ';'), limit);
 	}
 
 	/**
@@ -854,12 +1061,7 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 	 * "three"], "four,five;six"])
 	 */
 	protected static StructuredIterator structured(String value) {
-		List<String> split = splitter(';').split(value);
-		List<List<String>> components = new ArrayList<List<String>>(split.size());
-		for (String s : split) {
-			components.add(list(s));
-		}
-		return new StructuredIterator(components.iterator());
+		return new StructuredIterator(new ValueCursor(value, ';'));
 	}
 
 	/**
@@ -895,11 +1097,11 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 
 				if (value instanceof Collection) {
 					Collection<?> list = (Collection<?>) value;
-					sb.append(list(list));
+					list(list, sb);
 					return;
 				}
 
-				sb.append(escape(value.toString()));
+				escape(value.toString(), sb);
 			}
 		});
 	}
@@ -909,6 +1111,7 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 	 */
 	protected static class StructuredIterator {
 		private final Iterator<List<String>> it;
+		private final ValueCursor cursor;
 
 		/**
 		 * Constructs a new structured iterator.
@@ -916,6 +1119,18 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 		 */
 		public StructuredIterator(Iterator<List<String>> it) {
 			this.it = it;
+			cursor = null;
+		}
+
+		/**
+		 * Constructs a new structured iterator that reads directly from a
+		 * plain-text value.
+		 * @param cursor the cursor to read from (its delimiter should be a
+		 * semi-colon)
+		 */
+		public StructuredIterator(ValueCursor cursor) {
+			this.cursor = cursor;
+			it = null;
 		}
 
 		/**
@@ -928,6 +1143,10 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 				return null;
 			}
 
+			if (cursor != null) {
+				return cursor.nextFirstValue();
+			}
+
 			List<String> list = it.next();
 			if (list.isEmpty()) {
 				return null;
@@ -947,6 +1166,12 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 				return new ArrayList<String>(0); //the lists should be mutable so they can be directly assigned to the property object's fields
 			}
 
+			if (cursor != null) {
+				List<String> list = new ArrayList<String>();
+				cursor.nextValues(list);
+				return list;
+			}
+
 			List<String> list = it.next();
 			if (list.size() == 1 && list.get(0).length() == 0) {
 				return new ArrayList<String>(0);
@@ -955,8 +1180,27 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 			return list;
 		}
 
+		/**
+		 * Adds the values of the next component to the given collection.
+		 * Nothing is added if the component is empty or if there are no more
+		 * components.
+		 * @param values the collection to add the values to
+		 */
+		public void nextComponent(Collection<String> values) {
+			if (!hasNext()) {
+				return;
+			}
+
+			if (cursor != null) {
+				cursor.nextValues(values);
+				return;
+			}
+
+			values.addAll(nextComponent());
+		}
+
 		public boolean hasNext() {
-			return it.hasNext();
+			return (cursor == null) ? it.hasNext() : cursor.hasNext();
 		}
 	}
 
@@ -965,6 +1209,8 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 	 */
 	protected static class SemiStructuredIterator {
 		private final Iterator<String> it;
+		private final ValueCursor cursor;
+		private int remaining;
 
 		/**
 		 * Constructs a new structured iterator.
@@ -972,6 +1218,21 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 		 */
 		public SemiStructuredIterator(Iterator<String> it) {
 			this.it = it;
+			cursor = null;
+		}
+
+		/**
+		 * Constructs a new structured iterator that reads directly from a
+		 * plain-text value.
+		 * @param cursor the cursor to read from (its delimiter should be a
+		 * semi-colon)
+		 * @param limit the max number of items to parse (the last item will
+		 * contain the rest of the value), or a value less than 1 for no limit
+		 */
+		public SemiStructuredIterator(ValueCursor cursor, int limit) {
+			this.cursor = cursor;
+			remaining = limit;
+			it = null;
 		}
 
 		/**
@@ -979,11 +1240,22 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 		 * @return the next value or null if there are no more values
 		 */
 		public String next() {
-			return hasNext() ? it.next() : null;
+			if (!hasNext()) {
+				return null;
+			}
+
+			if (cursor == null) {
+				return it.next();
+			}
+
+			if (remaining > 0 && --remaining == 0) {
+				return cursor.rest();
+			}
+			return cursor.next();
 		}
 
 		public boolean hasNext() {
-			return it.hasNext();
+			return (cursor == null) ? it.hasNext() : cursor.hasNext();
 		}
 	}
 
@@ -1122,14 +1394,16 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 
 			//find the property with the lowest PREF value in the vCard
 			VCardProperty mostPreferred = null;
+			Integer lowestPref = null;
 			for (VCardProperty p : vcard.getProperties(property.getClass())) {
 				Integer pref = p.getParameters().getPref();
 				if (pref == null) {
 					continue;
 				}
 
-				if (mostPreferred == null || pref < mostPreferred.getParameters().getPref()) {
+				if (lowestPref == null || pref < lowestPref) {
 					mostPreferred = p;
+					lowestPref = pref;
 				}
 			}
 
@@ -1139,7 +1413,7 @@ public abstract class VCardPropertyScribe<T extends VCardProperty> {
 
 			break;
 		case V4_0:
-			for (String type : property.getParameters().getTypes()) {
+			for (String type : property.getParameters().get(VCardParameters.TYPE)) {
 				if ("pref".equalsIgnoreCase(type)) {
 					copy.removeType(type);
 					copy.setPref(1);
@@ -46,6 +46,7 @@ import ezvcard.util.StringUtils;
  */
 public class VCardRawReader implements Closeable {
 	private final FoldedLineReader reader;
+	private final StringBuilder buffer = new StringBuilder();
 	private boolean caretDecodingEnabled = true;
 	private VCardVersion version = VCardVersion.V2_1; //initialize to 2.1, since the VERSION property can exist anywhere in the file in this version
 
@@ -94,7 +95,7 @@ public class VCardRawReader implements Closeable {
 
 		char escapeChar = 0; //is the next char escaped?
 		boolean inQuotes = false; //are we inside of double quotes?
-		StringBuilder buffer = new StringBuilder();
+		buffer.setLength(0);
 		String curParamName = null;
 		for (int i = 0; i < line.length(); i++) {
 			char ch = line.charAt(i);
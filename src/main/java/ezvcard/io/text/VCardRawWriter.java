@@ -15,6 +15,8 @@ import java.util.regex.Pattern;
 import ezvcard.VCardVersion;
 import ezvcard.parameter.Encoding;
 import ezvcard.parameter.VCardParameters;
+import ezvcard.util.BinaryData;
+import ezvcard.util.StringUtils;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -51,15 +53,18 @@ import ezvcard.parameter.VCardParameters;
  */
 public class VCardRawWriter implements Closeable, Flushable {
 	/**
-	 * Regular expression used to determine if a parameter value needs to be
-	 * quoted.
+	 * The characters that cause a parameter value to be quoted.
 	 */
-	private static final Pattern quoteMeRegex = Pattern.compile(".*?[,:;].*");
+	private static final String quoteMeChars = ",:;";
 
-	/**
-	 * Regular expression used to detect newline character sequences.
+	/*
+	 * Replacement strings for the characters that are replaced when
+	 * sanitizing values (see StringUtils.replace()).
 	 */
-	private static final Pattern newlineRegex = Pattern.compile("\\r\\n|\\r|\\n");
+	private static final String[] NO_REPLACEMENTS = {};
+	private static final String[] BACKSLASH_ESCAPES = { "\\\\", "\\;" };
+	private static final String[] SINGLE_QUOTE = { "'" };
+	private static final String[] CARET_ESCAPES = { "^^", "^'" };
 
 	/**
 	 * Regular expression used to determine if a property name contains any
@@ -110,6 +115,7 @@ public class VCardRawWriter implements Closeable, Flushable {
 	}
 
 	private final FoldedLineWriter writer;
+	private final StringBuilder buffer = new StringBuilder();
 	private boolean caretEncodingEnabled = false;
 	private ParameterValueChangedListener parameterValueChangedListener;
 	private VCardVersion version;
@@ -325,15 +331,7 @@ public class VCardRawWriter implements Closeable, Flushable {
 	 * @throws IOException if there's an I/O problem
 	 */
 	public void writeProperty(String group, String propertyName, VCardParameters parameters, String value) throws IOException {
-		//validate the group name
-		if (group != null && !propertyNameRegex.matcher(group).matches()) {
-			throw new IllegalArgumentException("Group contains invalid characters.  Valid characters are letters, numbers, and hyphens: " + group);
-		}
-
-		//validate the property name
-		if (!propertyNameRegex.matcher(propertyName).matches()) {
-			throw new IllegalArgumentException("Property name contains invalid characters.  Valid characters are letters, numbers, and hyphens: " + propertyName);
-		}
+		validateNames(group, propertyName);
 
 		value = sanitizeValue(parameters, value);
 
@@ -355,6 +353,55 @@ public class VCardRawWriter implements Closeable, Flushable {
 			parameters.setCharset(charset.name());
 		}
 
+		writeNameAndParameters(group, propertyName, parameters);
+		writer.append(value, quotedPrintable, charset);
+		writer.append(writer.getNewline());
+	}
+
+	/**
+	 * Writes a property whose value contains binary data. The binary data is
+	 * streamed out in base64 encoding, so it never has to be held in memory
+	 * all at once.
+	 * @param group the group or null if there is no group
+	 * @param propertyName the property name (e.g. "PHOTO")
+	 * @param parameters the property parameters
+	 * @param valuePrefix the text to write before the base64-encoded data
+	 * (e.g. "data:image/jpeg;base64,")
+	 * @param data the binary data
+	 * @throws IllegalArgumentException if the group or property name contains
+	 * invalid characters
+	 * @throws IOException if there's an I/O problem
+	 */
+	public void writeProperty(String group, String propertyName, VCardParameters parameters, String valuePrefix, BinaryData data) throws IOException {
+		validateNames(group, propertyName);
+
+		writeNameAndParameters(group, propertyName, parameters);
+		writer.append(valuePrefix);
+		data.writeBase64(writer);
+		writer.append(writer.getNewline());
+	}
+
+	private void validateNames(String group, String propertyName) {
+		//validate the group name
+		if (group != null && !propertyNameRegex.matcher(group).matches()) {
+			throw new IllegalArgumentException("Group contains invalid characters.  Valid characters are letters, numbers, and hyphens: " + group);
+		}
+
+		//validate the property name
+		if (!propertyNameRegex.matcher(propertyName).matches()) {
+			throw new IllegalArgumentException("Property name contains invalid characters.  Valid characters are letters, numbers, and hyphens: " + propertyName);
+		}
+	}
+
+	/**
+	 * Writes everything that comes before the property value, up to and
+	 * including the colon.
+	 * @param group the group or null if there is no group
+	 * @param propertyName the property name
+	 * @param parameters the property parameters
+	 * @throws IOException if there's an I/O problem
+	 */
+	private void writeNameAndParameters(String group, String propertyName, VCardParameters parameters) throws IOException {
 		//write the group
 		if (group != null) {
 			writer.append(group);
@@ -399,7 +446,7 @@ public class VCardRawWriter implements Closeable, Flushable {
 				parameterValue = sanitizeParameterValue(parameterValue, parameterName, propertyName);
 
 				//surround with double quotes if contains special chars
-				if (quoteMeRegex.matcher(parameterValue).matches()) {
+				if (StringUtils.indexOfAny(parameterValue, quoteMeChars, 0) >= 0) {
 					writer.append('"');
 					writer.append(parameterValue);
 					writer.append('"');
@@ -412,8 +459,6 @@ public class VCardRawWriter implements Closeable, Flushable {
 		}
 
 		writer.append(':');
-		writer.append(value, quotedPrintable, charset);
-		writer.append(writer.getNewline());
 	}
 
 	/**
@@ -449,7 +494,7 @@ public class VCardRawWriter implements Closeable, Flushable {
 		String modifiedValue = null;
 		boolean valueChanged = false;
 
-		//Note: String reference comparisons ("==") are used because the Pattern class returns the same instance if the String wasn't changed
+		//Note: String reference comparisons ("==") are used because the replace methods return the same instance if the String wasn't changed
 
 		switch (version) {
 		case V2_1:
@@ -457,16 +502,13 @@ public class VCardRawWriter implements Closeable, Flushable {
 			modifiedValue = removeInvalidParameterValueChars(parameterValue);
 
 			//replace newlines with spaces
-			modifiedValue = newlineRegex.matcher(modifiedValue).replaceAll(" ");
+			modifiedValue = StringUtils.replace(modifiedValue, "", NO_REPLACEMENTS, " ", buffer);
 
 			//check to see if value was changed
 			valueChanged = (parameterValue != modifiedValue);
 
-			//escape backslashes
-			modifiedValue = modifiedValue.replace("\\", "\\\\");
-
-			//escape semi-colons (see section 2)
-			modifiedValue = modifiedValue.replace(";", "\\;");
+			//escape backslashes and semi-colons (see section 2)
+			modifiedValue = StringUtils.replace(modifiedValue, "\\;", BACKSLASH_ESCAPES, null, buffer);
 
 			break;
 
@@ -480,11 +522,8 @@ public class VCardRawWriter implements Closeable, Flushable {
 				//apply caret encoding
 				modifiedValue = applyCaretEncoding(modifiedValue);
 			} else {
-				//replace double quotes with single quotes
-				modifiedValue = modifiedValue.replace('"', '\'');
-
-				//replace newlines with spaces
-				modifiedValue = newlineRegex.matcher(modifiedValue).replaceAll(" ");
+				//replace double quotes with single quotes and newlines with spaces
+				modifiedValue = StringUtils.replace(modifiedValue, "\"", SINGLE_QUOTE, " ", buffer);
 
 				valueChanged = (modifiedValue != parameterValue);
 			}
@@ -507,7 +546,7 @@ public class VCardRawWriter implements Closeable, Flushable {
 				valueChanged = (modifiedValue != parameterValue);
 
 				//backslash-escape newlines (for the "LABEL" parameter)
-				modifiedValue = newlineRegex.matcher(modifiedValue).replaceAll("\\\\\\n");
+				modifiedValue = StringUtils.replace(modifiedValue, "", NO_REPLACEMENTS, "\\n", buffer);
 			}
 
 			break;
@@ -553,10 +592,7 @@ public class VCardRawWriter implements Closeable, Flushable {
 	 * @return the encoded string
 	 */
 	private String applyCaretEncoding(String value) {
-		value = value.replace("^", "^^");
-		value = newlineRegex.matcher(value).replaceAll("^n");
-		value = value.replace("\"", "^'");
-		return value;
+		return StringUtils.replace(value, "^\"", CARET_ESCAPES, "^n", buffer);
 	}
 
 	/**
@@ -573,7 +609,7 @@ public class VCardRawWriter implements Closeable, Flushable {
 	 * @return the escaped text
 	 */
 	private String escapeNewlines(String text) {
-		return newlineRegex.matcher(text).replaceAll("\\\\n");
+		return StringUtils.replace(text, "", NO_REPLACEMENTS, "\\n", buffer);
 	}
 
 	/**
@@ -590,7 +626,7 @@ public class VCardRawWriter implements Closeable, Flushable {
 	 * @return the escaped text
 	 */
 	private boolean containsNewlines(String text) {
-		return newlineRegex.matcher(text).find();
+		return text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
 	}
 
 	/**
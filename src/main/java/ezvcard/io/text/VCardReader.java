@@ -22,7 +22,7 @@ import ezvcard.io.CannotParseException;
 import ezvcard.io.EmbeddedVCardException;
 import ezvcard.io.SkipMeException;
 import ezvcard.io.StreamReader;
-import ezvcard.io.scribe.RawPropertyScribe;
+import ezvcard.io.scribe.ScribeIndex;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.io.scribe.VCardPropertyScribe.Result;
 import ezvcard.parameter.Encoding;
@@ -276,7 +276,7 @@ public class VCardReader extends StreamReader {
 				//get the scribe
 				VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(name);
 				if (scribe == null) {
-					scribe = new RawPropertyScribe(name);
+					scribe = ScribeIndex.getRawPropertyScribe(name);
 				}
 
 				//get the data type
@@ -299,6 +299,7 @@ public class VCardReader extends StreamReader {
 
 					property = result.getProperty();
 					property.setGroup(group);
+					sinkBinaryData(property, reader.getLineNum(), name);
 
 					if (property instanceof Label) {
 						//LABELs must be treated specially so they can be matched up with their ADRs
@@ -19,6 +19,7 @@ import ezvcard.VCardVersion;
 import ezvcard.io.EmbeddedVCardException;
 import ezvcard.io.SkipMeException;
 import ezvcard.io.StreamWriter;
+import ezvcard.io.scribe.BinaryPropertyScribe;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.BinaryProperty;
@@ -216,6 +217,24 @@ public class VCardWriter extends StreamWriter implements Flushable {
 		for (VCardProperty property : propertiesToAdd) {
 			VCardPropertyScribe scribe = index.getPropertyScribe(property);
 
+			//stream binary data instead of building the entire value in memory
+			if (scribe instanceof BinaryPropertyScribe) {
+				BinaryProperty binaryProperty = (BinaryProperty) property;
+				String prefix = ((BinaryPropertyScribe) scribe).writeBinaryPrefix(binaryProperty, targetVersion);
+				if (prefix != null) {
+					VCardParameters parameters = scribe.prepareParameters(property, targetVersion, vcard);
+					setDataType(scribe, property, parameters);
+					writer.writeProperty(property.getGroup(), scribe.getPropertyName(), parameters, prefix, binaryProperty.getBinaryData());
+
+					//Outlook 2010 requires an empty line after base64 values (at least, some of the time)
+					//https://code.google.com/p/ez-vcard/issues/detail?id=21
+					if (targetVersion != VCardVersion.V4_0) {
+						writer.getFoldedLineWriter().writeln("");
+					}
+					continue;
+				}
+			}
+
 			//marshal the value
 			String value = null;
 			VCard nestedVCard = null;
@@ -263,30 +282,8 @@ public class VCardWriter extends StreamWriter implements Flushable {
 			}
 
 			if (value != null) {
-				//set the data type
-				//only add a VALUE parameter if the data type is (1) not "unknown" and (2) different from the property's default data type
-				VCardDataType dataType = scribe.dataType(property, targetVersion);
-				if (dataType != null) {
-					VCardDataType defaultDataType = scribe.defaultDataType(targetVersion);
-					if (dataType != defaultDataType) {
-						if (defaultDataType == VCardDataType.DATE_AND_OR_TIME && (dataType == VCardDataType.DATE || dataType == VCardDataType.DATE_TIME || dataType == VCardDataType.TIME)) {
-							//do not write VALUE if the default data type is "date-and-or-time" and the property's data type is time-based
-						} else {
-							parameters.setValue(dataType);
-						}
-					}
-				}
-
+				setDataType(scribe, property, parameters);
 				writer.writeProperty(property.getGroup(), scribe.getPropertyName(), parameters, value);
-
-				//Outlook 2010 requires an empty line after base64 values (at least, some of the time)
-				//https://code.google.com/p/ez-vcard/issues/detail?id=21
-				if (getTargetVersion() != VCardVersion.V4_0 && property instanceof BinaryProperty) {
-					BinaryProperty binaryProperty = (BinaryProperty) property;
-					if (binaryProperty.getData() != null) {
-						writer.getFoldedLineWriter().writeln("");
-					}
-				}
 				continue;
 			}
 		}
@@ -294,6 +291,35 @@ public class VCardWriter extends StreamWriter implements Flushable {
 		writer.writeEndComponent("VCARD");
 	}
 
+	/**
+	 * Adds a VALUE parameter to a property's parameters if necessary. The
+	 * parameter is only added if the data type is (1) not "unknown" and (2)
+	 * different from the property's default data type.
+	 * @param scribe the property scribe
+	 * @param property the property
+	 * @param parameters the parameters that will be written
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private void setDataType(VCardPropertyScribe scribe, VCardProperty property, VCardParameters parameters) {
+		VCardVersion targetVersion = getTargetVersion();
+		VCardDataType dataType = scribe.dataType(property, targetVersion);
+		if (dataType == null) {
+			return;
+		}
+
+		VCardDataType defaultDataType = scribe.defaultDataType(targetVersion);
+		if (dataType == defaultDataType) {
+			return;
+		}
+
+		if (defaultDataType == VCardDataType.DATE_AND_OR_TIME && (dataType == VCardDataType.DATE || dataType == VCardDataType.DATE_TIME || dataType == VCardDataType.TIME)) {
+			//do not write VALUE if the default data type is "date-and-or-time" and the property's data type is time-based
+			return;
+		}
+
+		parameters.setValue(dataType);
+	}
+
 	/**
 	 * Flushes the underlying {@link Writer} object.
 	 * @throws IOException if there's a problem flushing the writer
@@ -24,13 +24,10 @@ import java.util.Map;
 import javax.xml.namespace.QName;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.TransformerException;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
 import ezvcard.VCard;
@@ -216,17 +213,10 @@ public class XCardDocument {
 	public XCardDocument(Document document) {
 		this.document = document;
 
-		XCardNamespaceContext nsContext = new XCardNamespaceContext(version4, "v");
-		XPath xpath = XPathFactory.newInstance().newXPath();
-		xpath.setNamespaceContext(nsContext);
-
-		try {
-			//find the <vcards> element
-			root = (Element) xpath.evaluate("//" + nsContext.getPrefix() + ":" + VCARDS.getLocalPart(), document, XPathConstants.NODE);
-		} catch (XPathExpressionException e) {
-			//never thrown because xpath expression is hard coded
-			throw new RuntimeException(e);
-		}
+		//find the <vcards> element
+		//a DOM lookup is used instead of XPath to avoid the cost of a JAXP factory lookup
+		NodeList vcardsElements = document.getElementsByTagNameNS(VCARDS.getNamespaceURI(), VCARDS.getLocalPart());
+		root = (Element) vcardsElements.item(0);
 	}
 
 	/**
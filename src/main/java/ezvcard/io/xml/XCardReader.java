@@ -22,9 +22,7 @@ import javax.xml.namespace.QName;
 import javax.xml.transform.ErrorListener;
 import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXResult;
 import javax.xml.transform.stream.StreamSource;
@@ -201,12 +199,7 @@ public class XCardReader extends StreamReader {
 			setName(getClass().getSimpleName());
 
 			//create the transformer
-			try {
-				transformer = TransformerFactory.newInstance().newTransformer();
-			} catch (TransformerConfigurationException e) {
-				//no complex configurations
-				throw new RuntimeException(e);
-			}
+			transformer = XmlUtils.createTransformer();
 
 			//prevent error messages from being printed to stderr
 			transformer.setErrorListener(new ErrorListener() {
@@ -395,6 +388,7 @@ public class XCardReader extends StreamReader {
 						Result<? extends VCardProperty> result = scribe.parseXml(propertyElement, parameters);
 						property = result.getProperty();
 						property.setGroup(group);
+						sinkBinaryData(property, null, propertyName);
 						readVCard.addProperty(property);
 						for (String warning : result.getWarnings()) {
 							warnings.add(null, propertyName, warning);
@@ -7,6 +7,7 @@ import static ezvcard.io.xml.XCardQNames.VCARDS;
 import static ezvcard.util.IOUtils.utf8Writer;
 
 import java.io.File;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
@@ -16,10 +17,7 @@ import java.util.Map;
 
 import javax.xml.namespace.QName;
 import javax.xml.transform.Result;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMResult;
-import javax.xml.transform.sax.SAXTransformerFactory;
 import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamResult;
 
@@ -93,10 +91,16 @@ import ezvcard.util.XmlUtils;
  * xcardWriter.write(vcard2);
  * xcardWriter.close();
  * </pre>
+ * <p>
+ * Each vCard is serialized as soon as it is passed to {@link #write}, so the
+ * amount of memory that is used remains constant, no matter how many vCards
+ * are written. Only the property currently being written is held in memory as
+ * a DOM.
+ * </p>
  * @author Michael Angstadt
  * @see <a href="http://tools.ietf.org/html/rfc6351">RFC 6351</a>
  */
-public class XCardWriter extends StreamWriter {
+public class XCardWriter extends StreamWriter implements Flushable {
 	//how to use SAX to write XML: http://stackoverflow.com/questions/4898590/generating-xml-using-sax-and-java
 	private final VCardVersion targetVersion = VCardVersion.V4_0;
 	private final Document DOC = XmlUtils.createDocument();
@@ -125,7 +129,7 @@ public class XCardWriter extends StreamWriter {
 	private final String indent;
 	private final boolean vcardsElementExists;
 	private int level = 0;
-	private boolean textNodeJustPrinted = false, started = false;
+	private boolean textNodeJustPrinted = false, started = false, ended = false;
 
 	/**
 	 * Creates an xCard writer.
@@ -203,12 +207,7 @@ public class XCardWriter extends StreamWriter {
 		}
 		this.vcardsElementExists = isVCardsElement(parent);
 
-		try {
-			SAXTransformerFactory factory = (SAXTransformerFactory) TransformerFactory.newInstance();
-			handler = factory.newTransformerHandler();
-		} catch (TransformerConfigurationException e) {
-			throw new RuntimeException(e);
-		}
+		handler = XmlUtils.createTransformerHandler();
 
 		Result result = (writer == null) ? new DOMResult(parent) : new StreamResult(writer);
 		handler.setResult(result);
@@ -298,9 +297,24 @@ public class XCardWriter extends StreamWriter {
 	}
 
 	/**
-	 * Terminates the XML document and closes the output stream.
+	 * Flushes the output stream.
+	 * @throws IOException if there's a problem flushing the output stream
 	 */
-	public void close() throws IOException {
+	public void flush() throws IOException {
+		if (writer != null) {
+			writer.flush();
+		}
+	}
+
+	/**
+	 * Terminates the XML document, but does not close the output stream.
+	 * @throws IOException if there's a problem writing to the output stream
+	 */
+	public void closeXmlStream() throws IOException {
+		if (ended) {
+			return;
+		}
+
 		try {
 			if (!started) {
 				handler.startDocument();
@@ -310,6 +324,8 @@ public class XCardWriter extends StreamWriter {
 					start(VCARDS);
 					level++;
 				}
+
+				started = true;
 			}
 
 			if (!vcardsElementExists) {
@@ -321,6 +337,15 @@ public class XCardWriter extends StreamWriter {
 			throw new IOException(e);
 		}
 
+		ended = true;
+	}
+
+	/**
+	 * Terminates the XML document and closes the output stream.
+	 */
+	public void close() throws IOException {
+		closeXmlStream();
+
 		if (writer != null) {
 			writer.close();
 		}
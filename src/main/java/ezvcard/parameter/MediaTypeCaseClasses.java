@@ -62,4 +62,29 @@ public class MediaTypeCaseClasses<T extends MediaTypeParameter> extends CaseClas
 		}
 		return true;
 	}
+
+	@Override
+	protected String[] indexKeys(T object) {
+		//each component is indexed separately, since lookups can be done using any of them
+		String objectValues[] = new String[] { object.getValue(), object.getMediaType(), object.getExtension() };
+		String keys[] = new String[objectValues.length];
+		for (int i = 0; i < objectValues.length; i++) {
+			String v = objectValues[i];
+			if (v != null) {
+				keys[i] = i + caseInsensitiveKey(v);
+			}
+		}
+		return keys;
+	}
+
+	@Override
+	protected String indexKey(String[] value) {
+		for (int i = 0; i < value.length; i++) {
+			String v = value[i];
+			if (v != null) {
+				return i + caseInsensitiveKey(v);
+			}
+		}
+		return null;
+	}
 }
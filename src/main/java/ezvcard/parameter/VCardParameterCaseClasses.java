@@ -65,4 +65,15 @@ public class VCardParameterCaseClasses<T extends VCardParameter> extends CaseCla
 	protected boolean matches(T object, String value) {
 		return object.getValue().equalsIgnoreCase(value);
 	}
+
+	@Override
+	protected String[] indexKeys(T object) {
+		String value = object.getValue();
+		return (value == null) ? null : new String[] { caseInsensitiveKey(value) };
+	}
+
+	@Override
+	protected String indexKey(String value) {
+		return (value == null) ? null : caseInsensitiveKey(value);
+	}
 }
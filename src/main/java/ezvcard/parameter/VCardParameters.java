@@ -73,6 +73,16 @@ public class VCardParameters extends ListMultimap<String, String> {
 	public static final String VALUE = "VALUE";
 
 	private static final Map<String, Set<VCardVersion>> supportedVersions;
+
+	/*
+	 * Parsed versions of the parameter values that are expensive to parse.
+	 * Each one remembers the raw value it was parsed from, and is re-parsed
+	 * as soon as the raw value changes.
+	 */
+	private volatile Parsed<VCardDataType> valueCache;
+	private volatile Parsed<Integer> prefCache, indexCache;
+	private volatile Parsed<double[]> geoCache;
+	private volatile Parsed<List<Integer[]>> pidsCache;
 	static {
 		Map<String, Set<VCardVersion>> m = new HashMap<String, Set<VCardVersion>>();
 		m.put(ALTID, EnumSet.of(VCardVersion.V4_0));
@@ -110,6 +120,13 @@ public class VCardParameters extends ListMultimap<String, String> {
 	 */
 	public VCardParameters(VCardParameters orig) {
 		super(orig);
+
+		//the copy has the same raw values, so the parsed values can be shared
+		valueCache = orig.valueCache;
+		prefCache = orig.prefCache;
+		indexCache = orig.indexCache;
+		geoCache = orig.geoCache;
+		pidsCache = orig.pidsCache;
 	}
 
 	/**
@@ -152,8 +169,16 @@ public class VCardParameters extends ListMultimap<String, String> {
 	 * @return the value or null if not found
 	 */
 	public VCardDataType getValue() {
-		String value = first(VALUE);
-		return (value == null) ? null : VCardDataType.get(value);
+		String raw = first(VALUE);
+		if (raw == null) {
+			return null;
+		}
+
+		Parsed<VCardDataType> parsed = valueCache;
+		if (parsed == null || !parsed.isFor(raw)) {
+			parsed = valueCache = new Parsed<VCardDataType>(raw, VCardDataType.get(raw));
+		}
+		return parsed.value;
 	}
 
 	/**
@@ -325,8 +350,7 @@ public class VCardParameters extends ListMultimap<String, String> {
 	 * @return the value or null if not found.
 	 */
 	public String getType() {
-		Set<String> types = getTypes();
-		return types.isEmpty() ? null : types.iterator().next();
+		return first(TYPE);
 	}
 
 	/**
@@ -399,16 +423,8 @@ public class VCardParameters extends ListMultimap<String, String> {
 	 * couldn't be parsed into a number
 	 */
 	public Integer getPref() {
-		String pref = first(PREF);
-		if (pref == null) {
-			return null;
-		}
-
-		try {
-			return Integer.valueOf(pref);
-		} catch (NumberFormatException e) {
-			throw new IllegalStateException(PREF + " parameter value is malformed and could not be parsed. Retrieve its raw text value instead.", e);
-		}
+		Parsed<Integer> parsed = parsedPref();
+		return (parsed == null) ? null : parsed.get(PREF);
 	}
 
 	/**
@@ -531,17 +547,8 @@ public class VCardParameters extends ListMultimap<String, String> {
 	 * present or null if the parameter value was in an incorrect format
 	 */
 	public double[] getGeo() {
-		String value = first(GEO);
-		if (value == null) {
-			return null;
-		}
-
-		try {
-			GeoUri geoUri = GeoUri.parse(value);
-			return new double[] { geoUri.getCoordA(), geoUri.getCoordB() };
-		} catch (IllegalArgumentException e) {
-			throw new IllegalStateException(GEO + " parameter value is malformed and could not be parsed. Retrieve its raw text value instead.", e);
-		}
+		Parsed<double[]> parsed = parsedGeo();
+		return (parsed == null) ? null : parsed.get(GEO).clone();
 	}
 
 	/**
@@ -654,17 +661,10 @@ public class VCardParameters extends ListMultimap<String, String> {
 	 * property. Index 0 will never be null, but index 1 may be null.
 	 */
 	public List<Integer[]> getPids() {
-		List<String> values = get(PID);
-		List<Integer[]> pids = new ArrayList<Integer[]>(values.size());
-		for (String value : values) {
-			String split[] = value.split("\\.");
-			try {
-				Integer localId = Integer.valueOf(split[0]);
-				Integer clientPidMapRef = (split.length > 1) ? Integer.valueOf(split[1]) : null;
-				pids.add(new Integer[] { localId, clientPidMapRef });
-			} catch (NumberFormatException e) {
-				throw new IllegalStateException(PID + " parameter value is malformed and could not be parsed. Retrieve its raw text value instead.", e);
-			}
+		List<Integer[]> parsed = parsedPids().get(PID);
+		List<Integer[]> pids = new ArrayList<Integer[]>(parsed.size());
+		for (Integer[] pid : parsed) {
+			pids.add(pid.clone());
 		}
 		return pids;
 	}
@@ -803,16 +803,8 @@ public class VCardParameters extends ListMultimap<String, String> {
 	 * @see <a href="http://tools.ietf.org/html/rfc6715">RFC 6715</a>
 	 */
 	public Integer getIndex() {
-		String index = first(INDEX);
-		if (index == null) {
-			return null;
-		}
-
-		try {
-			return Integer.valueOf(index);
-		} catch (NumberFormatException e) {
-			throw new IllegalStateException(INDEX + " parameter value is malformed and could not be parsed. Retrieve its raw text value instead.", e);
-		}
+		Parsed<Integer> parsed = parsedIndex();
+		return (parsed == null) ? null : parsed.get(INDEX);
 	}
 
 	/**
@@ -882,27 +874,19 @@ public class VCardParameters extends ListMultimap<String, String> {
 		{
 			int malformedCode = 5;
 
-			try {
-				getGeo();
-			} catch (IllegalStateException e) {
+			if (isMalformed(parsedGeo())) {
 				warnings.add(new Warning(malformedCode, GEO, first(GEO)));
 			}
 
-			try {
-				getIndex();
-			} catch (IllegalStateException e) {
+			if (isMalformed(parsedIndex())) {
 				warnings.add(new Warning(malformedCode, INDEX, first(INDEX)));
 			}
 
-			try {
-				getPids();
-			} catch (IllegalStateException e) {
+			if (isMalformed(parsedPids())) {
 				warnings.add(new Warning(malformedCode, PID, first(PID)));
 			}
 
-			try {
-				getPref();
-			} catch (IllegalStateException e) {
+			if (isMalformed(parsedPref())) {
 				warnings.add(new Warning(malformedCode, PREF, first(PREF)));
 			}
 		}
@@ -940,6 +924,226 @@ public class VCardParameters extends ListMultimap<String, String> {
 		return warnings;
 	}
 
+	/**
+	 * Gets the parsed PREF value.
+	 * @return the parsed value or null if the parameter doesn't exist
+	 */
+	private Parsed<Integer> parsedPref() {
+		String raw = first(PREF);
+		if (raw == null) {
+			return null;
+		}
+
+		Parsed<Integer> parsed = prefCache;
+		if (parsed == null || !parsed.isFor(raw)) {
+			parsed = prefCache = new Parsed<Integer>(raw, parseInt(raw, 0, raw.length()));
+		}
+		return parsed;
+	}
+
+	/**
+	 * Gets the parsed INDEX value.
+	 * @return the parsed value or null if the parameter doesn't exist
+	 */
+	private Parsed<Integer> parsedIndex() {
+		String raw = first(INDEX);
+		if (raw == null) {
+			return null;
+		}
+
+		Parsed<Integer> parsed = indexCache;
+		if (parsed == null || !parsed.isFor(raw)) {
+			parsed = indexCache = new Parsed<Integer>(raw, parseInt(raw, 0, raw.length()));
+		}
+		return parsed;
+	}
+
+	/**
+	 * Gets the parsed GEO value.
+	 * @return the parsed value or null if the parameter doesn't exist
+	 */
+	private Parsed<double[]> parsedGeo() {
+		String raw = first(GEO);
+		if (raw == null) {
+			return null;
+		}
+
+		Parsed<double[]> parsed = geoCache;
+		if (parsed == null || !parsed.isFor(raw)) {
+			double[] coordinates;
+			try {
+				GeoUri geoUri = GeoUri.parse(raw);
+				coordinates = new double[] { geoUri.getCoordA(), geoUri.getCoordB() };
+			} catch (IllegalArgumentException e) {
+				coordinates = null;
+			}
+			parsed = geoCache = new Parsed<double[]>(raw, coordinates);
+		}
+		return parsed;
+	}
+
+	/**
+	 * Gets the parsed PID values.
+	 * @return the parsed values (never null)
+	 */
+	private Parsed<List<Integer[]>> parsedPids() {
+		List<String> raw = get(PID);
+
+		Parsed<List<Integer[]>> parsed = pidsCache;
+		if (parsed == null || !parsed.isFor(raw)) {
+			List<Integer[]> values = new ArrayList<Integer[]>(raw.size());
+			for (String value : raw) {
+				Integer[] pid = parsePid(value);
+				if (pid == null) {
+					values = null;
+					break;
+				}
+				values.add(pid);
+			}
+			parsed = pidsCache = new Parsed<List<Integer[]>>(raw.toArray(new String[0]), values);
+		}
+		return parsed;
+	}
+
+	private static boolean isMalformed(Parsed<?> parsed) {
+		return parsed != null && parsed.value == null;
+	}
+
+	/**
+	 * Parses a PID value (e.g. "1" or "1.2").
+	 * @param value the value
+	 * @return the local ID (index 0) and CLIENTPIDMAP reference (index 1, may
+	 * be null) or null if the value is malformed
+	 */
+	private static Integer[] parsePid(String value) {
+		//trailing dots are ignored
+		int end = value.length();
+		while (end > 0 && value.charAt(end - 1) == '.') {
+			end--;
+		}
+
+		int dot = value.indexOf('.');
+		if (dot < 0 || dot >= end) {
+			Integer localId = parseInt(value, 0, end);
+			return (localId == null) ? null : new Integer[] { localId, null };
+		}
+
+		Integer localId = parseInt(value, 0, dot);
+		if (localId == null) {
+			return null;
+		}
+
+		int nextDot = value.indexOf('.', dot + 1);
+		Integer clientPidMapRef = parseInt(value, dot + 1, (nextDot < 0 || nextDot > end) ? end : nextDot);
+		return (clientPidMapRef == null) ? null : new Integer[] { localId, clientPidMapRef };
+	}
+
+	/**
+	 * Parses an integer in the same way as {@link Integer#valueOf(String)},
+	 * but without throwing an exception if the value is malformed.
+	 * @param value the string containing the integer
+	 * @param start the index of the first character of the integer
+	 * @param end the index after the last character of the integer
+	 * @return the integer or null if the value is malformed
+	 */
+	private static Integer parseInt(String value, int start, int end) {
+		if (start >= end) {
+			return null;
+		}
+
+		boolean negative = false;
+		char first = value.charAt(start);
+		if (first == '-' || first == '+') {
+			negative = (first == '-');
+			start++;
+			if (start == end) {
+				return null;
+			}
+		}
+
+		long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+		long result = 0;
+		for (int i = start; i < end; i++) {
+			int digit = Character.digit(value.charAt(i), 10);
+			if (digit < 0) {
+				return null;
+			}
+
+			result = result * 10 + digit;
+			if (result > limit) {
+				return null;
+			}
+		}
+
+		return (int) (negative ? -result : result);
+	}
+
+	/**
+	 * Holds the parsed form of a parameter value, along with the raw value(s)
+	 * it was parsed from.
+	 * @param <T> the parsed value class
+	 */
+	private static class Parsed<T> {
+		private final Object raw;
+		private final T value;
+
+		/**
+		 * @param raw the raw value(s) (a {@link String} or {@link String}
+		 * array)
+		 * @param value the parsed value or null if the raw value is malformed
+		 */
+		public Parsed(Object raw, T value) {
+			this.raw = raw;
+			this.value = value;
+		}
+
+		/**
+		 * Determines if this object was parsed from the given raw value.
+		 * @param raw the raw value
+		 * @return true if it was parsed from the given value, false if not
+		 */
+		public boolean isFor(String raw) {
+			return this.raw == raw || raw.equals(this.raw);
+		}
+
+		/**
+		 * Determines if this object was parsed from the given raw values.
+		 * @param raw the raw values
+		 * @return true if it was parsed from the given values, false if not
+		 */
+		public boolean isFor(List<String> raw) {
+			if (!(this.raw instanceof String[])) {
+				return false;
+			}
+
+			String[] thisRaw = (String[]) this.raw;
+			if (thisRaw.length != raw.size()) {
+				return false;
+			}
+
+			for (int i = 0; i < thisRaw.length; i++) {
+				String value = raw.get(i);
+				if (thisRaw[i] != value && !thisRaw[i].equals(value)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Gets the parsed value.
+		 * @param name the parameter name
+		 * @return the parsed value
+		 * @throws IllegalStateException if the raw value is malformed
+		 */
+		public T get(String name) {
+			if (value == null) {
+				throw new IllegalStateException(name + " parameter value is malformed and could not be parsed. Retrieve its raw text value instead.");
+			}
+			return value;
+		}
+	}
+
 	@Override
 	protected String sanitizeKey(String key) {
 		return (key == null) ? null : key.toUpperCase();
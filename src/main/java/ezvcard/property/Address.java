@@ -95,6 +95,28 @@ public class Address extends VCardProperty implements HasAltId {
 	private String postalCode;
 	private String country;
 
+	/**
+	 * Creates an empty property.
+	 */
+	public Address() {
+		//empty
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Address(Address original) {
+		super(original);
+		poBox = original.poBox;
+		extendedAddress = original.extendedAddress;
+		streetAddress = original.streetAddress;
+		locality = original.locality;
+		region = original.region;
+		postalCode = original.postalCode;
+		country = original.country;
+	}
+
 	/**
 	 * Gets the P.O. (post office) box.
 	 * @return the P.O. box or null if not set
@@ -108,6 +130,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * @param poBox the P.O. box or null to remove
 	 */
 	public void setPoBox(String poBox) {
+		checkFrozen();
 		this.poBox = poBox;
 	}
 
@@ -125,6 +148,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * remove
 	 */
 	public void setExtendedAddress(String extendedAddress) {
+		checkFrozen();
 		this.extendedAddress = extendedAddress;
 	}
 
@@ -142,6 +166,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * remove
 	 */
 	public void setStreetAddress(String streetAddress) {
+		checkFrozen();
 		this.streetAddress = streetAddress;
 	}
 
@@ -158,6 +183,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * @param locality the locality or null to remove
 	 */
 	public void setLocality(String locality) {
+		checkFrozen();
 		this.locality = locality;
 	}
 
@@ -174,6 +200,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * @param region the region (e.g. "Texas") or null to remove
 	 */
 	public void setRegion(String region) {
+		checkFrozen();
 		this.region = region;
 	}
 
@@ -190,6 +217,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * @param postalCode the postal code (e.g. "90210") or null to remove
 	 */
 	public void setPostalCode(String postalCode) {
+		checkFrozen();
 		this.postalCode = postalCode;
 	}
 
@@ -206,6 +234,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * @param country the country (e.g. "USA") or null to remove
 	 */
 	public void setCountry(String country) {
+		checkFrozen();
 		this.country = country;
 	}
 
@@ -214,7 +243,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * @return the TYPE parameters or empty set if there are none
 	 */
 	public Set<AddressType> getTypes() {
-		Set<String> values = parameters.getTypes();
+		List<String> values = parameters.get(VCardParameters.TYPE);
 		Set<AddressType> types = new HashSet<AddressType>(values.size());
 		for (String value : values) {
 			types.add(AddressType.get(value));
@@ -227,6 +256,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * @param type the TYPE parameter to add
 	 */
 	public void addType(AddressType type) {
+		checkFrozen();
 		parameters.addType(type.getValue());
 	}
 
@@ -235,6 +265,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * @param type the TYPE parameter to remove
 	 */
 	public void removeType(AddressType type) {
+		checkFrozen();
 		parameters.removeType(type.getValue());
 	}
 
@@ -245,6 +276,7 @@ public class Address extends VCardProperty implements HasAltId {
 
 	@Override
 	public void setLanguage(String language) {
+		checkFrozen();
 		super.setLanguage(language);
 	}
 
@@ -261,6 +293,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * @param label the label or null to remove
 	 */
 	public void setLabel(String label) {
+		checkFrozen();
 		parameters.setLabel(label);
 	}
 
@@ -289,6 +322,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * @see VCardParameters#setGeo
 	 */
 	public void setGeo(double latitude, double longitude) {
+		checkFrozen();
 		parameters.setGeo(latitude, longitude);
 	}
 
@@ -299,11 +333,13 @@ public class Address extends VCardProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -314,6 +350,7 @@ public class Address extends VCardProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -324,6 +361,7 @@ public class Address extends VCardProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
@@ -347,6 +385,7 @@ public class Address extends VCardProperty implements HasAltId {
 	 * @param timezone the timezone (e.g. "America/New_York") or null to remove
 	 */
 	public void setTimezone(String timezone) {
+		checkFrozen();
 		parameters.setTimezone(timezone);
 	}
 
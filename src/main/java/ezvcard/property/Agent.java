@@ -120,6 +120,16 @@ public class Agent extends VCardProperty {
 		setVCard(vcard);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Agent(Agent original) {
+		super(original);
+		url = original.url;
+		vcard = (original.vcard == null) ? null : new VCard(original.vcard);
+	}
+
 	@Override
 	public Set<VCardVersion> _supportedVersions() {
 		return EnumSet.of(VCardVersion.V2_1, VCardVersion.V3_0);
@@ -138,6 +148,7 @@ public class Agent extends VCardProperty {
 	 * @param url the URL
 	 */
 	public void setUrl(String url) {
+		checkFrozen();
 		this.url = url;
 		vcard = null;
 	}
@@ -155,10 +166,18 @@ public class Agent extends VCardProperty {
 	 * @param vcard the vCard
 	 */
 	public void setVCard(VCard vcard) {
+		checkFrozen();
 		this.vcard = vcard;
 		url = null;
 	}
 
+	@Override
+	protected void _freeze() {
+		if (vcard != null) {
+			vcard.freeze();
+		}
+	}
+
 	@Override
 	protected void _validate(List<Warning> warnings, VCardVersion version, VCard vcard) {
 		if (url == null && this.vcard == null) {
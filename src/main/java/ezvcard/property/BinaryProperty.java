@@ -10,6 +10,7 @@ import ezvcard.VCard;
 import ezvcard.VCardVersion;
 import ezvcard.Warning;
 import ezvcard.parameter.MediaTypeParameter;
+import ezvcard.util.BinaryData;
 import ezvcard.util.IOUtils;
 
 /*
@@ -50,7 +51,7 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	/**
 	 * The decoded data.
 	 */
-	protected byte[] data;
+	protected BinaryData data;
 
 	/**
 	 * The URL to the resource.
@@ -84,6 +85,16 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 		setData(data, type);
 	}
 
+	/**
+	 * Creates a binary property.
+	 * @param data the binary data (for example, data that is stored in a file
+	 * and only read when the property is written)
+	 * @param type the content type
+	 */
+	public BinaryProperty(BinaryData data, T type) {
+		setData(data, type);
+	}
+
 	/**
 	 * Creates a binary property.
 	 * @param in an input stream to the binary data (will be closed)
@@ -105,10 +116,42 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	}
 
 	/**
-	 * Gets the binary data of the resource.
+	 * Copy constructor. The binary data is not copied, but shared with the
+	 * original property (see {@link #copy}).
+	 * @param original the property to make a copy of
+	 */
+	public BinaryProperty(BinaryProperty<T> original) {
+		super(original);
+		data = original.data;
+		url = original.url;
+		contentType = original.contentType;
+	}
+
+	/**
+	 * Gets the binary data of the resource. If the data is not stored in a
+	 * byte array (see {@link BinaryData#isArray}), it is read into a new array
+	 * every time this method is called. Use {@link #getBinaryData} to stream
+	 * the data instead.
 	 * @return the binary data or null if there is none
+	 * @throws IllegalStateException if the data could not be read
 	 */
 	public byte[] getData() {
+		if (data == null) {
+			return null;
+		}
+
+		try {
+			return data.toByteArray();
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read binary data.", e);
+		}
+	}
+
+	/**
+	 * Gets the source of the binary data of the resource.
+	 * @return the binary data or null if there is none
+	 */
+	public BinaryData getBinaryData() {
 		return data;
 	}
 
@@ -118,6 +161,16 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	 * @param type the content type (e.g. "JPEG image")
 	 */
 	public void setData(byte[] data, T type) {
+		setData((data == null) ? null : BinaryData.of(data), type);
+	}
+
+	/**
+	 * Sets the binary data of the resource.
+	 * @param data the binary data
+	 * @param type the content type (e.g. "JPEG image")
+	 */
+	public void setData(BinaryData data, T type) {
+		checkFrozen();
 		this.url = null;
 		this.data = data;
 		setContentType(type);
@@ -137,6 +190,7 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	 * @param type the content type (e.g. "JPEG image")
 	 */
 	public void setUrl(String url, T type) {
+		checkFrozen();
 		this.url = url;
 		this.data = null;
 		setContentType(type);
@@ -155,6 +209,7 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	 * @param contentType the content type (e.g. "JPEG image")
 	 */
 	public void setContentType(T contentType) {
+		checkFrozen();
 		this.contentType = contentType;
 	}
 
@@ -181,6 +236,7 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 	 * remove
 	 */
 	public void setType(String type) {
+		checkFrozen();
 		parameters.setType(type);
 	}
 
@@ -191,11 +247,13 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -206,6 +264,7 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -216,6 +275,7 @@ public abstract class BinaryProperty<T extends MediaTypeParameter> extends VCard
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
@@ -113,4 +113,12 @@ public class Birthplace extends PlaceProperty {
 	public Birthplace(String text) {
 		super(text);
 	}
+
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Birthplace(Birthplace original) {
+		super(original);
+	}
 }
@@ -69,6 +69,14 @@ public class CalendarRequestUri extends UriProperty implements HasAltId {
 		super(uri);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public CalendarRequestUri(CalendarRequestUri original) {
+		super(original);
+	}
+
 	@Override
 	public Set<VCardVersion> _supportedVersions() {
 		return EnumSet.of(VCardVersion.V4_0);
@@ -93,6 +101,7 @@ public class CalendarRequestUri extends UriProperty implements HasAltId {
 	 * @param mediaType the media type or null to remove
 	 */
 	public void setMediaType(String mediaType) {
+		checkFrozen();
 		parameters.setMediaType(mediaType);
 	}
 
@@ -103,11 +112,13 @@ public class CalendarRequestUri extends UriProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -118,6 +129,7 @@ public class CalendarRequestUri extends UriProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -128,6 +140,7 @@ public class CalendarRequestUri extends UriProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
@@ -152,6 +165,7 @@ public class CalendarRequestUri extends UriProperty implements HasAltId {
 	 * null to remove
 	 */
 	public void setType(String type) {
+		checkFrozen();
 		parameters.setType(type);
 	}
 }
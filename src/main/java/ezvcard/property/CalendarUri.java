@@ -68,6 +68,14 @@ public class CalendarUri extends UriProperty implements HasAltId {
 		super(uri);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public CalendarUri(CalendarUri original) {
+		super(original);
+	}
+
 	@Override
 	public Set<VCardVersion> _supportedVersions() {
 		return EnumSet.of(VCardVersion.V4_0);
@@ -92,6 +100,7 @@ public class CalendarUri extends UriProperty implements HasAltId {
 	 * @param mediaType the media type or null to remove
 	 */
 	public void setMediaType(String mediaType) {
+		checkFrozen();
 		parameters.setMediaType(mediaType);
 	}
 
@@ -102,11 +111,13 @@ public class CalendarUri extends UriProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -117,6 +128,7 @@ public class CalendarUri extends UriProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -127,6 +139,7 @@ public class CalendarUri extends UriProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
@@ -151,6 +164,7 @@ public class CalendarUri extends UriProperty implements HasAltId {
 	 * null to remove
 	 */
 	public void setType(String type) {
+		checkFrozen();
 		parameters.setType(type);
 	}
 }
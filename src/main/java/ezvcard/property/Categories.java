@@ -63,6 +63,21 @@ import ezvcard.VCardVersion;
  * @author Michael Angstadt
  */
 public class Categories extends TextListProperty implements HasAltId {
+	/**
+	 * Creates an empty property.
+	 */
+	public Categories() {
+		//empty
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Categories(Categories original) {
+		super(original);
+	}
+
 	@Override
 	public List<Integer[]> getPids() {
 		return super.getPids();
@@ -70,11 +85,13 @@ public class Categories extends TextListProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -85,6 +102,7 @@ public class Categories extends TextListProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -95,6 +113,7 @@ public class Categories extends TextListProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
@@ -119,6 +138,7 @@ public class Categories extends TextListProperty implements HasAltId {
 	 * null to remove
 	 */
 	public void setType(String type) {
+		checkFrozen();
 		parameters.setType(type);
 	}
 
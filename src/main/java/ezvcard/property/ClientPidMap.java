@@ -104,6 +104,16 @@ public class ClientPidMap extends VCardProperty {
 		this.uri = uri;
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public ClientPidMap(ClientPidMap original) {
+		super(original);
+		pid = original.pid;
+		uri = original.uri;
+	}
+
 	/**
 	 * Generates a CLIENTPIDMAP type that contains a random UID URI.
 	 * @param pid the PID
@@ -136,6 +146,7 @@ public class ClientPidMap extends VCardProperty {
 	 * @see VCardParameters#getPids
 	 */
 	public void setPid(Integer pid) {
+		checkFrozen();
 		this.pid = pid;
 	}
 
@@ -152,6 +163,7 @@ public class ClientPidMap extends VCardProperty {
 	 * @param uri the URI
 	 */
 	public void setUri(String uri) {
+		checkFrozen();
 		this.uri = uri;
 	}
 
@@ -83,6 +83,18 @@ public class DateOrTimeProperty extends VCardProperty implements HasAltId {
 		setText(text);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public DateOrTimeProperty(DateOrTimeProperty original) {
+		super(original);
+		text = original.text;
+		date = (original.date == null) ? null : new Date(original.date.getTime());
+		partialDate = original.partialDate;
+		dateHasTime = original.dateHasTime;
+	}
+
 	/**
 	 * Gets the date value.
 	 * @return the date value or null if not set
@@ -98,6 +110,7 @@ public class DateOrTimeProperty extends VCardProperty implements HasAltId {
 	 * strictly a date
 	 */
 	public void setDate(Date date, boolean hasTime) {
+		checkFrozen();
 		this.date = date;
 		this.dateHasTime = (date == null) ? false : hasTime;
 		text = null;
@@ -130,6 +143,7 @@ public class DateOrTimeProperty extends VCardProperty implements HasAltId {
 	 * http://tools.ietf.org/html/rfc6350">RFC 6350</a> p.12-14 for examples"
 	 */
 	public void setPartialDate(PartialDate partialDate) {
+		checkFrozen();
 		this.partialDate = partialDate;
 		dateHasTime = (partialDate == null) ? false : partialDate.hasTimeComponent();
 		text = null;
@@ -150,6 +164,7 @@ public class DateOrTimeProperty extends VCardProperty implements HasAltId {
 	 * @param text the text value
 	 */
 	public void setText(String text) {
+		checkFrozen();
 		this.text = text;
 		date = null;
 		partialDate = null;
@@ -193,6 +208,7 @@ public class DateOrTimeProperty extends VCardProperty implements HasAltId {
 	 * @see VCardParameters#setCalscale
 	 */
 	public void setCalscale(Calscale calscale) {
+		checkFrozen();
 		parameters.setCalscale(calscale);
 	}
 
@@ -203,6 +219,7 @@ public class DateOrTimeProperty extends VCardProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
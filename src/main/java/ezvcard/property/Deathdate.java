@@ -136,6 +136,14 @@ public class Deathdate extends DateOrTimeProperty {
 		super(text);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Deathdate(Deathdate original) {
+		super(original);
+	}
+
 	@Override
 	public Set<VCardVersion> _supportedVersions() {
 		return EnumSet.of(VCardVersion.V4_0);
@@ -148,6 +156,7 @@ public class Deathdate extends DateOrTimeProperty {
 
 	@Override
 	public void setLanguage(String language) {
+		checkFrozen();
 		super.setLanguage(language);
 	}
 }
@@ -8,6 +8,7 @@ import ezvcard.VCard;
 import ezvcard.VCardVersion;
 import ezvcard.Warning;
 import ezvcard.parameter.EmailType;
+import ezvcard.parameter.VCardParameters;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -77,12 +78,20 @@ public class Email extends TextProperty implements HasAltId {
 		super(email);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Email(Email original) {
+		super(original);
+	}
+
 	/**
 	 * Gets all the TYPE parameters.
 	 * @return the TYPE parameters or empty set if there are none
 	 */
 	public Set<EmailType> getTypes() {
-		Set<String> values = parameters.getTypes();
+		List<String> values = parameters.get(VCardParameters.TYPE);
 		Set<EmailType> types = new HashSet<EmailType>(values.size());
 		for (String value : values) {
 			types.add(EmailType.get(value));
@@ -95,6 +104,7 @@ public class Email extends TextProperty implements HasAltId {
 	 * @param type the TYPE parameter to add
 	 */
 	public void addType(EmailType type) {
+		checkFrozen();
 		parameters.addType(type.getValue());
 	}
 
@@ -103,6 +113,7 @@ public class Email extends TextProperty implements HasAltId {
 	 * @param type the TYPE parameter to remove
 	 */
 	public void removeType(EmailType type) {
+		checkFrozen();
 		parameters.removeType(type.getValue());
 	}
 
@@ -113,11 +124,13 @@ public class Email extends TextProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -128,6 +141,7 @@ public class Email extends TextProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -138,6 +152,7 @@ public class Email extends TextProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
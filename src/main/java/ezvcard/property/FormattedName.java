@@ -64,6 +64,14 @@ public class FormattedName extends TextProperty implements HasAltId {
 		super(name);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public FormattedName(FormattedName original) {
+		super(original);
+	}
+
 	/**
 	 * Gets the TYPE parameter.
 	 * <p>
@@ -85,6 +93,7 @@ public class FormattedName extends TextProperty implements HasAltId {
 	 * null to remove
 	 */
 	public void setType(String type) {
+		checkFrozen();
 		parameters.setType(type);
 	}
 
@@ -95,6 +104,7 @@ public class FormattedName extends TextProperty implements HasAltId {
 
 	@Override
 	public void setLanguage(String language) {
+		checkFrozen();
 		super.setLanguage(language);
 	}
 
@@ -105,11 +115,13 @@ public class FormattedName extends TextProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -120,6 +132,7 @@ public class FormattedName extends TextProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -130,6 +143,7 @@ public class FormattedName extends TextProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 }
@@ -95,6 +95,16 @@ public class Gender extends VCardProperty {
 		this.gender = gender;
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Gender(Gender original) {
+		super(original);
+		gender = original.gender;
+		text = original.text;
+	}
+
 	@Override
 	public Set<VCardVersion> _supportedVersions() {
 		return EnumSet.of(VCardVersion.V4_0);
@@ -113,6 +123,7 @@ public class Gender extends VCardProperty {
 	 * @param text additional text or null to remove
 	 */
 	public void setText(String text) {
+		checkFrozen();
 		this.text = text;
 	}
 
@@ -130,6 +141,7 @@ public class Gender extends VCardProperty {
 	 * values)
 	 */
 	public void setGender(String gender) {
+		checkFrozen();
 		this.gender = gender;
 	}
 
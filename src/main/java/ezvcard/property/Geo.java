@@ -105,6 +105,15 @@ public class Geo extends VCardProperty implements HasAltId {
 		this.uri = uri;
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Geo(Geo original) {
+		super(original);
+		uri = original.uri;
+	}
+
 	/**
 	 * Gets the latitude.
 	 * @return the latitude
@@ -118,6 +127,7 @@ public class Geo extends VCardProperty implements HasAltId {
 	 * @param latitude the latitude
 	 */
 	public void setLatitude(Double latitude) {
+		checkFrozen();
 		if (uri == null) {
 			uri = new GeoUri.Builder(latitude, null).build();
 		} else {
@@ -138,6 +148,7 @@ public class Geo extends VCardProperty implements HasAltId {
 	 * @param longitude the longitude
 	 */
 	public void setLongitude(Double longitude) {
+		checkFrozen();
 		if (uri == null) {
 			uri = new GeoUri.Builder(null, longitude).build();
 		} else {
@@ -168,6 +179,7 @@ public class Geo extends VCardProperty implements HasAltId {
 	 * @see <a href="http://tools.ietf.org/html/rfc5870">RFC 5870</a>
 	 */
 	public void setGeoUri(GeoUri uri) {
+		checkFrozen();
 		this.uri = uri;
 	}
 
@@ -192,6 +204,7 @@ public class Geo extends VCardProperty implements HasAltId {
 	 * null to remove
 	 */
 	public void setType(String type) {
+		checkFrozen();
 		parameters.setType(type);
 	}
 
@@ -214,6 +227,7 @@ public class Geo extends VCardProperty implements HasAltId {
 	 * @param mediaType the media type or null to remove
 	 */
 	public void setMediaType(String mediaType) {
+		checkFrozen();
 		parameters.setMediaType(mediaType);
 	}
 
@@ -224,11 +238,13 @@ public class Geo extends VCardProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -239,6 +255,7 @@ public class Geo extends VCardProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -249,6 +266,7 @@ public class Geo extends VCardProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
@@ -74,6 +74,14 @@ public class Hobby extends TextProperty implements HasAltId {
 		super(hobby);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Hobby(Hobby original) {
+		super(original);
+	}
+
 	@Override
 	public Set<VCardVersion> _supportedVersions() {
 		return EnumSet.of(VCardVersion.V4_0);
@@ -95,6 +103,7 @@ public class Hobby extends TextProperty implements HasAltId {
 	 * @see VCardParameters#setLevel
 	 */
 	public void setLevel(HobbyLevel level) {
+		checkFrozen();
 		parameters.setLevel(level.getValue());
 	}
 
@@ -105,6 +114,7 @@ public class Hobby extends TextProperty implements HasAltId {
 
 	@Override
 	public void setIndex(Integer index) {
+		checkFrozen();
 		super.setIndex(index);
 	}
 
@@ -123,6 +133,7 @@ public class Hobby extends TextProperty implements HasAltId {
 	 * null to remove
 	 */
 	public void setType(String type) {
+		checkFrozen();
 		parameters.setType(type);
 	}
 
@@ -133,6 +144,7 @@ public class Hobby extends TextProperty implements HasAltId {
 
 	@Override
 	public void setLanguage(String language) {
+		checkFrozen();
 		super.setLanguage(language);
 	}
 
@@ -143,6 +155,7 @@ public class Hobby extends TextProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -153,6 +166,7 @@ public class Hobby extends TextProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 }
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import ezvcard.parameter.ImageType;
+import ezvcard.util.BinaryData;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -58,6 +59,16 @@ public class ImageProperty extends BinaryProperty<ImageType> {
 		super(data, type);
 	}
 
+	/**
+	 * Creates an image property.
+	 * @param data the binary data (for example, data that is stored in a file
+	 * and only read when the property is written)
+	 * @param type the content type (e.g. JPEG)
+	 */
+	public ImageProperty(BinaryData data, ImageType type) {
+		super(data, type);
+	}
+
 	/**
 	 * Creates an image property.
 	 * @param in an input stream to the binary data (will be closed)
@@ -77,4 +88,12 @@ public class ImageProperty extends BinaryProperty<ImageType> {
 	public ImageProperty(File file, ImageType type) throws IOException {
 		super(file, type);
 	}
+
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public ImageProperty(ImageProperty original) {
+		super(original);
+	}
 }
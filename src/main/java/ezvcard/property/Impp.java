@@ -11,6 +11,7 @@ import ezvcard.VCard;
 import ezvcard.VCardVersion;
 import ezvcard.Warning;
 import ezvcard.parameter.ImppType;
+import ezvcard.parameter.VCardParameters;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -113,6 +114,15 @@ public class Impp extends VCardProperty implements HasAltId {
 		setUri(protocol, handle);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Impp(Impp original) {
+		super(original);
+		uri = original.uri;
+	}
+
 	@Override
 	public Set<VCardVersion> _supportedVersions() {
 		return EnumSet.of(VCardVersion.V3_0, VCardVersion.V4_0);
@@ -277,6 +287,7 @@ public class Impp extends VCardProperty implements HasAltId {
 	 * @throws IllegalArgumentException if the URI is not a valid URI
 	 */
 	public void setUri(String uri) {
+		checkFrozen();
 		setUri((uri == null) ? null : URI.create(uri));
 	}
 
@@ -285,6 +296,7 @@ public class Impp extends VCardProperty implements HasAltId {
 	 * @param uri the IM URI (e.g. "aim:theuser@aol.com")
 	 */
 	public void setUri(URI uri) {
+		checkFrozen();
 		this.uri = uri;
 	}
 
@@ -294,6 +306,7 @@ public class Impp extends VCardProperty implements HasAltId {
 	 * @param handle the IM handle (e.g. "theuser@aol.com")
 	 */
 	public void setUri(String protocol, String handle) {
+		checkFrozen();
 		try {
 			this.uri = new URI(protocol, handle, null);
 		} catch (URISyntaxException e) {
@@ -330,7 +343,7 @@ public class Impp extends VCardProperty implements HasAltId {
 	 * @return the TYPE parameters or empty set if there are none
 	 */
 	public Set<ImppType> getTypes() {
-		Set<String> values = parameters.getTypes();
+		List<String> values = parameters.get(VCardParameters.TYPE);
 		Set<ImppType> types = new HashSet<ImppType>(values.size());
 		for (String value : values) {
 			types.add(ImppType.get(value));
@@ -343,6 +356,7 @@ public class Impp extends VCardProperty implements HasAltId {
 	 * @param type the TYPE parameter to add
 	 */
 	public void addType(ImppType type) {
+		checkFrozen();
 		parameters.addType(type.getValue());
 	}
 
@@ -351,6 +365,7 @@ public class Impp extends VCardProperty implements HasAltId {
 	 * @param type the TYPE parameter to remove
 	 */
 	public void removeType(ImppType type) {
+		checkFrozen();
 		parameters.removeType(type.getValue());
 	}
 
@@ -373,6 +388,7 @@ public class Impp extends VCardProperty implements HasAltId {
 	 * @param mediaType the media type or null to remove
 	 */
 	public void setMediaType(String mediaType) {
+		checkFrozen();
 		parameters.setMediaType(mediaType);
 	}
 
@@ -383,11 +399,13 @@ public class Impp extends VCardProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -398,6 +416,7 @@ public class Impp extends VCardProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -408,6 +427,7 @@ public class Impp extends VCardProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
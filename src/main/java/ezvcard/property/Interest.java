@@ -74,6 +74,14 @@ public class Interest extends TextProperty implements HasAltId {
 		super(interest);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Interest(Interest original) {
+		super(original);
+	}
+
 	@Override
 	public Set<VCardVersion> _supportedVersions() {
 		return EnumSet.of(VCardVersion.V4_0);
@@ -95,6 +103,7 @@ public class Interest extends TextProperty implements HasAltId {
 	 * @see VCardParameters#setLevel
 	 */
 	public void setLevel(InterestLevel level) {
+		checkFrozen();
 		String value = (level == null) ? null : level.getValue();
 		parameters.setLevel(value);
 	}
@@ -106,6 +115,7 @@ public class Interest extends TextProperty implements HasAltId {
 
 	@Override
 	public void setIndex(Integer index) {
+		checkFrozen();
 		super.setIndex(index);
 	}
 
@@ -124,6 +134,7 @@ public class Interest extends TextProperty implements HasAltId {
 	 * null to remove
 	 */
 	public void setType(String type) {
+		checkFrozen();
 		parameters.setType(type);
 	}
 
@@ -134,6 +145,7 @@ public class Interest extends TextProperty implements HasAltId {
 
 	@Override
 	public void setLanguage(String language) {
+		checkFrozen();
 		super.setLanguage(language);
 	}
 
@@ -144,6 +156,7 @@ public class Interest extends TextProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -154,6 +167,7 @@ public class Interest extends TextProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 }
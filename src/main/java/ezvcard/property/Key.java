@@ -9,6 +9,7 @@ import ezvcard.VCard;
 import ezvcard.VCardVersion;
 import ezvcard.Warning;
 import ezvcard.parameter.KeyType;
+import ezvcard.util.BinaryData;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -122,6 +123,16 @@ public class Key extends BinaryProperty<KeyType> {
 		super(data, type);
 	}
 
+	/**
+	 * Creates a key property.
+	 * @param data the binary data (for example, data that is stored in a file
+	 * and only read when the property is written)
+	 * @param type the type of key (e.g. PGP)
+	 */
+	public Key(BinaryData data, KeyType type) {
+		super(data, type);
+	}
+
 	/**
 	 * Creates a key property.
 	 * @param url the URL to the key (vCard 4.0 only)
@@ -151,12 +162,22 @@ public class Key extends BinaryProperty<KeyType> {
 		super(file, type);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Key(Key original) {
+		super(original);
+		text = original.text;
+	}
+
 	/**
 	 * Sets a plain text representation of the key.
 	 * @param text the key in plain text
 	 * @param type the key type
 	 */
 	public void setText(String text, KeyType type) {
+		checkFrozen();
 		this.text = text;
 		data = null;
 		url = null;
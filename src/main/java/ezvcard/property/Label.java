@@ -2,11 +2,13 @@ package ezvcard.property;
 
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import ezvcard.VCard;
 import ezvcard.VCardVersion;
 import ezvcard.parameter.AddressType;
+import ezvcard.parameter.VCardParameters;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -88,6 +90,14 @@ public class Label extends TextProperty {
 		super(label);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Label(Label original) {
+		super(original);
+	}
+
 	@Override
 	public Set<VCardVersion> _supportedVersions() {
 		return EnumSet.of(VCardVersion.V2_1, VCardVersion.V3_0);
@@ -98,7 +108,7 @@ public class Label extends TextProperty {
 	 * @return the TYPE parameters or empty set if there are none
 	 */
 	public Set<AddressType> getTypes() {
-		Set<String> values = parameters.getTypes();
+		List<String> values = parameters.get(VCardParameters.TYPE);
 		Set<AddressType> types = new HashSet<AddressType>(values.size());
 		for (String value : values) {
 			types.add(AddressType.get(value));
@@ -111,6 +121,7 @@ public class Label extends TextProperty {
 	 * @param type the TYPE parameter to add
 	 */
 	public void addType(AddressType type) {
+		checkFrozen();
 		parameters.addType(type.getValue());
 	}
 
@@ -119,6 +130,7 @@ public class Label extends TextProperty {
 	 * @param type the TYPE parameter to remove
 	 */
 	public void removeType(AddressType type) {
+		checkFrozen();
 		parameters.removeType(type.getValue());
 	}
 
@@ -129,6 +141,7 @@ public class Label extends TextProperty {
 
 	@Override
 	public void setLanguage(String language) {
+		checkFrozen();
 		super.setLanguage(language);
 	}
 }
@@ -1,6 +1,7 @@
 package ezvcard.property;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import ezvcard.VCard;
@@ -44,6 +45,22 @@ import ezvcard.Warning;
 public class ListProperty<T> extends VCardProperty {
 	protected List<T> values = new ArrayList<T>();
 
+	/**
+	 * Creates an empty property.
+	 */
+	public ListProperty() {
+		//empty
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public ListProperty(ListProperty<T> original) {
+		super(original);
+		values = new ArrayList<T>(original.values);
+	}
+
 	/**
 	 * Gest the list of values.
 	 * @return the list of values
@@ -57,6 +74,7 @@ public class ListProperty<T> extends VCardProperty {
 	 * @param value the value to add
 	 */
 	public void addValue(T value) {
+		checkFrozen();
 		values.add(value);
 	}
 
@@ -65,9 +83,15 @@ public class ListProperty<T> extends VCardProperty {
 	 * @param value the value to remove
 	 */
 	public void removeValue(T value) {
+		checkFrozen();
 		values.remove(value);
 	}
 
+	@Override
+	protected void _freeze() {
+		values = Collections.unmodifiableList(values);
+	}
+
 	@Override
 	protected void _validate(List<Warning> warnings, VCardVersion version, VCard vcard) {
 		if (values.isEmpty()) {
@@ -80,6 +80,14 @@ public class Member extends UriProperty implements HasAltId {
 		super(uri);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Member(Member original) {
+		super(original);
+	}
+
 	/**
 	 * Creates a member property whose value is an email address.
 	 * @param email the email address
@@ -126,6 +134,7 @@ public class Member extends UriProperty implements HasAltId {
 	 * @param uri the URI
 	 */
 	public void setUri(String uri) {
+		checkFrozen();
 		setValue(uri);
 	}
 
@@ -136,11 +145,13 @@ public class Member extends UriProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -151,6 +162,7 @@ public class Member extends UriProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -161,6 +173,7 @@ public class Member extends UriProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
@@ -183,6 +196,7 @@ public class Member extends UriProperty implements HasAltId {
 	 * @param mediaType the media type or null to remove
 	 */
 	public void setMediaType(String mediaType) {
+		checkFrozen();
 		parameters.setMediaType(mediaType);
 	}
 
@@ -68,6 +68,14 @@ public class OrgDirectory extends UriProperty implements HasAltId {
 		super(uri);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public OrgDirectory(OrgDirectory original) {
+		super(original);
+	}
+
 	@Override
 	public Set<VCardVersion> _supportedVersions() {
 		return EnumSet.of(VCardVersion.V4_0);
@@ -80,6 +88,7 @@ public class OrgDirectory extends UriProperty implements HasAltId {
 
 	@Override
 	public void setIndex(Integer index) {
+		checkFrozen();
 		super.setIndex(index);
 	}
 
@@ -98,6 +107,7 @@ public class OrgDirectory extends UriProperty implements HasAltId {
 	 * null to remove
 	 */
 	public void setType(String type) {
+		checkFrozen();
 		parameters.setType(type);
 	}
 
@@ -108,6 +118,7 @@ public class OrgDirectory extends UriProperty implements HasAltId {
 
 	@Override
 	public void setLanguage(String language) {
+		checkFrozen();
 		super.setLanguage(language);
 	}
 
@@ -118,6 +129,7 @@ public class OrgDirectory extends UriProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -128,6 +140,7 @@ public class OrgDirectory extends UriProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 }
@@ -62,6 +62,21 @@ import ezvcard.parameter.VCardParameters;
  * @author Michael Angstadt
  */
 public class Organization extends TextListProperty implements HasAltId {
+	/**
+	 * Creates an empty property.
+	 */
+	public Organization() {
+		//empty
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Organization(Organization original) {
+		super(original);
+	}
+
 	@Override
 	public String getLanguage() {
 		return super.getLanguage();
@@ -69,6 +84,7 @@ public class Organization extends TextListProperty implements HasAltId {
 
 	@Override
 	public void setLanguage(String language) {
+		checkFrozen();
 		super.setLanguage(language);
 	}
 
@@ -93,6 +109,7 @@ public class Organization extends TextListProperty implements HasAltId {
 	 * null to remove
 	 */
 	public void setType(String type) {
+		checkFrozen();
 		parameters.setType(type);
 	}
 
@@ -103,11 +120,13 @@ public class Organization extends TextListProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -118,6 +137,7 @@ public class Organization extends TextListProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -128,6 +148,7 @@ public class Organization extends TextListProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
@@ -161,6 +182,7 @@ public class Organization extends TextListProperty implements HasAltId {
 	 * @see VCardParameters#setSortAs
 	 */
 	public void setSortAs(String... names) {
+		checkFrozen();
 		parameters.setSortAs(names);
 	}
 }
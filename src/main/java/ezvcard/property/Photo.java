@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import ezvcard.parameter.ImageType;
+import ezvcard.util.BinaryData;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -107,6 +108,16 @@ public class Photo extends ImageProperty {
 		super(data, type);
 	}
 
+	/**
+	 * Creates a photo property.
+	 * @param data the binary data (for example, data that is stored in a file
+	 * and only read when the property is written)
+	 * @param type the content type (e.g. JPEG)
+	 */
+	public Photo(BinaryData data, ImageType type) {
+		super(data, type);
+	}
+
 	/**
 	 * Creates a photo property.
 	 * @param in an input stream to the binary data (will be closed)
@@ -126,4 +137,12 @@ public class Photo extends ImageProperty {
 	public Photo(File file, ImageType type) throws IOException {
 		super(file, type);
 	}
+
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Photo(Photo original) {
+		super(original);
+	}
 }
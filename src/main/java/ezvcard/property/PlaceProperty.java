@@ -72,6 +72,17 @@ public class PlaceProperty extends VCardProperty implements HasAltId {
 		setText(text);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public PlaceProperty(PlaceProperty original) {
+		super(original);
+		geoUri = original.geoUri;
+		uri = original.uri;
+		text = original.text;
+	}
+
 	@Override
 	public Set<VCardVersion> _supportedVersions() {
 		return EnumSet.of(VCardVersion.V4_0);
@@ -107,6 +118,7 @@ public class PlaceProperty extends VCardProperty implements HasAltId {
 	 * @param longitude the longitude
 	 */
 	public void setCoordinates(double latitude, double longitude) {
+		checkFrozen();
 		setGeoUri(new GeoUri.Builder(latitude, longitude).build());
 	}
 
@@ -115,6 +127,7 @@ public class PlaceProperty extends VCardProperty implements HasAltId {
 	 * @param geoUri the geo URI
 	 */
 	public void setGeoUri(GeoUri geoUri) {
+		checkFrozen();
 		this.geoUri = geoUri;
 		uri = null;
 		text = null;
@@ -133,6 +146,7 @@ public class PlaceProperty extends VCardProperty implements HasAltId {
 	 * @param uri the URI
 	 */
 	public void setUri(String uri) {
+		checkFrozen();
 		this.uri = uri;
 		geoUri = null;
 		text = null;
@@ -151,6 +165,7 @@ public class PlaceProperty extends VCardProperty implements HasAltId {
 	 * @param text the text
 	 */
 	public void setText(String text) {
+		checkFrozen();
 		this.text = text;
 		geoUri = null;
 		uri = null;
@@ -163,6 +178,7 @@ public class PlaceProperty extends VCardProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
@@ -173,6 +189,7 @@ public class PlaceProperty extends VCardProperty implements HasAltId {
 
 	@Override
 	public void setLanguage(String language) {
+		checkFrozen();
 		super.setLanguage(language);
 	}
 
@@ -61,6 +61,16 @@ public class RawProperty extends TextProperty {
 		this.dataType = dataType;
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public RawProperty(RawProperty original) {
+		super(original);
+		propertyName = original.propertyName;
+		dataType = original.dataType;
+	}
+
 	/**
 	 * Gets the name of the property.
 	 * @return the property name
@@ -74,6 +84,7 @@ public class RawProperty extends TextProperty {
 	 * @param propertyName the property name
 	 */
 	public void setPropertyName(String propertyName) {
+		checkFrozen();
 		this.propertyName = propertyName;
 	}
 
@@ -90,6 +101,7 @@ public class RawProperty extends TextProperty {
 	 * @param dataType the data type or null if unknown
 	 */
 	public void setDataType(VCardDataType dataType) {
+		checkFrozen();
 		this.dataType = dataType;
 	}
 }
@@ -9,6 +9,7 @@ import ezvcard.VCard;
 import ezvcard.VCardVersion;
 import ezvcard.Warning;
 import ezvcard.parameter.RelatedType;
+import ezvcard.parameter.VCardParameters;
 import ezvcard.util.TelUri;
 
 /*
@@ -97,6 +98,16 @@ public class Related extends VCardProperty implements HasAltId {
 		setUri(uri);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Related(Related original) {
+		super(original);
+		uri = original.uri;
+		text = original.text;
+	}
+
 	/**
 	 * Creates a related property whose value is an email address.
 	 * @param email the email address
@@ -143,6 +154,7 @@ public class Related extends VCardProperty implements HasAltId {
 	 * @param uri the URI
 	 */
 	public void setUri(String uri) {
+		checkFrozen();
 		this.uri = uri;
 		text = null;
 	}
@@ -160,6 +172,7 @@ public class Related extends VCardProperty implements HasAltId {
 	 * @param text the text
 	 */
 	public void setText(String text) {
+		checkFrozen();
 		this.text = text;
 		uri = null;
 	}
@@ -169,7 +182,7 @@ public class Related extends VCardProperty implements HasAltId {
 	 * @return the TYPE parameters or empty set if there are none
 	 */
 	public Set<RelatedType> getTypes() {
-		Set<String> values = parameters.getTypes();
+		List<String> values = parameters.get(VCardParameters.TYPE);
 		Set<RelatedType> types = new HashSet<RelatedType>(values.size());
 		for (String value : values) {
 			types.add(RelatedType.get(value));
@@ -182,6 +195,7 @@ public class Related extends VCardProperty implements HasAltId {
 	 * @param type the TYPE parameter to add
 	 */
 	public void addType(RelatedType type) {
+		checkFrozen();
 		parameters.addType(type.getValue());
 	}
 
@@ -190,6 +204,7 @@ public class Related extends VCardProperty implements HasAltId {
 	 * @param type the TYPE parameter to remove
 	 */
 	public void removeType(RelatedType type) {
+		checkFrozen();
 		parameters.removeType(type.getValue());
 	}
 
@@ -200,11 +215,13 @@ public class Related extends VCardProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -215,6 +232,7 @@ public class Related extends VCardProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -225,6 +243,7 @@ public class Related extends VCardProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
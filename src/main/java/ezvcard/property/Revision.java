@@ -64,6 +64,15 @@ public class Revision extends SimpleProperty<Date> {
 		super(date);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Revision(Revision original) {
+		super(original);
+		value = (original.value == null) ? null : new Date(original.value.getTime());
+	}
+
 	/**
 	 * Creates a revision property whose value is the current time.
 	 * @return the property
@@ -51,6 +51,15 @@ public class SimpleProperty<T> extends VCardProperty {
 		this.value = value;
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public SimpleProperty(SimpleProperty<T> original) {
+		super(original);
+		value = original.value;
+	}
+
 	/**
 	 * Gets the value of this property.
 	 * @return the value or null if not set
@@ -64,6 +73,7 @@ public class SimpleProperty<T> extends VCardProperty {
 	 * @param value the value
 	 */
 	public void setValue(T value) {
+		checkFrozen();
 		this.value = value;
 	}
 
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import ezvcard.parameter.SoundType;
+import ezvcard.util.BinaryData;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -107,6 +108,16 @@ public class Sound extends BinaryProperty<SoundType> {
 		super(data, type);
 	}
 
+	/**
+	 * Creates a sound property.
+	 * @param data the binary data (for example, data that is stored in a file
+	 * and only read when the property is written)
+	 * @param type the content type (e.g. OGG)
+	 */
+	public Sound(BinaryData data, SoundType type) {
+		super(data, type);
+	}
+
 	/**
 	 * Creates a sound property.
 	 * @param in an input stream to the binary data (will be closed)
@@ -127,6 +138,14 @@ public class Sound extends BinaryProperty<SoundType> {
 		super(file, type);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Sound(Sound original) {
+		super(original);
+	}
+
 	@Override
 	public String getLanguage() {
 		return super.getLanguage();
@@ -134,6 +153,7 @@ public class Sound extends BinaryProperty<SoundType> {
 
 	@Override
 	public void setLanguage(String language) {
+		checkFrozen();
 		super.setLanguage(language);
 	}
 }
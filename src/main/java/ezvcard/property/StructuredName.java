@@ -1,6 +1,7 @@
 package ezvcard.property;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import ezvcard.parameter.VCardParameters;
@@ -69,6 +70,26 @@ public class StructuredName extends VCardProperty implements HasAltId {
 	private List<String> prefixes = new ArrayList<String>();
 	private List<String> suffixes = new ArrayList<String>();
 
+	/**
+	 * Creates an empty property.
+	 */
+	public StructuredName() {
+		//empty
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public StructuredName(StructuredName original) {
+		super(original);
+		family = original.family;
+		given = original.given;
+		additional = new ArrayList<String>(original.additional);
+		prefixes = new ArrayList<String>(original.prefixes);
+		suffixes = new ArrayList<String>(original.suffixes);
+	}
+
 	/**
 	 * Gets the family name (aka "last name").
 	 * @return the family name or null if not set
@@ -82,6 +103,7 @@ public class StructuredName extends VCardProperty implements HasAltId {
 	 * @param family the family name or null to remove
 	 */
 	public void setFamily(String family) {
+		checkFrozen();
 		this.family = family;
 	}
 
@@ -98,6 +120,7 @@ public class StructuredName extends VCardProperty implements HasAltId {
 	 * @param given the given name or null to remove
 	 */
 	public void setGiven(String given) {
+		checkFrozen();
 		this.given = given;
 	}
 
@@ -114,6 +137,7 @@ public class StructuredName extends VCardProperty implements HasAltId {
 	 * @param additional the additional name to add
 	 */
 	public void addAdditional(String additional) {
+		checkFrozen();
 		this.additional.add(additional);
 	}
 
@@ -130,6 +154,7 @@ public class StructuredName extends VCardProperty implements HasAltId {
 	 * @param prefix the prefix to add (e.g. "Mr.")
 	 */
 	public void addPrefix(String prefix) {
+		checkFrozen();
 		this.prefixes.add(prefix);
 	}
 
@@ -146,6 +171,7 @@ public class StructuredName extends VCardProperty implements HasAltId {
 	 * @param suffix the suffix to add (e.g. "Jr.")
 	 */
 	public void addSuffix(String suffix) {
+		checkFrozen();
 		this.suffixes.add(suffix);
 	}
 
@@ -180,6 +206,7 @@ public class StructuredName extends VCardProperty implements HasAltId {
 	 * name is "d'Aboville") or null to remove
 	 */
 	public void setSortAs(String family) {
+		checkFrozen();
 		if (family == null) {
 			parameters.setSortAs();
 		} else {
@@ -201,6 +228,7 @@ public class StructuredName extends VCardProperty implements HasAltId {
 	 * @param given the sortable given name
 	 */
 	public void setSortAs(String family, String given) {
+		checkFrozen();
 		parameters.setSortAs(family, given);
 	}
 
@@ -211,6 +239,7 @@ public class StructuredName extends VCardProperty implements HasAltId {
 
 	@Override
 	public void setLanguage(String language) {
+		checkFrozen();
 		super.setLanguage(language);
 	}
 
@@ -221,6 +250,14 @@ public class StructuredName extends VCardProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
-}
\ No newline at end of file
+
+	@Override
+	protected void _freeze() {
+		additional = Collections.unmodifiableList(additional);
+		prefixes = Collections.unmodifiableList(prefixes);
+		suffixes = Collections.unmodifiableList(suffixes);
+	}
+}
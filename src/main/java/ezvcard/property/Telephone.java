@@ -8,6 +8,7 @@ import ezvcard.VCard;
 import ezvcard.VCardVersion;
 import ezvcard.Warning;
 import ezvcard.parameter.TelephoneType;
+import ezvcard.parameter.VCardParameters;
 import ezvcard.util.TelUri;
 
 /*
@@ -93,6 +94,16 @@ public class Telephone extends VCardProperty implements HasAltId {
 		setUri(uri);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Telephone(Telephone original) {
+		super(original);
+		text = original.text;
+		uri = original.uri;
+	}
+
 	/**
 	 * Gets the telephone number as a text value.
 	 * @return the telephone number or null if the text value is not set
@@ -106,6 +117,7 @@ public class Telephone extends VCardProperty implements HasAltId {
 	 * @param text the telephone number
 	 */
 	public void setText(String text) {
+		checkFrozen();
 		this.text = text;
 		uri = null;
 	}
@@ -129,6 +141,7 @@ public class Telephone extends VCardProperty implements HasAltId {
 	 * @param uri the "tel" URI
 	 */
 	public void setUri(TelUri uri) {
+		checkFrozen();
 		text = null;
 		this.uri = uri;
 	}
@@ -138,7 +151,7 @@ public class Telephone extends VCardProperty implements HasAltId {
 	 * @return the TYPE parameters or empty set if there are none
 	 */
 	public Set<TelephoneType> getTypes() {
-		Set<String> values = parameters.getTypes();
+		List<String> values = parameters.get(VCardParameters.TYPE);
 		Set<TelephoneType> types = new HashSet<TelephoneType>(values.size());
 		for (String value : values) {
 			types.add(TelephoneType.get(value));
@@ -151,6 +164,7 @@ public class Telephone extends VCardProperty implements HasAltId {
 	 * @param type the TYPE parameter to add
 	 */
 	public void addType(TelephoneType type) {
+		checkFrozen();
 		parameters.addType(type.getValue());
 	}
 
@@ -159,6 +173,7 @@ public class Telephone extends VCardProperty implements HasAltId {
 	 * @param type the TYPE parameter to remove
 	 */
 	public void removeType(TelephoneType type) {
+		checkFrozen();
 		parameters.removeType(type.getValue());
 	}
 
@@ -169,11 +184,13 @@ public class Telephone extends VCardProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -184,6 +201,7 @@ public class Telephone extends VCardProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -194,6 +212,7 @@ public class Telephone extends VCardProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
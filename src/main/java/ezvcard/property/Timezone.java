@@ -113,6 +113,16 @@ public class Timezone extends VCardProperty implements HasAltId {
 		this(UtcOffset.parse(timezone), timezone.getID());
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Timezone(Timezone original) {
+		super(original);
+		offset = original.offset;
+		text = original.text;
+	}
+
 	/**
 	 * Gets the UTC offset.
 	 * @return the UTC offset or null if not set
@@ -126,6 +136,7 @@ public class Timezone extends VCardProperty implements HasAltId {
 	 * @param offset the UTC offset
 	 */
 	public void setOffset(UtcOffset offset) {
+		checkFrozen();
 		this.offset = offset;
 	}
 
@@ -148,6 +159,7 @@ public class Timezone extends VCardProperty implements HasAltId {
 	 * Database</a> (e.g. "America/New_York")
 	 */
 	public void setText(String text) {
+		checkFrozen();
 		this.text = text;
 	}
 
@@ -193,6 +205,7 @@ public class Timezone extends VCardProperty implements HasAltId {
 	 * null to remove
 	 */
 	public void setType(String type) {
+		checkFrozen();
 		parameters.setType(type);
 	}
 
@@ -215,6 +228,7 @@ public class Timezone extends VCardProperty implements HasAltId {
 	 * @param mediaType the media type or null to remove
 	 */
 	public void setMediaType(String mediaType) {
+		checkFrozen();
 		parameters.setMediaType(mediaType);
 	}
 
@@ -225,11 +239,13 @@ public class Timezone extends VCardProperty implements HasAltId {
 
 	@Override
 	public void addPid(int localId, int clientPidMapRef) {
+		checkFrozen();
 		super.addPid(localId, clientPidMapRef);
 	}
 
 	@Override
 	public void removePids() {
+		checkFrozen();
 		super.removePids();
 	}
 
@@ -240,6 +256,7 @@ public class Timezone extends VCardProperty implements HasAltId {
 
 	@Override
 	public void setPref(Integer pref) {
+		checkFrozen();
 		super.setPref(pref);
 	}
 
@@ -250,6 +267,7 @@ public class Timezone extends VCardProperty implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
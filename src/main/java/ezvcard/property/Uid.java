@@ -68,6 +68,14 @@ public class Uid extends UriProperty {
 		super(uid);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Uid(Uid original) {
+		super(original);
+	}
+
 	/**
 	 * Creates a UID property that contains a random UUID URI.
 	 * @return the property
@@ -1,10 +1,14 @@
 package ezvcard.property;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import ezvcard.VCard;
 import ezvcard.VCardVersion;
@@ -45,6 +49,8 @@ import ezvcard.parameter.VCardParameters;
  * @author Michael Angstadt
  */
 public abstract class VCardProperty implements Comparable<VCardProperty> {
+	private static final Map<Class<?>, Constructor<?>> copyConstructors = new ConcurrentHashMap<Class<?>, Constructor<?>>();
+
 	/**
 	 * The group that this property belongs to or null if it doesn't belong to a
 	 * group.
@@ -56,6 +62,24 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	 */
 	protected VCardParameters parameters = new VCardParameters();
 
+	private boolean frozen = false;
+
+	/**
+	 * Creates an empty property.
+	 */
+	protected VCardProperty() {
+		//empty
+	}
+
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	protected VCardProperty(VCardProperty original) {
+		group = original.group;
+		parameters = new VCardParameters(original.parameters);
+	}
+
 	/**
 	 * Gets the vCard versions that support this property.
 	 * @return the vCard versions that support this property.
@@ -121,6 +145,57 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 		//empty
 	}
 
+	/**
+	 * <p>
+	 * Makes this property immutable. Once frozen, calling any of the property's
+	 * setter methods, or modifying its parameters or the lists it returns, will
+	 * throw an {@link UnsupportedOperationException}. A frozen property can be
+	 * safely shared between threads.
+	 * </p>
+	 * <p>
+	 * Mutable value objects that the property holds, such as
+	 * {@link java.util.Date} and {@code byte[]} values, are not copied and
+	 * should be treated as read-only.
+	 * </p>
+	 */
+	public final void freeze() {
+		if (frozen) {
+			return;
+		}
+
+		parameters.freeze();
+		_freeze();
+		frozen = true;
+	}
+
+	/**
+	 * Freezes any additional state the property holds. Properties that hold
+	 * mutable collections or objects should override this method.
+	 */
+	protected void _freeze() {
+		//empty
+	}
+
+	/**
+	 * Determines if this property has been frozen.
+	 * @return true if it's frozen, false if not
+	 * @see #freeze
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Throws an exception if this property has been frozen. This should be
+	 * called at the beginning of every method that modifies the property.
+	 * @throws UnsupportedOperationException if the property is frozen
+	 */
+	protected void checkFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException("This property is frozen and cannot be modified.");
+		}
+	}
+
 	/**
 	 * Gets all of the property's parameters.
 	 * @return the property's parameters
@@ -134,6 +209,7 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	 * @param parameters the parameters
 	 */
 	public void setParameters(VCardParameters parameters) {
+		checkFrozen();
 		this.parameters = parameters;
 	}
 
@@ -161,6 +237,7 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	 * @param value the parameter value
 	 */
 	public void setParameter(String name, String value) {
+		checkFrozen();
 		parameters.replace(name, value);
 	}
 
@@ -170,6 +247,7 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	 * @param value the parameter value
 	 */
 	public void addParameter(String name, String value) {
+		checkFrozen();
 		parameters.put(name, value);
 	}
 
@@ -178,6 +256,7 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	 * @param name the parameter name (case insensitive, e.g. "LANGUAGE")
 	 */
 	public void removeParameter(String name) {
+		checkFrozen();
 		parameters.removeAll(name);
 	}
 
@@ -194,9 +273,52 @@ public abstract class VCardProperty implements Comparable<VCardProperty> {
 	 * @param group the group or null to remove the property's group
 	 */
 	public void setGroup(String group) {
+		checkFrozen();
 		this.group = group;
 	}
 
+	/**
+	 * <p>
+	 * Creates a deep copy of this property using the property class's copy
+	 * constructor. The copy is not frozen, even if this property is.
+	 * </p>
+	 * <p>
+	 * Binary data (see {@link BinaryProperty}) is not copied. The copy shares
+	 * the same {@code byte[]} instance with the original until one of them is
+	 * given new data, so the data should be treated as read-only.
+	 * </p>
+	 * <p>
+	 * Custom property classes must define a public copy constructor (a
+	 * constructor whose only parameter is an instance of the class) in order to
+	 * be copied.
+	 * </p>
+	 * @return the copy
+	 * @throws UnsupportedOperationException if the class does not have a
+	 * public copy constructor
+	 */
+	public VCardProperty copy() {
+		Class<? extends VCardProperty> clazz = getClass();
+		try {
+			Constructor<?> constructor = copyConstructors.get(clazz);
+			if (constructor == null) {
+				constructor = clazz.getConstructor(clazz);
+				constructor.setAccessible(true);
+				copyConstructors.put(clazz, constructor);
+			}
+			return (VCardProperty) constructor.newInstance(this);
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new UnsupportedOperationException("Could not copy property " + clazz.getName() + ".", cause);
+		} catch (NoSuchMethodException e) {
+			throw new UnsupportedOperationException(clazz.getName() + " does not have a public copy constructor.", e);
+		} catch (Exception e) {
+			throw new UnsupportedOperationException("Could not copy property " + clazz.getName() + ".", e);
+		}
+	}
+
 	/**
 	 * Sorts by PREF parameter ascending. Properties that do not have a PREF
 	 * parameter are pushed to the end of the list.
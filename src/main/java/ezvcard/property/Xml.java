@@ -92,6 +92,18 @@ public class Xml extends SimpleProperty<Document> implements HasAltId {
 		super(document);
 	}
 
+	/**
+	 * Copy constructor.
+	 * @param original the property to make a copy of
+	 */
+	public Xml(Xml original) {
+		super(original);
+		if (original.value != null) {
+			Element root = original.value.getDocumentElement();
+			value = (root == null) ? XmlUtils.createDocument() : detachElement(root);
+		}
+	}
+
 	@Override
 	public Set<VCardVersion> _supportedVersions() {
 		return EnumSet.of(VCardVersion.V4_0);
@@ -104,6 +116,7 @@ public class Xml extends SimpleProperty<Document> implements HasAltId {
 
 	//@Override
 	public void setAltId(String altId) {
+		checkFrozen();
 		parameters.setAltId(altId);
 	}
 
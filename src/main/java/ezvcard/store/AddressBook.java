@@ -0,0 +1,400 @@
+package ezvcard.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import ezvcard.VCard;
+import ezvcard.property.Email;
+import ezvcard.property.FormattedName;
+import ezvcard.property.StructuredName;
+import ezvcard.property.Telephone;
+import ezvcard.property.Uid;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * An in-memory collection of vCards that can be searched by UID, email
+ * address, telephone number, and name without scanning every vCard.
+ * </p>
+ * <p>
+ * This class is thread-safe. Queries never block and can be run at the same
+ * time as modifications. Modifications are serialized.
+ * </p>
+ * <p>
+ * vCards are frozen (see {@link VCard#freeze}) when they are added so that
+ * the indexes cannot go stale. To change a vCard, make a modified copy of it
+ * with {@link VCard#toBuilder} and pass both vCards into
+ * {@link #replace(VCard, VCard)}.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * 
+ * <pre class="brush:java">
+ * AddressBook book = new AddressBook();
+ * book.addAll(Ezvcard.parse(file).all());
+ * 
+ * List&lt;VCard&gt; found = book.findByEmail(&quot;John.Doe@example.com&quot;);
+ * 
+ * VCard old = found.get(0);
+ * VCard updated = old.toBuilder();
+ * updated.addNote(&quot;Moved to Boston.&quot;);
+ * book.replace(old, updated);
+ * </pre>
+ * 
+ * </p>
+ * @author Michael Angstadt
+ * @see ContactKeys
+ */
+public class AddressBook implements Iterable<VCard> {
+	private final Object writeLock = new Object();
+	private final ConcurrentMap<VCard, Boolean> vcards = new ConcurrentHashMap<VCard, Boolean>();
+
+	private final Index uids = new Index() {
+		@Override
+		void keys(VCard vcard, Set<String> keys) {
+			Uid uid = vcard.getUid();
+			if (uid != null && uid.getValue() != null) {
+				keys.add(uid.getValue());
+			}
+		}
+	};
+
+	private final Index emails = new Index() {
+		@Override
+		void keys(VCard vcard, Set<String> keys) {
+			for (Email email : vcard.getEmails()) {
+				add(keys, ContactKeys.email(email.getValue()));
+			}
+		}
+	};
+
+	private final Index telephones = new Index() {
+		@Override
+		void keys(VCard vcard, Set<String> keys) {
+			for (Telephone telephone : vcard.getTelephoneNumbers()) {
+				add(keys, ContactKeys.telephone(telephone));
+			}
+		}
+	};
+
+	private final Index names = new Index() {
+		@Override
+		void keys(VCard vcard, Set<String> keys) {
+			for (FormattedName fn : vcard.getFormattedNames()) {
+				add(keys, ContactKeys.name(fn.getValue()));
+			}
+
+			for (StructuredName n : vcard.getStructuredNames()) {
+				String given = n.getGiven();
+				String family = n.getFamily();
+				if (given == null) {
+					add(keys, ContactKeys.name(family));
+				} else if (family == null) {
+					add(keys, ContactKeys.name(given));
+				} else {
+					add(keys, ContactKeys.name(given + ' ' + family));
+				}
+			}
+		}
+	};
+
+	private final Index[] indexes = { uids, emails, telephones, names };
+
+	/**
+	 * Adds a vCard to the address book. The vCard is frozen.
+	 * @param vcard the vCard to add
+	 * @return true if the vCard was added, false if it was already in the
+	 * address book
+	 */
+	public boolean add(VCard vcard) {
+		vcard.freeze();
+		synchronized (writeLock) {
+			if (vcards.putIfAbsent(vcard, Boolean.TRUE) != null) {
+				return false;
+			}
+			index(vcard);
+			return true;
+		}
+	}
+
+	/**
+	 * Adds multiple vCards to the address book. The vCards are frozen.
+	 * @param vcards the vCards to add
+	 */
+	public void addAll(Collection<VCard> vcards) {
+		for (VCard vcard : vcards) {
+			vcard.freeze();
+		}
+
+		synchronized (writeLock) {
+			for (VCard vcard : vcards) {
+				if (this.vcards.putIfAbsent(vcard, Boolean.TRUE) == null) {
+					index(vcard);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Replaces a vCard in the address book with another one. The new vCard is
+	 * frozen.
+	 * @param oldVCard the vCard to replace
+	 * @param newVCard the new vCard
+	 * @return true if the vCard was replaced, false if the old vCard was not
+	 * in the address book
+	 */
+	public boolean replace(VCard oldVCard, VCard newVCard) {
+		newVCard.freeze();
+		synchronized (writeLock) {
+			if (vcards.remove(oldVCard) == null) {
+				return false;
+			}
+			unindex(oldVCard);
+
+			if (vcards.putIfAbsent(newVCard, Boolean.TRUE) == null) {
+				index(newVCard);
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Removes a vCard from the address book.
+	 * @param vcard the vCard to remove
+	 * @return true if the vCard was removed, false if it was not in the
+	 * address book
+	 */
+	public boolean remove(VCard vcard) {
+		synchronized (writeLock) {
+			if (vcards.remove(vcard) == null) {
+				return false;
+			}
+			unindex(vcard);
+			return true;
+		}
+	}
+
+	/**
+	 * Removes all vCards from the address book.
+	 */
+	public void clear() {
+		synchronized (writeLock) {
+			vcards.clear();
+			for (Index index : indexes) {
+				index.map.clear();
+			}
+		}
+	}
+
+	/**
+	 * Determines if a vCard is in the address book. vCards are compared by
+	 * identity.
+	 * @param vcard the vCard
+	 * @return true if the vCard is in the address book, false if not
+	 */
+	public boolean contains(VCard vcard) {
+		return vcards.containsKey(vcard);
+	}
+
+	/**
+	 * Gets the number of vCards in the address book.
+	 * @return the number of vCards
+	 */
+	public int size() {
+		return vcards.size();
+	}
+
+	/**
+	 * Gets the vCards that have the given UID.
+	 * @param uid the UID (case-sensitive)
+	 * @return the matching vCards (this list is immutable)
+	 */
+	public List<VCard> findByUid(String uid) {
+		return uids.get(uid);
+	}
+
+	/**
+	 * Gets the vCards that have the given email address.
+	 * @param email the email address (case-insensitive)
+	 * @return the matching vCards (this list is immutable)
+	 * @see ContactKeys#email(String)
+	 */
+	public List<VCard> findByEmail(String email) {
+		return emails.get(ContactKeys.email(email));
+	}
+
+	/**
+	 * Gets the vCards that have the given telephone number. Formatting
+	 * characters such as spaces, dashes, and parenthesis are ignored.
+	 * @param number the telephone number (e.g. "555-1234")
+	 * @return the matching vCards (this list is immutable)
+	 * @see ContactKeys#telephone(String)
+	 */
+	public List<VCard> findByTelephone(String number) {
+		return telephones.get(ContactKeys.telephone(number));
+	}
+
+	/**
+	 * Gets the vCards that have the given name. The name is compared against
+	 * the {@link FormattedName} properties and against the given and family
+	 * name of the {@link StructuredName} properties (in the form
+	 * "given family").
+	 * @param name the name (case-insensitive)
+	 * @return the matching vCards (this list is immutable)
+	 * @see ContactKeys#name(String)
+	 */
+	public List<VCard> findByName(String name) {
+		return names.get(ContactKeys.name(name));
+	}
+
+	/**
+	 * Gets all vCards in the address book. The list is a snapshot, so it is
+	 * not affected by later modifications to the address book.
+	 * @return the vCards (in no particular order)
+	 */
+	public List<VCard> getAll() {
+		return new ArrayList<VCard>(vcards.keySet());
+	}
+
+	/**
+	 * Iterates over the vCards in the address book (in no particular order).
+	 * The iterator is weakly consistent: it never throws a
+	 * {@link java.util.ConcurrentModificationException} and may or may not
+	 * reflect modifications made after it was created. It does not support
+	 * {@link Iterator#remove}.
+	 */
+	//@Override
+	public Iterator<VCard> iterator() {
+		return Collections.unmodifiableSet(vcards.keySet()).iterator();
+	}
+
+	private void index(VCard vcard) {
+		for (Index index : indexes) {
+			index.add(vcard);
+		}
+	}
+
+	private void unindex(VCard vcard) {
+		for (Index index : indexes) {
+			index.remove(vcard);
+		}
+	}
+
+	/**
+	 * Maps keys to the vCards that contain them. Each value array is replaced
+	 * (never modified) when a vCard is added or removed, which allows the map
+	 * to be read without locking. All writes must be done while holding the
+	 * address book's write lock.
+	 */
+	private static abstract class Index {
+		private final ConcurrentMap<String, VCard[]> map = new ConcurrentHashMap<String, VCard[]>();
+
+		/**
+		 * Generates the keys that a vCard should be indexed under.
+		 * @param vcard the vCard
+		 * @param keys the set to add the keys to
+		 */
+		abstract void keys(VCard vcard, Set<String> keys);
+
+		void add(Set<String> keys, String key) {
+			if (key != null) {
+				keys.add(key);
+			}
+		}
+
+		List<VCard> get(String key) {
+			VCard[] vcards = (key == null) ? null : map.get(key);
+			if (vcards == null) {
+				return Collections.emptyList();
+			}
+			return Collections.unmodifiableList(Arrays.asList(vcards));
+		}
+
+		void add(VCard vcard) {
+			for (String key : keys(vcard)) {
+				VCard[] existing = map.get(key);
+				if (existing == null) {
+					map.put(key, new VCard[] { vcard });
+					continue;
+				}
+
+				VCard[] updated = new VCard[existing.length + 1];
+				System.arraycopy(existing, 0, updated, 0, existing.length);
+				updated[existing.length] = vcard;
+				map.put(key, updated);
+			}
+		}
+
+		void remove(VCard vcard) {
+			for (String key : keys(vcard)) {
+				VCard[] existing = map.get(key);
+				if (existing == null) {
+					continue;
+				}
+
+				int pos = -1;
+				for (int i = 0; i < existing.length; i++) {
+					if (existing[i] == vcard) {
+						pos = i;
+						break;
+					}
+				}
+				if (pos < 0) {
+					continue;
+				}
+
+				if (existing.length == 1) {
+					map.remove(key);
+					continue;
+				}
+
+				VCard[] updated = new VCard[existing.length - 1];
+				System.arraycopy(existing, 0, updated, 0, pos);
+				System.arraycopy(existing, pos + 1, updated, pos, updated.length - pos);
+				map.put(key, updated);
+			}
+		}
+
+		private Set<String> keys(VCard vcard) {
+			Set<String> keys = new LinkedHashSet<String>();
+			keys(vcard, keys);
+			return keys;
+		}
+	}
+}
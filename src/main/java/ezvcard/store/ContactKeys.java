@@ -0,0 +1,293 @@
+package ezvcard.store;
+
+import java.util.Collection;
+
+import ezvcard.property.Telephone;
+import ezvcard.util.TelUri;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * Normalizes contact data so that values which are written differently, but
+ * mean the same thing, produce the same lookup key.
+ * @author Michael Angstadt
+ */
+public final class ContactKeys {
+	/**
+	 * The unaccented versions of the characters in the "Latin-1 Supplement"
+	 * and "Latin Extended-A" blocks, starting at U+00C0.
+	 */
+	private static final char FOLD_START = 0xc0;
+	private static final String[] FOLD;
+	static {
+		//@formatter:off
+		String table =
+			//U+00C0
+			"aaaaaa1ceeeeiiiidnooooo=ouuuuy23" +
+			"aaaaaa1ceeeeiiiidnooooo=ouuuuy2y" +
+			//U+0100
+			"aaaaaaccccccccdd" + "ddeeeeeeeeeegggg" +
+			"gggghhhhiiiiiiii" + "ii44jjkkklllllll" +
+			"lllnnnnnnnnnoooo" + "oo55rrrrrrssssss" +
+			"ssttttttuuuuuuuu" + "uuuuwwyyyzzzzzzs";
+		//@formatter:on
+
+		FOLD = new String[table.length()];
+		for (int i = 0; i < table.length(); i++) {
+			char c = table.charAt(i);
+			switch (c) {
+			case '1':
+				FOLD[i] = "ae";
+				break;
+			case '2':
+				FOLD[i] = "th";
+				break;
+			case '3':
+				FOLD[i] = "ss";
+				break;
+			case '4':
+				FOLD[i] = "ij";
+				break;
+			case '5':
+				FOLD[i] = "oe";
+				break;
+			case '=':
+				FOLD[i] = String.valueOf((char) (FOLD_START + i));
+				break;
+			default:
+				FOLD[i] = String.valueOf(c);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Normalizes an email address by trimming it and converting it to lower
+	 * case.
+	 * @param email the email address
+	 * @return the normalized email address or null if the address is null or
+	 * empty
+	 */
+	public static String email(String email) {
+		if (email == null) {
+			return null;
+		}
+
+		email = email.trim();
+		return (email.length() == 0) ? null : email.toLowerCase();
+	}
+
+	/**
+	 * Normalizes a telephone number by removing everything but its digits. A
+	 * leading "+" is kept so that international numbers do not collide with
+	 * local ones.
+	 * @param number the telephone number (e.g. "+1 (555) 555-1234")
+	 * @return the normalized number (e.g. "+15555551234") or null if the
+	 * number contains no digits
+	 */
+	public static String telephone(String number) {
+		if (number == null) {
+			return null;
+		}
+
+		StringBuilder sb = new StringBuilder(number.length());
+		for (int i = 0; i < number.length(); i++) {
+			char c = number.charAt(i);
+			if (c >= '0' && c <= '9') {
+				sb.append(c);
+			} else if (c == '+' && sb.length() == 0) {
+				sb.append(c);
+			}
+		}
+
+		if (sb.length() == 0 || (sb.length() == 1 && sb.charAt(0) == '+')) {
+			return null;
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Normalizes the number of a telephone property.
+	 * @param telephone the telephone property
+	 * @return the normalized number or null if the property does not have a
+	 * number
+	 * @see #telephone(String)
+	 */
+	public static String telephone(Telephone telephone) {
+		TelUri uri = telephone.getUri();
+		return telephone((uri == null) ? telephone.getText() : uri.getNumber());
+	}
+
+	/**
+	 * Gets the last ten digits of a normalized telephone number. This allows
+	 * numbers that are written with and without a country code or trunk
+	 * prefix to be matched (for example, "+1 555 555 1234" and
+	 * "(555) 555-1234").
+	 * @param number the normalized telephone number (see
+	 * {@link #telephone(String)})
+	 * @return the last ten digits or null if the number has fewer than seven
+	 * digits
+	 */
+	public static String telephoneSuffix(String number) {
+		if (number == null) {
+			return null;
+		}
+
+		if (number.charAt(0) == '+') {
+			number = number.substring(1);
+		}
+
+		int length = number.length();
+		if (length < 7) {
+			return null;
+		}
+		return (length <= 10) ? number : number.substring(length - 10);
+	}
+
+	/**
+	 * Normalizes a name by converting it to lower case and collapsing all
+	 * whitespace into single spaces.
+	 * @param name the name (e.g. " John  Doe")
+	 * @return the normalized name (e.g. "john doe") or null if the name is null
+	 * or blank
+	 */
+	public static String name(String name) {
+		if (name == null) {
+			return null;
+		}
+
+		StringBuilder sb = new StringBuilder(name.length());
+		boolean space = false;
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (Character.isWhitespace(c)) {
+				space = sb.length() > 0;
+				continue;
+			}
+
+			if (space) {
+				sb.append(' ');
+				space = false;
+			}
+			sb.append(Character.toLowerCase(c));
+		}
+
+		return (sb.length() == 0) ? null : sb.toString();
+	}
+
+	/**
+	 * Folds the case and accents of a string so that it can be compared
+	 * loosely. Letters are converted to lower case, accented Latin letters are
+	 * replaced with their unaccented versions (for example, "\u00e9" becomes
+	 * "e" and "\u00df" becomes "ss"), and combining accent marks are removed.
+	 * @param value the string (e.g. "Jos\u00e9 M\u00fcller")
+	 * @return the folded string (e.g. "jose muller")
+	 */
+	public static String fold(String value) {
+		StringBuilder sb = null;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			String folded = fold(c);
+			if (sb == null) {
+				if (folded.length() == 1 && folded.charAt(0) == c) {
+					continue;
+				}
+				sb = new StringBuilder(value.length() + 4);
+				sb.append(value, 0, i);
+			}
+			sb.append(folded);
+		}
+		return (sb == null) ? value : sb.toString();
+	}
+
+	/**
+	 * Folds the case and accent of a single character.
+	 * @param c the character
+	 * @return the folded character(s)
+	 */
+	private static String fold(char c) {
+		if (c < 0x80) {
+			if (c >= 'A' && c <= 'Z') {
+				c += 'a' - 'A';
+			}
+			return String.valueOf(c);
+		}
+
+		if (c >= 0x300 && c <= 0x36f) {
+			//combining diacritical mark
+			return "";
+		}
+
+		if (c >= FOLD_START && c < FOLD_START + FOLD.length) {
+			return FOLD[c - FOLD_START];
+		}
+
+		return String.valueOf(Character.toLowerCase(c));
+	}
+
+	/**
+	 * Folds a string and splits it into words. Anything that is not a letter
+	 * or digit separates words.
+	 * @param value the string (e.g. "Jos\u00e9 M\u00fcller-Smith")
+	 * @param words the collection to add the words to (e.g. "jose", "muller",
+	 * "smith")
+	 * @see #fold(String)
+	 */
+	public static void words(String value, Collection<String> words) {
+		if (value == null) {
+			return;
+		}
+
+		value = fold(value);
+		int start = -1;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				if (start < 0) {
+					start = i;
+				}
+				continue;
+			}
+
+			if (start >= 0) {
+				words.add(value.substring(start, i));
+				start = -1;
+			}
+		}
+
+		if (start >= 0) {
+			words.add(value.substring(start));
+		}
+	}
+
+	private ContactKeys() {
+		//hide
+	}
+}
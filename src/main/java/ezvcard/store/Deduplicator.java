@@ -0,0 +1,795 @@
+package ezvcard.store;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import ezvcard.io.scribe.ScribeIndex;
+import ezvcard.io.scribe.VCardPropertyScribe;
+import ezvcard.parameter.MediaTypeParameter;
+import ezvcard.parameter.VCardParameters;
+import ezvcard.property.Anniversary;
+import ezvcard.property.BinaryProperty;
+import ezvcard.property.Birthday;
+import ezvcard.property.ClientPidMap;
+import ezvcard.property.Email;
+import ezvcard.property.Gender;
+import ezvcard.property.Kind;
+import ezvcard.property.ProductId;
+import ezvcard.property.Revision;
+import ezvcard.property.StructuredName;
+import ezvcard.property.Telephone;
+import ezvcard.property.Uid;
+import ezvcard.property.VCardProperty;
+import ezvcard.util.BinaryData;
+import ezvcard.util.org.apache.commons.codec.binary.Hex;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Finds and merges vCards that describe the same person.
+ * </p>
+ * <p>
+ * To avoid comparing every vCard with every other vCard, the vCards are first
+ * grouped into "blocks" by the things that duplicates are likely to share:
+ * UID, email address, telephone number, and each word (and pair of words) in
+ * their names. Only vCards that are in the same block are compared. Blocks
+ * that contain more than {@link #getMaxBlockSize() a certain number} of vCards
+ * (for example, a block for a very common name) are ignored.
+ * </p>
+ * <p>
+ * Each pair of candidate vCards is scored using a weighted sum of
+ * {@link MatchRule}s. The pair is considered a duplicate if the sum reaches
+ * the {@link #getThreshold() threshold}. Duplicates are transitive: if A
+ * matches B and B matches C, then A, B, and C are put in the same group.
+ * </p>
+ * <p>
+ * The comparisons can be spread across multiple threads by assigning an
+ * {@link ExecutorService} (see {@link #setExecutor}).
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * 
+ * <pre class="brush:java">
+ * List&lt;VCard&gt; vcards = ...
+ * ExecutorService executor = Executors.newFixedThreadPool(8);
+ * 
+ * Deduplicator deduplicator = new Deduplicator();
+ * deduplicator.setExecutor(executor);
+ * List&lt;VCard&gt; merged = deduplicator.dedupe(vcards);
+ * 
+ * executor.shutdown();
+ * </pre>
+ * 
+ * </p>
+ * @author Michael Angstadt
+ */
+public class Deduplicator {
+	/**
+	 * The properties that a vCard may only have one of.
+	 */
+	private static final Set<Class<? extends VCardProperty>> singular = new HashSet<Class<? extends VCardProperty>>();
+	static {
+		singular.add(Anniversary.class);
+		singular.add(Birthday.class);
+		singular.add(Gender.class);
+		singular.add(Kind.class);
+		singular.add(ProductId.class);
+		singular.add(Revision.class);
+		singular.add(StructuredName.class);
+		singular.add(Uid.class);
+	}
+
+	/**
+	 * The number of comparisons to make in each task that is submitted to the
+	 * executor.
+	 */
+	private static final int COMPARISONS_PER_TASK = 10000;
+
+	private final ScribeIndex index = new ScribeIndex();
+	private final List<MatchRule> rules = new ArrayList<MatchRule>();
+	private final List<Double> weights = new ArrayList<Double>();
+	private double threshold = 0.8;
+	private int maxBlockSize = 1000;
+	private ExecutorService executor;
+
+	/**
+	 * Creates a deduplicator with the following rules:
+	 * <ul>
+	 * <li>{@link MatchRules#UID} (weight 1.0)</li>
+	 * <li>{@link MatchRules#EMAIL} (weight 0.8)</li>
+	 * <li>{@link MatchRules#TELEPHONE} (weight 0.5)</li>
+	 * <li>{@link MatchRules#NAME} (weight 0.5)</li>
+	 * </ul>
+	 * With the default threshold of 0.8, two vCards are therefore considered
+	 * duplicates if they have the same UID or email address, or if they share
+	 * a telephone number and most of their name.
+	 */
+	public Deduplicator() {
+		addRule(MatchRules.UID, 1.0);
+		addRule(MatchRules.EMAIL, 0.8);
+		addRule(MatchRules.TELEPHONE, 0.5);
+		addRule(MatchRules.NAME, 0.5);
+	}
+
+	/**
+	 * Adds a rule.
+	 * @param rule the rule
+	 * @param weight the amount that the rule's score is multiplied by
+	 */
+	public void addRule(MatchRule rule, double weight) {
+		rules.add(rule);
+		weights.add(weight);
+	}
+
+	/**
+	 * Removes all rules, including the default ones.
+	 */
+	public void clearRules() {
+		rules.clear();
+		weights.clear();
+	}
+
+	/**
+	 * Gets the minimum score two vCards must have to be considered duplicates.
+	 * @return the threshold (defaults to 0.8)
+	 */
+	public double getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * Sets the minimum score two vCards must have to be considered duplicates.
+	 * @param threshold the threshold (defaults to 0.8)
+	 */
+	public void setThreshold(double threshold) {
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Gets the maximum number of vCards a block can contain before it is
+	 * ignored.
+	 * @return the maximum block size (defaults to 1000)
+	 */
+	public int getMaxBlockSize() {
+		return maxBlockSize;
+	}
+
+	/**
+	 * Sets the maximum number of vCards a block can contain before it is
+	 * ignored. Larger values find more duplicates, but the number of
+	 * comparisons made in a block grows with the square of its size.
+	 * @param maxBlockSize the maximum block size (defaults to 1000)
+	 */
+	public void setMaxBlockSize(int maxBlockSize) {
+		this.maxBlockSize = maxBlockSize;
+	}
+
+	/**
+	 * Gets the executor that the comparisons are run on.
+	 * @return the executor or null if the comparisons are run on the calling
+	 * thread
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Sets the executor that the comparisons are run on. The executor is not
+	 * shut down by this class.
+	 * @param executor the executor or null to run the comparisons on the
+	 * calling thread (default)
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Scores the similarity of two vCards using the rules.
+	 * @param vcard1 the first vCard
+	 * @param vcard2 the second vCard
+	 * @return the weighted sum of the rule scores
+	 */
+	public double score(VCard vcard1, VCard vcard2) {
+		double score = 0.0;
+		for (int i = 0; i < rules.size(); i++) {
+			score += rules.get(i).score(vcard1, vcard2) * weights.get(i);
+		}
+		return score;
+	}
+
+	/**
+	 * Finds the groups of vCards that describe the same person.
+	 * @param vcards the vCards
+	 * @return the groups, each containing two or more vCards (the groups and
+	 * the vCards in each group are in the order they appear in the given list)
+	 */
+	public List<List<VCard>> findDuplicates(List<VCard> vcards) {
+		int[] parents = new int[vcards.size()];
+		for (int i = 0; i < parents.length; i++) {
+			parents[i] = i;
+		}
+
+		for (Comparer comparer : comparers(vcards)) {
+			int[] pairs = comparer.matches;
+			for (int i = 0; i < pairs.length; i += 2) {
+				union(parents, pairs[i], pairs[i + 1]);
+			}
+		}
+
+		int[] sizes = new int[parents.length];
+		for (int i = 0; i < parents.length; i++) {
+			sizes[find(parents, i)]++;
+		}
+
+		Map<Integer, List<VCard>> groups = new LinkedHashMap<Integer, List<VCard>>();
+		for (int i = 0; i < parents.length; i++) {
+			int root = find(parents, i);
+			if (sizes[root] < 2) {
+				continue;
+			}
+
+			List<VCard> group = groups.get(root);
+			if (group == null) {
+				group = new ArrayList<VCard>(sizes[root]);
+				groups.put(root, group);
+			}
+			group.add(vcards.get(i));
+		}
+
+		List<List<VCard>> duplicates = new ArrayList<List<VCard>>(groups.values());
+		return duplicates;
+	}
+
+	/**
+	 * Finds the duplicates in a list of vCards and merges them.
+	 * @param vcards the vCards
+	 * @return the vCards without duplicates. Each group of duplicates is
+	 * replaced with a merged vCard, which takes the position of the first
+	 * vCard in the group.
+	 * @see #merge(List)
+	 */
+	public List<VCard> dedupe(List<VCard> vcards) {
+		Map<VCard, List<VCard>> groupsByFirst = new HashMap<VCard, List<VCard>>();
+		Set<VCard> others = new HashSet<VCard>();
+		for (List<VCard> group : findDuplicates(vcards)) {
+			groupsByFirst.put(group.get(0), group);
+			others.addAll(group.subList(1, group.size()));
+		}
+
+		List<VCard> result = new ArrayList<VCard>(vcards.size() - others.size());
+		for (VCard vcard : vcards) {
+			if (others.contains(vcard)) {
+				continue;
+			}
+
+			List<VCard> group = groupsByFirst.get(vcard);
+			result.add((group == null) ? vcard : merge(group));
+		}
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Merges multiple vCards into a new vCard. The given vCards are not
+	 * modified.
+	 * </p>
+	 * <p>
+	 * The merged vCard starts as a copy of the first vCard. The properties of
+	 * the other vCards are then added to it, except for:
+	 * </p>
+	 * <ul>
+	 * <li>properties that have the same value as a property that is already
+	 * in the merged vCard (PIDs are carried over to the existing property)</li>
+	 * <li>properties that a vCard may only have one of (such as UID and N), if
+	 * the merged vCard already has one</li>
+	 * </ul>
+	 * <p>
+	 * ALTID parameters are renamed where necessary so that alternative
+	 * representations from different vCards stay in separate groups. The
+	 * {@link ClientPidMap} properties are combined, and the PID parameters are
+	 * updated to reference the combined client PID maps.
+	 * </p>
+	 * @param vcards the vCards to merge (must contain at least one vCard)
+	 * @return the merged vCard
+	 * @throws UnsupportedOperationException if one of the vCards contains an
+	 * instance of a custom property class that does not have a copy
+	 * constructor (see {@link VCardProperty#copy})
+	 */
+	public VCard merge(List<VCard> vcards) {
+		VCard merged = new VCard(vcards.get(0));
+
+		Map<String, VCardProperty> values = new HashMap<String, VCardProperty>();
+		Set<String> altIds = new HashSet<String>();
+		for (VCardProperty property : merged) {
+			String key = valueKey(property);
+			if (key != null && !values.containsKey(key)) {
+				values.put(key, property);
+			}
+
+			String altId = property.getParameters().getAltId();
+			if (altId != null) {
+				altIds.add(altId);
+			}
+		}
+
+		Map<String, Integer> clientPidMaps = new HashMap<String, Integer>();
+		int nextPid = 1;
+		for (ClientPidMap clientPidMap : merged.getProperties(ClientPidMap.class)) {
+			Integer pid = clientPidMap.getPid();
+			if (pid == null) {
+				continue;
+			}
+
+			clientPidMaps.put(clientPidMap.getUri(), pid);
+			nextPid = Math.max(nextPid, pid + 1);
+		}
+
+		for (VCard vcard : vcards.subList(1, vcards.size())) {
+			//combine the client PID maps
+			Map<Integer, Integer> pidRefs = new HashMap<Integer, Integer>();
+			for (ClientPidMap clientPidMap : vcard.getProperties(ClientPidMap.class)) {
+				Integer pid = clientPidMap.getPid();
+				if (pid == null) {
+					continue;
+				}
+
+				Integer mergedPid = clientPidMaps.get(clientPidMap.getUri());
+				if (mergedPid == null) {
+					mergedPid = nextPid++;
+					clientPidMaps.put(clientPidMap.getUri(), mergedPid);
+					merged.addProperty(new ClientPidMap(mergedPid, clientPidMap.getUri()));
+				}
+				pidRefs.put(pid, mergedPid);
+			}
+
+			Map<String, String> altIdRenames = new HashMap<String, String>();
+			for (VCardProperty property : vcard) {
+				if (property instanceof ClientPidMap) {
+					continue;
+				}
+
+				if (singular.contains(property.getClass()) && merged.getProperty(property.getClass()) != null) {
+					continue;
+				}
+
+				String key = valueKey(property);
+				VCardProperty existing = (key == null) ? null : values.get(key);
+				if (existing != null) {
+					copyPids(property, existing, pidRefs);
+					continue;
+				}
+
+				VCardProperty copy = property.copy();
+				copy.getParameters().removePids();
+				copyPids(property, copy, pidRefs);
+
+				String altId = property.getParameters().getAltId();
+				if (altId != null) {
+					String renamed = altIdRenames.get(altId);
+					if (renamed == null) {
+						renamed = altId;
+						for (int i = 2; altIds.contains(renamed); i++) {
+							renamed = altId + "-" + i;
+						}
+						altIds.add(renamed);
+						altIdRenames.put(altId, renamed);
+					}
+					copy.getParameters().setAltId(renamed);
+				}
+
+				merged.addProperty(copy);
+				if (key != null) {
+					values.put(key, copy);
+				}
+			}
+		}
+
+		return merged;
+	}
+
+	/**
+	 * Copies the PID parameters of one property to another, updating the
+	 * references to the client PID maps.
+	 * @param from the property to copy from
+	 * @param to the property to copy to
+	 * @param pidRefs maps the client PID map IDs of the "from" vCard to the
+	 * IDs in the merged vCard
+	 */
+	private static void copyPids(VCardProperty from, VCardProperty to, Map<Integer, Integer> pidRefs) {
+		VCardParameters parameters = to.getParameters();
+		List<Integer[]> existing = parameters.getPids();
+		for (Integer[] pid : from.getParameters().getPids()) {
+			Integer localId = pid[0];
+			Integer ref = pid[1];
+			if (ref != null) {
+				Integer mergedRef = pidRefs.get(ref);
+				if (mergedRef != null) {
+					ref = mergedRef;
+				}
+			}
+
+			if (contains(existing, localId, ref)) {
+				continue;
+			}
+
+			if (ref == null) {
+				parameters.addPid(localId);
+			} else {
+				parameters.addPid(localId, ref);
+			}
+		}
+	}
+
+	private static boolean contains(List<Integer[]> pids, Integer localId, Integer ref) {
+		for (Integer[] pid : pids) {
+			if (equals(pid[0], localId) && equals(pid[1], ref)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean equals(Integer a, Integer b) {
+		return (a == null) ? b == null : a.equals(b);
+	}
+
+	/**
+	 * Generates a string that identifies the value of a property, so that two
+	 * properties with the same value can be detected.
+	 * @param property the property
+	 * @return the key or null if the property's value cannot be compared
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private String valueKey(VCardProperty property) {
+		if (property instanceof Email) {
+			String email = ContactKeys.email(((Email) property).getValue());
+			return (email == null) ? null : "EMAIL:" + email;
+		}
+
+		if (property instanceof Telephone) {
+			String number = ContactKeys.telephone((Telephone) property);
+			String suffix = ContactKeys.telephoneSuffix(number);
+			if (suffix != null) {
+				number = suffix;
+			}
+			return (number == null) ? null : "TEL:" + number;
+		}
+
+		VCardPropertyScribe scribe = index.getPropertyScribe(property);
+		if (scribe == null) {
+			return null;
+		}
+
+		BinaryData data = (property instanceof BinaryProperty) ? ((BinaryProperty<?>) property).getBinaryData() : null;
+		if (data != null) {
+			//hash the data instead of base64 encoding all of it
+			MediaTypeParameter contentType = ((BinaryProperty<?>) property).getContentType();
+			String mediaType = (contentType == null) ? null : contentType.getMediaType();
+			MessageDigest digest = sha1();
+			try {
+				data.update(digest);
+			} catch (IOException e) {
+				return null;
+			}
+			return scribe.getPropertyName() + ":" + mediaType + ":" + Hex.encodeHexString(digest.digest());
+		}
+
+		try {
+			return scribe.getPropertyName() + ":" + scribe.writeText(property, VCardVersion.V4_0);
+		} catch (RuntimeException e) {
+			//e.g. SkipMeException
+			return null;
+		}
+	}
+
+	/**
+	 * Groups the vCards into blocks and compares the vCards in each block.
+	 * @param vcards the vCards
+	 * @return the finished comparers
+	 */
+	private List<Comparer> comparers(List<VCard> vcards) {
+		Map<String, IntList> blocksByKey = new LinkedHashMap<String, IntList>();
+		String[][] keys = new String[vcards.size()][];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = blockingKeys(vcards.get(i));
+			for (String key : keys[i]) {
+				IntList block = blocksByKey.get(key);
+				if (block == null) {
+					block = new IntList();
+					blocksByKey.put(key, block);
+				}
+				block.add(i);
+			}
+		}
+
+		//ignore blocks that have only one vCard or are too big
+		List<Block> blocks = new ArrayList<Block>();
+		for (Map.Entry<String, IntList> entry : blocksByKey.entrySet()) {
+			IntList members = entry.getValue();
+			if (members.size > 1 && members.size <= maxBlockSize) {
+				blocks.add(new Block(entry.getKey(), members.toArray()));
+			}
+		}
+		for (int i = 0; i < keys.length; i++) {
+			List<String> usable = new ArrayList<String>(keys[i].length);
+			for (String key : keys[i]) {
+				int size = blocksByKey.get(key).size;
+				if (size > 1 && size <= maxBlockSize) {
+					usable.add(key);
+				}
+			}
+			keys[i] = usable.toArray(new String[usable.size()]);
+		}
+
+		//split the blocks into tasks
+		List<Comparer> comparers = new ArrayList<Comparer>();
+		List<Block> batch = new ArrayList<Block>();
+		long comparisons = 0;
+		for (Block block : blocks) {
+			batch.add(block);
+			long n = block.members.length;
+			comparisons += n * (n - 1) / 2;
+			if (comparisons >= COMPARISONS_PER_TASK) {
+				comparers.add(new Comparer(vcards, keys, batch));
+				batch = new ArrayList<Block>();
+				comparisons = 0;
+			}
+		}
+		if (!batch.isEmpty()) {
+			comparers.add(new Comparer(vcards, keys, batch));
+		}
+
+		if (executor == null || comparers.size() < 2) {
+			for (Comparer comparer : comparers) {
+				comparer.call();
+			}
+			return comparers;
+		}
+
+		List<Future<Comparer>> futures = new ArrayList<Future<Comparer>>(comparers.size());
+		for (Comparer comparer : comparers) {
+			futures.add(executor.submit(comparer));
+		}
+
+		try {
+			for (Future<Comparer> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			for (Future<Comparer> future : futures) {
+				future.cancel(true);
+			}
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			for (Future<Comparer> future : futures) {
+				future.cancel(true);
+			}
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new RuntimeException(cause);
+		}
+
+		return comparers;
+	}
+
+	/**
+	 * Generates the keys of the blocks that a vCard belongs to.
+	 * @param vcard the vCard
+	 * @return the blocking keys (sorted)
+	 */
+	private static String[] blockingKeys(VCard vcard) {
+		Set<String> keys = new TreeSet<String>();
+
+		Uid uid = vcard.getUid();
+		if (uid != null && uid.getValue() != null) {
+			keys.add("U" + uid.getValue());
+		}
+
+		for (String email : MatchRules.emails(vcard)) {
+			keys.add("E" + email);
+		}
+
+		for (String number : MatchRules.telephones(vcard)) {
+			keys.add("T" + number);
+		}
+
+		/*
+		 * Each name word gets its own block, so that "John Smith" and
+		 * "John A. Smith" are compared. The blocks of common words like "john"
+		 * are likely to exceed the maximum block size, so each pair of words
+		 * gets a block too.
+		 */
+		List<String> words = new ArrayList<String>(MatchRules.nameWords(vcard));
+		Collections.sort(words);
+		for (int i = 0; i < words.size(); i++) {
+			String word = words.get(i);
+			keys.add("N" + word);
+			for (int j = i + 1; j < words.size(); j++) {
+				keys.add("P" + word + ' ' + words.get(j));
+			}
+		}
+
+		return keys.toArray(new String[keys.size()]);
+	}
+
+	/**
+	 * Creates a SHA-1 message digest.
+	 * @return the message digest
+	 */
+	private static MessageDigest sha1() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			//should never be thrown because all JVMs must support SHA-1
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static int find(int[] parents, int i) {
+		while (parents[i] != i) {
+			parents[i] = parents[parents[i]];
+			i = parents[i];
+		}
+		return i;
+	}
+
+	private static void union(int[] parents, int i, int j) {
+		int rootI = find(parents, i);
+		int rootJ = find(parents, j);
+		if (rootI == rootJ) {
+			return;
+		}
+
+		//the root is always the lowest index, which keeps the groups in order
+		if (rootI < rootJ) {
+			parents[rootJ] = rootI;
+		} else {
+			parents[rootI] = rootJ;
+		}
+	}
+
+	/**
+	 * A group of vCards that share a blocking key.
+	 */
+	private static class Block {
+		private final String key;
+		private final int[] members;
+
+		public Block(String key, int[] members) {
+			this.key = key;
+			this.members = members;
+		}
+	}
+
+	/**
+	 * Compares the vCards within a list of blocks.
+	 */
+	private class Comparer implements Callable<Comparer> {
+		private final List<VCard> vcards;
+		private final String[][] keys;
+		private final List<Block> blocks;
+		private int[] matches;
+
+		public Comparer(List<VCard> vcards, String[][] keys, List<Block> blocks) {
+			this.vcards = vcards;
+			this.keys = keys;
+			this.blocks = blocks;
+		}
+
+		//@Override
+		public Comparer call() {
+			IntList matches = new IntList();
+			for (Block block : blocks) {
+				int[] members = block.members;
+				for (int i = 0; i < members.length; i++) {
+					for (int j = i + 1; j < members.length; j++) {
+						int a = members[i];
+						int b = members[j];
+
+						//if the pair shares more than one block, only compare them in the first one
+						if (!block.key.equals(firstSharedKey(keys[a], keys[b]))) {
+							continue;
+						}
+
+						if (score(vcards.get(a), vcards.get(b)) >= threshold) {
+							matches.add(a);
+							matches.add(b);
+						}
+					}
+				}
+			}
+
+			this.matches = matches.toArray();
+			return this;
+		}
+
+		private String firstSharedKey(String[] keys1, String[] keys2) {
+			int i = 0, j = 0;
+			while (i < keys1.length && j < keys2.length) {
+				int c = keys1[i].compareTo(keys2[j]);
+				if (c == 0) {
+					return keys1[i];
+				}
+				if (c < 0) {
+					i++;
+				} else {
+					j++;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * A growable list of primitive ints.
+	 */
+	private static class IntList {
+		private int[] values = new int[4];
+		private int size;
+
+		public void add(int value) {
+			if (size == values.length) {
+				int[] copy = new int[size * 2];
+				System.arraycopy(values, 0, copy, 0, size);
+				values = copy;
+			}
+			values[size++] = value;
+		}
+
+		public int[] toArray() {
+			int[] copy = new int[size];
+			System.arraycopy(values, 0, copy, 0, size);
+			return copy;
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package ezvcard.store;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import ezvcard.VCard;
+import ezvcard.property.Email;
+import ezvcard.property.FormattedName;
+import ezvcard.property.StructuredName;
+import ezvcard.property.Telephone;
+import ezvcard.property.Uid;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * Contains the standard {@link MatchRule} implementations.
+ * @author Michael Angstadt
+ */
+public final class MatchRules {
+	/**
+	 * Scores 1.0 if the vCards have the same UID, 0.0 if not.
+	 */
+	public static final MatchRule UID = new MatchRule() {
+		//@Override
+		public double score(VCard vcard1, VCard vcard2) {
+			Uid uid1 = vcard1.getUid();
+			Uid uid2 = vcard2.getUid();
+			if (uid1 == null || uid2 == null || uid1.getValue() == null) {
+				return 0.0;
+			}
+			return uid1.getValue().equals(uid2.getValue()) ? 1.0 : 0.0;
+		}
+	};
+
+	/**
+	 * Scores 1.0 if the vCards share an email address, 0.0 if not.
+	 * @see ContactKeys#email(String)
+	 */
+	public static final MatchRule EMAIL = new MatchRule() {
+		//@Override
+		public double score(VCard vcard1, VCard vcard2) {
+			Set<String> emails = emails(vcard1);
+			if (emails.isEmpty()) {
+				return 0.0;
+			}
+
+			for (Email email : vcard2.getEmails()) {
+				if (emails.contains(ContactKeys.email(email.getValue()))) {
+					return 1.0;
+				}
+			}
+			return 0.0;
+		}
+	};
+
+	/**
+	 * Scores 1.0 if the vCards share a telephone number, 0.0 if not. Numbers
+	 * are compared by their last ten digits, so that a number with a country
+	 * code matches the same number without one.
+	 * @see ContactKeys#telephoneSuffix(String)
+	 */
+	public static final MatchRule TELEPHONE = new MatchRule() {
+		//@Override
+		public double score(VCard vcard1, VCard vcard2) {
+			Set<String> numbers = telephones(vcard1);
+			if (numbers.isEmpty()) {
+				return 0.0;
+			}
+
+			for (Telephone telephone : vcard2.getTelephoneNumbers()) {
+				if (numbers.contains(ContactKeys.telephoneSuffix(ContactKeys.telephone(telephone)))) {
+					return 1.0;
+				}
+			}
+			return 0.0;
+		}
+	};
+
+	/**
+	 * Scores the vCards by the fraction of name words they have in common (the
+	 * Jaccard index). The words are taken from the {@link FormattedName} and
+	 * {@link StructuredName} properties and are case and accent folded.
+	 */
+	public static final MatchRule NAME = new MatchRule() {
+		//@Override
+		public double score(VCard vcard1, VCard vcard2) {
+			Set<String> words1 = nameWords(vcard1);
+			Set<String> words2 = nameWords(vcard2);
+			if (words1.isEmpty() || words2.isEmpty()) {
+				return 0.0;
+			}
+
+			int shared = 0;
+			for (String word : words2) {
+				if (words1.contains(word)) {
+					shared++;
+				}
+			}
+			return (double) shared / (words1.size() + words2.size() - shared);
+		}
+	};
+
+	/**
+	 * Gets the normalized email addresses of a vCard.
+	 * @param vcard the vCard
+	 * @return the email addresses
+	 */
+	static Set<String> emails(VCard vcard) {
+		Set<String> emails = new HashSet<String>();
+		for (Email email : vcard.getEmails()) {
+			String key = ContactKeys.email(email.getValue());
+			if (key != null) {
+				emails.add(key);
+			}
+		}
+		return emails;
+	}
+
+	/**
+	 * Gets the normalized telephone number suffixes of a vCard.
+	 * @param vcard the vCard
+	 * @return the telephone number suffixes
+	 */
+	static Set<String> telephones(VCard vcard) {
+		Set<String> numbers = new HashSet<String>();
+		for (Telephone telephone : vcard.getTelephoneNumbers()) {
+			String key = ContactKeys.telephoneSuffix(ContactKeys.telephone(telephone));
+			if (key != null) {
+				numbers.add(key);
+			}
+		}
+		return numbers;
+	}
+
+	/**
+	 * Gets the folded words of a vCard's names.
+	 * @param vcard the vCard
+	 * @return the name words
+	 */
+	static Set<String> nameWords(VCard vcard) {
+		Set<String> words = new HashSet<String>();
+		for (FormattedName fn : vcard.getFormattedNames()) {
+			ContactKeys.words(fn.getValue(), words);
+		}
+		for (StructuredName n : vcard.getStructuredNames()) {
+			ContactKeys.words(n.getGiven(), words);
+			ContactKeys.words(n.getFamily(), words);
+		}
+		return words;
+	}
+
+	private MatchRules() {
+		//hide
+	}
+}
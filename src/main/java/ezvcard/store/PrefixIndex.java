@@ -0,0 +1,511 @@
+package ezvcard.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import ezvcard.VCard;
+import ezvcard.property.Email;
+import ezvcard.property.FormattedName;
+import ezvcard.property.Nickname;
+import ezvcard.property.Organization;
+import ezvcard.property.StructuredName;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * An autocomplete index that finds vCards by the beginnings of the words in
+ * their names, nicknames, organizations, and email addresses.
+ * </p>
+ * <p>
+ * The words are taken from the {@link FormattedName},
+ * {@link StructuredName}, {@link Organization}, {@link Nickname}, and
+ * {@link Email} properties. Only the local part of each email address (the
+ * part before the "@") is indexed. The SORT-AS values of the {@link StructuredName}
+ * and {@link Organization} properties are indexed as well. All words are case
+ * and accent folded (see {@link ContactKeys#fold}), so the query "jose"
+ * matches the name "Jos&eacute;".
+ * </p>
+ * <p>
+ * The index does not track changes made to a vCard after it is added. Call
+ * {@link #update} after modifying a vCard, or {@link #replace} when the
+ * modified version is a different object.
+ * </p>
+ * <p>
+ * This class is thread-safe. Searches run in parallel with each other, but
+ * not with modifications.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * 
+ * <pre class="brush:java">
+ * PrefixIndex index = new PrefixIndex();
+ * index.addAll(vcards);
+ * 
+ * //matches "John Doe" and "Johnny Dobbs"
+ * List&lt;VCard&gt; found = index.search(&quot;jo do&quot;, 10);
+ * </pre>
+ * 
+ * </p>
+ * @author Michael Angstadt
+ */
+public class PrefixIndex {
+	private static final String[] EMPTY = new String[0];
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Lock readLock = lock.readLock();
+	private final Lock writeLock = lock.writeLock();
+
+	/**
+	 * The folded words, sorted alphabetically, and the vCards that contain
+	 * them (in the order they were added).
+	 */
+	private final TreeMap<String, Postings> words = new TreeMap<String, Postings>();
+
+	/**
+	 * The vCards in the index, their folded words, and their positions in the
+	 * posting list of each word.
+	 */
+	private final Map<VCard, Entry> vcards = new HashMap<VCard, Entry>();
+
+	/**
+	 * Adds a vCard to the index.
+	 * @param vcard the vCard to add
+	 * @return true if the vCard was added, false if it was already in the index
+	 */
+	public boolean add(VCard vcard) {
+		String[] vcardWords = words(vcard);
+
+		writeLock.lock();
+		try {
+			if (vcards.containsKey(vcard)) {
+				return false;
+			}
+			index(vcard, vcardWords);
+			return true;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Adds multiple vCards to the index.
+	 * @param vcards the vCards to add
+	 */
+	public void addAll(Collection<VCard> vcards) {
+		for (VCard vcard : vcards) {
+			add(vcard);
+		}
+	}
+
+	/**
+	 * Re-indexes a vCard after it has been modified.
+	 * @param vcard the vCard
+	 * @return true if the vCard was re-indexed, false if it is not in the
+	 * index
+	 */
+	public boolean update(VCard vcard) {
+		String[] vcardWords = words(vcard);
+
+		writeLock.lock();
+		try {
+			if (!unindex(vcard)) {
+				return false;
+			}
+			index(vcard, vcardWords);
+			return true;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Replaces a vCard in the index with another one.
+	 * @param oldVCard the vCard to replace
+	 * @param newVCard the new vCard
+	 * @return true if the vCard was replaced, false if the old vCard is not in
+	 * the index
+	 */
+	public boolean replace(VCard oldVCard, VCard newVCard) {
+		String[] vcardWords = words(newVCard);
+
+		writeLock.lock();
+		try {
+			if (!unindex(oldVCard)) {
+				return false;
+			}
+			unindex(newVCard);
+			index(newVCard, vcardWords);
+			return true;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Removes a vCard from the index.
+	 * @param vcard the vCard to remove
+	 * @return true if the vCard was removed, false if it is not in the index
+	 */
+	public boolean remove(VCard vcard) {
+		writeLock.lock();
+		try {
+			return unindex(vcard);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of vCards in the index.
+	 * @return the number of vCards
+	 */
+	public int size() {
+		readLock.lock();
+		try {
+			return vcards.size();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Searches the index. Every word in the query must be the beginning of a
+	 * word in the vCard. For example, the query "jo do" matches "John Doe",
+	 * but not "John Smith". The domains of email addresses are ignored, so
+	 * the query "john.doe@example.com" matches any vCard with the email
+	 * address "john.doe@" at any domain.
+	 * </p>
+	 * <p>
+	 * The vCards are sorted alphabetically by the word that matched the
+	 * longest word in the query. An exact match comes before a longer word
+	 * that starts with the query word.
+	 * </p>
+	 * @param query the search query
+	 * @param limit the maximum number of vCards to return
+	 * @return the matching vCards
+	 */
+	public List<VCard> search(String query, int limit) {
+		String[] queryWords = words(query);
+		if (queryWords.length == 0 || limit <= 0) {
+			return Collections.emptyList();
+		}
+
+		//look up the longest word, since it matches the fewest vCards
+		String longest = queryWords[0];
+		for (String word : queryWords) {
+			if (word.length() > longest.length()) {
+				longest = word;
+			}
+		}
+
+		List<VCard> results = new ArrayList<VCard>(Math.min(limit, 16));
+		Set<VCard> seen = new HashSet<VCard>();
+
+		readLock.lock();
+		try {
+			SortedMap<String, Postings> tail = words.tailMap(longest);
+			for (Map.Entry<String, Postings> entry : tail.entrySet()) {
+				if (!entry.getKey().startsWith(longest)) {
+					break;
+				}
+
+				Postings postings = entry.getValue();
+				for (int i = 0; i < postings.size; i++) {
+					VCard vcard = postings.vcards[i];
+					if (vcard == null || !seen.add(vcard)) {
+						continue;
+					}
+
+					if (!matches(vcards.get(vcard).words, queryWords)) {
+						continue;
+					}
+
+					results.add(vcard);
+					if (results.size() == limit) {
+						return results;
+					}
+				}
+			}
+		} finally {
+			readLock.unlock();
+		}
+
+		return results;
+	}
+
+	private void index(VCard vcard, String[] vcardWords) {
+		Entry entry = new Entry(vcardWords);
+		vcards.put(vcard, entry);
+		for (int i = 0; i < vcardWords.length; i++) {
+			String word = vcardWords[i];
+			Postings postings = words.get(word);
+			if (postings == null) {
+				postings = new Postings();
+				words.put(word, postings);
+			}
+			entry.slots[i] = postings.add(vcard);
+		}
+	}
+
+	private boolean unindex(VCard vcard) {
+		Entry entry = vcards.remove(vcard);
+		if (entry == null) {
+			return false;
+		}
+
+		for (int i = 0; i < entry.words.length; i++) {
+			String word = entry.words[i];
+			Postings postings = words.get(word);
+			postings.remove(entry.slots[i]);
+
+			if (postings.live == 0) {
+				words.remove(word);
+			} else if (postings.live < postings.size / 2) {
+				compact(word, postings);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the empty slots from a posting list, updating the slot positions
+	 * of the vCards that are moved.
+	 * @param word the word
+	 * @param postings the word's posting list
+	 */
+	private void compact(String word, Postings postings) {
+		int to = 0;
+		for (int from = 0; from < postings.size; from++) {
+			VCard vcard = postings.vcards[from];
+			if (vcard == null) {
+				continue;
+			}
+
+			if (from != to) {
+				postings.vcards[to] = vcard;
+				Entry entry = vcards.get(vcard);
+				entry.slots[Arrays.binarySearch(entry.words, word)] = to;
+			}
+			to++;
+		}
+
+		Arrays.fill(postings.vcards, to, postings.size, null);
+		postings.size = to;
+	}
+
+	/**
+	 * Determines if each query word is the beginning of one of a vCard's
+	 * words.
+	 * @param vcardWords the vCard's words (sorted)
+	 * @param queryWords the query words
+	 * @return true if all query words match, false if not
+	 */
+	private static boolean matches(String[] vcardWords, String[] queryWords) {
+		for (String queryWord : queryWords) {
+			int pos = Arrays.binarySearch(vcardWords, queryWord);
+			if (pos >= 0) {
+				continue;
+			}
+
+			pos = -(pos + 1);
+			if (pos == vcardWords.length || !vcardWords[pos].startsWith(queryWord)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the folded words of the properties that are indexed.
+	 * @param vcard the vCard
+	 * @return the words (sorted, without duplicates)
+	 */
+	private static String[] words(VCard vcard) {
+		Set<String> words = new TreeSet<String>();
+
+		for (FormattedName fn : vcard.getFormattedNames()) {
+			ContactKeys.words(fn.getValue(), words);
+		}
+
+		for (StructuredName n : vcard.getStructuredNames()) {
+			ContactKeys.words(n.getGiven(), words);
+			ContactKeys.words(n.getFamily(), words);
+			for (String value : n.getAdditional()) {
+				ContactKeys.words(value, words);
+			}
+			for (String value : n.getSortAs()) {
+				ContactKeys.words(value, words);
+			}
+		}
+
+		for (Organization org : vcard.getOrganizations()) {
+			for (String value : org.getValues()) {
+				ContactKeys.words(value, words);
+			}
+			for (String value : org.getSortAs()) {
+				ContactKeys.words(value, words);
+			}
+		}
+
+		for (Nickname nickname : vcard.getNicknames()) {
+			for (String value : nickname.getValues()) {
+				ContactKeys.words(value, words);
+			}
+		}
+
+		for (Email email : vcard.getEmails()) {
+			emailWords(email.getValue(), words);
+		}
+
+		return words.toArray(EMPTY);
+	}
+
+	/**
+	 * Adds the words of an email address to the index. Only the local part is
+	 * indexed. The words in the domain (such as "gmail" and "com") are shared
+	 * by so many vCards that they are useless for searching and would make
+	 * their posting lists very large.
+	 * @param email the email address
+	 * @param words the collection to add the words to
+	 */
+	private static void emailWords(String email, Set<String> words) {
+		if (email == null) {
+			return;
+		}
+
+		int at = email.lastIndexOf('@');
+		ContactKeys.words((at < 0) ? email : email.substring(0, at), words);
+	}
+
+	/**
+	 * Splits a search query into words. Email domains are dropped from the
+	 * query for the same reason they are not indexed (see
+	 * {@link #emailWords}), so searching for a full email address still
+	 * matches.
+	 * @param query the search query
+	 * @return the folded words, sorted alphabetically
+	 */
+	private static String[] words(String query) {
+		Set<String> words = new TreeSet<String>();
+		int start = 0;
+		for (int i = 0; i <= query.length(); i++) {
+			if (i < query.length() && !Character.isWhitespace(query.charAt(i))) {
+				continue;
+			}
+
+			if (i > start) {
+				emailWords(query.substring(start, i), words);
+			}
+			start = i + 1;
+		}
+		return words.toArray(EMPTY);
+	}
+
+	/**
+	 * The words of an indexed vCard.
+	 */
+	private static class Entry {
+		/**
+		 * The folded words, sorted alphabetically.
+		 */
+		private final String[] words;
+
+		/**
+		 * The vCard's position in the posting list of each word.
+		 */
+		private final int[] slots;
+
+		public Entry(String[] words) {
+			this.words = words;
+			slots = new int[words.length];
+		}
+	}
+
+	/**
+	 * The vCards that contain a particular word, in the order they were added.
+	 * vCards are appended to the end of the list. Removed vCards leave an
+	 * empty slot behind, so that the positions of the other vCards do not
+	 * change. The list is compacted when more than half of its slots are
+	 * empty.
+	 */
+	private static class Postings {
+		private VCard[] vcards = new VCard[2];
+
+		/**
+		 * The number of slots in use, including empty ones.
+		 */
+		private int size;
+
+		/**
+		 * The number of non-empty slots.
+		 */
+		private int live;
+
+		/**
+		 * Adds a vCard to the end of the list.
+		 * @param vcard the vCard
+		 * @return the vCard's slot
+		 */
+		public int add(VCard vcard) {
+			if (size == vcards.length) {
+				VCard[] grown = new VCard[size * 2];
+				System.arraycopy(vcards, 0, grown, 0, size);
+				vcards = grown;
+			}
+			vcards[size] = vcard;
+			live++;
+			return size++;
+		}
+
+		/**
+		 * Empties a slot.
+		 * @param slot the slot
+		 */
+		public void remove(int slot) {
+			vcards[slot] = null;
+			live--;
+		}
+	}
+}
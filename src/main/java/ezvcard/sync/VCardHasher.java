@@ -0,0 +1,308 @@
+package ezvcard.sync;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import ezvcard.io.scribe.ScribeIndex;
+import ezvcard.io.scribe.VCardPropertyScribe;
+import ezvcard.parameter.MediaTypeParameter;
+import ezvcard.property.Agent;
+import ezvcard.property.BinaryProperty;
+import ezvcard.property.ProductId;
+import ezvcard.property.Revision;
+import ezvcard.property.VCardProperty;
+import ezvcard.util.BinaryData;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Computes a hash of a vCard's content that can be used as an ETag.
+ * </p>
+ * <p>
+ * The hash does not depend on the order of the properties or parameters, so
+ * two vCards with the same content always have the same hash. The
+ * {@link ProductId} property is ignored because it describes the software that
+ * created the vCard, not the person. The {@link Revision} property can be
+ * ignored as well (see {@link #setIncludeRevision}).
+ * </p>
+ * <p>
+ * Each property is hashed individually, without converting the vCard to text.
+ * The property hashes are then sorted and combined into the final hash. The
+ * data of binary properties (such as {@link ezvcard.property.Photo}) is
+ * streamed into the hash directly, without being base64 encoded.
+ * </p>
+ * <p>
+ * The hashes of frozen vCards (see {@link VCard#freeze}) are cached, since
+ * frozen vCards cannot change. Modifying a vCard requires making an unfrozen
+ * copy of it (see {@link VCard#toBuilder}), which is hashed again. The
+ * hashes of unfrozen vCards are not cached.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * 
+ * <pre class="brush:java">
+ * VCardHasher hasher = new VCardHasher();
+ * VCard vcard = ...
+ * vcard.freeze();
+ * 
+ * String etag = hasher.hash(vcard);
+ * if (etag.equals(clientEtag)) {
+ *   //not modified
+ * }
+ * </pre>
+ * 
+ * </p>
+ * @author Michael Angstadt
+ */
+public class VCardHasher {
+	private static final ScribeIndex index = new ScribeIndex().freeze();
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final Comparator<byte[]> bytesComparator = new Comparator<byte[]>() {
+		//@Override
+		public int compare(byte[] a, byte[] b) {
+			for (int i = 0; i < a.length && i < b.length; i++) {
+				int c = (a[i] & 0xff) - (b[i] & 0xff);
+				if (c != 0) {
+					return c;
+				}
+			}
+			return a.length - b.length;
+		}
+	};
+
+	private final Map<VCard, String> cache = new WeakHashMap<VCard, String>();
+	private volatile boolean includeRevision = true;
+
+	/**
+	 * Gets whether the {@link Revision} property is included in the hash.
+	 * @return true if it is included, false if not (defaults to true)
+	 */
+	public boolean isIncludeRevision() {
+		return includeRevision;
+	}
+
+	/**
+	 * Sets whether the {@link Revision} property is included in the hash.
+	 * Excluding it prevents a vCard from appearing modified when only its
+	 * timestamp was updated.
+	 * @param includeRevision true to include it, false not to (defaults to
+	 * true)
+	 */
+	public void setIncludeRevision(boolean includeRevision) {
+		synchronized (cache) {
+			this.includeRevision = includeRevision;
+			cache.clear();
+		}
+	}
+
+	/**
+	 * Computes the hash of a vCard.
+	 * @param vcard the vCard
+	 * @return the hash (40 hexadecimal characters)
+	 */
+	public String hash(VCard vcard) {
+		boolean includeRevision = this.includeRevision;
+		if (!vcard.isFrozen()) {
+			return hex(digest(vcard, includeRevision));
+		}
+
+		synchronized (cache) {
+			String hash = cache.get(vcard);
+			if (hash != null) {
+				return hash;
+			}
+		}
+
+		//the digest is computed without holding the lock
+		String hash = hex(digest(vcard, includeRevision));
+		synchronized (cache) {
+			/*
+			 * Do not cache the hash if the setting was changed while it was
+			 * being computed, since the cache was cleared.
+			 */
+			if (includeRevision == this.includeRevision) {
+				cache.put(vcard, hash);
+			}
+		}
+		return hash;
+	}
+
+	private byte[] digest(VCard vcard, boolean includeRevision) {
+		MessageDigest digest = sha1();
+		VCardVersion version = vcard.getVersion();
+
+		List<byte[]> hashes = new ArrayList<byte[]>(vcard.getProperties().size());
+		for (VCardProperty property : vcard) {
+			if (property instanceof ProductId) {
+				continue;
+			}
+			if (!includeRevision && property instanceof Revision) {
+				continue;
+			}
+
+			if (digest(property, version, includeRevision, digest)) {
+				hashes.add(digest.digest());
+			} else {
+				digest.reset();
+			}
+		}
+
+		Collections.sort(hashes, bytesComparator);
+		for (byte[] hash : hashes) {
+			digest.update(hash);
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Feeds a property into a message digest.
+	 * @param property the property
+	 * @param version the version to marshal the value with
+	 * @param includeRevision whether {@link Revision} properties are included
+	 * in the hashes of embedded vCards
+	 * @param digest the message digest
+	 * @return true if the property was hashed, false if the property should
+	 * be skipped
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private boolean digest(VCardProperty property, VCardVersion version, boolean includeRevision, MessageDigest digest) {
+		VCardPropertyScribe scribe = index.getPropertyScribe(property);
+		if (scribe == null) {
+			return false;
+		}
+
+		String value = null;
+		BinaryData data = (property instanceof BinaryProperty) ? ((BinaryProperty<?>) property).getBinaryData() : null;
+		if (data != null) {
+			//the data is streamed into the digest below, instead of being base64 encoded
+		} else if (property instanceof Agent && ((Agent) property).getVCard() != null) {
+			value = hex(digest(((Agent) property).getVCard(), includeRevision));
+		} else {
+			try {
+				value = scribe.writeText(property, version);
+			} catch (RuntimeException e) {
+				//e.g. SkipMeException
+				return false;
+			}
+		}
+
+		update(digest, scribe.getPropertyName().toUpperCase());
+		String group = property.getGroup();
+		update(digest, (group == null) ? "" : group.toUpperCase());
+
+		List<String[]> parameters = new ArrayList<String[]>();
+		for (Map.Entry<String, List<String>> parameter : property.getParameters()) {
+			String name = parameter.getKey().toUpperCase();
+			for (String parameterValue : parameter.getValue()) {
+				parameters.add(new String[] { name, parameterValue });
+			}
+		}
+		Collections.sort(parameters, new Comparator<String[]>() {
+			//@Override
+			public int compare(String[] a, String[] b) {
+				int c = a[0].compareTo(b[0]);
+				return (c == 0) ? a[1].compareTo(b[1]) : c;
+			}
+		});
+		for (String[] parameter : parameters) {
+			update(digest, parameter[0]);
+			update(digest, parameter[1]);
+		}
+
+		if (data == null) {
+			update(digest, value);
+			return true;
+		}
+
+		MediaTypeParameter contentType = ((BinaryProperty<?>) property).getContentType();
+		String mediaType = (contentType == null) ? null : contentType.getMediaType();
+		update(digest, (mediaType == null) ? "" : mediaType);
+		try {
+			data.update(digest);
+		} catch (IOException e) {
+			//the data could not be read, so treat it like a value that cannot be marshalled
+			return false;
+		}
+		digest.update((byte) 0);
+		return true;
+	}
+
+	/**
+	 * Feeds a string into a message digest, followed by a separator so that
+	 * adjacent strings cannot run together.
+	 * @param digest the message digest
+	 * @param value the string
+	 */
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(UTF8));
+		digest.update((byte) 0);
+	}
+
+	/**
+	 * Creates a SHA-1 message digest.
+	 * @return the message digest
+	 */
+	static MessageDigest sha1() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			//should never be thrown because all JVMs must support SHA-1
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Converts bytes to a lower-case hexadecimal string.
+	 * @param bytes the bytes
+	 * @return the hexadecimal string
+	 */
+	static String hex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+			sb.append(Character.forDigit(b & 0xf, 16));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,638 @@
+package ezvcard.sync;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import ezvcard.Ezvcard;
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import ezvcard.io.EmbeddedVCardException;
+import ezvcard.io.SkipMeException;
+import ezvcard.io.scribe.ScribeIndex;
+import ezvcard.io.scribe.VCardPropertyScribe;
+import ezvcard.parameter.VCardParameters;
+import ezvcard.property.RawProperty;
+import ezvcard.property.VCardProperty;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * Represents the differences between two versions of a vCard. A patch can be
+ * applied to another copy of the old version to bring it up to date, so that
+ * only the properties that changed need to be transferred.
+ * </p>
+ * <p>
+ * Properties are matched by their PID parameters first (see
+ * {@link VCardParameters#getPids}). A property whose PIDs match, but whose
+ * value or parameters differ, is recorded as {@link Change.Type#MODIFY
+ * modified}. All other properties are matched by value: the property name,
+ * parameters, and value must be the same. Properties that are only in the old
+ * version are {@link Change.Type#REMOVE removed} and properties that are only
+ * in the new version are {@link Change.Type#ADD added}.
+ * </p>
+ * <p>
+ * Patches can be converted to and from text (see {@link #write} and
+ * {@link #parse}) and are {@link Serializable}. The text form is a vCard whose
+ * properties are marked with extended parameters that describe the changes.
+ * Removed properties are identified by a short key instead of their full
+ * value, so removing a photo does not require sending the photo.
+ * </p>
+ * <p>
+ * <b>Example:</b>
+ * 
+ * <pre class="brush:java">
+ * //server
+ * VCardPatch patch = VCardPatch.diff(oldVCard, newVCard);
+ * String text = patch.write();
+ * 
+ * //client
+ * VCardPatch patch = VCardPatch.parse(text);
+ * List&lt;VCardPatch.Change&gt; conflicts = patch.apply(vcard);
+ * </pre>
+ * 
+ * </p>
+ * @author Michael Angstadt
+ */
+public class VCardPatch implements Serializable {
+	private static final long serialVersionUID = 6279127487386716254L;
+
+	private static final String CHANGE_PARAM = "X-PATCH";
+	private static final String MATCH_PARAM = "X-PATCH-MATCH";
+	private static final String REMOVE_PROPERTY = "X-PATCH-REMOVE";
+
+	private static final ScribeIndex index = new ScribeIndex().freeze();
+	private static final VCardHasher hasher = new VCardHasher();
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private transient VCardVersion version;
+	private transient List<Change> changes;
+
+	/**
+	 * Creates a patch.
+	 * @param version the version to use when converting the properties to
+	 * text
+	 * @param changes the changes
+	 */
+	public VCardPatch(VCardVersion version, List<Change> changes) {
+		this.version = version;
+		this.changes = Collections.unmodifiableList(new ArrayList<Change>(changes));
+	}
+
+	/**
+	 * Determines the differences between two versions of a vCard.
+	 * @param from the old version
+	 * @param to the new version
+	 * @return the patch that turns the old version into the new version
+	 * @throws IllegalArgumentException if either vCard contains a property
+	 * that has no scribe (see {@link ScribeIndex})
+	 */
+	public static VCardPatch diff(VCard from, VCard to) {
+		VCardVersion version = (to.getVersion() == null) ? VCardVersion.V4_0 : to.getVersion();
+
+		List<VCardProperty> fromProperties = new ArrayList<VCardProperty>(from.getProperties());
+		List<VCardProperty> toProperties = new ArrayList<VCardProperty>(to.getProperties());
+		String[] fromKeys = valueKeys(fromProperties, version);
+		String[] toKeys = valueKeys(toProperties, version);
+		checkKeys(fromProperties, fromKeys);
+		checkKeys(toProperties, toKeys);
+		boolean[] fromMatched = new boolean[fromKeys.length];
+		boolean[] toMatched = new boolean[toKeys.length];
+
+		List<Change> removes = new ArrayList<Change>();
+		List<Change> modifies = new ArrayList<Change>();
+		List<Change> adds = new ArrayList<Change>();
+
+		//match by PID
+		Map<String, LinkedList<Integer>> toByPid = new HashMap<String, LinkedList<Integer>>();
+		for (int i = 0; i < toKeys.length; i++) {
+			String pidKey = pidKey(toProperties.get(i));
+			if (pidKey != null) {
+				add(toByPid, pidKey, i);
+			}
+		}
+		for (int i = 0; i < fromKeys.length; i++) {
+			VCardProperty property = fromProperties.get(i);
+			String pidKey = pidKey(property);
+			LinkedList<Integer> candidates = (pidKey == null) ? null : toByPid.get(pidKey);
+			if (candidates == null || candidates.isEmpty()) {
+				continue;
+			}
+
+			int j = candidates.removeFirst();
+			fromMatched[i] = toMatched[j] = true;
+			if (!fromKeys[i].equals(toKeys[j])) {
+				modifies.add(new Change(Change.Type.MODIFY, pidKey, toProperties.get(j).copy()));
+			}
+		}
+
+		//match by value
+		Map<String, LinkedList<Integer>> toByValue = new HashMap<String, LinkedList<Integer>>();
+		for (int i = 0; i < toKeys.length; i++) {
+			if (!toMatched[i]) {
+				add(toByValue, toKeys[i], i);
+			}
+		}
+		for (int i = 0; i < fromKeys.length; i++) {
+			if (fromMatched[i]) {
+				continue;
+			}
+
+			LinkedList<Integer> candidates = toByValue.get(fromKeys[i]);
+			if (candidates == null || candidates.isEmpty()) {
+				removes.add(new Change(Change.Type.REMOVE, fromKeys[i], null));
+				continue;
+			}
+
+			int j = candidates.removeFirst();
+			toMatched[j] = true;
+		}
+
+		for (int i = 0; i < toKeys.length; i++) {
+			if (!toMatched[i]) {
+				adds.add(new Change(Change.Type.ADD, null, toProperties.get(i).copy()));
+			}
+		}
+
+		List<Change> changes = new ArrayList<Change>(removes.size() + modifies.size() + adds.size());
+		changes.addAll(removes);
+		changes.addAll(modifies);
+		changes.addAll(adds);
+		return new VCardPatch(version, changes);
+	}
+
+	/**
+	 * Gets the version that is used when converting the properties to text.
+	 * @return the version
+	 */
+	public VCardVersion getVersion() {
+		return version;
+	}
+
+	/**
+	 * Gets the changes.
+	 * @return the changes (this list is immutable)
+	 */
+	public List<Change> getChanges() {
+		return changes;
+	}
+
+	/**
+	 * Determines if the patch contains any changes.
+	 * @return true if there are no changes, false if there are
+	 */
+	public boolean isEmpty() {
+		return changes.isEmpty();
+	}
+
+	/**
+	 * <p>
+	 * Applies the patch to a vCard. Modified properties are moved to the end
+	 * of the vCard.
+	 * </p>
+	 * <p>
+	 * A change cannot be applied if the property it removes or modifies is not
+	 * in the vCard (for example, if the vCard was changed by someone else), or
+	 * if the property it adds is already in the vCard (for example, if the
+	 * patch was already applied). Such changes are skipped and returned so the
+	 * caller can decide how to resolve them.
+	 * </p>
+	 * @param vcard the vCard to modify
+	 * @return the changes that could not be applied
+	 */
+	public List<Change> apply(VCard vcard) {
+		PropertyLookup lookup = new PropertyLookup(version);
+		for (VCardProperty property : vcard) {
+			lookup.add(property, false);
+		}
+
+		List<Change> conflicts = new ArrayList<Change>(0);
+		for (Change change : changes) {
+			if (change.type == Change.Type.ADD) {
+				VCardProperty copy = change.property.copy();
+				if (lookup.contains(copy)) {
+					conflicts.add(change);
+					continue;
+				}
+
+				vcard.addProperty(copy);
+				lookup.add(copy, true);
+				continue;
+			}
+
+			VCardProperty target = lookup.find(change.locator);
+			if (target == null) {
+				conflicts.add(change);
+				continue;
+			}
+
+			vcard.removeProperty(target);
+			lookup.remove(target);
+			if (change.type == Change.Type.MODIFY) {
+				VCardProperty copy = change.property.copy();
+				vcard.addProperty(copy);
+				lookup.add(copy, true);
+			}
+		}
+		return conflicts;
+	}
+
+	/**
+	 * Converts the patch to text.
+	 * @return the text
+	 */
+	public String write() {
+		VCard vcard = new VCard();
+		for (Change change : changes) {
+			switch (change.type) {
+			case REMOVE:
+				vcard.addProperty(new RawProperty(REMOVE_PROPERTY, change.locator));
+				break;
+			case MODIFY:
+			case ADD:
+				VCardProperty copy = change.property.copy();
+				VCardParameters parameters = copy.getParameters();
+				parameters.put(CHANGE_PARAM, change.type.name());
+				if (change.locator != null) {
+					parameters.put(MATCH_PARAM, change.locator);
+				}
+				vcard.addProperty(copy);
+				break;
+			}
+		}
+
+		return Ezvcard.write(vcard).version(version).prodId(false).versionStrict(false).go();
+	}
+
+	/**
+	 * Parses the text form of a patch.
+	 * @param text the text (see {@link #write})
+	 * @return the patch
+	 * @throws IllegalArgumentException if the text does not contain a patch
+	 */
+	public static VCardPatch parse(String text) {
+		VCard vcard = Ezvcard.parse(text).first();
+		if (vcard == null) {
+			throw new IllegalArgumentException("Text does not contain a vCard patch.");
+		}
+
+		List<Change> changes = new ArrayList<Change>();
+		for (VCardProperty property : vcard) {
+			if (property instanceof RawProperty && REMOVE_PROPERTY.equalsIgnoreCase(((RawProperty) property).getPropertyName())) {
+				changes.add(new Change(Change.Type.REMOVE, ((RawProperty) property).getValue(), null));
+				continue;
+			}
+
+			VCardParameters parameters = property.getParameters();
+			String type = parameters.first(CHANGE_PARAM);
+			if (type == null) {
+				continue;
+			}
+
+			Change.Type changeType;
+			try {
+				changeType = Change.Type.valueOf(type.toUpperCase());
+			} catch (IllegalArgumentException e) {
+				continue;
+			}
+
+			String locator = parameters.first(MATCH_PARAM);
+			parameters.removeAll(CHANGE_PARAM);
+			parameters.removeAll(MATCH_PARAM);
+			changes.add(new Change(changeType, locator, property));
+		}
+
+		return new VCardPatch(vcard.getVersion(), changes);
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeObject(write());
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		VCardPatch patch = parse((String) in.readObject());
+		version = patch.version;
+		changes = patch.changes;
+	}
+
+	@Override
+	public String toString() {
+		return write();
+	}
+
+	private static <K, V> void add(Map<K, LinkedList<V>> map, K key, V value) {
+		LinkedList<V> list = map.get(key);
+		if (list == null) {
+			list = new LinkedList<V>();
+			map.put(key, list);
+		}
+		list.add(value);
+	}
+
+	private static void checkKeys(List<VCardProperty> properties, String[] keys) {
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] == null) {
+				throw new IllegalArgumentException("No scribe found for property class \"" + properties.get(i).getClass().getName() + "\".");
+			}
+		}
+	}
+
+	private static String[] valueKeys(List<VCardProperty> properties, VCardVersion version) {
+		String[] keys = new String[properties.size()];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = valueKey(properties.get(i), version);
+		}
+		return keys;
+	}
+
+	/**
+	 * Generates a key that identifies a property by its PID parameters.
+	 * @param property the property
+	 * @return the key (e.g. "TEL/PID/1.1+2.1") or null if the property does
+	 * not have any PIDs
+	 */
+	private static String pidKey(VCardProperty property) {
+		List<Integer[]> pids = property.getParameters().getPids();
+		if (pids.isEmpty()) {
+			return null;
+		}
+
+		VCardPropertyScribe<? extends VCardProperty> scribe = index.getPropertyScribe(property);
+		if (scribe == null) {
+			return null;
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(scribe.getPropertyName().toUpperCase()).append("/PID/");
+		boolean first = true;
+		for (Integer[] pid : pids) {
+			if (!first) {
+				sb.append('+');
+			}
+			first = false;
+
+			sb.append(pid[0]);
+			if (pid[1] != null) {
+				sb.append('.').append(pid[1]);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Generates a key that identifies a property by its name, parameters, and
+	 * value. The parameters and value are hashed to keep the key short. An
+	 * embedded vCard is identified by its {@link VCardHasher hash}, and a
+	 * value that cannot be marshalled is treated as empty.
+	 * @param property the property
+	 * @param version the version to marshal the value with
+	 * @return the key (e.g. "TEL/SHA1/a9993e36...") or null if the property
+	 * has no scribe
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static String valueKey(VCardProperty property, VCardVersion version) {
+		VCardPropertyScribe scribe = index.getPropertyScribe(property);
+		if (scribe == null) {
+			return null;
+		}
+
+		String value;
+		try {
+			value = scribe.writeText(property, version);
+		} catch (EmbeddedVCardException e) {
+			value = "VCARD/" + hasher.hash(e.getVCard());
+		} catch (SkipMeException e) {
+			//e.g. an AGENT property without a value
+			value = "";
+		}
+
+		StringBuilder sb = new StringBuilder();
+		if (property.getGroup() != null) {
+			sb.append(property.getGroup().toUpperCase()).append('.');
+		}
+
+		//sort the parameters so that their order does not matter
+		Map<String, List<String>> parameters = new TreeMap<String, List<String>>();
+		for (Map.Entry<String, List<String>> parameter : property.getParameters()) {
+			List<String> values = new ArrayList<String>(parameter.getValue());
+			Collections.sort(values);
+			parameters.put(parameter.getKey().toUpperCase(), values);
+		}
+		for (Map.Entry<String, List<String>> parameter : parameters.entrySet()) {
+			sb.append(';').append(parameter.getKey()).append('=').append(parameter.getValue());
+		}
+		sb.append(':').append(value);
+
+		return scribe.getPropertyName().toUpperCase() + "/SHA1/" + sha1(sb.toString());
+	}
+
+	private static String sha1(String value) {
+		MessageDigest digest = VCardHasher.sha1();
+		return VCardHasher.hex(digest.digest(value.getBytes(UTF8)));
+	}
+
+	/**
+	 * Finds the properties of the vCard that a patch is being applied to. The
+	 * keys of each property are only computed once.
+	 */
+	private static class PropertyLookup {
+		private final VCardVersion version;
+		private final Map<String, LinkedList<VCardProperty>> byKey = new HashMap<String, LinkedList<VCardProperty>>();
+		private final Map<VCardProperty, String[]> keys = new IdentityHashMap<VCardProperty, String[]>();
+		private final Map<VCardProperty, Boolean> added = new IdentityHashMap<VCardProperty, Boolean>();
+
+		public PropertyLookup(VCardVersion version) {
+			this.version = version;
+		}
+
+		/**
+		 * Adds a property to the lookup.
+		 * @param property the property
+		 * @param patched true if the property was added by the patch, false if
+		 * it was already in the vCard
+		 */
+		public void add(VCardProperty property, boolean patched) {
+			String[] propertyKeys = { valueKey(property, version), pidKey(property) };
+			keys.put(property, propertyKeys);
+			if (patched) {
+				added.put(property, Boolean.TRUE);
+			}
+			for (String key : propertyKeys) {
+				if (key != null) {
+					VCardPatch.add(byKey, key, property);
+				}
+			}
+		}
+
+		/**
+		 * Removes a property from the lookup.
+		 * @param property the property
+		 */
+		public void remove(VCardProperty property) {
+			String[] propertyKeys = keys.remove(property);
+			added.remove(property);
+			for (String key : propertyKeys) {
+				if (key == null) {
+					continue;
+				}
+
+				Iterator<VCardProperty> it = byKey.get(key).iterator();
+				while (it.hasNext()) {
+					if (it.next() == property) {
+						it.remove();
+						break;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Finds a property by its value key or PID key.
+		 * @param locator the key
+		 * @return the property or null if not found
+		 */
+		public VCardProperty find(String locator) {
+			LinkedList<VCardProperty> properties = byKey.get(locator);
+			return (properties == null || properties.isEmpty()) ? null : properties.getFirst();
+		}
+
+		/**
+		 * Determines if the vCard already contained a property with the same
+		 * name, parameters, and value as the given property before the patch
+		 * was applied. Properties added by the patch itself are ignored, so
+		 * that a patch can add several identical properties.
+		 * @param property the property
+		 * @return true if it does, false if not
+		 */
+		public boolean contains(VCardProperty property) {
+			String key = valueKey(property, version);
+			LinkedList<VCardProperty> properties = (key == null) ? null : byKey.get(key);
+			if (properties == null) {
+				return false;
+			}
+
+			for (VCardProperty existing : properties) {
+				if (!added.containsKey(existing)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * A single change in a {@link VCardPatch}.
+	 */
+	public static class Change {
+		/**
+		 * The kinds of changes.
+		 */
+		public enum Type {
+			/**
+			 * A property was added.
+			 */
+			ADD,
+
+			/**
+			 * A property was removed.
+			 */
+			REMOVE,
+
+			/**
+			 * A property's value or parameters changed, but its PIDs did not.
+			 */
+			MODIFY
+		}
+
+		private final Type type;
+		private final String locator;
+		private final VCardProperty property;
+
+		/**
+		 * Creates a change.
+		 * @param type the kind of change
+		 * @param locator identifies the property that is removed or modified
+		 * (null for {@link Type#ADD})
+		 * @param property the property that is added, or the new version of
+		 * the modified property (null for {@link Type#REMOVE})
+		 */
+		public Change(Type type, String locator, VCardProperty property) {
+			this.type = type;
+			this.locator = locator;
+			this.property = property;
+		}
+
+		/**
+		 * Gets the kind of change.
+		 * @return the kind of change
+		 */
+		public Type getType() {
+			return type;
+		}
+
+		/**
+		 * Gets the key that identifies the property that is removed or
+		 * modified. The format of this key is not part of the public API.
+		 * @return the key or null if this is an {@link Type#ADD} change
+		 */
+		public String getLocator() {
+			return locator;
+		}
+
+		/**
+		 * Gets the property that is added, or the new version of the property
+		 * that is modified.
+		 * @return the property or null if this is a {@link Type#REMOVE} change
+		 */
+		public VCardProperty getProperty() {
+			return property;
+		}
+
+		@Override
+		public String toString() {
+			return type + " " + ((locator == null) ? "" : locator + " ") + ((property == null) ? "" : property.getClass().getSimpleName());
+		}
+	}
+}
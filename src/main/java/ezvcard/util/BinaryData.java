@@ -0,0 +1,559 @@
+package ezvcard.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+
+import ezvcard.util.org.apache.commons.codec.binary.Base64;
+import ezvcard.util.org.apache.commons.codec.binary.Base64OutputStream;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * A source of binary data, such as the image of a {@link ezvcard.property.Photo
+ * PHOTO} property. The data can be stored in a byte array, in a
+ * {@link ByteBuffer} (including direct and memory-mapped buffers), or in a
+ * file, so that large resources do not have to be loaded into the heap.
+ * </p>
+ * <p>
+ * Instances of this class are immutable, as long as the underlying array,
+ * buffer, or file is not modified.
+ * </p>
+ * <p>
+ * <b>Examples:</b>
+ * 
+ * <pre class="brush:java">
+ * BinaryData data = BinaryData.of(new File("portrait.jpg"));
+ * Photo photo = new Photo(data, ImageType.JPEG);
+ * 
+ * FileChannel channel = new RandomAccessFile("photos.bin", "r").getChannel();
+ * ByteBuffer buffer = channel.map(MapMode.READ_ONLY, offset, length);
+ * Photo photo = new Photo(BinaryData.of(buffer), ImageType.JPEG);
+ * </pre>
+ * 
+ * </p>
+ * @author Michael Angstadt
+ */
+public abstract class BinaryData {
+	/**
+	 * Creates binary data that is backed by a byte array. The array is not
+	 * copied.
+	 * @param data the data
+	 * @return the binary data
+	 */
+	public static BinaryData of(byte[] data) {
+		return new ArrayData(data);
+	}
+
+	/**
+	 * Creates binary data that is backed by a {@link ByteBuffer}. The data
+	 * consists of the bytes between the buffer's position and limit at the
+	 * time this method is called. The buffer's contents are not copied and
+	 * its position is not modified.
+	 * @param buffer the buffer
+	 * @return the binary data
+	 */
+	public static BinaryData of(ByteBuffer buffer) {
+		return new BufferData(buffer.slice());
+	}
+
+	/**
+	 * Creates binary data that is backed by a file. The file is read each
+	 * time the data is accessed.
+	 * @param file the file
+	 * @return the binary data
+	 */
+	public static BinaryData of(File file) {
+		return new FileData(file, 0, file.length());
+	}
+
+	/**
+	 * Creates binary data that is backed by a region of a file. The file is
+	 * read each time the data is accessed.
+	 * @param file the file
+	 * @param offset the position in the file where the data starts
+	 * @param length the number of bytes
+	 * @return the binary data
+	 */
+	public static BinaryData of(File file, long offset, long length) {
+		return new FileData(file, offset, length);
+	}
+
+	/**
+	 * Creates binary data from a base64-encoded string. The string is not
+	 * decoded until the data is accessed, and is written out unchanged when
+	 * the data is encoded in base64 again (for example, when a parsed vCard
+	 * is written back out without its photo being looked at).
+	 * @param encoded the base64-encoded data
+	 * @return the binary data
+	 */
+	public static BinaryData base64(String encoded) {
+		return new Base64Data(encoded);
+	}
+
+	/**
+	 * Gets the length of the data.
+	 * @return the number of bytes
+	 */
+	public abstract long length();
+
+	/**
+	 * Opens a stream that reads the data. The caller is responsible for
+	 * closing the stream.
+	 * @return the stream
+	 * @throws IOException if there's a problem opening the stream
+	 */
+	public abstract InputStream open() throws IOException;
+
+	/**
+	 * Determines if the data is stored in a byte array on the heap. If so,
+	 * calling {@link #toByteArray} is cheap.
+	 * @return true if the data is stored in a byte array, false if not
+	 */
+	public boolean isArray() {
+		return false;
+	}
+
+	/**
+	 * Gets the data as a byte array. If the data is stored in a byte array
+	 * (see {@link #isArray}), that array is returned and should not be
+	 * modified. Otherwise, the data is read into a new array.
+	 * @return the data
+	 * @throws IOException if there's a problem reading the data
+	 */
+	public byte[] toByteArray() throws IOException {
+		return IOUtils.toByteArray(open(), true);
+	}
+
+	/**
+	 * Writes the data to an output stream.
+	 * @param out the output stream (it is not closed)
+	 * @throws IOException if there's a problem reading the data or writing to
+	 * the stream
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		InputStream in = open();
+		try {
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+		} finally {
+			IOUtils.closeQuietly(in);
+		}
+	}
+
+	/**
+	 * Feeds the data into a message digest, without reading it all into
+	 * memory.
+	 * @param digest the message digest
+	 * @throws IOException if there's a problem reading the data
+	 */
+	public void update(MessageDigest digest) throws IOException {
+		writeTo(new DigestOutputStream(digest));
+	}
+
+	/**
+	 * Writes the data to a character stream in base64 encoding, without line
+	 * breaks.
+	 * @param writer the character stream (it is not closed)
+	 * @throws IOException if there's a problem reading the data or writing to
+	 * the stream
+	 */
+	public void writeBase64(Writer writer) throws IOException {
+		Base64OutputStream out = new Base64OutputStream(new WriterOutputStream(writer), true, 0, null);
+		writeTo(out);
+		out.close();
+	}
+
+	private static class ArrayData extends BinaryData {
+		private final byte[] data;
+
+		public ArrayData(byte[] data) {
+			this.data = data;
+		}
+
+		@Override
+		public long length() {
+			return data.length;
+		}
+
+		@Override
+		public InputStream open() {
+			return new ByteArrayInputStream(data);
+		}
+
+		@Override
+		public boolean isArray() {
+			return true;
+		}
+
+		@Override
+		public byte[] toByteArray() {
+			return data;
+		}
+
+		@Override
+		public void writeTo(OutputStream out) throws IOException {
+			out.write(data);
+		}
+	}
+
+	private static class BufferData extends BinaryData {
+		private final ByteBuffer buffer;
+
+		public BufferData(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public long length() {
+			return buffer.remaining();
+		}
+
+		@Override
+		public InputStream open() {
+			final ByteBuffer buffer = this.buffer.duplicate();
+			return new InputStream() {
+				@Override
+				public int read() {
+					return buffer.hasRemaining() ? (buffer.get() & 0xff) : -1;
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) {
+					if (len == 0) {
+						return 0;
+					}
+					if (!buffer.hasRemaining()) {
+						return -1;
+					}
+
+					len = Math.min(len, buffer.remaining());
+					buffer.get(b, off, len);
+					return len;
+				}
+
+				@Override
+				public int available() {
+					return buffer.remaining();
+				}
+			};
+		}
+	}
+
+	private static class FileData extends BinaryData {
+		private final File file;
+		private final long offset, length;
+
+		public FileData(File file, long offset, long length) {
+			this.file = file;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		@Override
+		public long length() {
+			return length;
+		}
+
+		@Override
+		public InputStream open() throws IOException {
+			final FileInputStream in = new FileInputStream(file);
+			try {
+				long skip = offset;
+				while (skip > 0) {
+					long skipped = in.skip(skip);
+					if (skipped <= 0) {
+						throw new IOException("File is shorter than expected: " + file);
+					}
+					skip -= skipped;
+				}
+			} catch (IOException e) {
+				IOUtils.closeQuietly(in);
+				throw e;
+			}
+
+			return new InputStream() {
+				private long remaining = length;
+
+				@Override
+				public int read() throws IOException {
+					if (remaining <= 0) {
+						return -1;
+					}
+
+					int b = in.read();
+					if (b >= 0) {
+						remaining--;
+					}
+					return b;
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) throws IOException {
+					if (len == 0) {
+						return 0;
+					}
+					if (remaining <= 0) {
+						return -1;
+					}
+
+					int read = in.read(b, off, (int) Math.min(len, remaining));
+					if (read > 0) {
+						remaining -= read;
+					}
+					return read;
+				}
+
+				@Override
+				public void close() throws IOException {
+					in.close();
+				}
+			};
+		}
+	}
+
+	private static class Base64Data extends BinaryData {
+		private final String encoded;
+		private volatile byte[] decoded;
+
+		public Base64Data(String encoded) {
+			this.encoded = encoded;
+		}
+
+		@Override
+		public long length() {
+			byte[] decoded = this.decoded;
+			if (decoded != null) {
+				return decoded.length;
+			}
+
+			long length = decodedLength();
+			return (length < 0) ? decode().length : length;
+		}
+
+		@Override
+		public InputStream open() {
+			return new ByteArrayInputStream(decode());
+		}
+
+		@Override
+		public byte[] toByteArray() {
+			return decode();
+		}
+
+		@Override
+		public void writeTo(OutputStream out) throws IOException {
+			byte[] decoded = this.decoded;
+			if (decoded != null) {
+				out.write(decoded);
+				return;
+			}
+
+			//decode a chunk at a time so the decoded data is never held in memory all at once
+			Base64OutputStream decoder = new Base64OutputStream(new NonClosingOutputStream(out), false);
+			byte[] buffer = new byte[4096];
+			int length = encoded.length();
+			for (int i = 0; i < length; i += buffer.length) {
+				int n = Math.min(buffer.length, length - i);
+				for (int j = 0; j < n; j++) {
+					buffer[j] = (byte) encoded.charAt(i + j);
+				}
+				decoder.write(buffer, 0, n);
+			}
+			decoder.close();
+		}
+
+		@Override
+		public void writeBase64(Writer writer) throws IOException {
+			if (isCanonical()) {
+				writer.write(encoded);
+			} else {
+				super.writeBase64(writer);
+			}
+		}
+
+		/**
+		 * Decodes the string the first time the data is accessed.
+		 * @return the decoded data
+		 */
+		private byte[] decode() {
+			byte[] decoded = this.decoded;
+			if (decoded == null) {
+				decoded = this.decoded = Base64.decodeBase64(encoded);
+			}
+			return decoded;
+		}
+
+		/**
+		 * Calculates the length of the decoded data from the length of the
+		 * encoded string, without decoding it.
+		 * @return the length or -1 if the length cannot be calculated because
+		 * the string contains characters that are not part of the base64
+		 * alphabet or is not validly padded
+		 */
+		private long decodedLength() {
+			int length = encoded.length();
+			int padding = 0;
+			while (padding < 2 && padding < length && encoded.charAt(length - padding - 1) == '=') {
+				padding++;
+			}
+
+			int dataChars = length - padding;
+			for (int i = 0; i < dataChars; i++) {
+				char c = encoded.charAt(i);
+				if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '+' || c == '/') {
+					continue;
+				}
+				return -1;
+			}
+
+			if (padding > 0 && length % 4 != 0) {
+				return -1;
+			}
+
+			//every 4 characters encode 3 bytes, and a partial group of 2 or 3 characters encodes 1 or 2 bytes
+			switch (dataChars % 4) {
+			case 0:
+				return dataChars / 4 * 3L;
+			case 2:
+				return dataChars / 4 * 3L + 1;
+			case 3:
+				return dataChars / 4 * 3L + 2;
+			default:
+				return -1;
+			}
+		}
+
+		/**
+		 * Determines if the encoded string can be written out as-is. It
+		 * cannot if it contains whitespace or other characters that are not
+		 * part of the base64 alphabet.
+		 * @return true if the string can be written out as-is, false if not
+		 */
+		private boolean isCanonical() {
+			for (int i = 0; i < encoded.length(); i++) {
+				char c = encoded.charAt(i);
+				if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '+' || c == '/' || c == '=') {
+					continue;
+				}
+				return false;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Passes bytes through to an output stream without closing it.
+	 */
+	private static class NonClosingOutputStream extends FilterOutputStream {
+		public NonClosingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			//do not close the underlying stream
+			flush();
+		}
+	}
+
+	/**
+	 * Feeds the bytes written to it into a message digest.
+	 */
+	private static class DigestOutputStream extends OutputStream {
+		private final MessageDigest digest;
+
+		public DigestOutputStream(MessageDigest digest) {
+			this.digest = digest;
+		}
+
+		@Override
+		public void write(int b) {
+			digest.update((byte) b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			digest.update(b, off, len);
+		}
+	}
+
+	/**
+	 * Writes bytes to a character stream, treating each byte as an ASCII
+	 * character.
+	 */
+	private static class WriterOutputStream extends OutputStream {
+		private final Writer writer;
+		private final char[] buffer = new char[4096];
+
+		public WriterOutputStream(Writer writer) {
+			this.writer = writer;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			writer.write((char) b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				int n = Math.min(len, buffer.length);
+				for (int i = 0; i < n; i++) {
+					buffer[i] = (char) b[off + i];
+				}
+				writer.write(buffer, 0, n);
+				off += n;
+				len -= n;
+			}
+		}
+
+		@Override
+		public void close() {
+			//do not close the underlying writer
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package ezvcard.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * <p>
+ * A thread-safe cache that holds a limited number of entries. Lookups do not
+ * lock, so the cache can be shared by many threads without contention.
+ * </p>
+ * <p>
+ * When the cache is full, it is emptied before the next entry is added. This
+ * means that the cache cannot be filled up permanently by values that are
+ * only seen once (such as junk values in the input). Values that are looked
+ * up frequently are simply added again.
+ * </p>
+ * @author Michael Angstadt
+ * @param <K> the key
+ * @param <V> the value
+ */
+public class BoundedCache<K, V> {
+	private final ConcurrentMap<K, V> map = new ConcurrentHashMap<K, V>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final int maxSize;
+
+	/**
+	 * Creates a cache.
+	 * @param maxSize the maximum number of entries
+	 */
+	public BoundedCache(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Gets a value from the cache.
+	 * @param key the key
+	 * @return the value or null if it is not in the cache
+	 */
+	public V get(K key) {
+		return map.get(key);
+	}
+
+	/**
+	 * Adds a value to the cache, emptying the cache first if it is full. If
+	 * the key is already in the cache, the existing value is kept.
+	 * @param key the key
+	 * @param value the value
+	 */
+	public void put(K key, V value) {
+		if (size.get() >= maxSize) {
+			clear();
+		}
+
+		if (map.putIfAbsent(key, value) == null) {
+			size.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Empties the cache.
+	 */
+	public void clear() {
+		//the size may be off briefly if another thread adds an entry at the same time, but the map cannot grow much past the maximum
+		size.set(0);
+		map.clear();
+	}
+
+	/**
+	 * Gets the number of entries in the cache.
+	 * @return the number of entries
+	 */
+	public int size() {
+		return map.size();
+	}
+}
@@ -5,6 +5,11 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -47,9 +52,13 @@ import java.util.Collections;
  * @param <V> the value that the class holds (e.g. String)
  */
 public abstract class CaseClasses<T, V> {
+	private static volatile int maxRuntimeDefined = -1;
+
 	protected final Class<T> clazz;
 	private volatile Collection<T> preDefined = null;
-	private Collection<T> runtimeDefined = null;
+	private Map<String, List<T>> preDefinedIndex = null;
+	private final List<T> runtimeDefined = new ArrayList<T>(0);
+	private final ConcurrentMap<String, List<T>> runtimeDefinedIndex = new ConcurrentHashMap<String, List<T>>();
 
 	/**
 	 * Creates a new case class collection.
@@ -59,6 +68,35 @@ public abstract class CaseClasses<T, V> {
 		this.clazz = clazz;
 	}
 
+	/**
+	 * Gets the maximum number of runtime-defined objects that each case class
+	 * will hold on to.
+	 * @return the maximum or -1 if there is no limit (default)
+	 * @see #setMaxRuntimeDefined
+	 */
+	public static int getMaxRuntimeDefined() {
+		return maxRuntimeDefined;
+	}
+
+	/**
+	 * <p>
+	 * Sets the maximum number of runtime-defined objects that each case class
+	 * will hold on to. Once a case class reaches this limit, the objects it
+	 * creates for unrecognized values are no longer remembered, which means
+	 * that two lookups of the same unrecognized value will return objects
+	 * that cannot be compared using "==".
+	 * </p>
+	 * <p>
+	 * Setting a limit protects against input that contains a large number of
+	 * arbitrary parameter values (such as TYPE parameters), which would
+	 * otherwise be held in memory for the lifetime of the application.
+	 * </p>
+	 * @param max the maximum or -1 for no limit (default)
+	 */
+	public static void setMaxRuntimeDefined(int max) {
+		maxRuntimeDefined = max;
+	}
+
 	/**
 	 * Creates a new instance of the case class.
 	 * @param value the value to give the instance
@@ -74,6 +112,58 @@ public abstract class CaseClasses<T, V> {
 	 */
 	protected abstract boolean matches(T object, V value);
 
+	/**
+	 * <p>
+	 * Gets the keys that a case object is stored under in the lookup index.
+	 * Subclasses should override this method, along with
+	 * {@link #indexKey(Object)}, so that lookups do not have to scan every
+	 * object.
+	 * </p>
+	 * <p>
+	 * If {@link #indexKey(Object)} returns a non-null key for a value, then all
+	 * of the objects that match that value must be stored under that key.
+	 * </p>
+	 * @param object the case object
+	 * @return the keys (null elements are ignored) or null not to index the
+	 * object (default)
+	 */
+	protected String[] indexKeys(T object) {
+		return null;
+	}
+
+	/**
+	 * Gets the key to look up in the lookup index when searching for a value.
+	 * @param value the value
+	 * @return the key or null to search all objects (default)
+	 * @see #indexKeys
+	 */
+	protected String indexKey(V value) {
+		return null;
+	}
+
+	/**
+	 * Builds a case-insensitive index key. Two strings produce the same key if
+	 * and only if {@link String#equalsIgnoreCase} considers them equal.
+	 * @param string the string
+	 * @return the key
+	 */
+	protected static String caseInsensitiveKey(String string) {
+		StringBuilder sb = null;
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			char folded = Character.toLowerCase(Character.toUpperCase(c));
+			if (sb == null) {
+				if (c == folded) {
+					continue;
+				}
+				sb = new StringBuilder(string.length());
+				sb.append(string, 0, i);
+			}
+			sb.append(folded);
+		}
+		return (sb == null) ? string : sb.toString();
+	}
+
 	/**
 	 * Searches for a case object by value, only looking at the case class'
 	 * static constants (i.e. does not search over runtime-defined objects).
@@ -83,12 +173,9 @@ public abstract class CaseClasses<T, V> {
 	public T find(V value) {
 		checkInit();
 
-		for (T obj : preDefined) {
-			if (matches(obj, value)) {
-				return obj;
-			}
-		}
-		return null;
+		String key = indexKey(value);
+		Collection<T> candidates = (key == null) ? preDefined : preDefinedIndex.get(key);
+		return find(candidates, value);
 	}
 
 	/**
@@ -103,15 +190,27 @@ public abstract class CaseClasses<T, V> {
 			return found;
 		}
 
+		String key = indexKey(value);
+		if (key != null) {
+			found = find(runtimeDefinedIndex.get(key), value);
+			if (found != null) {
+				return found;
+			}
+		}
+
 		synchronized (runtimeDefined) {
-			for (T obj : runtimeDefined) {
-				if (matches(obj, value)) {
-					return obj;
-				}
+			Collection<T> candidates = (key == null) ? runtimeDefined : runtimeDefinedIndex.get(key);
+			found = find(candidates, value);
+			if (found != null) {
+				return found;
 			}
 
 			T created = create(value);
-			runtimeDefined.add(created);
+			int max = maxRuntimeDefined;
+			if (max < 0 || runtimeDefined.size() < max) {
+				runtimeDefined.add(created);
+				index(created, runtimeDefinedIndex);
+			}
 			return created;
 		}
 	}
@@ -125,6 +224,50 @@ public abstract class CaseClasses<T, V> {
 		return preDefined;
 	}
 
+	private T find(Collection<T> candidates, V value) {
+		if (candidates == null) {
+			return null;
+		}
+
+		for (T obj : candidates) {
+			if (matches(obj, value)) {
+				return obj;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Adds an object to a lookup index. The lists in the index are never
+	 * modified once they are added to the index, so they can be read without
+	 * locking.
+	 * @param object the object
+	 * @param index the index
+	 */
+	private void index(T object, Map<String, List<T>> index) {
+		String[] keys = indexKeys(object);
+		if (keys == null) {
+			return;
+		}
+
+		for (String key : keys) {
+			if (key == null) {
+				continue;
+			}
+
+			List<T> existing = index.get(key);
+			List<T> candidates;
+			if (existing == null) {
+				candidates = Collections.singletonList(object);
+			} else {
+				candidates = new ArrayList<T>(existing.size() + 1);
+				candidates.addAll(existing);
+				candidates.add(object);
+			}
+			index.put(key, candidates);
+		}
+	}
+
 	private void checkInit() {
 		if (preDefined == null) {
 			synchronized (this) {
@@ -138,6 +281,7 @@ public abstract class CaseClasses<T, V> {
 
 	private void init() {
 		Collection<T> preDefined = new ArrayList<T>();
+		Map<String, List<T>> preDefinedIndex = new HashMap<String, List<T>>();
 		for (Field field : clazz.getFields()) {
 			int modifiers = field.getModifiers();
 			//@formatter:off
@@ -151,6 +295,7 @@ public abstract class CaseClasses<T, V> {
 					if (obj != null) {
 						T c = clazz.cast(obj);
 						preDefined.add(c);
+						index(c, preDefinedIndex);
 					}
 				} catch (Exception e) {
 					//reflection error
@@ -160,7 +305,7 @@ public abstract class CaseClasses<T, V> {
 			}
 		}
 
-		runtimeDefined = new ArrayList<T>(0);
+		this.preDefinedIndex = preDefinedIndex;
 		this.preDefined = Collections.unmodifiableCollection(preDefined);
 	}
 }
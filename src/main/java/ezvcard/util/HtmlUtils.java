@@ -1,9 +1,10 @@
 package ezvcard.util;
 
+import java.util.Collection;
+
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -46,7 +47,7 @@ public class HtmlUtils {
 	 * @param possibleParents the possible parents
 	 * @return true if it is a child, false if not
 	 */
-	public static boolean isChildOf(Element child, Elements possibleParents) {
+	public static boolean isChildOf(Element child, Collection<Element> possibleParents) {
 		for (Element parent : child.parents()) {
 			if (possibleParents.contains(parent)) {
 				return true;
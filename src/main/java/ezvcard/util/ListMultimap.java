@@ -1,12 +1,18 @@
 package ezvcard.util;
 
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import java.util.Set;
 
 /*
@@ -39,29 +45,51 @@ import java.util.Set;
  */
 
 /**
- * A multimap that uses {@link List} objects to store its values. The internal
- * {@link Map} implementation is a {@link LinkedHashMap} that uses
- * {@link ArrayList} for its values.
+ * <p>
+ * A multimap that uses {@link List} objects to store its values.
+ * </p>
+ * <p>
+ * Most multimaps in this library (such as the parameters of a property) only
+ * ever hold a handful of keys. To keep them small, the keys and their value
+ * lists are stored in parallel arrays, in insertion order, and are looked up
+ * with a linear scan. A hash index is added once the number of keys grows past
+ * a small threshold.
+ * </p>
  * @author Michael Angstadt
  * @param <K> the key
  * @param <V> the value
  */
 public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
-	private final Map<K, List<V>> map;
+	/**
+	 * The number of keys past which a hash index is used to look up keys.
+	 */
+	private static final int HASH_THRESHOLD = 8;
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private Object[] keys;
+	private Object[] lists;
+	private int keyCount = 0;
+	private int size = 0;
+	private Map<Object, Integer> index;
+	private MapView mapView;
+	private boolean frozen = false;
 
 	/**
 	 * Creates an empty multimap.
 	 */
 	public ListMultimap() {
-		map = new LinkedHashMap<K, List<V>>();
+		keys = lists = EMPTY;
 	}
 
 	/**
 	 * Creates an empty multimap.
-	 * @param initialCapacity the initial capacity of the underlying map.
+	 * @param initialCapacity the initial number of keys the multimap can hold
+	 * before it has to grow
 	 */
 	public ListMultimap(int initialCapacity) {
-		map = new LinkedHashMap<K, List<V>>(initialCapacity);
+		keys = new Object[initialCapacity];
+		lists = new Object[initialCapacity];
 	}
 
 	/**
@@ -69,10 +97,15 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @param orig the multimap to copy from
 	 */
 	public ListMultimap(ListMultimap<K, V> orig) {
-		this();
-		for (Map.Entry<K, List<V>> entry : orig) {
-			List<V> values = new ArrayList<V>(entry.getValue());
-			map.put(entry.getKey(), values);
+		keyCount = orig.keyCount;
+		size = orig.size;
+		keys = Arrays.copyOf(orig.keys, keyCount);
+		lists = new Object[keyCount];
+		for (int i = 0; i < keyCount; i++) {
+			lists[i] = new Values<V>(this, orig.valuesAt(i));
+		}
+		if (orig.index != null) {
+			index = new HashMap<Object, Integer>(orig.index);
 		}
 	}
 
@@ -82,7 +115,10 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @param value the value to add
 	 */
 	public void put(K key, V value) {
-		List<V> values = get(key, true);
+		checkFrozen();
+		key = sanitizeKey(key);
+		int slot = indexOf(key);
+		Values<V> values = (slot < 0) ? addKey(key, 1) : valuesAt(slot);
 		values.add(value);
 	}
 
@@ -92,7 +128,10 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @param values the values to add
 	 */
 	public void putAll(K key, Collection<V> values) {
-		List<V> existingValues = get(key, true);
+		checkFrozen();
+		key = sanitizeKey(key);
+		int slot = indexOf(key);
+		Values<V> existingValues = (slot < 0) ? addKey(key, values.size()) : valuesAt(slot);
 		existingValues.addAll(values);
 	}
 
@@ -102,26 +141,15 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @return the list of values or empty list if the key doesn't exist
 	 */
 	public List<V> get(K key) {
-		return get(key, false);
-	}
+		int slot = indexOf(sanitizeKey(key));
+		if (slot >= 0) {
+			return valuesAt(slot);
+		}
 
-	/**
-	 * Gets the values associated with the key.
-	 * @param key the key
-	 * @param add true to add an empty element to the map if the key doesn't
-	 * exist, false not to
-	 * @return the list of values or empty list if the key doesn't exist
-	 */
-	private List<V> get(K key, boolean add) {
-		key = sanitizeKey(key);
-		List<V> values = map.get(key);
-		if (values == null) {
-			values = new ArrayList<V>();
-			if (add) {
-				map.put(key, values);
-			}
+		if (frozen) {
+			return Collections.emptyList();
 		}
-		return values;
+		return new ArrayList<V>();
 	}
 
 	/**
@@ -130,8 +158,13 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @return the first value or null if the key doesn't exist
 	 */
 	public V first(K key) {
-		List<V> values = get(key);
-		return (values == null || values.isEmpty()) ? null : values.get(0);
+		int slot = indexOf(sanitizeKey(key));
+		if (slot < 0) {
+			return null;
+		}
+
+		Values<V> values = valuesAt(slot);
+		return values.isEmpty() ? null : values.get(0);
 	}
 
 	/**
@@ -140,7 +173,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @return true if the key exists, false if not
 	 */
 	public boolean containsKey(K key) {
-		return map.containsKey(key);
+		return indexOf(key) >= 0;
 	}
 
 	/**
@@ -150,9 +183,10 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @return true if the multimap contained the value, false if not
 	 */
 	public boolean remove(K key, V value) {
-		List<V> values = map.get(sanitizeKey(key));
-		if (values != null) {
-			return values.remove(value);
+		checkFrozen();
+		int slot = indexOf(sanitizeKey(key));
+		if (slot >= 0) {
+			return valuesAt(slot).remove(value);
 		}
 		return false;
 	}
@@ -163,8 +197,9 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @return the removed values or empty list if the key doesn't exist
 	 */
 	public List<V> removeAll(K key) {
-		List<V> removed = map.remove(sanitizeKey(key));
-		return (removed == null) ? Collections.<V> emptyList() : removed;
+		checkFrozen();
+		int slot = indexOf(sanitizeKey(key));
+		return (slot < 0) ? Collections.<V> emptyList() : removeKey(slot);
 	}
 
 	/**
@@ -175,6 +210,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @return the values that were replaced
 	 */
 	public List<V> replace(K key, V value) {
+		checkFrozen();
 		List<V> replaced = removeAll(key);
 		if (value != null) {
 			put(key, value);
@@ -189,6 +225,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @return the values that were replaced
 	 */
 	public List<V> replace(K key, Collection<V> values) {
+		checkFrozen();
 		List<V> replaced = removeAll(key);
 		if (values != null && !values.isEmpty()) {
 			putAll(key, values);
@@ -200,7 +237,14 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * Clears all entries from the multimap.
 	 */
 	public void clear() {
-		map.clear();
+		checkFrozen();
+		for (int i = 0; i < keyCount; i++) {
+			valuesAt(i).owner = null;
+		}
+		keys = lists = EMPTY;
+		keyCount = 0;
+		size = 0;
+		index = null;
 	}
 
 	/**
@@ -208,7 +252,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @return all the keys
 	 */
 	public Set<K> keySet() {
-		return map.keySet();
+		return getMap().keySet();
 	}
 
 	/**
@@ -216,9 +260,9 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @return all the values
 	 */
 	public List<V> values() {
-		List<V> list = new ArrayList<V>();
-		for (List<V> value : map.values()) {
-			list.addAll(value);
+		List<V> list = new ArrayList<V>(size);
+		for (int i = 0; i < keyCount; i++) {
+			list.addAll(valuesAt(i));
 		}
 		return list;
 	}
@@ -228,7 +272,7 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @return true if it's empty, false if not
 	 */
 	public boolean isEmpty() {
-		return size() == 0;
+		return size == 0;
 	}
 
 	/**
@@ -236,19 +280,52 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 	 * @return the number of values
 	 */
 	public int size() {
-		int size = 0;
-		for (List<V> value : map.values()) {
-			size += value.size();
-		}
 		return size;
 	}
 
 	/**
-	 * Gets the underlying {@link Map} object.
-	 * @return the underlying {@link Map} object
+	 * Gets a {@link Map} view of this multimap. Changes made to the map are
+	 * reflected in the multimap, and vice versa.
+	 * @return the map view
 	 */
 	public Map<K, List<V>> getMap() {
-		return map;
+		if (mapView == null) {
+			mapView = new MapView();
+		}
+		return frozen ? Collections.unmodifiableMap(mapView) : mapView;
+	}
+
+	/**
+	 * Makes this multimap immutable. Once frozen, any attempt to modify the
+	 * multimap, or any of the lists it returns, will throw an
+	 * {@link UnsupportedOperationException}. A frozen multimap can be safely
+	 * shared between threads.
+	 */
+	public void freeze() {
+		if (!frozen && mapView == null) {
+			//create the view now so that getMap() does not write to this object once frozen
+			mapView = new MapView();
+		}
+		frozen = true;
+	}
+
+	/**
+	 * Determines if this multimap has been frozen.
+	 * @return true if it's frozen, false if not
+	 * @see #freeze
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Throws an exception if this multimap has been frozen.
+	 * @throws UnsupportedOperationException if the multimap is frozen
+	 */
+	protected void checkFrozen() {
+		if (frozen) {
+			throw new UnsupportedOperationException("This multimap is frozen and cannot be modified.");
+		}
 	}
 
 	/**
@@ -263,17 +340,17 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 
 	//@Override
 	public Iterator<Map.Entry<K, List<V>>> iterator() {
-		return map.entrySet().iterator();
+		return getMap().entrySet().iterator();
 	}
 
 	@Override
 	public String toString() {
-		return map.toString();
+		return getMap().toString();
 	}
 
 	@Override
 	public int hashCode() {
-		return map.hashCode();
+		return getMap().hashCode();
 	}
 
 	@Override
@@ -286,6 +363,400 @@ public class ListMultimap<K, V> implements Iterable<Map.Entry<K, List<V>>> {
 			return false;
 
 		ListMultimap<?, ?> other = (ListMultimap<?, ?>) obj;
-		return map.equals(other.map);
+		return getMap().equals(other.getMap());
+	}
+
+	/**
+	 * Finds the position of a key in the key array.
+	 * @param key the key (must already be sanitized)
+	 * @return the position or -1 if the key doesn't exist
+	 */
+	private int indexOf(Object key) {
+		if (index != null) {
+			Integer slot = index.get(key);
+			return (slot == null) ? -1 : slot;
+		}
+
+		for (int i = 0; i < keyCount; i++) {
+			Object k = keys[i];
+			if (k == key || (k != null && k.equals(key))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Values<V> valuesAt(int slot) {
+		return (Values<V>) lists[slot];
+	}
+
+	@SuppressWarnings("unchecked")
+	private K keyAt(int slot) {
+		return (K) keys[slot];
+	}
+
+	/**
+	 * Adds a new key to the end of the key array.
+	 * @param key the key (must already be sanitized)
+	 * @param capacity the initial capacity of the key's value list
+	 * @return the key's (empty) value list
+	 */
+	private Values<V> addKey(K key, int capacity) {
+		if (keyCount == keys.length) {
+			int newLength = (keyCount < 2) ? 2 : keyCount * 2;
+			keys = Arrays.copyOf(keys, newLength);
+			lists = Arrays.copyOf(lists, newLength);
+		}
+
+		Values<V> values = new Values<V>(this, capacity);
+		keys[keyCount] = key;
+		lists[keyCount] = values;
+		keyCount++;
+
+		if (index != null) {
+			index.put(key, keyCount - 1);
+		} else if (keyCount > HASH_THRESHOLD) {
+			buildIndex();
+		}
+
+		return values;
+	}
+
+	/**
+	 * Removes a key and detaches its value list from this multimap.
+	 * @param slot the position of the key in the key array
+	 * @return the key's value list
+	 */
+	private Values<V> removeKey(int slot) {
+		Values<V> values = valuesAt(slot);
+
+		int moved = keyCount - slot - 1;
+		System.arraycopy(keys, slot + 1, keys, slot, moved);
+		System.arraycopy(lists, slot + 1, lists, slot, moved);
+		keyCount--;
+		keys[keyCount] = null;
+		lists[keyCount] = null;
+
+		size -= values.size();
+		values.owner = null;
+
+		if (index != null) {
+			if (keyCount > HASH_THRESHOLD) {
+				buildIndex();
+			} else {
+				index = null;
+			}
+		}
+
+		return values;
+	}
+
+	private void buildIndex() {
+		index = new HashMap<Object, Integer>(keyCount * 2);
+		for (int i = 0; i < keyCount; i++) {
+			index.put(keys[i], i);
+		}
+	}
+
+	/**
+	 * A value list that belongs to a key. It keeps the multimap's value count
+	 * up to date and refuses to be modified once the multimap is frozen.
+	 * @param <V> the value
+	 */
+	private static class Values<V> extends AbstractList<V> implements RandomAccess {
+		private ListMultimap<?, ?> owner;
+		private Object[] elements;
+		private int count = 0;
+
+		/**
+		 * @param owner the multimap that the list belongs to
+		 * @param capacity the initial capacity
+		 */
+		public Values(ListMultimap<?, ?> owner, int capacity) {
+			this.owner = owner;
+			elements = (capacity == 0) ? EMPTY : new Object[capacity];
+		}
+
+		/**
+		 * @param owner the multimap that the list belongs to
+		 * @param orig the list to copy
+		 */
+		public Values(ListMultimap<?, ?> owner, Values<V> orig) {
+			this.owner = owner;
+			elements = Arrays.copyOf(orig.elements, orig.count);
+			count = orig.count;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V get(int index) {
+			checkIndex(index, count);
+			return (V) elements[index];
+		}
+
+		@Override
+		public int size() {
+			return count;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V set(int index, V value) {
+			checkFrozen();
+			checkIndex(index, count);
+			V old = (V) elements[index];
+			elements[index] = value;
+			return old;
+		}
+
+		@Override
+		public void add(int index, V value) {
+			checkFrozen();
+			checkIndex(index, count + 1);
+			ensureCapacity(count + 1);
+			System.arraycopy(elements, index, elements, index + 1, count - index);
+			elements[index] = value;
+			count++;
+			modCount++;
+			if (owner != null) {
+				owner.size++;
+			}
+		}
+
+		@Override
+		public boolean addAll(Collection<? extends V> values) {
+			checkFrozen();
+			Object[] array = values.toArray();
+			ensureCapacity(count + array.length);
+			System.arraycopy(array, 0, elements, count, array.length);
+			count += array.length;
+			modCount++;
+			if (owner != null) {
+				owner.size += array.length;
+			}
+			return array.length > 0;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V remove(int index) {
+			checkFrozen();
+			checkIndex(index, count);
+			V old = (V) elements[index];
+			System.arraycopy(elements, index + 1, elements, index, count - index - 1);
+			count--;
+			elements[count] = null;
+			modCount++;
+			if (owner != null) {
+				owner.size--;
+			}
+			return old;
+		}
+
+		@Override
+		public void clear() {
+			checkFrozen();
+			Arrays.fill(elements, 0, count, null);
+			if (owner != null) {
+				owner.size -= count;
+			}
+			count = 0;
+			modCount++;
+		}
+
+		/**
+		 * Replaces the contents of the list. The given collection is copied
+		 * first, so it can be this list itself.
+		 * @param values the new values
+		 */
+		public void replaceWith(Collection<? extends V> values) {
+			checkFrozen();
+			Object[] array = values.toArray();
+			clear();
+			ensureCapacity(array.length);
+			System.arraycopy(array, 0, elements, 0, array.length);
+			count = array.length;
+			if (owner != null) {
+				owner.size += array.length;
+			}
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > elements.length) {
+				int newLength = Math.max(capacity, elements.length * 2);
+				elements = Arrays.copyOf(elements, newLength);
+			}
+		}
+
+		private void checkFrozen() {
+			if (owner != null) {
+				owner.checkFrozen();
+			}
+		}
+
+		private static void checkIndex(int index, int bound) {
+			if (index < 0 || index >= bound) {
+				throw new IndexOutOfBoundsException("Index: " + index);
+			}
+		}
+	}
+
+	/**
+	 * A live {@link Map} view of the multimap.
+	 */
+	private class MapView extends AbstractMap<K, List<V>> {
+		private final Set<Map.Entry<K, List<V>>> entrySet = new AbstractSet<Map.Entry<K, List<V>>>() {
+			@Override
+			public Iterator<Map.Entry<K, List<V>>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return keyCount;
+			}
+
+			@Override
+			public void clear() {
+				ListMultimap.this.clear();
+			}
+		};
+
+		@Override
+		public Set<Map.Entry<K, List<V>>> entrySet() {
+			return entrySet;
+		}
+
+		@Override
+		public int size() {
+			return keyCount;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return indexOf(key) >= 0;
+		}
+
+		@Override
+		public List<V> get(Object key) {
+			int slot = indexOf(key);
+			return (slot < 0) ? null : valuesAt(slot);
+		}
+
+		@Override
+		public List<V> put(K key, List<V> value) {
+			checkFrozen();
+			int slot = indexOf(key);
+			if (slot < 0) {
+				addKey(key, value.size()).addAll(value);
+				return null;
+			}
+
+			Values<V> values = valuesAt(slot);
+			List<V> previous = new ArrayList<V>(values);
+			values.replaceWith(value);
+			return previous;
+		}
+
+		@Override
+		public List<V> remove(Object key) {
+			checkFrozen();
+			int slot = indexOf(key);
+			return (slot < 0) ? null : removeKey(slot);
+		}
+
+		@Override
+		public void clear() {
+			ListMultimap.this.clear();
+		}
+	}
+
+	/**
+	 * Iterates over the keys in insertion order.
+	 */
+	private class EntryIterator implements Iterator<Map.Entry<K, List<V>>> {
+		private int next = 0;
+		private int last = -1;
+
+		//@Override
+		public boolean hasNext() {
+			return next < keyCount;
+		}
+
+		//@Override
+		public Map.Entry<K, List<V>> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			last = next++;
+			return new Entry(keyAt(last), valuesAt(last));
+		}
+
+		//@Override
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+
+			checkFrozen();
+			removeKey(last);
+			next = last;
+			last = -1;
+		}
+	}
+
+	/**
+	 * A key and its value list.
+	 */
+	private class Entry implements Map.Entry<K, List<V>> {
+		private final K key;
+		private final Values<V> values;
+
+		public Entry(K key, Values<V> values) {
+			this.key = key;
+			this.values = values;
+		}
+
+		//@Override
+		public K getKey() {
+			return key;
+		}
+
+		//@Override
+		public List<V> getValue() {
+			return values;
+		}
+
+		//@Override
+		public List<V> setValue(List<V> value) {
+			checkFrozen();
+			List<V> previous = new ArrayList<V>(values);
+			values.replaceWith(value);
+			return previous;
+		}
+
+		@Override
+		public int hashCode() {
+			return ((key == null) ? 0 : key.hashCode()) ^ values.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Map.Entry))
+				return false;
+
+			Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+			Object otherKey = other.getKey();
+			return (key == null ? otherKey == null : key.equals(otherKey)) && values.equals(other.getValue());
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + values;
+		}
 	}
-}
\ No newline at end of file
+}
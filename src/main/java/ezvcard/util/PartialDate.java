@@ -1,10 +1,6 @@
 package ezvcard.util;
 
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.util.Arrays;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -71,29 +67,10 @@ public final class PartialDate {
 	private static final int TIMEZONE_HOUR = 6;
 	private static final int TIMEZONE_MINUTE = 7;
 
-	//@formatter:off
-	private static final Format dateFormats[] = new Format[] {
-		new Format("(\\d{4})", YEAR),
-		new Format("(\\d{4})-(\\d{2})", YEAR, MONTH),
-		new Format("(\\d{4})-?(\\d{2})-?(\\d{2})", YEAR, MONTH, DATE),
-		new Format("--(\\d{2})-?(\\d{2})", MONTH, DATE),
-		new Format("--(\\d{2})", MONTH),
-		new Format("---(\\d{2})", DATE)
-	};
-	//@formatter:on
-
-	private static final String timezoneRegex = "(([-+]\\d{1,2}):?(\\d{2})?)?";
-
-	//@formatter:off
-	private static final Format timeFormats[] = new Format[] {
-		new Format("(\\d{2})" + timezoneRegex, HOUR, null, TIMEZONE_HOUR, TIMEZONE_MINUTE),
-		new Format("(\\d{2}):?(\\d{2})" + timezoneRegex, HOUR, MINUTE, null, TIMEZONE_HOUR, TIMEZONE_MINUTE),
-		new Format("(\\d{2}):?(\\d{2}):?(\\d{2})" + timezoneRegex, HOUR, MINUTE, SECOND, null, TIMEZONE_HOUR, TIMEZONE_MINUTE),
-		new Format("-(\\d{2}):?(\\d{2})" + timezoneRegex, MINUTE, SECOND, null, TIMEZONE_HOUR, TIMEZONE_MINUTE),
-		new Format("-(\\d{2})" + timezoneRegex, MINUTE, null, TIMEZONE_HOUR, TIMEZONE_MINUTE),
-		new Format("--(\\d{2})" + timezoneRegex, SECOND, null, TIMEZONE_HOUR, TIMEZONE_MINUTE)
-	};
-	//@formatter:on
+	/**
+	 * Caches the values of frequently-parsed strings, such as birthdays.
+	 */
+	private static final BoundedCache<String, PartialDate> cache = new BoundedCache<String, PartialDate>(1000);
 
 	private final Integer[] components;
 	private final UtcOffset offset;
@@ -127,43 +104,326 @@ public final class PartialDate {
 	/**
 	 * Parses a partial date from a string.
 	 * @param string the string (e.g. "--0420T15")
+	 * @return the parsed date
+	 * @throws IllegalArgumentException if the string cannot be parsed
 	 */
 	public static PartialDate parse(String string) {
+		PartialDate date = cache.get(string);
+		if (date != null) {
+			return date;
+		}
+
 		Builder builder = new Builder();
-		String split[] = string.split("T");
-		boolean success;
-		if (split.length == 1) {
+		int error;
+		int t = string.indexOf('T');
+		if (t < 0) {
 			//date or time
-			success = parseDate(string, builder) || parseTime(string, builder);
-		} else if (split[0].length() == 0) {
-			//time
-			success = parseTime(split[1], builder);
+			error = parseDate(string, t, builder);
+			if (error >= 0) {
+				int timeError = parseTime(string, 0, builder);
+				error = (timeError < 0) ? -1 : Math.max(error, timeError);
+			}
 		} else {
-			//date and time
-			success = parseDate(split[0], builder) && parseTime(split[1], builder);
+			//time, or date and time
+			error = (t == 0) ? -1 : parseDate(string, t, builder);
+			if (error < 0) {
+				error = parseTime(string, t + 1, builder);
+			}
 		}
 
-		if (!success) {
-			throw new IllegalArgumentException("Could not parse date: " + string);
+		if (error >= 0) {
+			throw new IllegalArgumentException("Could not parse date: " + string + " (unexpected character at index " + error + ")");
 		}
-		return builder.build();
+
+		date = builder.build();
+		cache.put(string, date);
+		return date;
 	}
 
-	private static boolean parseDate(String value, Builder builder) {
-		return parseFormats(value, builder, dateFormats);
+	/**
+	 * Parses the date component of a date string. The builder is only
+	 * modified if the date component is valid.
+	 * @param string the date string
+	 * @param end the index where the date component ends or -1 if it ends at
+	 * the end of the string
+	 * @param builder the builder to put the values in
+	 * @return the index of the character that could not be parsed or -1 if
+	 * the date component is valid
+	 */
+	private static int parseDate(String string, int end, Builder builder) {
+		if (end < 0) {
+			end = string.length();
+		}
+
+		int pos = 0, digits;
+		if (string.startsWith("--")) {
+			pos = 2;
+
+			//"---DD"
+			boolean date = (pos < end && string.charAt(pos) == '-');
+			if (date) {
+				pos++;
+			}
+
+			digits = digits(string, pos, end);
+			if (digits < 2) {
+				return pos + digits;
+			}
+			int first = value(string, pos, 2);
+			pos += 2;
+
+			if (date) {
+				if (pos != end) {
+					return pos;
+				}
+				builder.components[DATE] = first;
+				return -1;
+			}
+
+			//"--MM"
+			if (pos == end) {
+				builder.components[MONTH] = first;
+				return -1;
+			}
+
+			//"--MMDD" or "--MM-DD"
+			if (string.charAt(pos) == '-') {
+				pos++;
+			}
+			digits = digits(string, pos, end);
+			if (digits < 2) {
+				return pos + digits;
+			}
+			int second = value(string, pos, 2);
+			pos += 2;
+			if (pos != end) {
+				return pos;
+			}
+			builder.components[MONTH] = first;
+			builder.components[DATE] = second;
+			return -1;
+		}
+
+		//"YYYY"
+		digits = digits(string, pos, end);
+		if (digits < 4) {
+			return pos + digits;
+		}
+		int year = value(string, pos, 4);
+		pos += 4;
+		if (pos == end) {
+			builder.components[YEAR] = year;
+			return -1;
+		}
+
+		//"YYYY-MM"
+		boolean dash = (string.charAt(pos) == '-');
+		if (dash) {
+			pos++;
+		}
+		digits = digits(string, pos, end);
+		if (digits < 2) {
+			return pos + digits;
+		}
+		int month = value(string, pos, 2);
+		pos += 2;
+		if (pos == end) {
+			if (!dash) {
+				//"YYYYMM" is not allowed
+				return pos;
+			}
+			builder.components[YEAR] = year;
+			builder.components[MONTH] = month;
+			return -1;
+		}
+
+		//"YYYYMMDD" or "YYYY-MM-DD"
+		if (string.charAt(pos) == '-') {
+			pos++;
+		}
+		digits = digits(string, pos, end);
+		if (digits < 2) {
+			return pos + digits;
+		}
+		int date = value(string, pos, 2);
+		pos += 2;
+		if (pos != end) {
+			return pos;
+		}
+		builder.components[YEAR] = year;
+		builder.components[MONTH] = month;
+		builder.components[DATE] = date;
+		return -1;
 	}
 
-	private static boolean parseTime(String value, Builder builder) {
-		return parseFormats(value, builder, timeFormats);
+	/**
+	 * Parses the time component of a date string. The builder is only
+	 * modified if the time component is valid.
+	 * @param string the date string
+	 * @param pos the index where the time component starts
+	 * @param builder the builder to put the values in
+	 * @return the index of the character that could not be parsed or -1 if
+	 * the time component is valid
+	 */
+	private static int parseTime(String string, int pos, Builder builder) {
+		int end = string.length();
+		int hour = -1, minute = -1, second = -1, digits;
+		if (string.startsWith("--", pos)) {
+			//"--SS"
+			pos += 2;
+			digits = digits(string, pos, end);
+			if (digits < 2) {
+				return pos + digits;
+			}
+			second = value(string, pos, 2);
+			pos += 2;
+		} else {
+			//"HH" or "-MM"
+			boolean reduced = string.startsWith("-", pos);
+			if (reduced) {
+				pos++;
+			}
+			digits = digits(string, pos, end);
+			if (digits < 2) {
+				return pos + digits;
+			}
+			int first = value(string, pos, 2);
+			pos += 2;
+
+			//":MM" or ":SS" (the colon is optional)
+			int next = pos;
+			if (next < end && string.charAt(next) == ':') {
+				next++;
+			}
+			digits = digits(string, next, end);
+			int pair = -1;
+			if (digits >= 2) {
+				pair = value(string, next, 2);
+				pos = next + 2;
+			} else if (next != pos) {
+				return next + digits;
+			}
+
+			if (reduced) {
+				minute = first;
+				second = pair;
+			} else {
+				hour = first;
+				minute = pair;
+
+				//":SS"
+				if (minute >= 0) {
+					next = pos;
+					if (next < end && string.charAt(next) == ':') {
+						next++;
+					}
+					digits = digits(string, next, end);
+					if (digits >= 2) {
+						second = value(string, next, 2);
+						pos = next + 2;
+					} else if (next != pos) {
+						return next + digits;
+					}
+				}
+			}
+		}
+
+		//UTC offset
+		UtcOffset offset = null;
+		if (pos < end) {
+			char sign = string.charAt(pos);
+			if (sign != '-' && sign != '+') {
+				return pos;
+			}
+			pos++;
+
+			int offsetHour, offsetMinute;
+			digits = digits(string, pos, end);
+			if (pos + digits < end && string.charAt(pos + digits) == ':') {
+				//"+H:MM" or "+HH:MM" (minutes are optional)
+				if (digits < 1 || digits > 2) {
+					return pos + Math.min(digits, 2);
+				}
+				offsetHour = value(string, pos, digits);
+				pos += digits + 1;
+
+				digits = digits(string, pos, end);
+				if (pos == end) {
+					offsetMinute = 0;
+				} else if (digits >= 2) {
+					offsetMinute = value(string, pos, 2);
+					pos += 2;
+					if (pos != end) {
+						return pos;
+					}
+				} else {
+					return pos + digits;
+				}
+			} else {
+				//"+H", "+HH", "+HMM", or "+HHMM"
+				if (digits < 1) {
+					return pos;
+				}
+				if (digits > 4) {
+					return pos + 4;
+				}
+				if (pos + digits != end) {
+					return pos + digits;
+				}
+
+				int hourDigits = (digits == 1 || digits == 3) ? 1 : 2;
+				offsetHour = value(string, pos, hourDigits);
+				offsetMinute = (digits > 2) ? value(string, pos + hourDigits, 2) : 0;
+			}
+
+			offset = new UtcOffset(sign == '+', offsetHour, offsetMinute);
+		}
+
+		if (hour >= 0) {
+			builder.components[HOUR] = hour;
+		}
+		if (minute >= 0) {
+			builder.components[MINUTE] = minute;
+		}
+		if (second >= 0) {
+			builder.components[SECOND] = second;
+		}
+		builder.offset = offset;
+		return -1;
 	}
 
-	private static boolean parseFormats(String value, Builder builder, Format formats[]) {
-		for (Format regex : formats) {
-			if (regex.parse(builder, value)) {
-				return true;
+	/**
+	 * Counts the number of consecutive ASCII digits in a string.
+	 * @param string the string
+	 * @param pos the index to start counting at
+	 * @param end the index to stop counting at
+	 * @return the number of digits
+	 */
+	private static int digits(String string, int pos, int end) {
+		int count = 0;
+		while (pos + count < end) {
+			char c = string.charAt(pos + count);
+			if (c < '0' || c > '9') {
+				break;
 			}
+			count++;
 		}
-		return false;
+		return count;
+	}
+
+	/**
+	 * Parses a run of ASCII digits.
+	 * @param string the string
+	 * @param pos the index of the first digit
+	 * @param count the number of digits
+	 * @return the value
+	 */
+	private static int value(String string, int pos, int count) {
+		int value = 0;
+		for (int i = pos; i < pos + count; i++) {
+			value = value * 10 + (string.charAt(i) - '0');
+		}
+		return value;
 	}
 
 	/**
@@ -305,11 +565,10 @@ public final class PartialDate {
 	 */
 	public String toISO8601(boolean extended) {
 		StringBuilder sb = new StringBuilder();
-		NumberFormat nf = new DecimalFormat("00");
 
 		String yearStr = hasYear() ? getYear().toString() : null;
-		String monthStr = hasMonth() ? nf.format(getMonth()) : null;
-		String dateStr = hasDate() ? nf.format(getDate()) : null;
+		String monthStr = hasMonth() ? pad(getMonth()) : null;
+		String dateStr = hasDate() ? pad(getDate()) : null;
 
 		String dash = extended ? "-" : "";
 		if (hasYear() && !hasMonth() && !hasDate()) {
@@ -331,9 +590,9 @@ public final class PartialDate {
 		if (hasTimeComponent()) {
 			sb.append('T');
 
-			String hourStr = hasHour() ? nf.format(getHour()) : null;
-			String minuteStr = hasMinute() ? nf.format(getMinute()) : null;
-			String secondStr = hasSecond() ? nf.format(getSecond()) : null;
+			String hourStr = hasHour() ? pad(getHour()) : null;
+			String minuteStr = hasMinute() ? pad(getMinute()) : null;
+			String secondStr = hasSecond() ? pad(getSecond()) : null;
 
 			dash = extended ? ":" : "";
 			if (hasHour() && !hasMinute() && !hasSecond()) {
@@ -360,6 +619,15 @@ public final class PartialDate {
 		return sb.toString();
 	}
 
+	/**
+	 * Converts a date component to a zero-padded, two-digit string.
+	 * @param value the component value
+	 * @return the string
+	 */
+	private static String pad(Integer value) {
+		return (value >= 0 && value < 10) ? "0" + value : value.toString();
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -387,76 +655,6 @@ public final class PartialDate {
 		return toISO8601(true);
 	}
 
-	/**
-	 * Represents a string format that a partial date can be in.
-	 */
-	private static class Format {
-		private Pattern regex;
-		private Integer[] componentIndexes;
-
-		/**
-		 * @param regex the regular expression that describes the format
-		 * @param componentIndexes the indexes of the
-		 * {@link PartialDate#components} array to assign the value of each
-		 * regex group to, or -1 to ignore the group
-		 */
-		public Format(String regex, Integer... componentIndexes) {
-			this.regex = Pattern.compile('^' + regex + '$');
-			this.componentIndexes = componentIndexes;
-		}
-
-		/**
-		 * Tries to parse a given string.
-		 * @param components the date/time components array
-		 * @param value the string
-		 * @return true if the string was successfully parsed, false if not
-		 */
-		public boolean parse(Builder builder, String value) {
-			Matcher m = regex.matcher(value);
-			if (!m.find()) {
-				return false;
-			}
-
-			boolean offsetPositive = false;
-			Integer offsetHour = null, offsetMinute = null;
-			for (int i = 0; i < componentIndexes.length; i++) {
-				Integer index = componentIndexes[i];
-				if (index == null) {
-					continue;
-				}
-
-				int group = i + 1;
-				String groupStr = m.group(group);
-				if (groupStr != null) {
-					boolean startsWithPlus = groupStr.startsWith("+");
-					if (startsWithPlus) {
-						groupStr = groupStr.substring(1);
-					}
-
-					int component = Integer.valueOf(groupStr);
-					if (index == TIMEZONE_HOUR) {
-						offsetHour = component;
-						offsetPositive = startsWithPlus;
-						continue;
-					}
-					if (index == TIMEZONE_MINUTE) {
-						offsetMinute = component;
-						continue;
-					}
-					builder.components[index] = component;
-				}
-			}
-
-			if (offsetHour != null) {
-				if (offsetMinute == null) {
-					offsetMinute = 0;
-				}
-				builder.offset = new UtcOffset(offsetPositive, offsetHour, offsetMinute);
-			}
-			return true;
-		}
-	}
-
 	/**
 	 * Constructs instances of the {@link PartialDate} class.
 	 * @author Michael Angstadt
@@ -112,6 +112,163 @@ public class StringUtils {
 		return sb.toString();
 	}
 
+	/**
+	 * Finds the first occurrence of any of the given characters. Each
+	 * character is searched for using {@link String#indexOf(int, int)}, which
+	 * is much faster than comparing each character of the string one by one.
+	 * @param string the string to search
+	 * @param chars the characters to search for
+	 * @param fromIndex the index to start searching from
+	 * @return the index of the first occurrence or -1 if none of the
+	 * characters were found
+	 */
+	public static int indexOfAny(String string, String chars, int fromIndex) {
+		int first = -1;
+		for (int i = 0; i < chars.length(); i++) {
+			int index = string.indexOf(chars.charAt(i), fromIndex);
+			if (index >= 0 && (first < 0 || index < first)) {
+				first = index;
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * <p>
+	 * Replaces certain characters in a string with other strings. Newline
+	 * character sequences can be replaced too. The newline sequences are:
+	 * </p>
+	 * <ul>
+	 * <li>{@code \r\n}</li>
+	 * <li>{@code \r}</li>
+	 * <li>{@code \n}</li>
+	 * </ul>
+	 * <p>
+	 * For example, calling this method with {@code chars} equal to
+	 * {@code "\\;"} and {@code replacements} equal to
+	 * {@code { "\\\\", "\\;" }} will backslash-escape all backslashes and
+	 * semi-colons.
+	 * </p>
+	 * @param string the string
+	 * @param chars the characters to replace
+	 * @param replacements the replacement for each character in {@code chars}
+	 * @param newline what to replace newline sequences with or null to leave
+	 * them alone
+	 * @return the modified string or the original string object if nothing
+	 * had to be replaced
+	 */
+	public static String replace(String string, String chars, String[] replacements, String newline) {
+		return replace(string, chars, replacements, newline, null);
+	}
+
+	/**
+	 * Replaces certain characters in a string with other strings. This
+	 * method works the same as
+	 * {@link #replace(String, String, String[], String)}, but builds the
+	 * modified string in the given buffer, so that the same buffer can be
+	 * reused across calls.
+	 * @param string the string
+	 * @param chars the characters to replace
+	 * @param replacements the replacement for each character in {@code chars}
+	 * @param newline what to replace newline sequences with or null to leave
+	 * them alone
+	 * @param buffer the buffer to build the modified string in (it is cleared
+	 * before use) or null to create a new buffer if one is needed
+	 * @return the modified string or the original string object if nothing
+	 * had to be replaced
+	 */
+	public static String replace(String string, String chars, String[] replacements, String newline, StringBuilder buffer) {
+		if (!containsAny(string, chars, newline != null)) {
+			return string;
+		}
+
+		if (buffer == null) {
+			buffer = new StringBuilder(string.length() + 16);
+		} else {
+			buffer.setLength(0);
+		}
+		appendReplaced(string, chars, replacements, newline, buffer);
+		return buffer.toString();
+	}
+
+	/**
+	 * Appends a string to a buffer, replacing certain characters along the
+	 * way (see {@link #replace(String, String, String[], String)}). Runs of
+	 * characters that don't have to be replaced are copied in bulk.
+	 * @param string the string
+	 * @param chars the characters to replace
+	 * @param replacements the replacement for each character in {@code chars}
+	 * @param newline what to replace newline sequences with or null to leave
+	 * them alone
+	 * @param sb the buffer to append to
+	 * @return true if any characters were replaced, false if the string was
+	 * appended as-is
+	 */
+	public static boolean appendReplaced(String string, String chars, String[] replacements, String newline, StringBuilder sb) {
+		int charCount = chars.length();
+		int searchCount = (newline == null) ? charCount : charCount + 2;
+
+		/*
+		 * Keep track of where each character next appears, so that each
+		 * character only has to be searched for again once it has been passed.
+		 */
+		int next[] = new int[searchCount];
+		for (int i = 0; i < searchCount; i++) {
+			next[i] = string.indexOf(searchChar(chars, i), 0);
+		}
+
+		int pos = 0;
+		boolean replaced = false;
+		while (true) {
+			int found = -1, which = -1;
+			for (int i = 0; i < searchCount; i++) {
+				int index = next[i];
+				if (index >= 0 && (found < 0 || index < found)) {
+					found = index;
+					which = i;
+				}
+			}
+			if (found < 0) {
+				break;
+			}
+
+			sb.append(string, pos, found);
+			pos = found + 1;
+			if (which < charCount) {
+				sb.append(replacements[which]);
+			} else {
+				sb.append(newline);
+				if (string.charAt(found) == '\r' && pos < string.length() && string.charAt(pos) == '\n') {
+					pos++;
+				}
+			}
+			replaced = true;
+
+			for (int i = 0; i < searchCount; i++) {
+				if (next[i] >= 0 && next[i] < pos) {
+					next[i] = string.indexOf(searchChar(chars, i), pos);
+				}
+			}
+		}
+
+		sb.append(string, pos, string.length());
+		return replaced;
+	}
+
+	private static boolean containsAny(String string, String chars, boolean newlines) {
+		if (newlines && (string.indexOf('\n') >= 0 || string.indexOf('\r') >= 0)) {
+			return true;
+		}
+		return indexOfAny(string, chars, 0) >= 0;
+	}
+
+	private static char searchChar(String chars, int index) {
+		if (index < chars.length()) {
+			return chars.charAt(index);
+		}
+		return (index == chars.length()) ? '\r' : '\n';
+	}
+
 	/**
 	 * Joins a collection of values into a delimited list.
 	 * @param collection the collection of values
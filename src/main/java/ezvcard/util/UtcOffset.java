@@ -1,8 +1,6 @@
 package ezvcard.util;
 
 import java.util.TimeZone;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -66,23 +64,58 @@ public final class UtcOffset {
 	 * @throws IllegalArgumentException if the text cannot be parsed
 	 */
 	public static UtcOffset parse(String text) {
-		Pattern timeZoneRegex = Pattern.compile("^([-\\+])?(\\d{1,2})(:?(\\d{2}))?$");
-		Matcher m = timeZoneRegex.matcher(text);
-
-		if (!m.find()) {
+		UtcOffset offset = tryParse(text);
+		if (offset == null) {
 			throw new IllegalArgumentException("Offset string is not in ISO8610 format: " + text);
 		}
+		return offset;
+	}
+
+	/**
+	 * Parses a UTC offset from a string without throwing an exception if the
+	 * string is invalid. Useful when the string may also be something else,
+	 * such as a timezone ID.
+	 * @param text the text to parse (e.g. "-0500")
+	 * @return the parsed UTC offset or null if the text cannot be parsed
+	 */
+	public static UtcOffset tryParse(String text) {
+		int length = text.length();
+		int start = 0;
+		boolean positive = true;
+		if (length > 0) {
+			char sign = text.charAt(0);
+			if (sign == '+' || sign == '-') {
+				positive = (sign == '+');
+				start = 1;
+			}
+		}
 
-		String signStr = m.group(1);
-		boolean positive = !"-".equals(signStr);
+		//the hour is one or two digits, the minute is always two digits
+		int hourEnd, minuteStart;
+		int colon = text.indexOf(':', start);
+		if (colon < 0) {
+			hourEnd = (length - start <= 2) ? length : length - 2;
+			minuteStart = hourEnd;
+		} else {
+			if (length - colon != 3) {
+				return null;
+			}
+			hourEnd = colon;
+			minuteStart = colon + 1;
+		}
 
-		String hourStr = m.group(2);
-		int hourOffset = Integer.parseInt(hourStr);
+		int hourDigits = hourEnd - start;
+		if (hourDigits < 1 || hourDigits > 2) {
+			return null;
+		}
 
-		String minuteStr = m.group(4);
-		int minuteOffset = (minuteStr == null) ? 0 : Integer.parseInt(minuteStr);
+		int hour = number(text, start, hourEnd);
+		int minute = (minuteStart == length) ? 0 : number(text, minuteStart, length);
+		if (hour < 0 || minute < 0) {
+			return null;
+		}
 
-		return new UtcOffset(positive, hourOffset, minuteOffset);
+		return new UtcOffset(positive, hour, minute);
 	}
 
 	/**
@@ -120,29 +153,32 @@ public final class UtcOffset {
 	 * @return the ISO string representation
 	 */
 	public String toString(boolean extended) {
-		StringBuilder sb = new StringBuilder();
-
 		boolean positive = (millis >= 0);
 		long hour = Math.abs(millisToHours(millis));
 		long minute = Math.abs(millisToMinutes(millis));
 
-		sb.append(positive ? '+' : '-');
-
-		if (hour < 10) {
-			sb.append('0');
+		if (hour > 99) {
+			//too large to fit in the fixed-width format
+			StringBuilder sb = new StringBuilder();
+			sb.append(positive ? '+' : '-').append(hour);
+			if (extended) {
+				sb.append(':');
+			}
+			return sb.append((char) ('0' + minute / 10)).append((char) ('0' + minute % 10)).toString();
 		}
-		sb.append(hour);
 
+		char[] buf = new char[extended ? 6 : 5];
+		int i = 0;
+		buf[i++] = positive ? '+' : '-';
+		buf[i++] = (char) ('0' + hour / 10);
+		buf[i++] = (char) ('0' + hour % 10);
 		if (extended) {
-			sb.append(':');
+			buf[i++] = ':';
 		}
+		buf[i++] = (char) ('0' + minute / 10);
+		buf[i++] = (char) ('0' + minute % 10);
 
-		if (minute < 10) {
-			sb.append('0');
-		}
-		sb.append(minute);
-
-		return sb.toString();
+		return new String(buf);
 	}
 
 	@Override
@@ -163,6 +199,25 @@ public final class UtcOffset {
 		return true;
 	}
 
+	/**
+	 * Parses a run of ASCII digits.
+	 * @param text the text
+	 * @param start the start index
+	 * @param end the end index (exclusive)
+	 * @return the number or -1 if a non-digit character was encountered
+	 */
+	private static int number(String text, int start, int end) {
+		int value = 0;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
 	private static long hoursToMillis(long hours) {
 		return hours * 60 * 60 * 1000;
 	}
@@ -4,9 +4,9 @@ import java.text.DateFormat;
 import java.text.FieldPosition;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
-import java.util.regex.Pattern;
 
 /*
  Copyright (c) 2012-2015, Michael Angstadt
@@ -48,30 +48,22 @@ public enum VCardDateFormat {
 	/**
 	 * Example: 20120701
 	 */
-	DATE_BASIC(
-	"\\d{8}",
-	"yyyyMMdd"),
+	DATE_BASIC("yyyyMMdd"),
 	
 	/**
 	 * Example: 2012-07-01
 	 */
-	DATE_EXTENDED(
-	"\\d{4}-\\d{2}-\\d{2}",
-	"yyyy-MM-dd"),
+	DATE_EXTENDED("yyyy-MM-dd"),
 	
 	/**
 	 * Example: 20120701T142110-0500
 	 */
-	DATE_TIME_BASIC(
-	"\\d{8}T\\d{6}[-\\+]\\d{4}",
-	"yyyyMMdd'T'HHmmssZ"),
+	DATE_TIME_BASIC("yyyyMMdd'T'HHmmssZ"),
 	
 	/**
 	 * Example: 2012-07-01T14:21:10-05:00
 	 */
-	DATE_TIME_EXTENDED(
-	"\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}[-\\+]\\d{2}:\\d{2}",
-	"yyyy-MM-dd'T'HH:mm:ssZ"){
+	DATE_TIME_EXTENDED("yyyy-MM-dd'T'HH:mm:ssZ"){
 		@SuppressWarnings("serial")
 		@Override
 		public DateFormat getDateFormat(TimeZone timezone) {
@@ -108,13 +100,11 @@ public enum VCardDateFormat {
 	/**
 	 * Example: 20120701T192110Z
 	 */
-	UTC_DATE_TIME_BASIC(
-	"\\d{8}T\\d{6}Z",
-	"yyyyMMdd'T'HHmmss'Z'"){
+	UTC_DATE_TIME_BASIC("yyyyMMdd'T'HHmmss'Z'"){
 		@Override
 		public DateFormat getDateFormat(TimeZone timezone) {
 			//always use the UTC timezone
-			TimeZone utc = TimeZone.getTimeZone("UTC");
+			TimeZone utc = parseTimeZoneId("UTC");
 			return super.getDateFormat(utc);
 		}
 	},
@@ -122,13 +112,11 @@ public enum VCardDateFormat {
 	/**
 	 * Example: 2012-07-01T19:21:10Z
 	 */
-	UTC_DATE_TIME_EXTENDED(
-	"\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}Z",
-	"yyyy-MM-dd'T'HH:mm:ss'Z'"){
+	UTC_DATE_TIME_EXTENDED("yyyy-MM-dd'T'HH:mm:ss'Z'"){
 		@Override
 		public DateFormat getDateFormat(TimeZone timezone) {
 			//always use the UTC timezone
-			TimeZone utc = TimeZone.getTimeZone("UTC");
+			TimeZone utc = parseTimeZoneId("UTC");
 			return super.getDateFormat(utc);
 		}
 	},
@@ -136,9 +124,7 @@ public enum VCardDateFormat {
 	/**
 	 * Example: 2012-07-01T14:21:10-0500
 	 */
-	HCARD_DATE_TIME(
-	"\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}[-\\+]\\d{2}:?\\d{2}",
-	"yyyy-MM-dd'T'HH:mm:ssZ"){
+	HCARD_DATE_TIME("yyyy-MM-dd'T'HH:mm:ssZ"){
 		@SuppressWarnings("serial")
 		@Override
 		public DateFormat getDateFormat(TimeZone timezone) {
@@ -163,9 +149,33 @@ public enum VCardDateFormat {
 	//@formatter:on
 
 	/**
-	 * The regular expression pattern for the date format.
+	 * The indexes of the values that {@link #scan} extracts from a date
+	 * string.
 	 */
-	private final Pattern pattern;
+	private static final int YEAR = 0, MONTH = 1, DAY = 2, HOUR = 3, MINUTE = 4, SECOND = 5, OFFSET_SIGN = 6, OFFSET_HOUR = 7, OFFSET_MINUTE = 8;
+
+	private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+	/**
+	 * The time at which the Gregorian calendar went into effect (1582-10-15),
+	 * as defined by {@link java.util.GregorianCalendar}.
+	 */
+	private static final long GREGORIAN_CUTOVER = -12219292800000L;
+
+	/**
+	 * Caches the timezones that {@link #parseTimeZoneId} resolves.
+	 * {@link TimeZone#getTimeZone(String)} is synchronized in many JVMs, so
+	 * calling it for every TZ value causes lock contention when vCards are
+	 * parsed on multiple threads.
+	 */
+	private static final BoundedCache<String, TimeZone> timezoneCache = new BoundedCache<String, TimeZone>(1000);
+
+	/**
+	 * Caches the IDs that {@link #parseTimeZoneId} could not resolve. These
+	 * are kept apart from the resolved timezones so that input full of junk
+	 * IDs cannot push the real timezones out of the cache.
+	 */
+	private static final BoundedCache<String, Boolean> unknownTimezoneCache = new BoundedCache<String, Boolean>(100);
 
 	/**
 	 * The {@link SimpleDateFormat} format string used for parsing dates.
@@ -173,12 +183,10 @@ public enum VCardDateFormat {
 	protected final String formatStr;
 
 	/**
-	 * @param regex the regular expression for the date format
 	 * @param formatStr the {@link SimpleDateFormat} format string used for
 	 * parsing dates.
 	 */
-	private VCardDateFormat(String regex, String formatStr) {
-		pattern = Pattern.compile(regex);
+	private VCardDateFormat(String formatStr) {
 		this.formatStr = formatStr;
 	}
 
@@ -188,7 +196,10 @@ public enum VCardDateFormat {
 	 * @return true if it matches the date format, false if not
 	 */
 	public boolean matches(String dateStr) {
-		return pattern.matcher(dateStr).matches();
+		VCardDateFormat format = find(dateStr);
+
+		//the colon in the UTC offset is optional in the hCard format
+		return format == this || (this == HCARD_DATE_TIME && format == DATE_TIME_EXTENDED);
 	}
 
 	/**
@@ -232,8 +243,78 @@ public enum VCardDateFormat {
 	 * @return the date string
 	 */
 	public String format(Date date, TimeZone timezone) {
-		DateFormat df = getDateFormat(timezone);
-		return df.format(date);
+		boolean utc = (this == UTC_DATE_TIME_BASIC || this == UTC_DATE_TIME_EXTENDED);
+		int offset;
+		if (utc) {
+			offset = 0;
+		} else {
+			if (timezone == null) {
+				timezone = TimeZone.getDefault();
+			}
+			offset = timezone.getOffset(date.getTime());
+		}
+
+		long millis = date.getTime() + offset;
+		if (millis < GREGORIAN_CUTOVER) {
+			//let the Calendar class deal with the Julian calendar
+			return getDateFormat(timezone).format(date);
+		}
+
+		long days = millis / DAY_MILLIS;
+		int millisOfDay = (int) (millis % DAY_MILLIS);
+		if (millisOfDay < 0) {
+			days--;
+			millisOfDay += DAY_MILLIS;
+		}
+		int[] fields = new int[3];
+		fromDays(days, fields);
+
+		boolean extended = (this != DATE_BASIC && this != DATE_TIME_BASIC && this != UTC_DATE_TIME_BASIC);
+		StringBuilder sb = new StringBuilder(25);
+		sb.append(fields[YEAR]);
+		if (extended) {
+			sb.append('-');
+		}
+		pad(sb, fields[MONTH]);
+		if (extended) {
+			sb.append('-');
+		}
+		pad(sb, fields[DAY]);
+
+		if (this == DATE_BASIC || this == DATE_EXTENDED) {
+			return sb.toString();
+		}
+
+		int seconds = millisOfDay / 1000;
+		sb.append('T');
+		pad(sb, seconds / 3600);
+		if (extended) {
+			sb.append(':');
+		}
+		pad(sb, seconds / 60 % 60);
+		if (extended) {
+			sb.append(':');
+		}
+		pad(sb, seconds % 60);
+
+		if (utc) {
+			return sb.append('Z').toString();
+		}
+
+		int offsetMinutes = offset / 60000;
+		if (offsetMinutes < 0) {
+			sb.append('-');
+			offsetMinutes = -offsetMinutes;
+		} else {
+			sb.append('+');
+		}
+		pad(sb, offsetMinutes / 60);
+		if (this == DATE_TIME_EXTENDED) {
+			sb.append(':');
+		}
+		pad(sb, offsetMinutes % 60);
+
+		return sb.toString();
 	}
 
 	/**
@@ -242,12 +323,7 @@ public enum VCardDateFormat {
 	 * @return the ISO format (e.g. DATETIME_BASIC) or null if not found
 	 */
 	public static VCardDateFormat find(String dateStr) {
-		for (VCardDateFormat format : values()) {
-			if (format.matches(dateStr)) {
-				return format;
-			}
-		}
-		return null;
+		return scan(dateStr, new int[9]);
 	}
 
 	/**
@@ -259,19 +335,214 @@ public enum VCardDateFormat {
 	 */
 	public static Date parse(String dateStr) {
 		//determine which ISOFormat the date is in
-		VCardDateFormat format = find(dateStr);
+		int[] fields = new int[9];
+		VCardDateFormat format = scan(dateStr, fields);
 		if (format == null) {
 			throw parseException(dateStr);
 		}
 
-		//parse the date
-		DateFormat df = format.getDateFormat();
-		try {
-			return df.parse(dateStr);
-		} catch (ParseException e) {
-			//should never be thrown because the string is checked against a regex before being parsed
+		if (format == DATE_BASIC || format == DATE_EXTENDED) {
+			//dates without times are in the local timezone
+			Calendar c = Calendar.getInstance();
+			c.clear();
+			c.set(fields[YEAR], fields[MONTH] - 1, fields[DAY]);
+			return c.getTime();
+		}
+
+		if (fields[OFFSET_HOUR] > 23 || fields[OFFSET_MINUTE] > 59) {
 			throw parseException(dateStr);
 		}
+
+		if (fields[YEAR] < 1600) {
+			//let the Calendar class deal with the Julian calendar
+			DateFormat df = format.getDateFormat();
+			try {
+				return df.parse(dateStr);
+			} catch (ParseException e) {
+				throw parseException(dateStr);
+			}
+		}
+
+		//out-of-range values roll over into the next field, as SimpleDateFormat does
+		int year = fields[YEAR];
+		int month = fields[MONTH] - 1;
+		if (month < 0) {
+			year--;
+			month += 12;
+		} else {
+			year += month / 12;
+			month %= 12;
+		}
+
+		long millis = (toDays(year, month + 1, 1) + fields[DAY] - 1) * DAY_MILLIS;
+		millis += fields[HOUR] * 3600000L + fields[MINUTE] * 60000L + fields[SECOND] * 1000L;
+		millis -= fields[OFFSET_SIGN] * (fields[OFFSET_HOUR] * 60 + fields[OFFSET_MINUTE]) * 60000L;
+		return new Date(millis);
+	}
+
+	/**
+	 * Determines which format a date string is in, and extracts the values of
+	 * its fields, in a single pass.
+	 * @param str the date string
+	 * @param fields the array to put the field values in (indexed by
+	 * {@link #YEAR}, {@link #MONTH}, etc)
+	 * @return the format or null if the string is not in any of the formats
+	 */
+	private static VCardDateFormat scan(String str, int[] fields) {
+		int length = str.length();
+		if (length < 8) {
+			return null;
+		}
+
+		//date
+		boolean extended = (str.charAt(4) == '-');
+		int pos;
+		if (extended) {
+			if (length < 10 || str.charAt(7) != '-') {
+				return null;
+			}
+			fields[YEAR] = number(str, 0, 4);
+			fields[MONTH] = number(str, 5, 2);
+			fields[DAY] = number(str, 8, 2);
+			pos = 10;
+		} else {
+			fields[YEAR] = number(str, 0, 4);
+			fields[MONTH] = number(str, 4, 2);
+			fields[DAY] = number(str, 6, 2);
+			pos = 8;
+		}
+		if (fields[YEAR] < 0 || fields[MONTH] < 0 || fields[DAY] < 0) {
+			return null;
+		}
+		if (pos == length) {
+			return extended ? DATE_EXTENDED : DATE_BASIC;
+		}
+
+		//time
+		if (str.charAt(pos) != 'T') {
+			return null;
+		}
+		pos++;
+		if (extended) {
+			if (length < pos + 9 || str.charAt(pos + 2) != ':' || str.charAt(pos + 5) != ':') {
+				return null;
+			}
+			fields[HOUR] = number(str, pos, 2);
+			fields[MINUTE] = number(str, pos + 3, 2);
+			fields[SECOND] = number(str, pos + 6, 2);
+			pos += 8;
+		} else {
+			if (length < pos + 7) {
+				return null;
+			}
+			fields[HOUR] = number(str, pos, 2);
+			fields[MINUTE] = number(str, pos + 2, 2);
+			fields[SECOND] = number(str, pos + 4, 2);
+			pos += 6;
+		}
+		if (fields[HOUR] < 0 || fields[MINUTE] < 0 || fields[SECOND] < 0) {
+			return null;
+		}
+
+		//UTC offset
+		char sign = str.charAt(pos);
+		if (sign == 'Z') {
+			if (pos + 1 != length) {
+				return null;
+			}
+			fields[OFFSET_SIGN] = 1;
+			fields[OFFSET_HOUR] = 0;
+			fields[OFFSET_MINUTE] = 0;
+			return extended ? UTC_DATE_TIME_EXTENDED : UTC_DATE_TIME_BASIC;
+		}
+		if (sign != '+' && sign != '-') {
+			return null;
+		}
+		pos++;
+
+		boolean colon = extended && length == pos + 5 && str.charAt(pos + 2) == ':';
+		if (length != pos + (colon ? 5 : 4)) {
+			return null;
+		}
+		fields[OFFSET_SIGN] = (sign == '-') ? -1 : 1;
+		fields[OFFSET_HOUR] = number(str, pos, 2);
+		fields[OFFSET_MINUTE] = number(str, pos + (colon ? 3 : 2), 2);
+		if (fields[OFFSET_HOUR] < 0 || fields[OFFSET_MINUTE] < 0) {
+			return null;
+		}
+
+		if (!extended) {
+			return DATE_TIME_BASIC;
+		}
+		return colon ? DATE_TIME_EXTENDED : HCARD_DATE_TIME;
+	}
+
+	/**
+	 * Parses a string of ASCII digits.
+	 * @param str the string
+	 * @param start the index of the first digit
+	 * @param count the number of digits
+	 * @return the number or -1 if one of the characters is not a digit
+	 */
+	private static int number(String str, int start, int count) {
+		int value = 0;
+		for (int i = start; i < start + count; i++) {
+			char c = str.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
+	/**
+	 * Appends a two-digit, zero-padded number to a string.
+	 * @param sb the string
+	 * @param value the number (0-99)
+	 */
+	private static void pad(StringBuilder sb, int value) {
+		sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+	}
+
+	/**
+	 * Calculates the number of days between the epoch and a date in the
+	 * Gregorian calendar.
+	 * @param year the year
+	 * @param month the month (1-12)
+	 * @param day the day of the month (1-31)
+	 * @return the number of days since 1970-01-01
+	 */
+	private static long toDays(int year, int month, int day) {
+		//see: http://howardhinnant.github.io/date_algorithms.html
+		if (month <= 2) {
+			year--;
+		}
+		int era = (year >= 0 ? year : year - 399) / 400;
+		int yearOfEra = year - era * 400;
+		int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+		int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097L + dayOfEra - 719468;
+	}
+
+	/**
+	 * Calculates the Gregorian calendar date that is a given number of days
+	 * from the epoch.
+	 * @param days the number of days since 1970-01-01
+	 * @param fields the array to put the year, month (1-12), and day in
+	 */
+	private static void fromDays(long days, int[] fields) {
+		days += 719468;
+		long era = (days >= 0 ? days : days - 146096) / 146097;
+		int dayOfEra = (int) (days - era * 146097);
+		int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		int mp = (5 * dayOfYear + 2) / 153;
+		int month = mp < 10 ? mp + 3 : mp - 9;
+
+		fields[YEAR] = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+		fields[MONTH] = month;
+		fields[DAY] = dayOfYear - (153 * mp + 2) / 5 + 1;
 	}
 
 	/**
@@ -290,7 +561,31 @@ public enum VCardDateFormat {
 	 * @return true if it has a timezone, false if not
 	 */
 	public static boolean dateHasTimezone(String dateStr) {
-		return dateStr.endsWith("Z") || dateStr.matches(".*?[-+]\\d\\d:?\\d\\d");
+		int length = dateStr.length();
+		if (length > 0 && dateStr.charAt(length - 1) == 'Z') {
+			return true;
+		}
+
+		//check for a UTC offset (e.g. "-0400" or "-04:00")
+		int pos = length - 3;
+		if (pos >= 0 && dateStr.charAt(pos) == ':') {
+			pos--;
+		}
+		pos -= 2;
+		if (pos < 0) {
+			return false;
+		}
+
+		char sign = dateStr.charAt(pos);
+		if (sign != '-' && sign != '+') {
+			return false;
+		}
+		if (number(dateStr, pos + 1, 2) < 0 || number(dateStr, length - 2, 2) < 0) {
+			return false;
+		}
+
+		//"+01:00" and "+0100" are the only options
+		return length - pos == 5 || length - pos == 6;
 	}
 
 	/**
@@ -299,8 +594,23 @@ public enum VCardDateFormat {
 	 * @return the timezone object or null if not found
 	 */
 	public static TimeZone parseTimeZoneId(String timezoneId) {
-		TimeZone timezone = TimeZone.getTimeZone(timezoneId);
-		return "GMT".equals(timezone.getID()) ? null : timezone;
+		TimeZone timezone = timezoneCache.get(timezoneId);
+		if (timezone == null) {
+			if (unknownTimezoneCache.get(timezoneId) != null) {
+				return null;
+			}
+
+			timezone = TimeZone.getTimeZone(timezoneId);
+			if ("GMT".equals(timezone.getID())) {
+				//getTimeZone() returns GMT if the ID is not recognized
+				unknownTimezoneCache.put(timezoneId, Boolean.TRUE);
+				return null;
+			}
+			timezoneCache.put(timezoneId, timezone);
+		}
+
+		//TimeZone objects are mutable, so never hand out the cached instance
+		return (TimeZone) timezone.clone();
 	}
 
 	private static IllegalArgumentException parseException(String dateStr) {
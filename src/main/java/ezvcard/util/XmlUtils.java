@@ -20,6 +20,8 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
 import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamResult;
 
 import org.w3c.dom.Document;
@@ -59,23 +61,181 @@ import org.xml.sax.SAXException;
  */
 
 /**
+ * <p>
  * Generic XML utility methods.
+ * </p>
+ * <p>
+ * The JAXP factories that this class uses are looked up once and then cached,
+ * since calling {@code newInstance()} on a JAXP factory class involves a
+ * (potentially slow) service provider lookup. {@link DocumentBuilder} and
+ * {@link Transformer} instances are in turn cached on a per-thread basis.
+ * Pre-configured factories can be injected using the
+ * {@link #setDocumentBuilderFactory} and {@link #setTransformerFactory}
+ * methods.
+ * </p>
  * @author Michael Angstadt
  */
 public class XmlUtils {
+	private static volatile DocumentBuilderFactory documentBuilderFactory;
+	private static volatile TransformerFactory transformerFactory;
+
+	private static final ThreadLocal<Cached<DocumentBuilderFactory, DocumentBuilder>> documentBuilders = new ThreadLocal<Cached<DocumentBuilderFactory, DocumentBuilder>>();
+	private static final ThreadLocal<Cached<TransformerFactory, Transformer>> transformers = new ThreadLocal<Cached<TransformerFactory, Transformer>>();
+
 	/**
-	 * Creates a new XML document.
-	 * @return the XML document
+	 * Gets the factory that is used to create {@link DocumentBuilder} objects.
+	 * @return the factory
 	 */
-	public static Document createDocument() {
+	public static DocumentBuilderFactory getDocumentBuilderFactory() {
+		DocumentBuilderFactory factory = documentBuilderFactory;
+		if (factory == null) {
+			synchronized (XmlUtils.class) {
+				factory = documentBuilderFactory;
+				if (factory == null) {
+					factory = DocumentBuilderFactory.newInstance();
+					factory.setNamespaceAware(true);
+					factory.setIgnoringComments(true);
+					documentBuilderFactory = factory;
+				}
+			}
+		}
+		return factory;
+	}
+
+	/**
+	 * Sets the factory that is used to create {@link DocumentBuilder} objects.
+	 * The factory must be namespace-aware.
+	 * @param factory the factory or null to use the default factory
+	 */
+	public static void setDocumentBuilderFactory(DocumentBuilderFactory factory) {
+		documentBuilderFactory = factory;
+	}
+
+	/**
+	 * Gets the factory that is used to create {@link Transformer} objects.
+	 * @return the factory
+	 */
+	public static TransformerFactory getTransformerFactory() {
+		TransformerFactory factory = transformerFactory;
+		if (factory == null) {
+			synchronized (XmlUtils.class) {
+				factory = transformerFactory;
+				if (factory == null) {
+					try {
+						factory = TransformerFactory.newInstance();
+					} catch (TransformerFactoryConfigurationError e) {
+						//no complex configurations
+						throw new RuntimeException(e);
+					}
+					transformerFactory = factory;
+				}
+			}
+		}
+		return factory;
+	}
+
+	/**
+	 * Sets the factory that is used to create {@link Transformer} objects. The
+	 * factory should be a {@link SAXTransformerFactory} in order to be used
+	 * with the xCard streaming writer.
+	 * @param factory the factory or null to use the default factory
+	 */
+	public static void setTransformerFactory(TransformerFactory factory) {
+		transformerFactory = factory;
+	}
+
+	/**
+	 * Creates a new identity {@link Transformer} object. Use this method when
+	 * the transformer needs to be used outside of the current thread or needs
+	 * to be held onto.
+	 * @return the transformer
+	 */
+	public static Transformer createTransformer() {
+		TransformerFactory factory = getTransformerFactory();
+		try {
+			//JAXP factories are not guaranteed to be thread-safe
+			synchronized (factory) {
+				return factory.newTransformer();
+			}
+		} catch (TransformerConfigurationException e) {
+			//no complex configurations
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Creates a new SAX {@link TransformerHandler} object.
+	 * @return the transformer handler
+	 * @throws IllegalStateException if the transformer factory does not
+	 * support SAX
+	 */
+	public static TransformerHandler createTransformerHandler() {
+		TransformerFactory factory = getTransformerFactory();
+		if (!(factory instanceof SAXTransformerFactory)) {
+			throw new IllegalStateException("Transformer factory does not support SAX: " + factory.getClass().getName());
+		}
+
+		try {
+			synchronized (factory) {
+				return ((SAXTransformerFactory) factory).newTransformerHandler();
+			}
+		} catch (TransformerConfigurationException e) {
+			//no complex configurations
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Gets the current thread's {@link DocumentBuilder} object, creating it if
+	 * necessary.
+	 * @return the document builder
+	 */
+	private static DocumentBuilder documentBuilder() {
+		DocumentBuilderFactory factory = getDocumentBuilderFactory();
+		Cached<DocumentBuilderFactory, DocumentBuilder> cached = documentBuilders.get();
+		if (cached != null && cached.factory == factory) {
+			cached.instance.reset();
+			return cached.instance;
+		}
+
+		DocumentBuilder builder;
 		try {
-			DocumentBuilderFactory fact = DocumentBuilderFactory.newInstance();
-			DocumentBuilder db = fact.newDocumentBuilder();
-			return db.newDocument();
+			synchronized (factory) {
+				builder = factory.newDocumentBuilder();
+			}
 		} catch (ParserConfigurationException e) {
 			//will probably never be thrown because we're not doing anything fancy with the configuration
 			throw new RuntimeException(e);
 		}
+
+		documentBuilders.set(new Cached<DocumentBuilderFactory, DocumentBuilder>(factory, builder));
+		return builder;
+	}
+
+	/**
+	 * Gets the current thread's identity {@link Transformer} object, creating
+	 * it if necessary.
+	 * @return the transformer
+	 */
+	private static Transformer transformer() {
+		TransformerFactory factory = getTransformerFactory();
+		Cached<TransformerFactory, Transformer> cached = transformers.get();
+		if (cached != null && cached.factory == factory) {
+			cached.instance.reset();
+			return cached.instance;
+		}
+
+		Transformer transformer = createTransformer();
+		transformers.set(new Cached<TransformerFactory, Transformer>(factory, transformer));
+		return transformer;
+	}
+
+	/**
+	 * Creates a new XML document.
+	 * @return the XML document
+	 */
+	public static Document createDocument() {
+		return documentBuilder().newDocument();
 	}
 
 	/**
@@ -128,19 +288,7 @@ public class XmlUtils {
 	}
 
 	private static Document toDocument(InputSource in) throws SAXException, IOException {
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		factory.setNamespaceAware(true);
-		factory.setIgnoringComments(true);
-
-		DocumentBuilder builder;
-		try {
-			builder = factory.newDocumentBuilder();
-		} catch (ParserConfigurationException e) {
-			//will probably never be thrown because we're not doing anything fancy with the configuration
-			throw new RuntimeException(e);
-		}
-
-		return builder.parse(in);
+		return documentBuilder().parse(in);
 	}
 
 	/**
@@ -187,16 +335,7 @@ public class XmlUtils {
 	 * @throws TransformerException if there's a problem writing to the writer
 	 */
 	public static void toWriter(Node node, Writer writer, Map<String, String> outputProperties) throws TransformerException {
-		Transformer transformer;
-		try {
-			transformer = TransformerFactory.newInstance().newTransformer();
-		} catch (TransformerConfigurationException e) {
-			//no complex configurations
-			throw new RuntimeException(e);
-		} catch (TransformerFactoryConfigurationError e) {
-			//no complex configurations
-			throw new RuntimeException(e);
-		}
+		Transformer transformer = transformer();
 
 		for (Map.Entry<String, String> property : outputProperties.entrySet()) {
 			try {
@@ -261,6 +400,20 @@ public class XmlUtils {
 		return null;
 	}
 
+	/**
+	 * Holds a JAXP object along with the factory that created it, so that the
+	 * object can be discarded if the factory is replaced.
+	 */
+	private static class Cached<F, T> {
+		private final F factory;
+		private final T instance;
+
+		public Cached(F factory, T instance) {
+			this.factory = factory;
+			this.instance = instance;
+		}
+	}
+
 	private XmlUtils() {
 		//hide
 	}
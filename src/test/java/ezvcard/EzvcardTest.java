@@ -10,6 +10,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileWriter;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -18,6 +19,7 @@ import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathFactory;
 
+import org.custommonkey.xmlunit.XMLUnit;
 import org.jsoup.Jsoup;
 import org.junit.Test;
 import org.w3c.dom.Document;
@@ -465,6 +467,39 @@ public class EzvcardTest {
 		assertTrue(xml.contains("<fn><text>John Doe</text></fn>"));
 	}
 
+	@Test
+	public void writeXml_go_writer() throws Exception {
+		VCard vcard1 = new VCard();
+		vcard1.setFormattedName("John Doe");
+		VCard vcard2 = new VCard();
+		vcard2.setFormattedName("Jane Doe");
+
+		StringWriter sw = new StringWriter();
+		Ezvcard.writeXml(vcard1, vcard2).prodId(false).indent(2).go(sw);
+
+		//@formatter:off
+		String xml =
+		"<vcards xmlns=\"" + VCardVersion.V4_0.getXmlNamespace() + "\">" +
+			"<vcard>" +
+				"<fn><text>John Doe</text></fn>" +
+			"</vcard>" +
+			"<vcard>" +
+				"<fn><text>Jane Doe</text></fn>" +
+			"</vcard>" +
+		"</vcards>";
+		Document expected = XmlUtils.toDocument(xml);
+		//@formatter:on
+
+		String actual = sw.toString();
+		assertTrue(actual.contains("\n  <vcard>"));
+		XMLUnit.setIgnoreWhitespace(true);
+		try {
+			assertXMLEqual(expected, XmlUtils.toDocument(actual));
+		} finally {
+			XMLUnit.setIgnoreWhitespace(false);
+		}
+	}
+
 	@Test
 	public void writeXml_dom() throws Exception {
 		VCard vcard = new VCard();
@@ -2,18 +2,28 @@ package ezvcard;
 
 import static ezvcard.util.TestUtils.assertValidate;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 
 import org.junit.Test;
 
+import ezvcard.parameter.ImageType;
 import ezvcard.property.HasAltId;
 import ezvcard.property.Note;
+import ezvcard.property.Photo;
 import ezvcard.property.RawProperty;
 import ezvcard.property.Revision;
 import ezvcard.property.StructuredName;
@@ -104,6 +114,336 @@ public class VCardTest {
 		assertEquals(Arrays.asList(type), vcard.getProperties(type.getClass()));
 	}
 
+	@Test
+	public void properties_in_insertion_order() {
+		VCard vcard = new VCard();
+		Note note1 = vcard.addNote("one");
+		Revision rev = Revision.now();
+		vcard.setRevision(rev);
+		Note note2 = vcard.addNote("two");
+
+		List<VCardProperty> actual = new ArrayList<VCardProperty>();
+		for (VCardProperty property : vcard) {
+			actual.add(property);
+		}
+		assertEquals(Arrays.asList(note1, rev, note2), actual);
+		assertEquals(Arrays.asList(note1, rev, note2), new ArrayList<VCardProperty>(vcard.getProperties()));
+	}
+
+	@Test
+	public void getProperties_view() {
+		VCard vcard = new VCard();
+		List<Note> notes = vcard.getNotes();
+		Collection<VCardProperty> all = vcard.getProperties();
+		assertTrue(notes.isEmpty());
+
+		Note note = vcard.addNote("one");
+		assertEquals(Arrays.asList(note), notes);
+		assertEquals(1, all.size());
+
+		vcard.removeProperty(note);
+		assertTrue(notes.isEmpty());
+		assertTrue(all.isEmpty());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void getProperties_read_only() {
+		VCard vcard = new VCard();
+		vcard.getNotes().add(new Note("one"));
+	}
+
+	@Test
+	public void setProperty() {
+		VCard vcard = new VCard();
+		vcard.addNote("one");
+		Revision rev = Revision.now();
+		vcard.setRevision(rev);
+		vcard.addNote("two");
+
+		Note note = new Note("three");
+		vcard.setProperty(Note.class, note);
+		assertEquals(Arrays.asList(note), vcard.getNotes());
+		assertEquals(Arrays.asList(rev, note), new ArrayList<VCardProperty>(vcard.getProperties()));
+
+		vcard.setProperty(Note.class, null);
+		assertTrue(vcard.getNotes().isEmpty());
+		assertEquals(Arrays.asList(rev), new ArrayList<VCardProperty>(vcard.getProperties()));
+	}
+
+	@Test
+	public void iterator_remove() {
+		VCard vcard = new VCard();
+		vcard.addNote("one");
+		Revision rev = Revision.now();
+		vcard.setRevision(rev);
+		vcard.addNote("two");
+
+		Iterator<VCardProperty> it = vcard.iterator();
+		while (it.hasNext()) {
+			if (it.next() instanceof Note) {
+				it.remove();
+			}
+		}
+
+		assertTrue(vcard.getNotes().isEmpty());
+		assertSame(rev, vcard.getRevision());
+		assertEquals(1, vcard.getProperties().size());
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void iterator_concurrent_modification() {
+		VCard vcard = new VCard();
+		vcard.addNote("one");
+		vcard.addNote("two");
+		vcard.addNote("three");
+
+		for (VCardProperty property : vcard) {
+			vcard.removeProperty(property);
+		}
+	}
+
+	@Test
+	public void concurrent_modification_of_views() {
+		VCard vcard = new VCard();
+		vcard.addNote("one");
+		vcard.addNote("two");
+		vcard.setRevision(Revision.now());
+
+		try {
+			for (Note note : vcard.getNotes()) {
+				vcard.removeProperty(note);
+			}
+			fail();
+		} catch (ConcurrentModificationException e) {
+			//expected
+		}
+		assertEquals(1, vcard.getNotes().size());
+
+		try {
+			for (VCardProperty property : vcard.getProperties()) {
+				vcard.removeProperty(property);
+			}
+			fail();
+		} catch (ConcurrentModificationException e) {
+			//expected
+		}
+		assertEquals(1, vcard.getProperties().size());
+
+		try {
+			for (VCardProperty property : vcard) {
+				vcard.removeProperty(property);
+			}
+			fail();
+		} catch (ConcurrentModificationException e) {
+			//expected
+		}
+		assertTrue(vcard.getProperties().isEmpty());
+
+		vcard.addNote("one");
+		ListIterator<Note> it = vcard.getNotes().listIterator();
+		it.next();
+		vcard.addNote("two");
+		try {
+			it.previous();
+			fail();
+		} catch (ConcurrentModificationException e) {
+			//expected
+		}
+	}
+
+	@Test
+	public void modify_copy_of_view() {
+		VCard vcard = new VCard();
+		vcard.addNote("one");
+		vcard.addNote("two");
+		Revision rev = Revision.now();
+		vcard.setRevision(rev);
+
+		for (Note note : new ArrayList<Note>(vcard.getNotes())) {
+			vcard.removeProperty(note);
+		}
+		assertTrue(vcard.getNotes().isEmpty());
+		assertEquals(Arrays.asList(rev), new ArrayList<VCardProperty>(vcard.getProperties()));
+
+		for (VCardProperty property : new ArrayList<VCardProperty>(vcard.getProperties())) {
+			vcard.removeProperty(property);
+		}
+		assertTrue(vcard.getProperties().isEmpty());
+	}
+
+	@Test
+	public void freeze() {
+		VCard vcard = new VCard();
+		Note note = vcard.addNote("one");
+		StructuredName n = new StructuredName();
+		n.addAdditional("Joe");
+		vcard.setStructuredName(n);
+
+		assertSame(vcard, vcard.freeze());
+		assertTrue(vcard.isFrozen());
+		assertTrue(note.isFrozen());
+		assertTrue(n.isFrozen());
+
+		try {
+			vcard.addNote("two");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		try {
+			vcard.setVersion(VCardVersion.V4_0);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		try {
+			note.setValue("two");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		try {
+			n.getAdditional().add("Bob");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		Iterator<VCardProperty> it = vcard.iterator();
+		it.next();
+		try {
+			it.remove();
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		assertEquals(Arrays.asList(note), vcard.getNotes());
+		assertEquals("one", note.getValue());
+		assertEquals(Arrays.asList("Joe"), n.getAdditional());
+	}
+
+	@Test
+	public void toBuilder() {
+		VCard vcard = new VCard();
+		Note note = vcard.addNote("one");
+		Revision rev = Revision.now();
+		vcard.setRevision(rev);
+		vcard.freeze();
+
+		VCard builder = vcard.toBuilder();
+		assertFalse(builder.isFrozen());
+		assertEquals(vcard.getVersion(), builder.getVersion());
+		assertSame(note, builder.getNotes().get(0));
+
+		Note note2 = builder.addNote("two");
+		builder.removeProperty(rev);
+		builder.setVersion(VCardVersion.V4_0);
+
+		assertEquals(Arrays.asList(note, note2), builder.getNotes());
+		assertNull(builder.getRevision());
+
+		//original is unchanged
+		assertEquals(Arrays.asList(note), vcard.getNotes());
+		assertSame(rev, vcard.getRevision());
+		assertEquals(Arrays.asList(note, rev), new ArrayList<VCardProperty>(vcard.getProperties()));
+		assertEquals(VCardVersion.V3_0, vcard.getVersion());
+	}
+
+	@Test
+	public void toBuilder_not_frozen() {
+		VCard vcard = new VCard();
+		Note note = vcard.addNote("one");
+
+		VCard builder = vcard.toBuilder();
+		Note copy = builder.getNotes().get(0);
+		assertNotSame(note, copy);
+		assertEquals("one", copy.getValue());
+
+		//the properties are not shared
+		copy.setValue("changed");
+		assertEquals("one", note.getValue());
+
+		builder.removeProperty(copy);
+		vcard.addNote("two");
+
+		assertEquals(2, vcard.getNotes().size());
+		assertTrue(builder.getNotes().isEmpty());
+		assertFalse(note.isFrozen());
+	}
+
+	@Test
+	public void copy() {
+		VCard original = new VCard();
+		original.setVersion(VCardVersion.V4_0);
+		Note note = original.addNote("one");
+		note.setGroup("group");
+		note.setLanguage("en");
+		StructuredName n = new StructuredName();
+		n.setFamily("Doe");
+		n.addAdditional("Joe");
+		original.setStructuredName(n);
+		Revision rev = new Revision(new Date(1000));
+		original.setRevision(rev);
+		byte[] data = "data".getBytes();
+		Photo photo = new Photo(data, ImageType.JPEG);
+		original.addPhoto(photo);
+		RawProperty raw = original.addExtendedProperty("X-FOO", "bar");
+		original.freeze();
+
+		VCard copy = new VCard(original);
+		assertFalse(copy.isFrozen());
+		assertEquals(VCardVersion.V4_0, copy.getVersion());
+		assertEquals(original.getProperties().size(), copy.getProperties().size());
+
+		Note noteCopy = copy.getNotes().get(0);
+		assertNotSame(note, noteCopy);
+		assertEquals("one", noteCopy.getValue());
+		assertEquals("group", noteCopy.getGroup());
+		assertEquals("en", noteCopy.getLanguage());
+		noteCopy.setValue("two");
+		noteCopy.setLanguage("fr");
+		assertEquals("one", note.getValue());
+		assertEquals("en", note.getLanguage());
+
+		StructuredName nCopy = copy.getStructuredName();
+		assertNotSame(n, nCopy);
+		assertEquals("Doe", nCopy.getFamily());
+		nCopy.addAdditional("Bob");
+		assertEquals(Arrays.asList("Joe"), n.getAdditional());
+
+		Revision revCopy = copy.getRevision();
+		assertEquals(rev.getValue(), revCopy.getValue());
+		assertNotSame(rev.getValue(), revCopy.getValue());
+
+		//binary data is shared
+		Photo photoCopy = copy.getPhotos().get(0);
+		assertNotSame(photo, photoCopy);
+		assertSame(data, photoCopy.getData());
+		assertEquals(ImageType.JPEG, photoCopy.getContentType());
+
+		RawProperty rawCopy = copy.getExtendedProperty("X-FOO");
+		assertNotSame(raw, rawCopy);
+		assertEquals("bar", rawCopy.getValue());
+
+		//order is preserved
+		List<VCardProperty> originalProperties = new ArrayList<VCardProperty>(original.getProperties());
+		List<VCardProperty> copyProperties = new ArrayList<VCardProperty>(copy.getProperties());
+		for (int i = 0; i < originalProperties.size(); i++) {
+			assertEquals(originalProperties.get(i).getClass(), copyProperties.get(i).getClass());
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void copy_no_copy_constructor() {
+		VCard vcard = new VCard();
+		vcard.addProperty(new VCardPropertyImpl());
+		new VCard(vcard);
+	}
+
 	@Test
 	public void addTypeAlt() {
 		VCard vcard = new VCard();
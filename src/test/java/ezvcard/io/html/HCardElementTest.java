@@ -276,6 +276,70 @@ public class HCardElementTest {
 		assertTrue(element.allValues("non-existant").isEmpty());
 	}
 
+	@Test
+	public void allValues_case_insensitive() {
+		//@formatter:off
+		String html =
+		"<div class=\"n\">" +
+			"<span class=\"Additional-Name\">Smith</span>" +
+			"<span class=\"additional-name ADDITIONAL-NAME\">Barney</span>" +
+		"</div>";
+		//@formatter:on
+
+		HCardElement element = build(html);
+
+		assertEquals(Arrays.asList("Smith", "Barney"), element.allValues("additional-name"));
+		assertEquals(Arrays.asList("Smith", "Barney"), element.allValues("ADDITIONAL-NAME"));
+	}
+
+	@Test
+	public void allValues_includes_self() {
+		HCardElement element = build("<div class=\"fn\">John Doe</div>");
+		assertEquals(Arrays.asList("John Doe"), element.allValues("fn"));
+	}
+
+	@Test
+	public void allValues_shared_index() {
+		//@formatter:off
+		String html =
+		"<div class=\"vcard\">" +
+			"<div class=\"n\">" +
+				"<span class=\"given-name\">John</span>" +
+				"<span class=\"additional-name\">Smith</span>" +
+			"</div>" +
+			"<span class=\"additional-name\">Barney</span>" +
+			"<div class=\"agent vcard\">" +
+				"<div class=\"n\">" +
+					"<span class=\"additional-name\">Jane</span>" +
+				"</div>" +
+			"</div>" +
+		"</div>";
+		//@formatter:on
+
+		Element root = HtmlUtils.toElement(html);
+		HCardClassIndex classIndex = new HCardClassIndex(root);
+
+		Element n = root.child(0);
+		HCardElement element = new HCardElement(n, classIndex);
+		assertEquals("John", element.firstValue("given-name"));
+		assertEquals(Arrays.asList("Smith"), element.allValues("additional-name"));
+		assertTrue(element.allValues("vcard").isEmpty());
+
+		//nested vCard subtrees are not indexed, so they are searched directly
+		Element agent = root.child(2);
+		element = new HCardElement(agent, classIndex);
+		assertEquals(Arrays.asList("Jane"), element.allValues("additional-name"));
+
+		element = new HCardElement(agent.child(0), classIndex);
+		assertEquals(Arrays.asList("Jane"), element.allValues("additional-name"));
+
+		//the contents of nested vCards are skipped
+		element = new HCardElement(root, classIndex);
+		assertEquals(Arrays.asList("Smith", "Barney"), element.allValues("additional-name"));
+		element = new HCardElement(root);
+		assertEquals(Arrays.asList("Smith", "Barney"), element.allValues("additional-name"));
+	}
+
 	@Test
 	public void types_none() {
 		assertTypes("<div class=\"adr\"></div>");
@@ -14,6 +14,7 @@ import static ezvcard.util.TestUtils.assertVersion;
 import static ezvcard.util.TestUtils.assertWarnings;
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
@@ -337,6 +338,59 @@ public class HCardParserTest {
 		assertNoMoreVCards(parser);
 	}
 
+	@Test
+	public void nested_vcards_not_top_level() {
+		//@formatter:off
+		String html =
+		"<html>" +
+			"<body>" +
+				"<div>" +
+					"<div class=\"vcard\">" +
+						"<span class=\"fn\">John Doe</span>" +
+						"<div class=\"VCARD\">" +
+							"<span class=\"nickname\">Johnny</span>" +
+						"</div>" +
+					"</div>" +
+				"</div>" +
+				"<div class=\"VCard\">" +
+					"<span class=\"fn\">Jane Doe</span>" +
+				"</div>" +
+			"</body>" +
+		"</html>";
+		//@formatter:on
+
+		HCardParser parser = new HCardParser(html);
+
+		{
+			VCard vcard = parser.readNext();
+			assertPropertyCount(2, vcard);
+
+			//@formatter:off
+			assertSimpleProperty(vcard.getFormattedNames())
+				.value("John Doe")
+			.noMore();
+			//@formatter:on
+
+			assertEquals(Arrays.asList("Johnny"), vcard.getNickname().getValues());
+			assertWarnings(0, parser);
+		}
+
+		{
+			VCard vcard = parser.readNext();
+			assertPropertyCount(1, vcard);
+
+			//@formatter:off
+			assertSimpleProperty(vcard.getFormattedNames())
+				.value("Jane Doe")
+			.noMore();
+			//@formatter:on
+
+			assertWarnings(0, parser);
+		}
+
+		assertNoMoreVCards(parser);
+	}
+
 	@Test
 	public void embedded_vcards() {
 		//@formatter:off
@@ -0,0 +1,411 @@
+package ezvcard.io.html;
+
+import static ezvcard.util.StringUtils.NEWLINE;
+import static ezvcard.util.TestUtils.date;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.DataNode;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.Elements;
+import org.junit.Test;
+
+import ezvcard.VCard;
+import ezvcard.parameter.AddressType;
+import ezvcard.parameter.EmailType;
+import ezvcard.parameter.ImageType;
+import ezvcard.parameter.SoundType;
+import ezvcard.parameter.TelephoneType;
+import ezvcard.property.Address;
+import ezvcard.property.Birthday;
+import ezvcard.property.Impp;
+import ezvcard.property.Logo;
+import ezvcard.property.Organization;
+import ezvcard.property.Photo;
+import ezvcard.property.SortString;
+import ezvcard.property.Sound;
+import ezvcard.property.StructuredName;
+import ezvcard.property.Telephone;
+import ezvcard.property.Timezone;
+import ezvcard.property.Uid;
+import ezvcard.util.TelUri;
+import ezvcard.util.UtcOffset;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class HCardWriterTest {
+	private final byte[] mockData = "data".getBytes();
+
+	@Test
+	public void zero_vcards() throws Exception {
+		assertSameMarkup();
+	}
+
+	@Test
+	public void empty_vcard() throws Exception {
+		assertSameMarkup(new VCard());
+	}
+
+	@Test
+	public void full_vcard() throws Exception {
+		assertSameMarkup(createFullVCard());
+	}
+
+	@Test
+	public void multiple_vcards() throws Exception {
+		VCard vcard = new VCard();
+		vcard.setFormattedName("John Doe");
+
+		/*
+		 * The full vCard goes last because the template does not reset the
+		 * sort string and image class variables between vCards.
+		 */
+		assertSameMarkup(new VCard(), vcard, createFullVCard());
+	}
+
+	@Test
+	public void images() throws Exception {
+		VCard photo = new VCard();
+		photo.addPhoto(new Photo(mockData, ImageType.JPEG));
+
+		VCard logo = new VCard();
+		logo.addLogo(new Logo(mockData, ImageType.PNG));
+
+		VCard both = new VCard();
+		both.addPhoto(new Photo(mockData, ImageType.JPEG));
+		both.addLogo(new Logo(mockData, ImageType.PNG));
+
+		assertSameMarkup(photo, logo, both);
+	}
+
+	@Test
+	public void sort_string() throws Exception {
+		VCard all = new VCard();
+		StructuredName n = new StructuredName();
+		n.setSortAs("Smith");
+		all.setStructuredName(n);
+		Organization org = new Organization();
+		org.setSortAs("Jones");
+		all.setOrganization(org);
+		all.setSortString(new SortString("Doe"));
+
+		VCard nameAndOrg = new VCard();
+		n = new StructuredName();
+		n.setSortAs("Smith");
+		nameAndOrg.setStructuredName(n);
+		org = new Organization();
+		org.setSortAs("Jones");
+		nameAndOrg.setOrganization(org);
+
+		VCard orgOnly = new VCard();
+		org = new Organization();
+		org.setSortAs("Jones");
+		orgOnly.setOrganization(org);
+
+		assertSameMarkup(all, nameAndOrg, orgOnly);
+	}
+
+	@Test
+	public void org() throws Exception {
+		VCard one = new VCard();
+		one.setOrganization("Google");
+
+		VCard two = new VCard();
+		two.setOrganization("Google", "GMail Team");
+
+		VCard three = new VCard();
+		three.setOrganization("Google", "GMail Team", "Spam Filter");
+
+		assertSameMarkup(one, two, three);
+	}
+
+	@Test
+	public void type_names() throws Exception {
+		VCard vcard = new VCard();
+		vcard.addEmail("john@example.com", EmailType.get("x-my type"), EmailType.get("HOME"));
+		vcard.addTelephoneNumber("555-1234", TelephoneType.get("cell  PHONE"));
+		Address adr = new Address();
+		adr.setLocality("Austin");
+		adr.addType(AddressType.get("mY\tvacation house"));
+		vcard.addAddress(adr);
+
+		assertSameMarkup(vcard);
+
+		Document document = Jsoup.parse(write(vcard));
+		Elements types = document.select(".vcard .email .type");
+		assertEquals("X-my Type", types.get(0).text());
+		assertEquals("Home", types.get(1).text());
+		assertEquals("Cell Phone", document.select(".vcard .tel .type").first().text());
+		assertEquals("My Vacation House", document.select(".vcard .adr .type").first().text());
+	}
+
+	@Test
+	public void escape_html() throws Exception {
+		VCard vcard = new VCard();
+		vcard.setFormattedName("John <b>\"Johnny\"</b> & Doe");
+
+		//the writer escapes the value
+		Document document = Jsoup.parse(write(vcard));
+		assertEquals("John <b>\"Johnny\"</b> & Doe", document.select(".vcard .fn").first().text());
+		assertTrue(document.select(".vcard .fn b").isEmpty());
+
+		//the template does not
+		HCardPage page = new HCardPage();
+		page.add(vcard);
+		document = Jsoup.parse(page.write());
+		assertEquals("John \"Johnny\" & Doe", document.select(".vcard .fn").first().text());
+		assertEquals(1, document.select(".vcard .fn b").size());
+	}
+
+	@Test
+	public void note() throws Exception {
+		VCard vcard = new VCard();
+		vcard.addNote("one\rtwo\nthree\r\nfour");
+
+		String html = write(vcard);
+
+		HCardParser reader = new HCardParser(html);
+		vcard = reader.readNext();
+		reader.close();
+		assertEquals("one" + NEWLINE + "two" + NEWLINE + "three" + NEWLINE + "four", vcard.getNotes().get(0).getValue());
+	}
+
+	@Test
+	public void large_photo() throws Exception {
+		byte[] data = new byte[100000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+
+		VCard vcard = new VCard();
+		vcard.addPhoto(new Photo(data, ImageType.PNG));
+		String html = write(vcard);
+
+		HCardParser reader = new HCardParser(html);
+		vcard = reader.readNext();
+		reader.close();
+		assertArrayEquals(data, vcard.getPhotos().get(0).getData());
+	}
+
+	@Test
+	public void prodId_disabled() throws Exception {
+		StringWriter sw = new StringWriter();
+		HCardWriter writer = new HCardWriter(sw);
+		writer.setAddProdId(false);
+		writer.write(new VCard());
+		writer.close();
+
+		Document document = Jsoup.parse(sw.toString());
+		assertTrue(document.select(".vcard .prodid").isEmpty());
+	}
+
+	@Test
+	public void closeHtmlStream() throws Exception {
+		StringWriter sw = new StringWriter();
+		HCardWriter writer = new HCardWriter(sw);
+		writer.write(new VCard());
+		writer.closeHtmlStream();
+		writer.closeHtmlStream();
+
+		String html = sw.toString();
+		assertTrue(html.endsWith("</html>"));
+		assertEquals(html.indexOf("</html>"), html.lastIndexOf("</html>"));
+	}
+
+
+	private VCard createFullVCard() throws IOException {
+		VCard vcard = new VCard();
+
+		StructuredName n = new StructuredName();
+		n.setFamily("Claus");
+		n.setGiven("Santa");
+		n.addAdditional("Saint Nicholas");
+		n.addAdditional("Father Christmas");
+		n.addPrefix("Mr");
+		n.addPrefix("Dr");
+		n.addSuffix("M.D.");
+		n.setSortAs("Claus");
+		vcard.setStructuredName(n);
+
+		vcard.setClassification("public");
+
+		vcard.setMailer("Thunderbird");
+
+		vcard.setFormattedName("Santa Claus");
+
+		vcard.setNickname("Kris Kringle");
+
+		vcard.addTitle("Manager");
+
+		vcard.addRole("Executive");
+		vcard.addRole("Team Builder");
+
+		vcard.addEmail("johndoe@hotmail.com", EmailType.HOME, EmailType.WORK);
+
+		vcard.addEmail("doe.john@company.com", EmailType.WORK);
+
+		Telephone tel = new Telephone(new TelUri.Builder("+1-555-222-3333").extension("101").build());
+		vcard.addTelephoneNumber(tel);
+
+		tel = new Telephone(new TelUri.Builder("+1-555-333-4444").build());
+		tel.addType(TelephoneType.WORK);
+		vcard.addTelephoneNumber(tel);
+
+		vcard.addTelephoneNumber("(555) 111-2222", TelephoneType.HOME, TelephoneType.VOICE, TelephoneType.PREF);
+
+		Address adr = new Address();
+		adr.setStreetAddress("123 Main St");
+		adr.setExtendedAddress("Apt 11");
+		adr.setLocality("Austin");
+		adr.setRegion("Tx");
+		adr.setPostalCode("12345");
+		adr.setCountry("USA");
+		adr.setLabel("123 Main St." + NEWLINE + "Austin TX, 12345" + NEWLINE + "USA");
+		adr.addType(AddressType.HOME);
+		vcard.addAddress(adr);
+
+		adr = new Address();
+		adr.setPoBox("123");
+		adr.setStreetAddress("456 Wall St.");
+		adr.setLocality("New York");
+		adr.setRegion("NY");
+		adr.setPostalCode("11111");
+		adr.setCountry("USA");
+		adr.addType(AddressType.PREF);
+		adr.addType(AddressType.WORK);
+		vcard.addAddress(adr);
+
+		vcard.setOrganization("Google", "GMail");
+
+		Birthday bday = new Birthday(date("1970-03-08"), false);
+		vcard.setBirthday(bday);
+
+		vcard.addUrl("http://company.com");
+
+		vcard.setCategories("business owner", "jolly");
+
+		vcard.addImpp(Impp.aim("myhandle"));
+		vcard.addImpp(Impp.yahoo("myhandle@yahoo.com"));
+
+		vcard.addNote("I am proficient in Tiger-Crane Style," + NEWLINE + "and I am more than proficient in the exquisite art of the Samurai sword.");
+
+		vcard.setGeo(123.456, -98.123);
+
+		vcard.setTimezone(new Timezone(new UtcOffset(false, -6, 0), "America/Chicago"));
+
+		InputStream in = getClass().getResourceAsStream("hcard-portrait.jpg");
+		Photo photo = new Photo(in, ImageType.JPEG);
+		vcard.addPhoto(photo);
+
+		in = getClass().getResourceAsStream("hcard-sound.ogg");
+		Sound sound = new Sound(in, SoundType.OGG);
+		vcard.addSound(sound);
+
+		vcard.setUid(new Uid("urn:uuid:ffce1595-cbe9-4418-9d0d-b015655d45f6"));
+
+		vcard.setRevision(date("2000-03-10 13:22:44"));
+
+		return vcard;
+	}
+
+	/**
+	 * Asserts that {@link HCardWriter} generates the same markup as
+	 * {@link HCardPage}. Whitespace between elements is ignored.
+	 * @param vcards the vCards to write
+	 * @throws IOException
+	 */
+	private void assertSameMarkup(VCard... vcards) throws IOException {
+		HCardPage page = new HCardPage();
+		for (VCard vcard : vcards) {
+			page.add(vcard);
+		}
+
+		List<String> expected = markup(Jsoup.parse(page.write()));
+		List<String> actual = markup(Jsoup.parse(write(vcards)));
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Flattens a document into a list of its elements, each with its
+	 * attributes and the whitespace-normalized text that it directly
+	 * contains.
+	 * @param document the document
+	 * @return the elements
+	 */
+	private static List<String> markup(Document document) {
+		List<String> lines = new ArrayList<String>();
+		for (Element element : document.getAllElements()) {
+			StringBuilder sb = new StringBuilder();
+			sb.append('<').append(element.tagName());
+			for (Attribute attribute : element.attributes()) {
+				sb.append(' ').append(attribute.getKey()).append("=\"").append(attribute.getValue()).append('"');
+			}
+			sb.append('>');
+
+			StringBuilder text = new StringBuilder();
+			for (Node child : element.childNodes()) {
+				if (child instanceof TextNode) {
+					text.append(((TextNode) child).getWholeText());
+				} else if (child instanceof DataNode) {
+					text.append(((DataNode) child).getWholeData());
+				}
+			}
+			sb.append(text.toString().replaceAll("\\s+", " ").trim());
+
+			lines.add(sb.toString());
+		}
+		return lines;
+	}
+
+	private String write(VCard... vcards) throws IOException {
+		StringWriter sw = new StringWriter();
+		HCardWriter writer = new HCardWriter(sw);
+		for (VCard vcard : vcards) {
+			writer.write(vcard);
+		}
+		writer.close();
+		return sw.toString();
+	}
+}
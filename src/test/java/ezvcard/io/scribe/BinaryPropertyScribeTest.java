@@ -7,6 +7,7 @@ import static ezvcard.VCardVersion.V3_0;
 import static ezvcard.VCardVersion.V4_0;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 
 import org.junit.Test;
@@ -15,6 +16,7 @@ import ezvcard.VCardVersion;
 import ezvcard.io.scribe.Sensei.Check;
 import ezvcard.parameter.Encoding;
 import ezvcard.parameter.ImageType;
+import ezvcard.parameter.VCardParameters;
 import ezvcard.property.BinaryProperty;
 import ezvcard.util.DataUri;
 import ezvcard.util.org.apache.commons.codec.binary.Base64;
@@ -174,6 +176,22 @@ public class BinaryPropertyScribeTest {
 		}
 	}
 
+	@Test
+	public void parseText_binary_lazy() {
+		//2.1, 3.0
+		BinaryTypeImpl property = scribe.parseText(base64Data, null, V3_0, new VCardParameters()).getProperty();
+		assertFalse(property.getBinaryData().isArray());
+		assertEquals(base64Data, scribe.writeText(property, V3_0));
+		assertArrayEquals(data, property.getData());
+
+		//4.0
+		property = scribe.parseText(dataUri, null, V4_0, new VCardParameters()).getProperty();
+		assertFalse(property.getBinaryData().isArray());
+		assertEquals(ImageType.JPEG, property.getContentType());
+		assertEquals(dataUri, scribe.writeText(property, V4_0));
+		assertArrayEquals(data, property.getData());
+	}
+
 	@Test
 	public void parseText_binary() {
 		//2.1, 3.0
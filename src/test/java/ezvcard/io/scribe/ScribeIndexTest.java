@@ -0,0 +1,114 @@
+package ezvcard.io.scribe;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import javax.xml.namespace.QName;
+
+import org.junit.Test;
+
+import ezvcard.VCardVersion;
+import ezvcard.io.LuckyNumType.LuckyNumScribe;
+import ezvcard.property.FormattedName;
+import ezvcard.property.RawProperty;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class ScribeIndexTest {
+	@Test
+	public void getPropertyScribe_name() {
+		ScribeIndex index = new ScribeIndex();
+		assertTrue(index.getPropertyScribe("FN") instanceof FormattedNameScribe);
+		assertTrue(index.getPropertyScribe("fn") instanceof FormattedNameScribe);
+		assertTrue(index.getPropertyScribe("Fn") instanceof FormattedNameScribe);
+		assertNull(index.getPropertyScribe("X-FOO"));
+
+		LuckyNumScribe scribe = new LuckyNumScribe();
+		index.register(scribe);
+		assertSame(scribe, index.getPropertyScribe("X-LUCKY-NUM"));
+		assertSame(scribe, index.getPropertyScribe("x-lucky-num"));
+	}
+
+	@Test
+	public void getPropertyScribe_extended_overrides_standard() {
+		ScribeIndex index = new ScribeIndex();
+		FormattedNameScribe scribe = new FormattedNameScribe();
+		index.register(scribe);
+		assertSame(scribe, index.getPropertyScribe("FN"));
+		assertSame(scribe, index.getPropertyScribe("fn"));
+		assertSame(scribe, index.getPropertyScribe(FormattedName.class));
+	}
+
+	@Test
+	public void getRawPropertyScribe() {
+		RawPropertyScribe scribe = ScribeIndex.getRawPropertyScribe("X-FOO");
+		assertSame(scribe, ScribeIndex.getRawPropertyScribe("X-FOO"));
+		assertSame(scribe, new ScribeIndex().getPropertyScribe(new RawProperty("X-FOO", "value")));
+		assertSame(scribe, new ScribeIndex().getPropertyScribe(new QName(VCardVersion.V4_0.getXmlNamespace(), "x-foo")));
+	}
+
+	@Test
+	public void getRawPropertyScribe_many_names() {
+		for (int i = 0; i < 5000; i++) {
+			ScribeIndex.getRawPropertyScribe("X-JUNK-" + i);
+		}
+
+		//names seen after the cache fills up are still cached
+		RawPropertyScribe scribe = ScribeIndex.getRawPropertyScribe("X-BAR");
+		assertSame(scribe, ScribeIndex.getRawPropertyScribe("X-BAR"));
+	}
+
+	@Test
+	public void freeze() {
+		ScribeIndex index = new ScribeIndex();
+		assertSame(index, index.freeze());
+		assertTrue(index.isFrozen());
+		assertTrue(index.getPropertyScribe("FN") instanceof FormattedNameScribe);
+
+		try {
+			index.register(new LuckyNumScribe());
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		try {
+			index.unregister(new FormattedNameScribe());
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+	}
+}
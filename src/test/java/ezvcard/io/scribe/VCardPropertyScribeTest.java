@@ -7,6 +7,7 @@ import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -23,6 +24,7 @@ import ezvcard.io.json.JCardValue;
 import ezvcard.io.scribe.Sensei.Check;
 import ezvcard.io.scribe.VCardPropertyScribe.SemiStructuredIterator;
 import ezvcard.io.scribe.VCardPropertyScribe.StructuredIterator;
+import ezvcard.io.scribe.VCardPropertyScribe.ValueCursor;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.VCardProperty;
 import ezvcard.util.DefaultTimezoneRule;
@@ -72,6 +74,13 @@ public class VCardPropertyScribeTest {
 		expected = "\\ , ; " + NEWLINE + NEWLINE + " \\,";
 		assertEquals(expected, actual);
 
+		actual = VCardPropertyScribe.unescape("one\\, two\\");
+		expected = "one, two\\"; //trailing backslashes are kept
+		assertEquals(expected, actual);
+
+		String input = "no escapes";
+		assertSame(input, VCardPropertyScribe.unescape(input));
+
 		actual = VCardPropertyScribe.unescape(null);
 		expected = null;
 		assertEquals(expected, actual);
@@ -85,6 +94,13 @@ public class VCardPropertyScribeTest {
 		expected = "One\\; Two\\, Three\\\\ Four\n Five\r\n Six\r";
 		assertEquals(expected, actual);
 
+		String input = "no special chars";
+		assertSame(input, VCardPropertyScribe.escape(input));
+
+		StringBuilder sb = new StringBuilder("start:");
+		VCardPropertyScribe.escape("one;two", sb);
+		assertEquals("start:one\\;two", sb.toString());
+
 		actual = VCardPropertyScribe.escape(null);
 		expected = null;
 		assertEquals(expected, actual);
@@ -224,6 +240,50 @@ public class VCardPropertyScribeTest {
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	public void valueCursor() {
+		ValueCursor cursor = new ValueCursor(" one ;two\\nthree\\; ; four\\", ';');
+		assertEquals("one", cursor.next());
+		assertEquals("two" + NEWLINE + "three;", cursor.next());
+		assertEquals("four\\", cursor.next());
+		assertEquals(null, cursor.next());
+
+		cursor = new ValueCursor("", ';');
+		assertEquals("", cursor.next());
+		assertEquals(null, cursor.next());
+
+		cursor = new ValueCursor("one;two\\;three;four", ';');
+		assertEquals("one", cursor.next());
+		assertEquals("two;three;four", cursor.rest());
+		assertEquals(null, cursor.rest());
+	}
+
+	@Test
+	public void valueCursor_values() {
+		ValueCursor cursor = new ValueCursor("one , two\\,three;  ;,four;", ';');
+
+		List<String> values = new ArrayList<String>();
+		assertEquals(2, cursor.nextValues(values));
+		assertEquals(Arrays.asList("one", "two,three"), values);
+
+		values = new ArrayList<String>();
+		assertEquals(0, cursor.nextValues(values));
+		assertEquals(Arrays.asList(), values);
+
+		assertEquals(null, cursor.nextFirstValue());
+		assertEquals(null, cursor.nextFirstValue());
+		assertEquals(null, cursor.nextFirstValue());
+	}
+
+	@Test
+	public void list_parse_collection() {
+		List<String> actual = new ArrayList<String>();
+		actual.add("zero");
+		VCardPropertyScribe.list("one ,, two,three\\,four", actual);
+		List<String> expected = Arrays.asList("zero", "one", "", "two", "three,four");
+		assertEquals(expected, actual);
+	}
+
 	@Test
 	public void list_write() {
 		String actual = VCardPropertyScribe.list("one", null, "two", "three,four");
@@ -278,6 +338,14 @@ public class VCardPropertyScribeTest {
 		assertEquals(null, it.nextString());
 		assertEquals("five;six", it.nextString());
 		assertEquals(null, it.nextString());
+
+		//using "nextComponent(Collection)"
+		it = VCardPropertyScribe.structured(input);
+		List<String> values = new ArrayList<String>();
+		it.nextComponent(values);
+		it.nextComponent(values);
+		it.nextComponent(values);
+		assertEquals(Arrays.asList("one", "two", "three,four"), values);
 	}
 
 	@Test
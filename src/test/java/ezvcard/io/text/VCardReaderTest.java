@@ -15,9 +15,14 @@ import static ezvcard.util.TestUtils.assertVersion;
 import static ezvcard.util.TestUtils.assertWarnings;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -27,6 +32,7 @@ import org.junit.Test;
 import ezvcard.VCard;
 import ezvcard.VCardDataType;
 import ezvcard.VCardVersion;
+import ezvcard.io.BinarySink;
 import ezvcard.io.EmbeddedVCardException;
 import ezvcard.io.LuckyNumType;
 import ezvcard.io.LuckyNumType.LuckyNumScribe;
@@ -37,11 +43,17 @@ import ezvcard.io.scribe.SkipMeScribe;
 import ezvcard.io.scribe.VCardPropertyScribe;
 import ezvcard.parameter.AddressType;
 import ezvcard.parameter.Encoding;
+import ezvcard.parameter.ImageType;
 import ezvcard.parameter.VCardParameters;
 import ezvcard.property.Address;
+import ezvcard.property.BinaryProperty;
+import ezvcard.property.Key;
 import ezvcard.property.Label;
+import ezvcard.property.Logo;
 import ezvcard.property.Note;
+import ezvcard.property.Photo;
 import ezvcard.property.RawProperty;
+import ezvcard.property.Sound;
 import ezvcard.property.VCardProperty;
 import ezvcard.util.org.apache.commons.codec.net.QuotedPrintableCodec;
 
@@ -1053,4 +1065,73 @@ public class VCardReaderTest {
 		assertWarnings(0, reader);
 		assertNoMoreVCards(reader);
 	}
+
+	@Test
+	public void binary_sink() throws Throwable {
+		//@formatter:off
+		String str =
+		"BEGIN:VCARD\r\n" +
+			"VERSION:3.0\r\n" +
+			"PHOTO;ENCODING=b;TYPE=JPEG:Zm9v\r\n" +
+			"LOGO;ENCODING=b;TYPE=PNG:YmFy\r\n" +
+			"SOUND;ENCODING=b:YmF6\r\n" +
+			"KEY;ENCODING=b:cXV4\r\n" +
+		"END:VCARD\r\n";
+		//@formatter:on
+
+		final List<String> written = new ArrayList<String>();
+		final List<BinaryProperty<?>> aborted = new ArrayList<BinaryProperty<?>>();
+		VCardReader reader = new VCardReader(str);
+		reader.setBinarySink(new BinarySink() {
+			public OutputStream open(BinaryProperty<?> property) {
+				if (property instanceof Sound) {
+					//leave the data in the property
+					return null;
+				}
+				if (property instanceof Key) {
+					return new OutputStream() {
+						@Override
+						public void write(int b) throws IOException {
+							throw new IOException();
+						}
+					};
+				}
+				return new ByteArrayOutputStream();
+			}
+
+			public String close(BinaryProperty<?> property, OutputStream out) {
+				written.add(new String(((ByteArrayOutputStream) out).toByteArray()));
+				return "http://example.com/" + written.size();
+			}
+
+			public void abort(BinaryProperty<?> property, OutputStream out, IOException cause) {
+				aborted.add(property);
+			}
+		});
+
+		VCard vcard = reader.readNext();
+		assertEquals(Arrays.asList("foo", "bar"), written);
+
+		Photo photo = vcard.getPhotos().get(0);
+		assertEquals("http://example.com/1", photo.getUrl());
+		assertNull(photo.getBinaryData());
+		assertEquals(ImageType.JPEG, photo.getContentType());
+
+		Logo logo = vcard.getLogos().get(0);
+		assertEquals("http://example.com/2", logo.getUrl());
+		assertEquals(ImageType.PNG, logo.getContentType());
+
+		Sound sound = vcard.getSounds().get(0);
+		assertNull(sound.getUrl());
+		assertEquals("baz", new String(sound.getData()));
+
+		Key key = vcard.getKeys().get(0);
+		assertNull(key.getUrl());
+		assertEquals("qux", new String(key.getData()));
+		assertEquals(1, aborted.size());
+		assertSame(key, aborted.get(0));
+
+		assertWarnings(1, reader);
+		assertNoMoreVCards(reader);
+	}
 }
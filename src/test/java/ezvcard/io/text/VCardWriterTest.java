@@ -4,6 +4,7 @@ import static ezvcard.util.TestUtils.assertValidate;
 import static org.junit.Assert.assertEquals;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.util.List;
@@ -38,6 +39,7 @@ import ezvcard.property.StructuredName;
 import ezvcard.property.Telephone;
 import ezvcard.property.Timezone;
 import ezvcard.property.VCardProperty;
+import ezvcard.util.BinaryData;
 import ezvcard.util.IOUtils;
 import ezvcard.util.PartialDate;
 import ezvcard.util.TelUri;
@@ -488,6 +490,37 @@ public class VCardWriterTest {
 		}
 	}
 
+	@Test
+	public void binary_data_streamed() throws Throwable {
+		byte data[] = new byte[1000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) i;
+		}
+		File file = tempFolder.newFile();
+		FileOutputStream out = new FileOutputStream(file);
+		out.write(data);
+		out.close();
+
+		VCard inMemory = new VCard();
+		inMemory.addPhoto(new Photo(data, ImageType.JPEG));
+		VCard fromFile = new VCard();
+		fromFile.addPhoto(new Photo(BinaryData.of(file), ImageType.JPEG));
+
+		for (VCardVersion version : VCardVersion.values()) {
+			StringWriter expected = new StringWriter();
+			VCardWriter vcw = new VCardWriter(expected, version);
+			vcw.setAddProdId(false);
+			vcw.write(inMemory);
+
+			StringWriter actual = new StringWriter();
+			vcw = new VCardWriter(actual, version);
+			vcw.setAddProdId(false);
+			vcw.write(fromFile);
+
+			assertEquals(expected.toString(), actual.toString());
+		}
+	}
+
 	@Test
 	public void rfc6350_example() throws Throwable {
 		VCard vcard = new VCard();
@@ -158,6 +158,35 @@ public class XCardWriterTest {
 		assertOutput(expected);
 	}
 
+	@Test
+	public void write_streamed() throws Exception {
+		VCard vcard = new VCard();
+		vcard.setFormattedName("John Doe");
+		writer.write(vcard);
+		writer.flush();
+
+		//the vCard is written before the document is terminated
+		assertTrue(sw.toString().contains("<fn><text>John Doe</text></fn></vcard>"));
+		assertFalse(sw.toString().contains("</vcards>"));
+
+		writer.closeXmlStream();
+
+		//@formatter:off
+		String expected =
+		"<vcards xmlns=\"" + VCardVersion.V4_0.getXmlNamespace() + "\">" +
+			"<vcard>" +
+				"<fn><text>John Doe</text></fn>" +
+			"</vcard>" +
+		"</vcards>";
+		//@formatter:on
+
+		assertOutput(expected);
+
+		//calling close() after closeXmlStream() does not terminate the document twice
+		writer.close();
+		assertOutput(expected);
+	}
+
 	@Test
 	public void write_empty() throws Exception {
 		writer.close();
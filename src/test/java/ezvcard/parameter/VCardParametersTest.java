@@ -7,6 +7,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.Arrays;
 import java.util.Iterator;
@@ -228,6 +229,71 @@ public class VCardParametersTest {
 		parameters.getPids();
 	}
 
+	@Test
+	public void pid_malformed_values() {
+		for (String value : new String[] { "", ".", "..", ".1", "1..2", "a", "1.a", "1.2a", "99999999999" }) {
+			parameters.removePids();
+			parameters.put("PID", value);
+			try {
+				parameters.getPids();
+				fail(value);
+			} catch (IllegalStateException e) {
+				//expected
+			}
+		}
+	}
+
+	@Test
+	public void pid_trailing_values() {
+		parameters.put("PID", "1.");
+		parameters.put("PID", "+2.3.4");
+		Iterator<Integer[]> it = parameters.getPids().iterator();
+		Integer[] pid = it.next();
+		assertIntEquals(1, pid[0]);
+		assertNull(pid[1]);
+		pid = it.next();
+		assertIntEquals(2, pid[0]);
+		assertIntEquals(3, pid[1]);
+		assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void parsed_values_follow_raw_values() {
+		parameters.put("PREF", "1");
+		parameters.put("INDEX", "2");
+		parameters.put("PID", "3");
+		parameters.put("GEO", "geo:1,2");
+		assertIntEquals(1, parameters.getPref());
+		assertIntEquals(2, parameters.getIndex());
+		assertIntEquals(3, parameters.getPids().get(0)[0]);
+		assertArrayEquals(new double[] { 1, 2 }, parameters.getGeo(), .00001);
+
+		//modify the values through the lists
+		parameters.get("PREF").set(0, "4");
+		parameters.get("INDEX").set(0, "invalid");
+		parameters.get("PID").add("5.1");
+		parameters.getGeo()[0] = 10;
+		assertIntEquals(4, parameters.getPref());
+		try {
+			parameters.getIndex();
+			fail();
+		} catch (IllegalStateException e) {
+			//expected
+		}
+		assertEquals(2, parameters.getPids().size());
+		assertArrayEquals(new double[] { 1, 2 }, parameters.getGeo(), .00001);
+
+		//copies have the same values
+		VCardParameters copy = new VCardParameters(parameters);
+		assertIntEquals(4, copy.getPref());
+		copy.setPref(5);
+		assertIntEquals(5, copy.getPref());
+		assertIntEquals(4, parameters.getPref());
+
+		parameters.removeAll("PREF");
+		assertNull(parameters.getPref());
+	}
+
 	@Test
 	public void getIndex() {
 		assertNull(parameters.getIndex());
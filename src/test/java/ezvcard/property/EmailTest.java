@@ -42,7 +42,7 @@ import ezvcard.parameter.EmailType;
 public class EmailTest {
 	@Test
 	public void validate() {
-		Email property = new Email(null);
+		Email property = new Email((String) null);
 		assertValidate(property).run(8);
 
 		property.setValue("johndoe@example.com");
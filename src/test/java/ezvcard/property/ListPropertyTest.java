@@ -2,6 +2,7 @@ package ezvcard.property;
 
 import static ezvcard.util.TestUtils.assertValidate;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 import java.util.Arrays;
 
@@ -61,6 +62,29 @@ public class ListPropertyTest {
 		assertEquals(Arrays.asList("one", "three"), property.getValues());
 	}
 
+	@Test
+	public void freeze() {
+		ListPropertyImpl property = new ListPropertyImpl();
+		property.addValue("one");
+		property.freeze();
+
+		try {
+			property.addValue("two");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		try {
+			property.getValues().add("two");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		assertEquals(Arrays.asList("one"), property.getValues());
+	}
+
 	private class ListPropertyImpl extends ListProperty<String> {
 		//empty
 	}
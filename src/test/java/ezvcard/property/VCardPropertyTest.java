@@ -5,6 +5,7 @@ import static ezvcard.util.TestUtils.assertValidate;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.EnumSet;
 import java.util.List;
@@ -76,6 +77,33 @@ public class VCardPropertyTest {
 		assertEquals("group", property.getGroup());
 	}
 
+	@Test
+	public void freeze() {
+		VCardTypeImpl property = new VCardTypeImpl();
+		property.setGroup("group");
+		property.addParameter("ONE", "1");
+		property.freeze();
+		assertTrue(property.isFrozen());
+
+		try {
+			property.setGroup("group2");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		try {
+			property.getParameters().setLanguage("en");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		assertEquals("group", property.getGroup());
+		assertEquals("1", property.getParameter("ONE"));
+		assertNull(property.getParameters().getLanguage());
+	}
+
 	@Test
 	public void compareTo() {
 		VCardTypeImpl one = new VCardTypeImpl();
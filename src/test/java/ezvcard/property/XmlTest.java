@@ -1,6 +1,10 @@
 package ezvcard.property;
 
 import static ezvcard.util.TestUtils.assertValidate;
+import static org.custommonkey.xmlunit.XMLAssert.assertXMLEqual;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 
 import org.junit.Test;
 import org.w3c.dom.Document;
@@ -58,4 +62,18 @@ public class XmlTest {
 	public void invalid_xml() throws Throwable {
 		new Xml("not valid XML");
 	}
+
+	@Test
+	public void copy() throws Throwable {
+		Xml original = new Xml("<foo xmlns=\"http://example.com\">bar</foo>");
+		original.setAltId("1");
+		Xml copy = new Xml(original);
+
+		assertNotSame(original.getValue(), copy.getValue());
+		assertXMLEqual(original.getValue(), copy.getValue());
+		assertEquals("1", copy.getAltId());
+
+		copy = new Xml((Document) null);
+		assertNull(new Xml(copy).getValue());
+	}
 }
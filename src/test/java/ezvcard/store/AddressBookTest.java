@@ -0,0 +1,276 @@
+package ezvcard.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import ezvcard.VCard;
+import ezvcard.property.StructuredName;
+import ezvcard.property.Telephone;
+import ezvcard.property.Uid;
+import ezvcard.util.TelUri;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class AddressBookTest {
+	@Test
+	public void add() {
+		AddressBook book = new AddressBook();
+		VCard vcard = john();
+
+		assertTrue(book.add(vcard));
+		assertTrue(vcard.isFrozen());
+		assertFalse(book.add(vcard));
+		assertEquals(1, book.size());
+		assertTrue(book.contains(vcard));
+		assertFalse(book.contains(new VCard()));
+	}
+
+	@Test
+	public void findByUid() {
+		AddressBook book = new AddressBook();
+		VCard vcard = john();
+		book.add(vcard);
+
+		assertEquals(Arrays.asList(vcard), book.findByUid("urn:uuid:1"));
+		assertEquals(0, book.findByUid("URN:UUID:1").size());
+		assertEquals(0, book.findByUid(null).size());
+	}
+
+	@Test
+	public void findByEmail() {
+		AddressBook book = new AddressBook();
+		VCard vcard = john();
+		book.add(vcard);
+
+		assertEquals(Arrays.asList(vcard), book.findByEmail("john@example.com"));
+		assertEquals(Arrays.asList(vcard), book.findByEmail(" JOHN@example.COM "));
+		assertEquals(Arrays.asList(vcard), book.findByEmail("jdoe@work.com"));
+		assertEquals(0, book.findByEmail("jane@example.com").size());
+	}
+
+	@Test
+	public void findByTelephone() {
+		AddressBook book = new AddressBook();
+		VCard vcard = john();
+		book.add(vcard);
+
+		assertEquals(Arrays.asList(vcard), book.findByTelephone("555-1234"));
+		assertEquals(Arrays.asList(vcard), book.findByTelephone("(555) 1234"));
+		assertEquals(Arrays.asList(vcard), book.findByTelephone("+1 800 555 9876"));
+		assertEquals(0, book.findByTelephone("18005559876").size());
+		assertEquals(0, book.findByTelephone("none").size());
+	}
+
+	@Test
+	public void findByName() {
+		AddressBook book = new AddressBook();
+		VCard vcard = john();
+		book.add(vcard);
+
+		assertEquals(Arrays.asList(vcard), book.findByName("Dr. John Doe"));
+		assertEquals(Arrays.asList(vcard), book.findByName("john   DOE"));
+		assertEquals(0, book.findByName("Doe").size());
+	}
+
+	@Test
+	public void multiple_matches() {
+		AddressBook book = new AddressBook();
+		VCard john = john();
+		VCard jane = new VCard();
+		jane.addEmail("john@example.com");
+		jane.addEmail("JOHN@example.com");
+		book.add(john);
+		book.add(jane);
+
+		List<VCard> found = book.findByEmail("john@example.com");
+		assertEquals(Arrays.asList(john, jane), found);
+
+		book.remove(jane);
+		assertEquals(Arrays.asList(john), book.findByEmail("john@example.com"));
+		assertEquals(Arrays.asList(john, jane), found); //snapshot
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void query_results_immutable() {
+		AddressBook book = new AddressBook();
+		book.add(john());
+		book.findByEmail("john@example.com").clear();
+	}
+
+	@Test
+	public void replace() {
+		AddressBook book = new AddressBook();
+		VCard oldVCard = john();
+		book.add(oldVCard);
+
+		VCard newVCard = oldVCard.toBuilder();
+		newVCard.removeProperties(Telephone.class);
+		newVCard.addEmail("john.doe@example.org");
+		assertTrue(book.replace(oldVCard, newVCard));
+
+		assertEquals(1, book.size());
+		assertFalse(book.contains(oldVCard));
+		assertTrue(book.contains(newVCard));
+		assertTrue(newVCard.isFrozen());
+		assertEquals(Arrays.asList(newVCard), book.findByEmail("john@example.com"));
+		assertEquals(Arrays.asList(newVCard), book.findByEmail("john.doe@example.org"));
+		assertEquals(0, book.findByTelephone("555-1234").size());
+
+		assertFalse(book.replace(oldVCard, new VCard()));
+	}
+
+	@Test
+	public void remove() {
+		AddressBook book = new AddressBook();
+		VCard vcard = john();
+		book.add(vcard);
+
+		assertTrue(book.remove(vcard));
+		assertFalse(book.remove(vcard));
+		assertEquals(0, book.size());
+		assertEquals(0, book.findByUid("urn:uuid:1").size());
+		assertEquals(0, book.findByEmail("john@example.com").size());
+		assertEquals(0, book.findByTelephone("5551234").size());
+		assertEquals(0, book.findByName("john doe").size());
+	}
+
+	@Test
+	public void clear() {
+		AddressBook book = new AddressBook();
+		book.addAll(Arrays.asList(john(), new VCard()));
+		assertEquals(2, book.size());
+
+		book.clear();
+		assertEquals(0, book.size());
+		assertEquals(0, book.findByEmail("john@example.com").size());
+	}
+
+	@Test
+	public void iterator() {
+		AddressBook book = new AddressBook();
+		VCard vcard = john();
+		book.add(vcard);
+
+		int count = 0;
+		for (VCard v : book) {
+			assertTrue(v == vcard);
+			book.remove(v);
+			count++;
+		}
+		assertEquals(1, count);
+		assertEquals(0, book.getAll().size());
+	}
+
+	@Test
+	public void concurrent() throws Throwable {
+		final AddressBook book = new AddressBook();
+		final int count = 500;
+		final Throwable[] error = new Throwable[1];
+
+		Thread writer = new Thread() {
+			@Override
+			public void run() {
+				for (int i = 0; i < count; i++) {
+					VCard vcard = new VCard();
+					vcard.addEmail("user" + i + "@example.com");
+					book.add(vcard);
+				}
+			}
+		};
+		Thread reader = new Thread() {
+			@Override
+			public void run() {
+				try {
+					for (int i = 0; i < count; i++) {
+						for (VCard vcard : book.findByEmail("user" + i + "@example.com")) {
+							assertEquals("user" + i + "@example.com", vcard.getEmails().get(0).getValue());
+						}
+					}
+				} catch (Throwable t) {
+					error[0] = t;
+				}
+			}
+		};
+
+		writer.start();
+		reader.start();
+		writer.join();
+		reader.join();
+
+		if (error[0] != null) {
+			throw error[0];
+		}
+		assertEquals(count, book.size());
+		assertEquals(1, book.findByEmail("user" + (count - 1) + "@example.com").size());
+	}
+
+	@Test
+	public void ContactKeys_telephone() {
+		assertEquals("+15551234", ContactKeys.telephone("+1 (555) 12-34"));
+		assertEquals("5551234", ContactKeys.telephone("555+1234"));
+		assertNull(ContactKeys.telephone("+"));
+		assertNull(ContactKeys.telephone("ext"));
+		assertNull(ContactKeys.telephone((String) null));
+	}
+
+	@Test
+	public void ContactKeys_name() {
+		assertEquals("john doe", ContactKeys.name("  John \t Doe "));
+		assertNull(ContactKeys.name("   "));
+		assertNull(ContactKeys.name(null));
+	}
+
+	private static VCard john() {
+		VCard vcard = new VCard();
+		vcard.setUid(new Uid("urn:uuid:1"));
+		vcard.setFormattedName("Dr. John Doe");
+
+		StructuredName n = new StructuredName();
+		n.setGiven("John");
+		n.setFamily("Doe");
+		vcard.setStructuredName(n);
+
+		vcard.addEmail("john@example.com");
+		vcard.addEmail("jdoe@work.com");
+		vcard.addTelephoneNumber("555-1234");
+		vcard.addTelephoneNumber(new Telephone(new TelUri.Builder("+1-800-555-9876").build()));
+		return vcard;
+	}
+}
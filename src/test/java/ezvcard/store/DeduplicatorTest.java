@@ -0,0 +1,289 @@
+package ezvcard.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import ezvcard.VCard;
+import ezvcard.parameter.ImageType;
+import ezvcard.property.ClientPidMap;
+import ezvcard.property.Email;
+import ezvcard.property.FormattedName;
+import ezvcard.property.Note;
+import ezvcard.property.Photo;
+import ezvcard.property.StructuredName;
+import ezvcard.property.Telephone;
+import ezvcard.property.Uid;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class DeduplicatorTest {
+	@Test
+	public void findDuplicates() {
+		VCard john1 = vcard("John Doe", "john@example.com", null);
+		VCard jane = vcard("Jane Doe", "jane@example.com", "555-555-9999");
+		VCard john2 = vcard("Johnny", "JOHN@example.com", "+1 555 555 1234");
+		VCard john3 = vcard("Johnny", null, "(555) 555-1234");
+		VCard other = vcard("John Doe", null, null);
+		VCard uid1 = new VCard();
+		uid1.setUid(new Uid("urn:uuid:1"));
+		VCard uid2 = new VCard();
+		uid2.setUid(new Uid("urn:uuid:1"));
+
+		Deduplicator deduplicator = new Deduplicator();
+		List<List<VCard>> groups = deduplicator.findDuplicates(Arrays.asList(john1, jane, uid1, john2, john3, other, uid2));
+
+		//john1 and john2 share an email, john2 and john3 share a phone number and name
+		//"other" has the same name as john1, but nothing else
+		assertEquals(Arrays.asList(Arrays.asList(john1, john2, john3), Arrays.asList(uid1, uid2)), groups);
+	}
+
+	@Test
+	public void rules() {
+		VCard vcard1 = vcard("John Doe", null, null);
+		VCard vcard2 = vcard("Doe, John", null, null);
+
+		Deduplicator deduplicator = new Deduplicator();
+		assertEquals(0.5, deduplicator.score(vcard1, vcard2), 0.001);
+		assertEquals(0, deduplicator.findDuplicates(Arrays.asList(vcard1, vcard2)).size());
+
+		deduplicator.clearRules();
+		deduplicator.addRule(MatchRules.NAME, 1.0);
+		assertEquals(1.0, deduplicator.score(vcard1, vcard2), 0.001);
+		assertEquals(1, deduplicator.findDuplicates(Arrays.asList(vcard1, vcard2)).size());
+
+		deduplicator.setThreshold(1.5);
+		assertEquals(0, deduplicator.findDuplicates(Arrays.asList(vcard1, vcard2)).size());
+	}
+
+	@Test
+	public void maxBlockSize() {
+		List<VCard> vcards = new ArrayList<VCard>();
+		for (int i = 0; i < 5; i++) {
+			vcards.add(vcard(null, "shared@example.com", null));
+		}
+
+		Deduplicator deduplicator = new Deduplicator();
+		assertEquals(1, deduplicator.findDuplicates(vcards).size());
+
+		deduplicator.setMaxBlockSize(4);
+		assertEquals(0, deduplicator.findDuplicates(vcards).size());
+	}
+
+	@Test
+	public void name_blocks() {
+		VCard john1 = vcard("John Smith", null, null);
+		VCard john2 = vcard("John A. Smith", null, null);
+		List<VCard> vcards = new ArrayList<VCard>();
+		vcards.add(john1);
+		for (int i = 0; i < 5; i++) {
+			vcards.add(vcard("John Other" + i, null, null));
+			vcards.add(vcard("Jane Smith" + i, null, null));
+			vcards.add(vcard("Bob Smith", null, "555-000" + i));
+		}
+		vcards.add(john2);
+
+		Deduplicator deduplicator = new Deduplicator();
+		deduplicator.clearRules();
+		deduplicator.addRule(MatchRules.NAME, 1.0);
+		deduplicator.setThreshold(0.6);
+		deduplicator.setMaxBlockSize(6);
+
+		//the "john" and "smith" blocks are too big, but the "john smith" block is not
+		List<List<VCard>> groups = deduplicator.findDuplicates(vcards);
+		assertEquals(2, groups.size());
+		assertEquals(Arrays.asList(john1, john2), groups.get(0));
+		assertEquals(5, groups.get(1).size());
+	}
+
+	@Test
+	public void executor() throws Exception {
+		List<VCard> vcards = new ArrayList<VCard>();
+		for (int i = 0; i < 3000; i++) {
+			vcards.add(vcard("Person " + i, "person" + (i / 3) + "@example.com", null));
+		}
+
+		Deduplicator deduplicator = new Deduplicator();
+		List<List<VCard>> expected = deduplicator.findDuplicates(vcards);
+		assertEquals(1000, expected.size());
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			deduplicator.setExecutor(executor);
+			assertEquals(expected, deduplicator.findDuplicates(vcards));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void merge() {
+		VCard vcard1 = vcard("John Doe", "john@example.com", "555-1234");
+		StructuredName n = new StructuredName();
+		n.setFamily("Doe");
+		vcard1.setStructuredName(n);
+
+		VCard vcard2 = vcard("John Doe", "JOHN@example.com", "555-9876");
+		n = new StructuredName();
+		n.setFamily("Doe-Smith");
+		vcard2.setStructuredName(n);
+		vcard2.addNote("Note");
+
+		VCard merged = new Deduplicator().merge(Arrays.asList(vcard1, vcard2));
+		assertEquals(1, merged.getFormattedNames().size());
+		assertEquals(1, merged.getEmails().size());
+		assertEquals("john@example.com", merged.getEmails().get(0).getValue());
+		assertEquals(2, merged.getTelephoneNumbers().size());
+		assertEquals("Doe", merged.getStructuredName().getFamily());
+		assertEquals(1, merged.getNotes().size());
+
+		//the originals are not modified
+		assertEquals(1, vcard1.getTelephoneNumbers().size());
+		assertNotSame(vcard2.getNotes().get(0), merged.getNotes().get(0));
+	}
+
+	@Test
+	public void merge_binary() {
+		VCard vcard1 = new VCard();
+		vcard1.addPhoto(new Photo("one".getBytes(), ImageType.JPEG));
+		vcard1.addPhoto(new Photo("http://example.com/photo.jpg", ImageType.JPEG));
+
+		VCard vcard2 = new VCard();
+		vcard2.addPhoto(new Photo("one".getBytes(), ImageType.JPEG));
+		vcard2.addPhoto(new Photo("one".getBytes(), ImageType.PNG));
+		vcard2.addPhoto(new Photo("two".getBytes(), ImageType.JPEG));
+		vcard2.addPhoto(new Photo("http://example.com/photo.jpg", ImageType.JPEG));
+
+		VCard merged = new Deduplicator().merge(Arrays.asList(vcard1, vcard2));
+		List<Photo> photos = merged.getPhotos();
+		assertEquals(4, photos.size());
+		assertEquals("one", new String(photos.get(0).getData()));
+		assertEquals("http://example.com/photo.jpg", photos.get(1).getUrl());
+		assertEquals(ImageType.PNG, photos.get(2).getContentType());
+		assertEquals("two", new String(photos.get(3).getData()));
+	}
+
+	@Test
+	public void merge_altIds() {
+		VCard vcard1 = new VCard();
+		FormattedName fn = new FormattedName("John");
+		fn.setAltId("1");
+		vcard1.addFormattedName(fn);
+
+		VCard vcard2 = new VCard();
+		Note note = new Note("Hello");
+		note.setAltId("1");
+		note.setLanguage("en");
+		vcard2.addNote(note);
+		note = new Note("Hola");
+		note.setAltId("1");
+		note.setLanguage("es");
+		vcard2.addNote(note);
+
+		VCard merged = new Deduplicator().merge(Arrays.asList(vcard1, vcard2));
+		assertEquals("1", merged.getFormattedName().getAltId());
+		assertEquals("1-2", merged.getNotes().get(0).getAltId());
+		assertEquals("1-2", merged.getNotes().get(1).getAltId());
+	}
+
+	@Test
+	public void merge_pids() {
+		VCard vcard1 = new VCard();
+		vcard1.addClientPidMap(new ClientPidMap(1, "urn:uuid:phone"));
+		Email email = vcard1.addEmail("john@example.com");
+		email.getParameters().addPid(1, 1);
+
+		VCard vcard2 = new VCard();
+		vcard2.addClientPidMap(new ClientPidMap(1, "urn:uuid:laptop"));
+		vcard2.addClientPidMap(new ClientPidMap(2, "urn:uuid:phone"));
+		email = vcard2.addEmail("john@example.com");
+		email.getParameters().addPid(3, 1);
+		Telephone tel = vcard2.addTelephoneNumber("555-1234");
+		tel.getParameters().addPid(4, 2);
+		tel.getParameters().addPid(5, 1);
+
+		VCard merged = new Deduplicator().merge(Arrays.asList(vcard1, vcard2));
+
+		List<ClientPidMap> maps = merged.getClientPidMaps();
+		assertEquals(2, maps.size());
+		assertEquals(Integer.valueOf(1), maps.get(0).getPid());
+		assertEquals("urn:uuid:phone", maps.get(0).getUri());
+		assertEquals(Integer.valueOf(2), maps.get(1).getPid());
+		assertEquals("urn:uuid:laptop", maps.get(1).getUri());
+
+		List<Integer[]> pids = merged.getEmails().get(0).getPids();
+		assertEquals(2, pids.size());
+		assertTrue(Arrays.equals(new Integer[] { 1, 1 }, pids.get(0)));
+		assertTrue(Arrays.equals(new Integer[] { 3, 2 }, pids.get(1)));
+
+		pids = merged.getTelephoneNumbers().get(0).getPids();
+		assertEquals(2, pids.size());
+		assertTrue(Arrays.equals(new Integer[] { 4, 1 }, pids.get(0)));
+		assertTrue(Arrays.equals(new Integer[] { 5, 2 }, pids.get(1)));
+	}
+
+	@Test
+	public void dedupe() {
+		VCard john1 = vcard("John Doe", "john@example.com", null);
+		VCard jane = vcard("Jane Doe", "jane@example.com", null);
+		VCard john2 = vcard("John Doe", "john@example.com", "555-1234");
+
+		List<VCard> result = new Deduplicator().dedupe(Arrays.asList(john1, jane, john2));
+		assertEquals(2, result.size());
+		assertEquals("John Doe", result.get(0).getFormattedName().getValue());
+		assertEquals(1, result.get(0).getTelephoneNumbers().size());
+		assertTrue(result.get(1) == jane);
+	}
+
+	private static VCard vcard(String name, String email, String telephone) {
+		VCard vcard = new VCard();
+		if (name != null) {
+			vcard.setFormattedName(name);
+		}
+		if (email != null) {
+			vcard.addEmail(email);
+		}
+		if (telephone != null) {
+			vcard.addTelephoneNumber(telephone);
+		}
+		return vcard;
+	}
+}
@@ -0,0 +1,257 @@
+package ezvcard.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import ezvcard.VCard;
+import ezvcard.property.Nickname;
+import ezvcard.property.Organization;
+import ezvcard.property.StructuredName;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class PrefixIndexTest {
+	@Test
+	public void search() {
+		PrefixIndex index = new PrefixIndex();
+		VCard john = vcard("John Doe");
+		VCard johnny = vcard("Johnny Dobbs");
+		VCard jane = vcard("Jane Smith");
+		index.addAll(Arrays.asList(john, johnny, jane));
+
+		assertEquals(Arrays.asList(john, johnny), index.search("jo", 10));
+		assertEquals(Arrays.asList(johnny, john), index.search("JO DO", 10));
+		assertEquals(Arrays.asList(john), index.search("john doe", 10));
+		assertEquals(Arrays.asList(johnny), index.search("dob", 10));
+		assertEquals(Arrays.asList(jane, john, johnny), index.search("j", 10));
+		assertEquals(Collections.emptyList(), index.search("jo sm", 10));
+		assertEquals(Collections.emptyList(), index.search("x", 10));
+		assertEquals(Collections.emptyList(), index.search(" - ", 10));
+	}
+
+	@Test
+	public void search_limit() {
+		PrefixIndex index = new PrefixIndex();
+		VCard john = vcard("John Doe");
+		VCard johnny = vcard("Johnny Dobbs");
+		index.addAll(Arrays.asList(john, johnny));
+
+		assertEquals(Arrays.asList(john), index.search("jo", 1));
+		assertEquals(Collections.emptyList(), index.search("jo", 0));
+	}
+
+	@Test
+	public void search_exact_match_first() {
+		PrefixIndex index = new PrefixIndex();
+		VCard johnson = vcard("Johnson");
+		VCard john = vcard("John");
+		index.addAll(Arrays.asList(johnson, john));
+
+		assertEquals(Arrays.asList(john, johnson), index.search("john", 10));
+	}
+
+	@Test
+	public void folding() {
+		PrefixIndex index = new PrefixIndex();
+		VCard jose = vcard("José Müller");
+		VCard strauss = vcard("Straße Łuk");
+		index.addAll(Arrays.asList(jose, strauss));
+
+		assertEquals(Arrays.asList(jose), index.search("jose", 10));
+		assertEquals(Arrays.asList(jose), index.search("JOSÉ", 10));
+		assertEquals(Arrays.asList(jose), index.search("mul", 10));
+		assertEquals(Arrays.asList(strauss), index.search("strass", 10));
+		assertEquals(Arrays.asList(strauss), index.search("luk", 10));
+	}
+
+	@Test
+	public void properties() {
+		PrefixIndex index = new PrefixIndex();
+		VCard vcard = new VCard();
+
+		StructuredName n = new StructuredName();
+		n.setGiven("Jonathan");
+		n.setFamily("van Dyke");
+		n.getAdditional().add("Quincy");
+		n.setSortAs("Dyke", "Jonathan");
+		vcard.setStructuredName(n);
+
+		Organization org = new Organization();
+		org.addValue("Acme Corp");
+		org.addValue("R&D");
+		org.setSortAs("Acme");
+		vcard.addOrganization(org);
+
+		vcard.addNickname(new Nickname());
+		vcard.getNickname().addValue("Jojo");
+
+		vcard.addEmail("jdyke@example.com");
+		index.add(vcard);
+
+		for (String query : new String[] { "jon", "dyk", "van", "quin", "acm", "r d", "jojo", "jdy", "dyke jon" }) {
+			assertEquals(query, Arrays.asList(vcard), index.search(query, 10));
+		}
+
+		//email domains are not indexed
+		assertEquals(Collections.emptyList(), index.search("examp", 10));
+	}
+
+	@Test
+	public void search_email() {
+		PrefixIndex index = new PrefixIndex();
+		VCard john = vcard("John Doe");
+		john.addEmail("john.doe@example.com");
+		VCard jane = vcard("Jane Doe");
+		jane.addEmail("jane@example.com");
+		index.addAll(Arrays.asList(john, jane));
+
+		//email domains are ignored in the query too
+		assertEquals(Arrays.asList(john), index.search("john.doe@example.com", 10));
+		assertEquals(Arrays.asList(john), index.search("JOHN.DOE@EXAMPLE.COM", 10));
+		assertEquals(Arrays.asList(john), index.search("john@ex", 10));
+		assertEquals(Arrays.asList(john), index.search("doe john@", 10));
+		assertEquals(Arrays.asList(jane), index.search("jane@example.com", 10));
+		assertEquals(Arrays.asList(jane), index.search("jane@other.org", 10));
+		assertEquals(Collections.emptyList(), index.search("@example.com", 10));
+	}
+
+	@Test
+	public void update() {
+		PrefixIndex index = new PrefixIndex();
+		VCard vcard = vcard("John Doe");
+		index.add(vcard);
+		assertFalse(index.add(vcard));
+
+		vcard.setFormattedName("Jane Doe");
+		assertEquals(Arrays.asList(vcard), index.search("john", 10));
+		assertTrue(index.update(vcard));
+		assertEquals(Collections.emptyList(), index.search("john", 10));
+		assertEquals(Arrays.asList(vcard), index.search("jane", 10));
+		assertEquals(Arrays.asList(vcard), index.search("doe", 10));
+
+		assertFalse(index.update(new VCard()));
+	}
+
+	@Test
+	public void replace() {
+		PrefixIndex index = new PrefixIndex();
+		VCard oldVCard = vcard("John Doe");
+		VCard newVCard = vcard("Jane Doe");
+		index.add(oldVCard);
+
+		assertTrue(index.replace(oldVCard, newVCard));
+		assertEquals(1, index.size());
+		assertEquals(Arrays.asList(newVCard), index.search("doe", 10));
+		assertEquals(Collections.emptyList(), index.search("john", 10));
+
+		assertFalse(index.replace(oldVCard, newVCard));
+	}
+
+	@Test
+	public void remove() {
+		PrefixIndex index = new PrefixIndex();
+		VCard john = vcard("John Doe");
+		VCard jane = vcard("Jane Doe");
+		index.addAll(Arrays.asList(john, jane));
+
+		assertTrue(index.remove(john));
+		assertFalse(index.remove(john));
+		assertEquals(1, index.size());
+		assertEquals(Arrays.asList(jane), index.search("doe", 10));
+		assertEquals(Collections.emptyList(), index.search("john", 10));
+	}
+
+	@Test
+	public void remove_many() {
+		PrefixIndex index = new PrefixIndex();
+		List<VCard> vcards = new ArrayList<VCard>();
+		for (int i = 0; i < 100; i++) {
+			VCard vcard = vcard("John Doe");
+			vcards.add(vcard);
+			index.add(vcard);
+		}
+
+		//remove most of them, so that the posting lists get compacted
+		List<VCard> expected = new ArrayList<VCard>();
+		for (int i = 0; i < vcards.size(); i++) {
+			VCard vcard = vcards.get(i);
+			if (i % 10 == 3) {
+				expected.add(vcard);
+			} else {
+				assertTrue(index.remove(vcard));
+			}
+		}
+
+		assertEquals(expected.size(), index.size());
+		assertEquals(expected, index.search("john", 100));
+
+		//the vCards that were moved can still be removed and updated
+		VCard last = expected.remove(expected.size() - 1);
+		assertTrue(index.remove(last));
+		VCard first = expected.get(0);
+		first.setFormattedName("Jane Doe");
+		assertTrue(index.update(first));
+		expected.remove(0);
+		expected.add(first);
+		assertEquals(expected, index.search("doe", 100));
+		assertEquals(Arrays.asList(first), index.search("jane", 100));
+	}
+
+	@Test
+	public void ContactKeys_fold() {
+		assertEquals("jose muller", ContactKeys.fold("José Müller"));
+		assertEquals("strasse", ContactKeys.fold("Straße"));
+		assertEquals("aeroe", ContactKeys.fold("Ærøe"));
+		assertEquals("lodz", ContactKeys.fold("Łódź"));
+		assertEquals("cafe", ContactKeys.fold("café"));
+		assertEquals("αβγ", ContactKeys.fold("ΑΒΓ"));
+		assertEquals("2 × 3", ContactKeys.fold("2 × 3"));
+
+		String value = "already folded";
+		assertTrue(value == ContactKeys.fold(value));
+	}
+
+	private static VCard vcard(String name) {
+		VCard vcard = new VCard();
+		vcard.setFormattedName(name);
+		return vcard;
+	}
+}
@@ -0,0 +1,237 @@
+package ezvcard.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.Date;
+
+import org.junit.Test;
+
+import ezvcard.VCard;
+import ezvcard.parameter.ImageType;
+import ezvcard.parameter.TelephoneType;
+import ezvcard.property.Agent;
+import ezvcard.property.Photo;
+import ezvcard.property.Telephone;
+import ezvcard.util.BinaryData;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class VCardHasherTest {
+	private final VCardHasher hasher = new VCardHasher();
+
+	@Test
+	public void hash() {
+		String hash = hasher.hash(vcard());
+		assertEquals(40, hash.length());
+		assertEquals(hash, hasher.hash(vcard()));
+	}
+
+	@Test
+	public void order_independent() {
+		VCard vcard1 = new VCard();
+		vcard1.setFormattedName("John Doe");
+		vcard1.addNote("Note");
+		Telephone tel = new Telephone("555-1234");
+		tel.getParameters().addType(TelephoneType.HOME.getValue());
+		tel.getParameters().addType(TelephoneType.CELL.getValue());
+		vcard1.addTelephoneNumber(tel);
+
+		VCard vcard2 = new VCard();
+		tel = new Telephone("555-1234");
+		tel.getParameters().addType(TelephoneType.CELL.getValue());
+		tel.getParameters().addType(TelephoneType.HOME.getValue());
+		vcard2.addTelephoneNumber(tel);
+		vcard2.addNote("Note");
+		vcard2.setFormattedName("John Doe");
+
+		assertEquals(hasher.hash(vcard1), hasher.hash(vcard2));
+	}
+
+	@Test
+	public void changes() {
+		String hash = hasher.hash(vcard());
+
+		VCard vcard = vcard();
+		vcard.addNote("Another note");
+		assertFalse(hash.equals(hasher.hash(vcard)));
+
+		vcard = vcard();
+		vcard.getTelephoneNumbers().get(0).setText("555-9999");
+		assertFalse(hash.equals(hasher.hash(vcard)));
+
+		vcard = vcard();
+		vcard.getNotes().get(0).setLanguage("en");
+		assertFalse(hash.equals(hasher.hash(vcard)));
+
+		vcard = vcard();
+		vcard.getNotes().get(0).setGroup("item1");
+		assertFalse(hash.equals(hasher.hash(vcard)));
+
+		//duplicate properties count
+		vcard = vcard();
+		vcard.addNote("Note");
+		assertFalse(hash.equals(hasher.hash(vcard)));
+	}
+
+	@Test
+	public void volatile_properties() {
+		String hash = hasher.hash(vcard());
+
+		VCard vcard = vcard();
+		vcard.setProductId("Some software");
+		assertEquals(hash, hasher.hash(vcard));
+
+		vcard.setRevision(new Date());
+		assertFalse(hash.equals(hasher.hash(vcard)));
+
+		hasher.setIncludeRevision(false);
+		assertEquals(hash, hasher.hash(vcard));
+	}
+
+	@Test
+	public void agent() {
+		VCard agentVCard = new VCard();
+		agentVCard.setFormattedName("Jane Doe");
+		VCard vcard = vcard();
+		vcard.setAgent(new Agent(agentVCard));
+		String hash = hasher.hash(vcard);
+
+		agentVCard.setFormattedName("Janet Doe");
+		assertFalse(hash.equals(hasher.hash(vcard)));
+	}
+
+	@Test
+	public void binary() {
+		byte[] data = { 1, 2, 3, 4 };
+		VCard vcard = vcard();
+		vcard.addPhoto(new Photo(data, ImageType.JPEG));
+		String hash = hasher.hash(vcard);
+
+		//the data is not base64 encoded
+		vcard = vcard();
+		vcard.addPhoto(new Photo(new NoBase64Data(data), ImageType.JPEG));
+		assertEquals(hash, hasher.hash(vcard));
+
+		vcard = vcard();
+		vcard.addPhoto(new Photo(new byte[] { 1, 2, 3, 5 }, ImageType.JPEG));
+		assertFalse(hash.equals(hasher.hash(vcard)));
+
+		vcard = vcard();
+		vcard.addPhoto(new Photo(data, ImageType.PNG));
+		assertFalse(hash.equals(hasher.hash(vcard)));
+
+		vcard = vcard();
+		vcard.addPhoto(new Photo("http://example.com/photo.jpg", ImageType.JPEG));
+		assertFalse(hash.equals(hasher.hash(vcard)));
+	}
+
+	private static class NoBase64Data extends BinaryData {
+		private final byte[] data;
+
+		public NoBase64Data(byte[] data) {
+			this.data = data;
+		}
+
+		@Override
+		public long length() {
+			return data.length;
+		}
+
+		@Override
+		public InputStream open() {
+			return new ByteArrayInputStream(data);
+		}
+
+		@Override
+		public void writeBase64(Writer writer) {
+			throw new AssertionError();
+		}
+	}
+
+	@Test
+	public void cache() {
+		VCard vcard = vcard();
+		String hash = hasher.hash(vcard);
+		vcard.addNote("Another note");
+		assertFalse(hash.equals(hasher.hash(vcard))); //not cached because it is not frozen
+
+		vcard.freeze();
+		hash = hasher.hash(vcard);
+		assertSame(hash, hasher.hash(vcard));
+
+		VCard modified = vcard.toBuilder();
+		modified.addNote("Third note");
+		assertFalse(hash.equals(hasher.hash(modified)));
+	}
+
+	@Test
+	public void cache_setting_changed_while_hashing() {
+		final byte[] data = { 1, 2, 3, 4 };
+		VCard vcard = vcard();
+		vcard.setRevision(new Date(0));
+		vcard.addPhoto(new Photo(new BinaryData() {
+			@Override
+			public long length() {
+				return data.length;
+			}
+
+			@Override
+			public InputStream open() {
+				//simulates another thread changing the setting in the middle of the computation
+				hasher.setIncludeRevision(false);
+				return new ByteArrayInputStream(data);
+			}
+		}, ImageType.JPEG));
+		vcard.freeze();
+
+		String withRevision = hasher.hash(vcard);
+
+		//the stale hash was not cached
+		String withoutRevision = hasher.hash(vcard);
+		assertFalse(withRevision.equals(withoutRevision));
+		assertSame(withoutRevision, hasher.hash(vcard));
+	}
+
+	private static VCard vcard() {
+		VCard vcard = new VCard();
+		vcard.setFormattedName("John Doe");
+		vcard.addTelephoneNumber("555-1234");
+		vcard.addNote("Note");
+		return vcard;
+	}
+}
@@ -0,0 +1,248 @@
+package ezvcard.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import org.junit.Test;
+
+import ezvcard.Ezvcard;
+import ezvcard.VCard;
+import ezvcard.VCardVersion;
+import ezvcard.parameter.ImageType;
+import ezvcard.property.Agent;
+import ezvcard.property.Email;
+import ezvcard.property.Note;
+import ezvcard.property.Photo;
+import ezvcard.property.Telephone;
+import ezvcard.property.VCardProperty;
+import ezvcard.sync.VCardPatch.Change;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class VCardPatchTest {
+	@Test
+	public void diff_no_changes() {
+		VCard vcard = vcard();
+		VCardPatch patch = VCardPatch.diff(vcard, new VCard(vcard));
+		assertTrue(patch.isEmpty());
+	}
+
+	@Test
+	public void diff() {
+		VCard from = vcard();
+		VCard to = new VCard(from);
+		to.removeProperty(to.getNotes().get(0));
+		to.getTelephoneNumbers().get(0).setText("555-9999");
+		to.getEmails().get(0).setValue("jdoe@example.com");
+		to.addNote("New note");
+
+		List<Change> changes = VCardPatch.diff(from, to).getChanges();
+		assertEquals(5, changes.size());
+
+		//the note and the old email address (which has no PID) are removed
+		assertEquals(Change.Type.REMOVE, changes.get(0).getType());
+		assertTrue(changes.get(0).getLocator().startsWith("EMAIL/SHA1/"));
+		assertNull(changes.get(0).getProperty());
+		assertEquals(Change.Type.REMOVE, changes.get(1).getType());
+		assertTrue(changes.get(1).getLocator().startsWith("NOTE/SHA1/"));
+
+		//the telephone number is matched by its PID
+		assertEquals(Change.Type.MODIFY, changes.get(2).getType());
+		assertEquals("TEL/PID/1.1", changes.get(2).getLocator());
+		assertEquals("555-9999", ((Telephone) changes.get(2).getProperty()).getText());
+
+		assertEquals(Change.Type.ADD, changes.get(3).getType());
+		assertEquals("jdoe@example.com", ((Email) changes.get(3).getProperty()).getValue());
+		assertEquals(Change.Type.ADD, changes.get(4).getType());
+		assertEquals("New note", ((Note) changes.get(4).getProperty()).getValue());
+	}
+
+	@Test
+	public void diff_parameters() {
+		VCard from = vcard();
+		VCard to = new VCard(from);
+		to.getNotes().get(0).setLanguage("en");
+
+		List<Change> changes = VCardPatch.diff(from, to).getChanges();
+		assertEquals(2, changes.size());
+		assertEquals(Change.Type.REMOVE, changes.get(0).getType());
+		assertEquals(Change.Type.ADD, changes.get(1).getType());
+	}
+
+	@Test
+	public void apply() {
+		VCard from = vcard();
+		VCard to = new VCard(from);
+		to.removeProperty(to.getNotes().get(0));
+		to.getTelephoneNumbers().get(0).setText("555-9999");
+		to.addNote("New note");
+
+		VCardPatch patch = VCardPatch.diff(from, to);
+		VCard vcard = new VCard(from);
+		assertEquals(0, patch.apply(vcard).size());
+		assertTrue(VCardPatch.diff(vcard, to).isEmpty());
+
+		//the removed note is no longer in the vCard, but the modified telephone number can still be found by its PID
+		//the added note is already in the vCard, so it is not added again
+		List<Change> conflicts = patch.apply(vcard);
+		assertEquals(2, conflicts.size());
+		assertEquals(Change.Type.REMOVE, conflicts.get(0).getType());
+		assertEquals(Change.Type.ADD, conflicts.get(1).getType());
+		assertEquals(1, vcard.getNotes().size());
+		assertTrue(VCardPatch.diff(vcard, to).isEmpty());
+	}
+
+	@Test
+	public void apply_identical_adds() {
+		VCard from = vcard();
+		VCard to = new VCard(from);
+		to.addNote("New note");
+		to.addNote("New note");
+
+		VCardPatch patch = VCardPatch.diff(from, to);
+		VCard vcard = new VCard(from);
+		assertEquals(0, patch.apply(vcard).size());
+		assertEquals(3, vcard.getNotes().size());
+
+		assertEquals(2, patch.apply(vcard).size());
+		assertEquals(3, vcard.getNotes().size());
+	}
+
+	@Test
+	public void diff_embedded_vcard() {
+		VCard from = vcard();
+		VCard agentVCard = new VCard();
+		agentVCard.setFormattedName("Jane Doe");
+		from.setAgent(new Agent(agentVCard));
+		from.addProperty(new Agent());
+
+		VCard to = new VCard(from);
+		assertTrue(VCardPatch.diff(from, to).isEmpty());
+
+		to.getAgent().getVCard().setFormattedName("Janet Doe");
+		VCardPatch patch = VCardPatch.diff(from, to);
+		assertEquals(2, patch.getChanges().size());
+		assertEquals(Change.Type.REMOVE, patch.getChanges().get(0).getType());
+		assertEquals(Change.Type.ADD, patch.getChanges().get(1).getType());
+
+		VCard vcard = new VCard(from);
+		assertEquals(0, patch.apply(vcard).size());
+		assertEquals(2, vcard.getProperties(Agent.class).size());
+		assertTrue(VCardPatch.diff(vcard, to).isEmpty());
+
+		to.removeProperties(Agent.class);
+		patch = VCardPatch.diff(vcard, to);
+		assertEquals(2, patch.getChanges().size());
+		assertEquals(0, patch.apply(vcard).size());
+		assertEquals(0, vcard.getProperties(Agent.class).size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void diff_no_scribe() {
+		VCard from = vcard();
+		VCard to = new VCard(from);
+		to.addProperty(new UnknownProperty());
+		VCardPatch.diff(from, to);
+	}
+
+	@Test
+	public void write_parse() {
+		VCard from = vcard();
+		VCard to = new VCard(from);
+		to.removeProperty(to.getPhotos().get(0));
+		to.getTelephoneNumbers().get(0).setText("555-9999");
+		to.addNote("New note");
+
+		VCardPatch patch = VCardPatch.diff(from, to);
+		String text = patch.write();
+		assertTrue(text, text.length() < 600); //the photo is not included
+
+		VCardPatch parsed = VCardPatch.parse(text);
+		assertEquals(VCardVersion.V4_0, parsed.getVersion());
+		assertEquals(patch.getChanges().size(), parsed.getChanges().size());
+		for (int i = 0; i < patch.getChanges().size(); i++) {
+			assertEquals(patch.getChanges().get(i).getType(), parsed.getChanges().get(i).getType());
+			assertEquals(patch.getChanges().get(i).getLocator(), parsed.getChanges().get(i).getLocator());
+		}
+
+		//apply the parsed patch to a copy that was sent over the wire
+		VCard vcard = Ezvcard.parse(Ezvcard.write(from).go()).first();
+		assertEquals(0, parsed.apply(vcard).size());
+		assertEquals(0, vcard.getPhotos().size());
+		assertEquals("555-9999", vcard.getTelephoneNumbers().get(0).getText());
+		assertEquals(2, vcard.getNotes().size());
+		assertTrue(vcard.getTelephoneNumbers().get(0).getParameters().get("X-PATCH").isEmpty());
+	}
+
+	@Test
+	public void serializable() throws Throwable {
+		VCard from = vcard();
+		VCard to = new VCard(from);
+		to.addNote("New note");
+		VCardPatch patch = VCardPatch.diff(from, to);
+
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bout);
+		out.writeObject(patch);
+		out.close();
+
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bout.toByteArray()));
+		VCardPatch copy = (VCardPatch) in.readObject();
+		in.close();
+
+		assertEquals(patch.write(), copy.write());
+	}
+
+	private static class UnknownProperty extends VCardProperty {
+		//empty
+	}
+
+	private static VCard vcard() {
+		VCard vcard = new VCard();
+		vcard.setVersion(VCardVersion.V4_0);
+		vcard.setFormattedName("John Doe");
+		Telephone tel = vcard.addTelephoneNumber("555-1234");
+		tel.getParameters().addPid(1, 1);
+		vcard.addEmail("john@example.com");
+		vcard.addNote("Note");
+		vcard.addPhoto(new Photo(new byte[2048], ImageType.JPEG));
+		return vcard;
+	}
+}
@@ -0,0 +1,175 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ezvcard.util.org.apache.commons.codec.binary.Base64;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class BinaryDataTest {
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private final byte[] data = "foobar".getBytes();
+
+	@Test
+	public void array() throws Exception {
+		BinaryData binary = BinaryData.of(data);
+		assertTrue(binary.isArray());
+		assertEquals(6, binary.length());
+		assertSame(data, binary.toByteArray());
+		assertArrayEquals(data, IOUtils.toByteArray(binary.open(), true));
+		assertWriteTo(binary);
+	}
+
+	@Test
+	public void buffer() throws Exception {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(10);
+		buffer.put((byte) 'x');
+		buffer.put(data);
+		buffer.put((byte) 'x');
+		buffer.position(1);
+		buffer.limit(7);
+
+		BinaryData binary = BinaryData.of(buffer);
+		assertFalse(binary.isArray());
+		assertEquals(6, binary.length());
+		assertArrayEquals(data, binary.toByteArray());
+		assertArrayEquals(data, binary.toByteArray()); //can be read more than once
+		assertWriteTo(binary);
+
+		//the buffer's position is not changed
+		assertEquals(1, buffer.position());
+	}
+
+	@Test
+	public void file() throws Exception {
+		File file = temp.newFile();
+		FileOutputStream out = new FileOutputStream(file);
+		out.write(data);
+		out.close();
+
+		BinaryData binary = BinaryData.of(file);
+		assertFalse(binary.isArray());
+		assertEquals(6, binary.length());
+		assertArrayEquals(data, binary.toByteArray());
+		assertWriteTo(binary);
+
+		binary = BinaryData.of(file, 1, 3);
+		assertEquals(3, binary.length());
+		assertArrayEquals("oob".getBytes(), binary.toByteArray());
+	}
+
+	@Test
+	public void base64() throws Exception {
+		//decoded without being held in memory
+		byte[] large = new byte[10000];
+		for (int i = 0; i < large.length; i++) {
+			large[i] = (byte) i;
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryData.base64(Base64.encodeBase64String(large)).writeTo(out);
+		assertArrayEquals(large, out.toByteArray());
+
+		BinaryData binary = BinaryData.base64("Zm9vYmFy");
+		assertFalse(binary.isArray());
+		assertEquals(6, binary.length());
+		assertArrayEquals(data, binary.toByteArray());
+		assertSame(binary.toByteArray(), binary.toByteArray()); //decoded once
+		assertArrayEquals(data, IOUtils.toByteArray(binary.open(), true));
+		assertWriteTo(binary);
+
+		//original encoding is written as-is
+		StringWriter sw = new StringWriter();
+		BinaryData.base64("Zm9vYmFy").writeBase64(sw);
+		assertEquals("Zm9vYmFy", sw.toString());
+
+		//whitespace is removed
+		sw = new StringWriter();
+		binary = BinaryData.base64("Zm9v\r\n YmFy");
+		binary.writeBase64(sw);
+		assertEquals("Zm9vYmFy", sw.toString());
+		assertArrayEquals(data, binary.toByteArray());
+	}
+
+	@Test
+	public void base64_length() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			byte[] bytes = new byte[i];
+			for (int j = 0; j < bytes.length; j++) {
+				bytes[j] = (byte) (j * 37);
+			}
+			String encoded = Base64.encodeBase64String(bytes);
+
+			//calculated from the encoded length
+			assertEquals(encoded, i, BinaryData.base64(encoded).length());
+			assertEquals(encoded, i, BinaryData.base64(encoded.replace("=", "")).length());
+
+			//calculated by decoding the data
+			String spaced = encoded.replaceAll("(.{2})", "$1 ");
+			assertEquals(spaced, i, BinaryData.base64(spaced).length());
+		}
+	}
+
+	@Test
+	public void writeBase64() throws Exception {
+		StringWriter sw = new StringWriter();
+		BinaryData.of(data).writeBase64(sw);
+		assertEquals("Zm9vYmFy", sw.toString());
+
+		byte[] large = new byte[10000];
+		sw = new StringWriter();
+		BinaryData.of(large).writeBase64(sw);
+		assertEquals(Base64.encodeBase64String(large), sw.toString());
+	}
+
+	private void assertWriteTo(BinaryData binary) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		binary.writeTo(out);
+		assertArrayEquals(data, out.toByteArray());
+	}
+}
@@ -0,0 +1,77 @@
+package ezvcard.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/*
+ Copyright (c) 2012-2015, Michael Angstadt
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met: 
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+ list of conditions and the following disclaimer. 
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+ this list of conditions and the following disclaimer in the documentation
+ and/or other materials provided with the distribution. 
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+ The views and conclusions contained in the software and documentation are those
+ of the authors and should not be interpreted as representing official policies, 
+ either expressed or implied, of the FreeBSD Project.
+ */
+
+/**
+ * @author Michael Angstadt
+ */
+public class BoundedCacheTest {
+	@Test
+	public void get_put() {
+		BoundedCache<String, Integer> cache = new BoundedCache<String, Integer>(10);
+		assertNull(cache.get("one"));
+
+		cache.put("one", 1);
+		assertEquals(Integer.valueOf(1), cache.get("one"));
+
+		//existing value is kept
+		cache.put("one", 2);
+		assertEquals(Integer.valueOf(1), cache.get("one"));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void cleared_when_full() {
+		BoundedCache<Integer, Integer> cache = new BoundedCache<Integer, Integer>(3);
+		cache.put(1, 1);
+		cache.put(2, 2);
+		cache.put(3, 3);
+		assertEquals(3, cache.size());
+
+		cache.put(4, 4);
+		assertEquals(1, cache.size());
+		assertNull(cache.get(1));
+		assertEquals(Integer.valueOf(4), cache.get(4));
+	}
+
+	@Test
+	public void clear() {
+		BoundedCache<Integer, Integer> cache = new BoundedCache<Integer, Integer>(3);
+		cache.put(1, 1);
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertNull(cache.get(1));
+	}
+}
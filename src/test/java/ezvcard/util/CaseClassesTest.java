@@ -2,6 +2,7 @@ package ezvcard.util;
 
 import static ezvcard.util.TestUtils.assertIntEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -91,6 +92,64 @@ public class CaseClassesTest {
 		assertTrue(dataTypes.contains(PrimeNumber.SEVEN));
 	}
 
+	@Test
+	public void indexed() {
+		IndexedCaseClassesImpl cc = new IndexedCaseClassesImpl();
+		assertSame(PrimeNumber.THREE, cc.find(3));
+		assertSame(PrimeNumber.THREE, cc.get(3));
+		assertNull(cc.find(4));
+
+		PrimeNumber eleven1 = cc.get(11);
+		assertIntEquals(11, eleven1.value);
+		assertSame(eleven1, cc.get(11));
+		assertEquals(3, cc.matchesCalls); //only objects with the same key are compared
+	}
+
+	@Test
+	public void maxRuntimeDefined() {
+		CaseClasses.setMaxRuntimeDefined(1);
+		try {
+			PrimeNumber eleven = cc.get(11);
+			assertSame(eleven, cc.get(11));
+
+			//limit reached, so new objects are not remembered
+			PrimeNumber thirteen1 = cc.get(13);
+			PrimeNumber thirteen2 = cc.get(13);
+			assertIntEquals(13, thirteen1.value);
+			assertIntEquals(13, thirteen2.value);
+			assertNotSame(thirteen1, thirteen2);
+		} finally {
+			CaseClasses.setMaxRuntimeDefined(-1);
+		}
+	}
+
+	@Test
+	public void caseInsensitiveKey() {
+		assertEquals("work", CaseClasses.caseInsensitiveKey("WoRk"));
+		assertEquals(CaseClasses.caseInsensitiveKey("\u0131"), CaseClasses.caseInsensitiveKey("I")); //dotless i
+		assertTrue("\u0131".equalsIgnoreCase("I"));
+	}
+
+	private class IndexedCaseClassesImpl extends CaseClassesImpl {
+		private int matchesCalls = 0;
+
+		@Override
+		protected boolean matches(PrimeNumber object, Integer value) {
+			matchesCalls++;
+			return super.matches(object, value);
+		}
+
+		@Override
+		protected String[] indexKeys(PrimeNumber object) {
+			return new String[] { object.value.toString() };
+		}
+
+		@Override
+		protected String indexKey(Integer value) {
+			return value.toString();
+		}
+	}
+
 	private class CaseClassesImpl extends CaseClasses<PrimeNumber, Integer> {
 		public CaseClassesImpl() {
 			super(PrimeNumber.class);
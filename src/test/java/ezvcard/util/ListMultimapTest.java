@@ -3,11 +3,17 @@ package ezvcard.util;
 import static ezvcard.util.TestUtils.assertSetEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 
@@ -273,6 +279,200 @@ public class ListMultimapTest {
 		assertEquals(0, map.size());
 	}
 
+	@Test
+	public void freeze() {
+		ListMultimap<String, String> map = new ListMultimap<String, String>();
+		map.put("one", "1");
+		assertFalse(map.isFrozen());
+		map.freeze();
+		assertTrue(map.isFrozen());
+
+		assertEquals(Arrays.asList("1"), map.get("one"));
+		assertTrue(map.get("two").isEmpty());
+
+		try {
+			map.put("two", "2");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		try {
+			map.get("one").add("11");
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		try {
+			map.getMap().clear();
+			fail();
+		} catch (UnsupportedOperationException e) {
+			//expected
+		}
+
+		//copies are not frozen
+		ListMultimap<String, String> copy = new ListMultimap<String, String>(map);
+		assertFalse(copy.isFrozen());
+		copy.put("one", "11");
+		assertEquals(Arrays.asList("1"), map.get("one"));
+	}
+
+	@Test
+	public void many_keys() {
+		ListMultimap<String, String> map = new ListMultimap<String, String>();
+		for (int i = 0; i < 20; i++) {
+			map.put("key" + i, "value" + i);
+			map.put("key" + i, "value" + i + "b");
+		}
+		assertEquals(40, map.size());
+
+		for (int i = 0; i < 20; i++) {
+			assertEquals(Arrays.asList("value" + i, "value" + i + "b"), map.get("key" + i));
+		}
+
+		//keys are kept in insertion order
+		int i = 0;
+		for (Map.Entry<String, List<String>> entry : map) {
+			assertEquals("key" + i++, entry.getKey());
+		}
+
+		for (i = 0; i < 20; i += 2) {
+			map.removeAll("key" + i);
+		}
+		assertEquals(20, map.size());
+		for (i = 0; i < 20; i++) {
+			assertEquals(i % 2 != 0, map.containsKey("key" + i));
+		}
+		assertEquals(Arrays.asList("value19", "value19b"), map.get("key19"));
+	}
+
+	@Test
+	public void null_key() {
+		ListMultimap<String, String> map = new ListMultimap<String, String>();
+		map.put(null, "1");
+		map.put("one", "2");
+		map.put(null, "3");
+
+		assertEquals(Arrays.asList("1", "3"), map.get(null));
+		assertTrue(map.containsKey(null));
+		assertEquals(Arrays.asList("1", "3"), map.removeAll(null));
+		assertFalse(map.containsKey(null));
+	}
+
+	@Test
+	public void live_lists() {
+		ListMultimap<String, String> map = new ListMultimap<String, String>();
+		map.put("one", "1");
+
+		List<String> list = map.get("one");
+		list.add("11");
+		list.addAll(Arrays.asList("111", "1111"));
+		assertEquals(4, map.size());
+		assertEquals(Arrays.asList("1", "11", "111", "1111"), map.get("one"));
+
+		Iterator<String> it = list.iterator();
+		it.next();
+		it.remove();
+		list.remove("111");
+		assertEquals(2, map.size());
+		assertEquals(Arrays.asList("11", "1111"), map.get("one"));
+
+		list.clear();
+		assertEquals(0, map.size());
+		assertTrue(map.isEmpty());
+		assertTrue(map.containsKey("one"));
+
+		//lists that are removed from the multimap are no longer linked to it
+		map.put("one", "1");
+		List<String> removed = map.removeAll("one");
+		removed.add("11");
+		assertEquals(0, map.size());
+		assertTrue(map.get("one").isEmpty());
+
+		//lists for non-existent keys are not linked to the multimap
+		map.get("two").add("2");
+		assertEquals(0, map.size());
+	}
+
+	@Test
+	public void getMap() {
+		ListMultimap<String, String> map = new ListMultimap<String, String>();
+		map.put("one", "1");
+		map.put("two", "2");
+		map.put("two", "22");
+
+		Map<String, List<String>> view = map.getMap();
+		assertEquals(2, view.size());
+		assertEquals(Arrays.asList("2", "22"), view.get("two"));
+		assertNull(view.get("three"));
+
+		view.put("three", Arrays.asList("3", "33"));
+		assertEquals(Arrays.asList("3", "33"), map.get("three"));
+		assertEquals(5, map.size());
+
+		view.remove("two");
+		assertFalse(map.containsKey("two"));
+		assertEquals(3, map.size());
+
+		Iterator<Map.Entry<String, List<String>>> it = map.iterator();
+		it.next();
+		it.remove();
+		assertEquals(Arrays.asList("three"), new ArrayList<String>(map.keySet()));
+		assertEquals(2, map.size());
+
+		view.clear();
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void getMap_put_own_values() {
+		ListMultimap<String, String> map = new ListMultimap<String, String>();
+		map.put("one", "1");
+		map.put("one", "11");
+		map.put("two", "2");
+
+		List<String> previous = map.getMap().put("one", map.get("one"));
+		assertEquals(Arrays.asList("1", "11"), previous);
+		assertEquals(Arrays.asList("1", "11"), map.get("one"));
+		assertEquals(3, map.size());
+
+		Map.Entry<String, List<String>> entry = map.iterator().next();
+		previous = entry.setValue(entry.getValue());
+		assertEquals(Arrays.asList("1", "11"), previous);
+		assertEquals(Arrays.asList("1", "11"), map.get("one"));
+		assertEquals(3, map.size());
+
+		//a view of the list itself
+		entry.setValue(entry.getValue().subList(1, 2));
+		assertEquals(Arrays.asList("11"), map.get("one"));
+		assertEquals(2, map.size());
+	}
+
+	@Test
+	public void equals_hashCode() {
+		ListMultimap<String, String> one = new ListMultimap<String, String>();
+		one.put("one", "1");
+		one.put("two", "2");
+
+		ListMultimap<String, String> two = new ListMultimap<String, String>();
+		two.put("two", "2");
+		two.put("one", "1");
+
+		assertEquals(one, two);
+		assertEquals(one.hashCode(), two.hashCode());
+
+		Map<String, List<String>> expected = new HashMap<String, List<String>>();
+		expected.put("one", Arrays.asList("1"));
+		expected.put("two", Arrays.asList("2"));
+		assertEquals(expected, one.getMap());
+		assertEquals(expected.hashCode(), one.hashCode());
+		assertEquals("{one=[1], two=[2]}", one.toString());
+
+		two.put("one", "11");
+		assertFalse(one.equals(two));
+	}
+
 	@Test
 	public void sanitizeKey() {
 		ListMultimap<String, String> map = new ListMultimap<String, String>() {
@@ -3,6 +3,7 @@ package ezvcard.util;
 import static ezvcard.util.PartialDate.builder;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -256,6 +257,38 @@ public class PartialDateTest {
 		assertParse("--04-20T05-05:00", builder().month(4).date(20).hour(5).offset(new UtcOffset(false, -5, 0)));
 	}
 
+	@Test
+	public void parse_utc_offsets() {
+		assertParse("T10+1", builder().hour(10).offset(new UtcOffset(true, 1, 0)));
+		assertParse("T10+130", builder().hour(10).offset(new UtcOffset(true, 1, 30)));
+		assertParse("T10+1:30", builder().hour(10).offset(new UtcOffset(true, 1, 30)));
+		assertParse("T10+01:", builder().hour(10).offset(new UtcOffset(true, 1, 0)));
+		assertParse("T10-1530", builder().hour(10).offset(new UtcOffset(false, 15, 30)));
+		assertParse("T1015-05", builder().hour(10).minute(15).offset(new UtcOffset(false, 5, 0)));
+		assertParse("T10:1530+0100", builder().hour(10).minute(15).second(30).offset(new UtcOffset(true, 1, 0)));
+	}
+
+	@Test
+	public void parse_error_index() {
+		assertParseError("", 0);
+		assertParseError("198", 3);
+		assertParseError("19800", 5);
+		assertParseError("1980-04-2", 9);
+		assertParseError("1980-04-20x", 10);
+		assertParseError("--04-2x", 6);
+		assertParseError("1980-04-20T", 11);
+		assertParseError("1980-04-20T05x", 13);
+		assertParseError("1980-04-20T05:", 14);
+		assertParseError("T05+12345", 8);
+		assertParseError("1980-04-20T05T06", 13);
+	}
+
+	@Test
+	public void parse_cached() {
+		PartialDate date = PartialDate.parse("--0420");
+		assertSame(date, PartialDate.parse("--0420"));
+	}
+
 	@Test
 	public void hasDateComponent() {
 		assertTrue(builder().year(1980).build().hasDateComponent());
@@ -285,6 +318,15 @@ public class PartialDateTest {
 		assertEquals(expectedExtended, date.toISO8601(true));
 	}
 
+	private static void assertParseError(String input, int index) {
+		try {
+			PartialDate.parse(input);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage(), e.getMessage().endsWith("index " + index + ")"));
+		}
+	}
+
 	private static void assertParse(String input, PartialDate.Builder expectedBuilder) {
 		PartialDate expected = expectedBuilder.build();
 		PartialDate actual = PartialDate.parse(input);
@@ -1,8 +1,10 @@
 package ezvcard.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -114,6 +116,60 @@ public class StringUtilsTest {
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	public void indexOfAny() {
+		assertEquals(-1, StringUtils.indexOfAny("", ",;", 0));
+		assertEquals(-1, StringUtils.indexOfAny("one", ",;", 0));
+		assertEquals(3, StringUtils.indexOfAny("one;two,three", ",;", 0));
+		assertEquals(7, StringUtils.indexOfAny("one;two,three", ",;", 4));
+		assertEquals(-1, StringUtils.indexOfAny("one;two,three", ",;", 8));
+	}
+
+	@Test
+	public void replace() {
+		String[] replacements = { "\\\\", "\\;" };
+		String actual, expected;
+
+		actual = StringUtils.replace("one two", "\\;", replacements, null);
+		expected = "one two";
+		assertSame(expected, actual); //a new string instance shouldn't be created
+
+		actual = StringUtils.replace("one;two\\three;", "\\;", replacements, null);
+		expected = "one\\;two\\\\three\\;";
+		assertEquals(expected, actual);
+
+		actual = StringUtils.replace(";;\r\n\r\n\n\r", "\\;", replacements, null);
+		expected = "\\;\\;\r\n\r\n\n\r";
+		assertEquals(expected, actual);
+
+		actual = StringUtils.replace(";;\r\n\r\n\n\r", "\\;", replacements, "^n");
+		expected = "\\;\\;^n^n^n^n";
+		assertEquals(expected, actual);
+
+		actual = StringUtils.replace("one\r\ntwo\rthree\nfour", "", new String[0], " ");
+		expected = "one two three four";
+		assertEquals(expected, actual);
+
+		StringBuilder buffer = new StringBuilder("existing");
+		actual = StringUtils.replace("one;", "\\;", replacements, null, buffer);
+		expected = "one\\;";
+		assertEquals(expected, actual);
+
+		actual = StringUtils.replace("two", "\\;", replacements, null, buffer);
+		expected = "two";
+		assertSame(expected, actual);
+	}
+
+	@Test
+	public void appendReplaced() {
+		String[] replacements = { "\\\\", "\\;" };
+		StringBuilder sb = new StringBuilder("start:");
+
+		assertFalse(StringUtils.appendReplaced("one", "\\;", replacements, null, sb));
+		assertTrue(StringUtils.appendReplaced(";two\\", "\\;", replacements, null, sb));
+		assertEquals("start:one\\;two\\\\", sb.toString());
+	}
+
 	@Test
 	public void join_multiple() {
 		Collection<String> values = Arrays.asList("one", "two", "three");
@@ -2,6 +2,7 @@ package ezvcard.util;
 
 import static ezvcard.util.TestUtils.buildTimezone;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import org.junit.Test;
 
@@ -116,6 +117,16 @@ public class UtcOffsetTest {
 		UtcOffset.parse("invalid");
 	}
 
+	@Test
+	public void tryParse() {
+		assertEquals(new UtcOffset(false, 5, 30), UtcOffset.tryParse("-05:30"));
+
+		String[] invalid = { "", "+", "-", ":", "05:", ":30", "5:3", "05:300", "12345", "+12345", "123:00", "5a", "+5:3a", "05:30:00", "America/New_York" };
+		for (String text : invalid) {
+			assertNull(text, UtcOffset.tryParse(text));
+		}
+	}
+
 	@Test
 	public void toString_() {
 		{
@@ -6,8 +6,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.Date;
+import java.util.Random;
 import java.util.TimeZone;
 
 import org.junit.ClassRule;
@@ -96,11 +98,68 @@ public class VCardDateFormatTest {
 		assertEquals(datetime, VCardDateFormat.parse("2012-07-01T10:01:30+0300"));
 	}
 
+	@Test
+	public void parse_lenient() {
+		//out-of-range values roll over, like they do with SimpleDateFormat
+		assertEquals(date("2013-01-01 08:01:30"), VCardDateFormat.parse("20121301T070130Z"));
+		assertEquals(date("2012-06-30 08:01:30"), VCardDateFormat.parse("20120700T070130Z"));
+		assertEquals(date("2012-07-02 01:01:30"), VCardDateFormat.parse("20120701T240130Z"));
+		assertEquals(date("2013-01-01"), VCardDateFormat.parse("20121301"));
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void parse_invalid() {
 		VCardDateFormat.parse("invalid");
 	}
 
+	@Test
+	public void parse_invalid_formats() {
+		String[] invalid = { "", "2012070", "201207011", "2012-0701", "2012-07-01T", "20120701T070130", "2012-07-01T07:01:30", "20120701T07:01:30Z", "2012-07-01T070130Z", "20120701T070130+03:00", "20120701T070130+030", "2012-07-01T07:01:30+03:0", "2012-07-01T07:01:30Zx", "2O120701", "2012-07-01T10:01:30+2400", "2012-07-01T10:01:30+0060" };
+		for (String value : invalid) {
+			try {
+				VCardDateFormat.parse(value);
+				fail(value);
+			} catch (IllegalArgumentException e) {
+				//expected
+			}
+		}
+	}
+
+	@Test
+	public void find() {
+		assertEquals(VCardDateFormat.DATE_BASIC, VCardDateFormat.find("20120701"));
+		assertEquals(VCardDateFormat.DATE_EXTENDED, VCardDateFormat.find("2012-07-01"));
+		assertEquals(VCardDateFormat.DATE_TIME_BASIC, VCardDateFormat.find("20120701T100130+0300"));
+		assertEquals(VCardDateFormat.DATE_TIME_EXTENDED, VCardDateFormat.find("2012-07-01T10:01:30+03:00"));
+		assertEquals(VCardDateFormat.HCARD_DATE_TIME, VCardDateFormat.find("2012-07-01T10:01:30+0300"));
+		assertEquals(VCardDateFormat.UTC_DATE_TIME_BASIC, VCardDateFormat.find("20120701T070130Z"));
+		assertEquals(VCardDateFormat.UTC_DATE_TIME_EXTENDED, VCardDateFormat.find("2012-07-01T07:01:30Z"));
+		assertNull(VCardDateFormat.find("invalid"));
+
+		assertTrue(VCardDateFormat.HCARD_DATE_TIME.matches("2012-07-01T10:01:30+03:00"));
+		assertTrue(VCardDateFormat.HCARD_DATE_TIME.matches("2012-07-01T10:01:30+0300"));
+		assertFalse(VCardDateFormat.DATE_TIME_EXTENDED.matches("2012-07-01T10:01:30+0300"));
+	}
+
+	@Test
+	public void same_as_SimpleDateFormat() throws Exception {
+		TimeZone[] timezones = { null, TimeZone.getTimeZone("UTC"), TimeZone.getTimeZone("America/New_York"), TimeZone.getTimeZone("Asia/Kolkata"), TimeZone.getTimeZone("Australia/Lord_Howe"), TimeZone.getTimeZone("Pacific/Chatham") };
+		Random random = new Random(1);
+		for (int i = 0; i < 500; i++) {
+			//1800-2200
+			long millis = -5364662400000L + (long) (random.nextDouble() * 12622780800000L);
+			Date date = new Date(millis / 1000 * 1000);
+
+			for (TimeZone timezone : timezones) {
+				for (VCardDateFormat format : VCardDateFormat.values()) {
+					String expected = format.getDateFormat(timezone).format(date);
+					assertEquals(expected, format.format(date, timezone));
+					assertEquals(expected, format.getDateFormat().parse(expected), VCardDateFormat.parse(expected));
+				}
+			}
+		}
+	}
+
 	@Test
 	public void dateHasTime() {
 		assertFalse(VCardDateFormat.dateHasTime("20130601"));
@@ -124,5 +183,33 @@ public class VCardDateFormatTest {
 
 		tz = VCardDateFormat.parseTimeZoneId("Bogus/Timezone");
 		assertNull(tz);
+
+		//cached results
+		tz = VCardDateFormat.parseTimeZoneId("America/New_York");
+		assertEquals("America/New_York", tz.getID());
+		tz = VCardDateFormat.parseTimeZoneId("Bogus/Timezone");
+		assertNull(tz);
+	}
+
+	@Test
+	public void parseTimezoneId_junk() {
+		for (int i = 0; i < 2000; i++) {
+			assertNull(VCardDateFormat.parseTimeZoneId("Bogus/Timezone" + i));
+		}
+
+		TimeZone tz = VCardDateFormat.parseTimeZoneId("Asia/Tokyo");
+		assertEquals("Asia/Tokyo", tz.getID());
+		assertNull(VCardDateFormat.parseTimeZoneId("Bogus/Timezone0"));
+	}
+
+	@Test
+	public void parseTimezoneId_cached_instance_not_shared() {
+		TimeZone tz = VCardDateFormat.parseTimeZoneId("Europe/Paris");
+		tz.setID("modified");
+		tz.setRawOffset(0);
+
+		tz = VCardDateFormat.parseTimeZoneId("Europe/Paris");
+		assertEquals("Europe/Paris", tz.getID());
+		assertEquals(TimeZone.getTimeZone("Europe/Paris").getRawOffset(), tz.getRawOffset());
 	}
 }
@@ -2,9 +2,13 @@ package ezvcard.util;
 
 import static org.custommonkey.xmlunit.XMLAssert.assertXMLEqual;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -13,7 +17,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerFactory;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -147,6 +153,82 @@ public class XmlUtilsTest {
 		assertXMLEqual(expected, actual);
 	}
 
+	@Test
+	public void toString_output_properties_not_retained() throws Exception {
+		Document document = XmlUtils.toDocument("<root><child /></root>");
+		Map<String, String> outputProperties = new HashMap<String, String>();
+		outputProperties.put(OutputKeys.OMIT_XML_DECLARATION, "yes");
+		String string = XmlUtils.toString(document, outputProperties);
+		assertFalse(string.startsWith("<?xml"));
+
+		//the cached transformer should not remember the previous output properties
+		string = XmlUtils.toString(document);
+		assertTrue(string.startsWith("<?xml"));
+	}
+
+	@Test
+	public void toDocument_after_invalid_xml() throws Exception {
+		try {
+			XmlUtils.toDocument("not-xml");
+			fail();
+		} catch (SAXException e) {
+			//expected
+		}
+
+		//the cached document builder should still be usable
+		Document document = XmlUtils.toDocument(xml);
+		assertEquals("root", XmlUtils.getRootElement(document).getLocalName());
+	}
+
+	@Test
+	public void factories_cached() {
+		assertSame(XmlUtils.getDocumentBuilderFactory(), XmlUtils.getDocumentBuilderFactory());
+		assertSame(XmlUtils.getTransformerFactory(), XmlUtils.getTransformerFactory());
+		assertTrue(XmlUtils.getDocumentBuilderFactory().isNamespaceAware());
+	}
+
+	@Test
+	public void setDocumentBuilderFactory() throws Exception {
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+
+		XmlUtils.setDocumentBuilderFactory(factory);
+		try {
+			assertSame(factory, XmlUtils.getDocumentBuilderFactory());
+
+			//comments are not ignored by the injected factory
+			Document document = XmlUtils.toDocument(xml);
+			Element root = XmlUtils.getRootElement(document);
+			assertEquals(5, root.getChildNodes().getLength());
+		} finally {
+			XmlUtils.setDocumentBuilderFactory(null);
+		}
+
+		assertNotSame(factory, XmlUtils.getDocumentBuilderFactory());
+		Document document = XmlUtils.toDocument(xml);
+		Element root = XmlUtils.getRootElement(document);
+		assertEquals(4, root.getChildNodes().getLength());
+	}
+
+	@Test
+	public void setTransformerFactory() throws Exception {
+		TransformerFactory factory = TransformerFactory.newInstance();
+
+		XmlUtils.setTransformerFactory(factory);
+		try {
+			assertSame(factory, XmlUtils.getTransformerFactory());
+
+			Document expected = XmlUtils.toDocument(xml);
+			String string = XmlUtils.toString(expected);
+			Document actual = XmlUtils.toDocument(string);
+			assertXMLEqual(expected, actual);
+		} finally {
+			XmlUtils.setTransformerFactory(null);
+		}
+
+		assertNotSame(factory, XmlUtils.getTransformerFactory());
+	}
+
 	@Test
 	public void toElementList() throws Exception {
 		Document document = XmlUtils.toDocument(xml);